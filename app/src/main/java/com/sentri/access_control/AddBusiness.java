@@ -23,8 +23,10 @@ import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
+import com.sentri.access_control.data.FirestorePaths;
 import com.sentri.access_control.repositories.BusinessRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.ImageUploadHelper;
 
 import java.util.Calendar;
@@ -83,7 +85,7 @@ public class AddBusiness extends AppCompatActivity {
 
     private void initializeDependencies() {
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        businessRepository = new FirestoreBusinessRepository(firestore);
+        businessRepository = RepositoryMetrics.instrument(BusinessRepository.class, new FirestoreBusinessRepository(firestore), "AddBusiness");
         storageRoot = FirebaseStorage.getInstance().getReference().child("businessess");
     }
 
@@ -275,6 +277,8 @@ public class AddBusiness extends AppCompatActivity {
         data.put("business_close_time", getText(etCloseTime));
         data.put("business_status", getText(etStatus));
         data.put("business_open_time", new Timestamp(openCal.getTime()));
+        // A new business has no payments yet, so its rollups are complete from the start.
+        data.put(FirestorePaths.FIELD_REVENUE_ROLLUPS_FROM, 0);
         data.put("created_at", FieldValue.serverTimestamp());
         data.put("updated_at", FieldValue.serverTimestamp());
         return data;
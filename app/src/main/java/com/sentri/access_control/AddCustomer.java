@@ -25,9 +25,11 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.CoalescingCustomerRepository;
 import com.sentri.access_control.repositories.CustomerRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessRepository;
 import com.sentri.access_control.repositories.FirestoreCustomerRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.CommentHelper;
 import com.sentri.access_control.utils.ImageUploadHelper;
 import com.sentri.access_control.utils.PrefsManager;
@@ -106,8 +108,8 @@ public class AddCustomer extends AppCompatActivity {
         }
 
         FirebaseFirestore db = FirebaseFirestore.getInstance();
-        customerRepository = new FirestoreCustomerRepository(db);
-        businessRepository = new FirestoreBusinessRepository(db);
+        customerRepository = new CoalescingCustomerRepository(RepositoryMetrics.instrument(CustomerRepository.class, new FirestoreCustomerRepository(db), "AddCustomer"));
+        businessRepository = RepositoryMetrics.instrument(BusinessRepository.class, new FirestoreBusinessRepository(db), "AddCustomer");
         commentHelper = new CommentHelper(db);
 
         bindViews();
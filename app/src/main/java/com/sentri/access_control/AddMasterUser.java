@@ -11,6 +11,7 @@ import com.google.android.material.textfield.TextInputEditText;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.sentri.access_control.repositories.FirestoreUserRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.UserRepository;
 
 import java.text.SimpleDateFormat;
@@ -32,7 +33,7 @@ public class AddMasterUser extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_add_master_user);
 
-        userRepository = new FirestoreUserRepository(FirebaseFirestore.getInstance());
+        userRepository = RepositoryMetrics.instrument(UserRepository.class, new FirestoreUserRepository(FirebaseFirestore.getInstance()), "AddMasterUser");
 
         etEmail = findViewById(R.id.etMasterEmail);
         etPassword = findViewById(R.id.etMasterPassword);
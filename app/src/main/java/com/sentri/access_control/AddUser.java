@@ -27,6 +27,7 @@ import com.google.firebase.storage.StorageReference;
 import com.sentri.access_control.repositories.BusinessUserRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessUserRepository;
 import com.sentri.access_control.repositories.FirestoreUserRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.UserRepository;
 import com.sentri.access_control.utils.ImageUploadHelper;
 import com.sentri.access_control.utils.PrefsManager;
@@ -79,8 +80,8 @@ public class AddUser extends AppCompatActivity {
 
     private void initializeDependencies() {
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        businessUserRepository = new FirestoreBusinessUserRepository(firestore);
-        userRepository = new FirestoreUserRepository(firestore);
+        businessUserRepository = RepositoryMetrics.instrument(BusinessUserRepository.class, new FirestoreBusinessUserRepository(firestore), "AddUser");
+        userRepository = RepositoryMetrics.instrument(UserRepository.class, new FirestoreUserRepository(firestore), "AddUser");
 
         PrefsManager prefsManager = new PrefsManager(this);
         businessId = prefsManager.getCurrentBizId();
@@ -15,6 +15,7 @@ import com.sentri.access_control.repositories.CommentRepository;
 import com.sentri.access_control.repositories.FirestoreCommentRepository;
 import com.sentri.access_control.repositories.FirestoreNotificationRepository;
 import com.sentri.access_control.repositories.NotificationRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -40,8 +41,8 @@ public class AppNotifications extends AppCompatActivity {
             return;
         }
 
-        CommentRepository commentRepository = new FirestoreCommentRepository(FirebaseFirestore.getInstance());
-        notificationRepository = new FirestoreNotificationRepository(commentRepository);
+        CommentRepository commentRepository = RepositoryMetrics.instrument(CommentRepository.class, new FirestoreCommentRepository(FirebaseFirestore.getInstance()), "AppNotifications");
+        notificationRepository = RepositoryMetrics.instrument(NotificationRepository.class, new FirestoreNotificationRepository(commentRepository), "AppNotifications");
 
         RecyclerView recyclerView = findViewById(R.id.rvNotifications);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
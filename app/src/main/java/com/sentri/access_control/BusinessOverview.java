@@ -0,0 +1,175 @@
+package com.sentri.access_control;
+
+import android.content.Intent;
+import android.graphics.Color;
+import android.os.Bundle;
+import android.util.TypedValue;
+import android.widget.ImageView;
+import android.widget.LinearLayout;
+import android.widget.TextView;
+
+import androidx.appcompat.app.AppCompatActivity;
+import androidx.core.content.ContextCompat;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.FirestoreBusinessRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
+import com.sentri.access_control.services.BusinessOverviewLoader;
+import com.sentri.access_control.services.DashboardAggregates;
+import com.sentri.access_control.services.DashboardMetrics;
+import com.sentri.access_control.utils.PrefsManager;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Dashboard metrics for every business of the signed-in owner, loaded side by side and summed.
+ * Rows fill in as each business arrives; leaving the screen cancels the loads still queued.
+ */
+public class BusinessOverview extends AppCompatActivity {
+    public static final String EXTRA_BIZ_IDS = "EXTRA_BIZ_IDS";
+    public static final String EXTRA_BIZ_NAMES = "EXTRA_BIZ_NAMES";
+
+    private TextView tvProgress;
+    private TextView tvCombined;
+    private final Map<String, TextView> rowStatus = new HashMap<>();
+    private BusinessOverviewLoader.Session session;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_business_overview);
+
+        tvProgress = findViewById(R.id.tvOverviewProgress);
+        tvCombined = findViewById(R.id.tvOverviewCombined);
+        LinearLayout rows = findViewById(R.id.layoutBusinessRows);
+        ImageView back = findViewById(R.id.ivBack);
+        back.setOnClickListener(v -> finish());
+
+        PrefsManager prefsManager = new PrefsManager(this);
+        Intent intent = getIntent();
+        List<String> businessIds = intent.getStringArrayListExtra(EXTRA_BIZ_IDS);
+        List<String> businessNames = intent.getStringArrayListExtra(EXTRA_BIZ_NAMES);
+        if (businessIds == null || businessIds.isEmpty()) {
+            businessIds = prefsManager.getBizIds();
+            businessNames = prefsManager.getBizNames();
+        }
+        if (businessNames == null) {
+            businessNames = new ArrayList<>();
+        }
+
+        for (int i = 0; i < businessIds.size(); i++) {
+            String businessId = businessIds.get(i);
+            if (rowStatus.containsKey(businessId)) {
+                continue;
+            }
+            String name = i < businessNames.size() && businessNames.get(i) != null && !businessNames.get(i).trim().isEmpty()
+                    ? businessNames.get(i)
+                    : businessId;
+            rows.addView(buildRow(businessId, name));
+        }
+        renderCombined(DashboardMetrics.combine(new ArrayList<DashboardMetrics>()), 0, rowStatus.size());
+
+        BusinessRepository repository = RepositoryMetrics.instrument(
+                BusinessRepository.class,
+                new FirestoreBusinessRepository(FirebaseFirestore.getInstance()),
+                "BusinessOverview"
+        );
+        BusinessOverviewLoader loader = new BusinessOverviewLoader(
+                BusinessOverviewLoader.fromAggregates(new DashboardAggregates(repository)),
+                BusinessOverviewLoader.DEFAULT_MAX_CONCURRENT
+        );
+        session = loader.start(businessIds, new BusinessOverviewLoader.Listener() {
+            @Override
+            public void onBusinessLoaded(String businessId, DashboardMetrics metrics) {
+                TextView status = rowStatus.get(businessId);
+                if (status != null) {
+                    status.setText(describe(metrics));
+                    status.setTextColor(resolveThemeColor(android.R.attr.textColorSecondary));
+                }
+            }
+
+            @Override
+            public void onBusinessFailed(String businessId, Exception error) {
+                TextView status = rowStatus.get(businessId);
+                if (status != null) {
+                    status.setText("Failed to load: " + error.getMessage());
+                    status.setTextColor(Color.parseColor("#B00020"));
+                }
+            }
+
+            @Override
+            public void onCombined(DashboardMetrics combined, int finished, int total) {
+                renderCombined(combined, finished, total);
+            }
+        });
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (session != null) {
+            session.cancel();
+        }
+        super.onDestroy();
+    }
+
+    private LinearLayout buildRow(String businessId, String name) {
+        LinearLayout row = new LinearLayout(this);
+        row.setOrientation(LinearLayout.VERTICAL);
+        row.setPadding(0, dp(8), 0, dp(8));
+
+        TextView title = new TextView(this);
+        title.setText(name);
+        title.setTextSize(TypedValue.COMPLEX_UNIT_SP, 16);
+        title.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
+
+        TextView status = new TextView(this);
+        status.setText("Loading…");
+        status.setTextColor(resolveThemeColor(android.R.attr.textColorSecondary));
+
+        row.addView(title);
+        row.addView(status);
+        rowStatus.put(businessId, status);
+        return row;
+    }
+
+    private void renderCombined(DashboardMetrics combined, int finished, int total) {
+        tvProgress.setText(finished < total
+                ? String.format(Locale.getDefault(), "Loaded %d of %d businesses", finished, total)
+                : String.format(Locale.getDefault(), "%d businesses", total));
+        tvCombined.setText(describe(combined));
+    }
+
+    private static String describe(DashboardMetrics metrics) {
+        return String.format(
+                Locale.getDefault(),
+                "%d active · %d new · %d ending today\nPending %s · Expected %s",
+                metrics.getTotalActiveCustomers(),
+                metrics.getNewCustomersInLast10Days(),
+                metrics.getSubscriptionsEndingToday(),
+                metrics.getPendingPayments().formatRupees(),
+                metrics.getExpectedPaymentsThisMonth().formatRupees()
+        );
+    }
+
+    private int dp(int value) {
+        return (int) TypedValue.applyDimension(
+                TypedValue.COMPLEX_UNIT_DIP,
+                value,
+                getResources().getDisplayMetrics()
+        );
+    }
+
+    private int resolveThemeColor(int attr) {
+        TypedValue typedValue = new TypedValue();
+        getTheme().resolveAttribute(attr, typedValue, true);
+        if (typedValue.resourceId != 0) {
+            return ContextCompat.getColor(this, typedValue.resourceId);
+        }
+        return typedValue.data;
+    }
+}
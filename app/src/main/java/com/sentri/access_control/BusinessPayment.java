@@ -15,20 +15,21 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.google.firebase.Timestamp;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.sentri.access_control.adapters.PaymentAdapter;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.models.Money;
 import com.sentri.access_control.models.PaymentItem;
+import com.sentri.access_control.models.PaymentRecord;
 import com.sentri.access_control.repositories.FirestorePaymentRepository;
 import com.sentri.access_control.repositories.PaymentRepository;
-import com.sentri.access_control.utils.CurrencyUtils;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
 import java.util.Calendar;
 import java.util.List;
-import java.util.Locale;
 
 public class BusinessPayment extends AppCompatActivity {
 
@@ -48,6 +49,8 @@ public class BusinessPayment extends AppCompatActivity {
 
     private Calendar startCal;
     private Calendar endCal;
+    // Bumped per load so a late response for an earlier date range is dropped.
+    private int loadSequence;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -64,7 +67,7 @@ public class BusinessPayment extends AppCompatActivity {
             return;
         }
 
-        paymentRepository = new FirestorePaymentRepository(FirebaseFirestore.getInstance());
+        paymentRepository = RepositoryMetrics.instrument(PaymentRepository.class, new FirestorePaymentRepository(FirebaseFirestore.getInstance()), "BusinessPayment");
 
         bindViews();
         wireNavigation();
@@ -134,12 +137,22 @@ public class BusinessPayment extends AppCompatActivity {
         Timestamp startTimestamp = buildStartOfDay(startCal);
         Timestamp endTimestamp = buildEndOfDay(endCal);
 
+        int sequence = ++loadSequence;
+        // The rows are downloaded anyway, so the total is summed from them and always matches.
         paymentRepository.fetchBusinessPayments(
                 businessId,
                 startTimestamp,
                 endTimestamp,
-                this::onPaymentsLoaded,
-                e -> Toast.makeText(this, "Error loading payments: " + e.getMessage(), Toast.LENGTH_LONG).show()
+                snapshots -> {
+                    if (sequence == loadSequence) {
+                        onPaymentsLoaded(snapshots);
+                    }
+                },
+                e -> {
+                    if (sequence == loadSequence) {
+                        Toast.makeText(this, "Error loading payments: " + e.getMessage(), Toast.LENGTH_LONG).show();
+                    }
+                }
         );
     }
 
@@ -164,57 +177,37 @@ public class BusinessPayment extends AppCompatActivity {
     private void onPaymentsLoaded(QuerySnapshot snapshots) {
         paymentList.clear();
 
-        double total = 0.0;
-        for (DocumentSnapshot doc : snapshots.getDocuments()) {
-            Timestamp createdAt = doc.getTimestamp("created_at");
-            String when = createdAt != null
-                    ? DateFormat.format("d MMM, yyyy 'at' hh:mm a", createdAt.toDate()).toString()
+        long totalPaise = 0L;
+        for (PaymentRecord payment : RecordDecoder.payments(snapshots.getDocuments())) {
+            String when = payment.getCreatedAtMs() != RecordDecoder.NO_TIME
+                    ? DateFormat.format("d MMM, yyyy 'at' hh:mm a", payment.getCreatedAtMs()).toString()
                     : "-";
 
-            String method = safeString(doc.getString("payment_method"));
-            String processedBy = safeString(doc.getString("payment_processed_by"));
-            String type = safeString(doc.getString("payment_type"));
-            String rate = safeString(doc.getString("payment_rate"));
-            String amount = safeString(doc.getString("payment_amount"));
-
-            double numericAmount = parseAmount(amount);
+            String type = payment.getType();
             boolean isPositive = type.isEmpty() || "Credit".equalsIgnoreCase(type);
-            total += isPositive ? numericAmount : -numericAmount;
+            totalPaise += isPositive ? payment.getAmountPaise() : -payment.getAmountPaise();
 
             paymentList.add(new PaymentItem(
                     when,
-                    method,
-                    processedBy,
+                    payment.getMethod(),
+                    payment.getProcessedBy(),
                     type,
-                    formatMoney(rate),
-                    formatMoney(String.valueOf(Math.abs(numericAmount))),
+                    Money.formatDecimal(payment.getRatePaise()),
+                    Money.formatDecimal(payment.getAmountPaise()),
                     isPositive
             ));
         }
 
         adapter.updateList(paymentList);
-        renderTotal(total);
+        renderTotal(Money.ofPaise(totalPaise));
     }
 
-    private void renderTotal(double total) {
-        String formatted = String.format(Locale.US, "Rs %.2f", Math.abs(total));
-        if (total < 0) {
+    private void renderTotal(Money total) {
+        String formatted = "Rs " + total.abs().formatDecimal();
+        if (total.isNegative()) {
             formatted = "-" + formatted;
         }
         tvTotalAmountValue.setText(formatted);
-        tvTotalAmountValue.setTextColor(total >= 0 ? Color.parseColor("#00C853") : Color.parseColor("#FF5252"));
-    }
-
-    private String safeString(String value) {
-        return value != null ? value.trim() : "";
-    }
-
-    private double parseAmount(String value) {
-        return CurrencyUtils.parseAmount(value);
-    }
-
-    private String formatMoney(String raw) {
-        double amount = parseAmount(raw);
-        return String.format(Locale.US, "%.2f", amount);
+        tvTotalAmountValue.setTextColor(!total.isNegative() ? Color.parseColor("#00C853") : Color.parseColor("#FF5252"));
     }
 }
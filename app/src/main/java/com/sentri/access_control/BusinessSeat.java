@@ -4,7 +4,6 @@ import android.app.DatePickerDialog;
 import android.content.Context;
 import android.content.Intent;
 import android.graphics.Color;
-import android.graphics.Paint;
 import android.graphics.Typeface;
 import android.os.Bundle;
 import android.text.format.DateFormat;
@@ -16,27 +15,29 @@ import android.view.ViewTreeObserver;
 import android.widget.Button;
 import android.widget.DatePicker;
 import android.widget.FrameLayout;
-import android.widget.LinearLayout;
 import android.widget.TableLayout;
 import android.widget.TableRow;
 import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
 
-import com.google.firebase.Timestamp;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.sentri.access_control.models.ShiftRecord;
 import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.CoalescingShiftRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessRepository;
 import com.sentri.access_control.repositories.FirestoreShiftRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.ShiftRepository;
+import com.sentri.access_control.services.LiveSeatMap;
+import com.sentri.access_control.services.SeatOccupancyModel;
+import com.sentri.access_control.ui.SeatGridView;
 
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
-import java.util.HashMap;
-import java.util.Locale;
-import java.util.Map;
 
 
 public class BusinessSeat extends AppCompatActivity {
@@ -45,42 +46,22 @@ public class BusinessSeat extends AppCompatActivity {
     private int openHour = 0, closeHour = 24, maxSeats = 10;
     private String businessId = null;
 
-    // Date window selected by user
+    // Date window selected by user; until one is picked, shifts that have not ended before today
     private Date startDate, endDate;
-    private long windowStartMs = Long.MIN_VALUE, windowEndMs = Long.MAX_VALUE;
+    private long windowStartMs = startOfToday(), windowEndMs = Long.MAX_VALUE;
 
     // Views
-    private TableLayout table;
+    private SeatGridView seatGrid;
+    private final SeatOccupancyModel occupancy = new SeatOccupancyModel();
+    private LiveSeatMap liveSeatMap;
     private TableLayout tableUnallocatedShifts;
-    private com.sentri.access_control.ui.ObservableHorizontalScrollView hsvHeader, hsvContent;
-    private com.sentri.access_control.ui.ObservableScrollView svLeft, svContent;
-    private LinearLayout headerRow, leftSeatColumn;
-    private TextView tvCorner;
 
     // Programmatic floating buttons
     private Button floatZoomIn, floatZoomOut;
 
-    // Zoom state same as SeatSelection
-    private int currentColDp = 80;
-    private final int MIN_COL_DP = 36;
-    private final int MAX_COL_DP = 220;
-    private final int COL_STEP_DP = 12;
-    private float baseTextSpHeader = 11f;
-    private float baseTextSpCell   = 12f;
-
-    // Saved visual state across rebuilds: key -> CellVisual
-    // key is "seat:hour" for numeric seats.
-    private final Map<String, CellVisual> savedVisuals = new HashMap<>();
     private BusinessRepository businessRepository;
     private ShiftRepository shiftRepository;
 
-    private static class CellVisual {
-        boolean occupied;
-        boolean customerShift;
-        CharSequence text;
-        String occupiedCustomerId;
-    }
-
     private static class UnallocatedShiftRow {
         final String customerId;
         final String startTime;
@@ -95,39 +76,22 @@ public class BusinessSeat extends AppCompatActivity {
 
     private final java.util.List<UnallocatedShiftRow> unallocatedRows = new java.util.ArrayList<>();
 
-    private interface HourPainter {
-        void paint(int hour);
-    }
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_business_seat);
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        businessRepository = new FirestoreBusinessRepository(firestore);
-        shiftRepository = new FirestoreShiftRepository(firestore);
+        businessRepository = RepositoryMetrics.instrument(BusinessRepository.class, new FirestoreBusinessRepository(firestore), "BusinessSeat");
+        shiftRepository = new CoalescingShiftRepository(RepositoryMetrics.instrument(ShiftRepository.class, new FirestoreShiftRepository(firestore), "BusinessSeat"));
 
         // businessId expected to be passed via intent (optional)
         businessId = getIntent().getStringExtra("businessDocId");
 
         // bind views
-        table    = findViewById(R.id.tableLayout);
+        seatGrid = findViewById(R.id.seatGrid);
         tableUnallocatedShifts = findViewById(R.id.tableUnallocatedShifts);
-        hsvHeader = findViewById(R.id.hsvHeader);
-        hsvContent= findViewById(R.id.hsvContent);
-        svLeft    = findViewById(R.id.svLeft);
-        svContent = findViewById(R.id.svContent);
-        headerRow = findViewById(R.id.headerRow);
-        leftSeatColumn = findViewById(R.id.leftSeatColumn);
-        tvCorner = findViewById(R.id.tvCorner);
-
-        if (tvCorner != null) tvCorner.setText("Seat\nTime");
-
-        // table flags
-        if (table != null) {
-            table.setStretchAllColumns(false);
-            table.setShrinkAllColumns(false);
-        }
+        seatGrid.setCells(occupancy);
+        seatGrid.setOnCellClickListener(this::onCellTapped);
 
         // create floating buttons once the content view is laid out
         final View contentRoot = findViewById(android.R.id.content);
@@ -139,9 +103,6 @@ public class BusinessSeat extends AppCompatActivity {
             }
         });
 
-        // wire scroll sync (null-safe)
-        wireScrollSync();
-
         // Fetch business configuration first (if available), then render all active shifts directly.
         if (businessId != null) {
             businessRepository.fetchBusinessConfig(
@@ -150,20 +111,17 @@ public class BusinessSeat extends AppCompatActivity {
                         openHour = config.getOpenHour();
                         closeHour = config.getCloseHour();
                         maxSeats = config.getMaxSeats();
-                        buildHeaderRow();
-                        buildSeatRows();
+                        resetGrid();
                         loadAndRenderShifts();
                     },
                     e -> {
                         Toast.makeText(this, "Could not load business config, using defaults.", Toast.LENGTH_SHORT).show();
-                        buildHeaderRow();
-                        buildSeatRows();
+                        resetGrid();
                         loadAndRenderShifts();
                     }
             );
         } else {
-            buildHeaderRow();
-            buildSeatRows();
+            resetGrid();
             loadAndRenderShifts();
         }
     }
@@ -190,8 +148,7 @@ public class BusinessSeat extends AppCompatActivity {
                 windowEndMs   = endDate.getTime();
 
                 // initial build and render
-                buildHeaderRow();
-                buildSeatRows(); // builds numeric rows + final unallocated row
+                resetGrid();
 
                 loadAndRenderShifts();
             }, c.get(Calendar.YEAR), c.get(Calendar.MONTH), c.get(Calendar.DAY_OF_MONTH));
@@ -211,304 +168,78 @@ public class BusinessSeat extends AppCompatActivity {
             Toast.makeText(this, "No business specified - cannot load shifts.", Toast.LENGTH_LONG).show();
             return;
         }
-        unallocatedRows.clear();
-
-        shiftRepository.fetchActiveShifts(
+        if (liveSeatMap != null) {
+            liveSeatMap.stop();
+        }
+        liveSeatMap = new LiveSeatMap(
+                shiftRepository,
                 businessId,
-                querySnapshot -> {
-                    for (DocumentSnapshot shiftDoc : querySnapshot.getDocuments()) {
-                        Timestamp tsStart = shiftDoc.getTimestamp("shift_start_time");
-                        Timestamp tsEnd   = shiftDoc.getTimestamp("shift_end_time");
-                        String seatStr    = shiftDoc.getString("shift_seat");
-                        String shiftCustomerId = shiftDoc.getString("shift_customer_id");
-                        if (tsStart == null || tsEnd == null || seatStr == null) continue;
-
-                        long startMs = tsStart.toDate().getTime();
-                        long endMs   = tsEnd.toDate().getTime();
-
-                        // check overlap with chosen window
-                        if (!(endMs > windowStartMs && startMs < windowEndMs)) continue;
-
-                        int seatNum;
-                        try {
-                            seatNum = Integer.parseInt(seatStr);
-                            paintSeatRange(seatNum, tsStart, tsEnd, shiftCustomerId);
-                        } catch (NumberFormatException nf) {
-                            String normalizedSeat = seatStr.trim().toLowerCase(Locale.US);
-                            if (normalizedSeat.contains("unallocated")) {
-                                String startLabel = DateFormat.format("d MMM yyyy, HH:mm", tsStart.toDate()).toString();
-                                String endLabel = DateFormat.format("d MMM yyyy, HH:mm", tsEnd.toDate()).toString();
-                                String customerLabel = (shiftCustomerId == null || shiftCustomerId.trim().isEmpty()) ? "-" : shiftCustomerId;
-                                unallocatedRows.add(new UnallocatedShiftRow(customerLabel, startLabel, endLabel));
-                            }
-                        }
-                    }
-                    renderUnallocatedRows();
-                },
+                windowStartMs,
+                windowEndMs,
+                occupancy,
+                this::paintShift,
+                this::onSeatMapChanged,
                 e -> Toast.makeText(this, "Error loading shifts: " + e.getMessage(), Toast.LENGTH_LONG).show()
         );
-    }
-
-    private void paintSeatRange(int seatNum, Timestamp tsStart, Timestamp tsEnd, String shiftCustomerId) {
-        int startH = extractHour(tsStart);
-        int endH = extractHour(tsEnd);
-        if (startH <= endH) {
-            for (int h = startH; h < endH; h++) {
-                markOccupied(seatNum, h, false, shiftCustomerId, null);
-            }
-        } else {
-            for (int h = startH; h < closeHour; h++) {
-                markOccupied(seatNum, h, false, shiftCustomerId, null);
-            }
-            for (int h = openHour; h < endH; h++) {
-                markOccupied(seatNum, h, false, shiftCustomerId, null);
-            }
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+            liveSeatMap.start();
         }
-        // Show customer id only once per highlighted block with range-aware fitted text.
-        int blockLength;
-        if (startH <= endH) {
-            blockLength = Math.max(1, endH - startH);
-        } else {
-            blockLength = Math.max(1, (closeHour - startH) + (endH - openHour));
-        }
-        markOccupied(seatNum, startH, true, shiftCustomerId, shiftCustomerId);
-    }
-
-    private int extractHour(Timestamp timestamp) {
-        Calendar cal = Calendar.getInstance();
-        cal.setTime(timestamp.toDate());
-        return cal.get(Calendar.HOUR_OF_DAY);
     }
 
-    private void paintHourRange(int startH, int endH, HourPainter painter) {
-        if (startH <= endH) {
-            for (int h = startH; h < endH; h++) {
-                painter.paint(h);
-            }
-            return;
-        }
-
-        for (int h = startH; h < closeHour; h++) {
-            painter.paint(h);
-        }
-        for (int h = openHour; h < endH; h++) {
-            painter.paint(h);
-        }
-    }
-
-    // ---------------------------
-    // Grid building (header + rows + unallocated row)
-    // ---------------------------
-    private void buildHeaderRow() {
-        if (headerRow != null) headerRow.removeAllViews();
-
-        final int w = colPx();
-        float scaledSp = scaledHeaderTextSp();
-
-        for (int h = openHour; h < closeHour; h++) {
-            TextView tv = new TextView(this);
-            tv.setText(slotLabel(h));
-            tv.setSingleLine(true);
-            tv.setEllipsize(null);
-            tv.setGravity(Gravity.CENTER);
-            int pad = dpToPx(8 + (currentColDp - 96) / 12);
-            tv.setPadding(pad, pad, pad, pad);
-            tv.setBackgroundResource(R.drawable.cell_border);
-            tv.setTypeface(null, Typeface.BOLD);
-            tv.setTextSize(TypedValue.COMPLEX_UNIT_SP, scaledSp);
-
-            LinearLayout.LayoutParams lp =
-                    new LinearLayout.LayoutParams(w, ViewGroup.LayoutParams.WRAP_CONTENT);
-            tv.setLayoutParams(lp);
-
-            headerRow.addView(tv);
-        }
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (liveSeatMap != null) liveSeatMap.start();
     }
 
-    private void buildSeatRows() {
-        if (leftSeatColumn != null) leftSeatColumn.removeAllViews();
-        if (table != null) table.removeAllViews();
-
-        final int w = colPx();
-        float scaledSpCell = scaledCellTextSp();
-        int cellPad = dpToPx(8 + (currentColDp - 96) / 12);
-
-        // numeric seat rows
-        for (int seat = 1; seat <= maxSeats; seat++) {
-            if (leftSeatColumn != null) {
-                TextView seatTv = new TextView(this);
-                seatTv.setText(String.valueOf(seat));
-                seatTv.setGravity(Gravity.CENTER);
-                seatTv.setPadding(cellPad / 2, cellPad, cellPad / 2, cellPad);
-                seatTv.setBackgroundResource(R.drawable.cell_border);
-                seatTv.setTextSize(TypedValue.COMPLEX_UNIT_SP, scaledSpCell);
-                leftSeatColumn.addView(seatTv);
-            }
-
-            TableRow row = new TableRow(this);
-            row.setLayoutParams(new TableLayout.LayoutParams(
-                    ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
-
-            for (int h = openHour; h < closeHour; h++) {
-                TextView cell = new TextView(this);
-                String tag = seat + ":" + h;
-                cell.setTag(tag);
-                cell.setGravity(Gravity.CENTER);
-                cell.setPadding(cellPad, cellPad, cellPad, cellPad);
-                cell.setBackgroundResource(R.drawable.cell_border);
-                cell.setTextSize(TypedValue.COMPLEX_UNIT_SP, scaledSpCell);
-                // view-only => no click handlers
-                cell.setOnClickListener(null);
-                TableRow.LayoutParams lp = new TableRow.LayoutParams(w, ViewGroup.LayoutParams.WRAP_CONTENT);
-                cell.setLayoutParams(lp);
-                row.addView(cell);
-            }
-
-            if (table != null) table.addView(row);
-        }
-
+    @Override
+    protected void onStop() {
+        if (liveSeatMap != null) liveSeatMap.stop();
+        super.onStop();
     }
 
-    // ---------------------------
-    // Capture & reapply visuals (persistence across rebuilds)
-    // ---------------------------
-    private void captureCellStates() {
-        savedVisuals.clear();
-        if (table == null) return;
-        for (int r = 0; r < table.getChildCount(); r++) {
-            TableRow row = (TableRow) table.getChildAt(r);
-            for (int c = 0; c < row.getChildCount(); c++) {
-                View cell = row.getChildAt(c);
-                Object rawTag = cell.getTag();
-                String key = (rawTag != null) ? rawTag.toString() : ("r" + r + "c" + c);
-                CellVisual cv = new CellVisual();
-                cv.occupied = Boolean.TRUE.equals(cell.getTag(R.id.occupied));
-                cv.customerShift = Boolean.TRUE.equals(cell.getTag(R.id.customer_shift));
-                if (cell instanceof TextView) cv.text = ((TextView) cell).getText();
-                Object occupiedCustomerId = cell.getTag(R.id.occupied_customer_id);
-                cv.occupiedCustomerId = occupiedCustomerId != null ? String.valueOf(occupiedCustomerId) : null;
-                savedVisuals.put(key, cv);
-            }
+    private void onSeatMapChanged(BitSet seats, boolean unallocatedChanged) {
+        for (int seat = seats.nextSetBit(0); seat >= 0; seat = seats.nextSetBit(seat + 1)) {
+            seatGrid.invalidateSeat(seat);
         }
-    }
-
-    private void applySavedCellStates() {
-        if (table == null || savedVisuals.isEmpty()) return;
-        for (Map.Entry<String, CellVisual> e : savedVisuals.entrySet()) {
-            String key = e.getKey();
-            String[] parts = key.split(":");
-            if (parts.length == 2) {
-                String left = parts[0], right = parts[1];
-                int hour;
-                try {
-                    hour = Integer.parseInt(right);
-                } catch (NumberFormatException ex) {
-                    continue;
-                }
-                CellVisual cv = e.getValue();
-                int seat;
-                try {
-                    seat = Integer.parseInt(left);
-                } catch (NumberFormatException ex) {
-                    continue;
-                }
-                View v = findCellView(seat, hour);
-                if (v == null) continue;
-                if (cv.customerShift) {
-                    v.setBackgroundResource(R.drawable.cell_customer_shift);
-                    v.setTag(R.id.customer_shift, true);
-                    v.setTag(R.id.occupied, null);
-                    v.setTag(R.id.occupied_customer_id, null);
-                    v.setOnClickListener(null);
-                } else if (cv.occupied) {
-                    v.setBackgroundResource(R.drawable.cell_occupied);
-                    v.setTag(R.id.occupied, true);
-                    v.setTag(R.id.occupied_customer_id, cv.occupiedCustomerId);
-                    if (cv.occupiedCustomerId != null && !cv.occupiedCustomerId.trim().isEmpty()
-                            && cv.text != null && cv.text.length() > 0) {
-                        v.setOnClickListener(view -> openCustomerProfile(cv.occupiedCustomerId));
-                    } else {
-                        v.setOnClickListener(null);
-                    }
-                } else {
-                    v.setBackgroundResource(R.drawable.cell_border);
-                    v.setTag(R.id.occupied, null);
-                    v.setTag(R.id.occupied_customer_id, null);
-                    v.setOnClickListener(null);
-                }
-                if (v instanceof TextView && cv.text != null) ((TextView) v).setText(cv.text);
+        if (unallocatedChanged) {
+            unallocatedRows.clear();
+            for (ShiftRecord shift : liveSeatMap.getUnallocatedShifts()) {
+                String shiftCustomerId = shift.getCustomerId();
+                String startLabel = DateFormat.format("d MMM yyyy, HH:mm", shift.getStartMs()).toString();
+                String endLabel = DateFormat.format("d MMM yyyy, HH:mm", shift.getEndMs()).toString();
+                String customerLabel = (shiftCustomerId == null || shiftCustomerId.trim().isEmpty()) ? "-" : shiftCustomerId;
+                unallocatedRows.add(new UnallocatedShiftRow(customerLabel, startLabel, endLabel));
             }
+            renderUnallocatedRows();
         }
     }
 
-    // Rebuild grid but preserve painted cells (used for zoom)
-    private void rebuildGridPreservingState() {
-        captureCellStates();
-        buildHeaderRow();
-        buildSeatRows();
-        applySavedCellStates();
+    private void paintShift(SeatOccupancyModel model, ShiftRecord shift, int startH, int endH) {
+        int seatNum = shift.getSeatNumber();
+        model.occupy(seatNum, startH, endH, shift.getCustomerId(), false);
+        // Show customer id only once per highlighted block.
+        model.occupy(seatNum, startH, startH + 1, shift.getCustomerId(), true);
     }
 
-    // ---------------------------
-    // Paint helpers (view-only)
-    // ---------------------------
-    private void markOccupied(int seat, int hour, boolean showLabel, String shiftCustomerId, String labelText) {
-        View cell = findCellView(seat, hour);
-        if (cell == null) return;
-        // set same tag as other occupied seat cells
-        cell.setBackgroundResource(R.drawable.cell_occupied);
-        cell.setTag(R.id.occupied, true);
-        cell.setTag(R.id.occupied_customer_id, shiftCustomerId);
-        if (cell instanceof TextView) {
-            TextView tv = (TextView) cell;
-            if (showLabel && shiftCustomerId != null && !shiftCustomerId.trim().isEmpty()) {
-                tv.setText(labelText != null ? labelText : shiftCustomerId);
-                tv.setTextColor(Color.WHITE);
-                tv.setPaintFlags(tv.getPaintFlags() | Paint.UNDERLINE_TEXT_FLAG);
-                tv.setGravity(Gravity.TOP | Gravity.CENTER_HORIZONTAL);
-                tv.setTextSize(TypedValue.COMPLEX_UNIT_SP, Math.max(9f, scaledCellTextSp() - 1f));
-                cell.setOnClickListener(v -> openCustomerProfile(shiftCustomerId));
-            } else {
-                tv.setText("");
-                cell.setOnClickListener(null);
-            }
-        } else {
-            cell.setOnClickListener(null);
-        }
+    private static long startOfToday() {
+        Calendar cal = Calendar.getInstance();
+        cal.set(Calendar.HOUR_OF_DAY, 0); cal.set(Calendar.MINUTE, 0); cal.set(Calendar.SECOND, 0); cal.set(Calendar.MILLISECOND, 0);
+        return cal.getTimeInMillis();
     }
 
     // ---------------------------
-    // Utilities (layout + scroll)
+    // Grid + paint helpers (view-only)
     // ---------------------------
-    private void wireScrollSync() {
-        // horizontal sync (header <-> content)
-        if (hsvContent != null) hsvContent.setOnScrollListener((l, t) -> {
-            try {
-                if (hsvHeader != null) hsvHeader.scrollTo(l, 0);
-            } catch (Exception ignored) {}
-        });
-        if (hsvHeader != null) hsvHeader.setOnScrollListener((l, t) -> {
-            try {
-                if (hsvContent != null) hsvContent.scrollTo(l, 0);
-            } catch (Exception ignored) {}
-        });
-
-        // vertical sync (left <-> content)
-        if (svContent != null) svContent.setOnScrollListener((l, t) -> {
-            try {
-                if (svLeft != null) svLeft.scrollTo(0, t);
-            } catch (Exception ignored) {}
-        });
-        if (svLeft != null) svLeft.setOnScrollListener((l, t) -> {
-            try {
-                if (svContent != null) svContent.scrollTo(0, t);
-            } catch (Exception ignored) {}
-        });
+    private void resetGrid() {
+        occupancy.reset(maxSeats, openHour, closeHour);
+        seatGrid.notifyCellsChanged();
     }
 
-    private int colPx() {
-        return (int) TypedValue.applyDimension(
-                TypedValue.COMPLEX_UNIT_DIP, currentColDp, getResources().getDisplayMetrics());
+    private void onCellTapped(int seat, int hour) {
+        if (occupancy.getCellLabel(seat, hour) != null) {
+            openCustomerProfile(occupancy.getCustomerId(seat, hour));
+        }
     }
 
     private int dpToPx(int dp) {
@@ -516,35 +247,6 @@ public class BusinessSeat extends AppCompatActivity {
                 TypedValue.COMPLEX_UNIT_DIP, dp, getResources().getDisplayMetrics());
     }
 
-    private float scaledHeaderTextSp() {
-        float delta = (currentColDp - 96) / 24f;
-        return Math.max(10f, baseTextSpHeader + delta * 2f);
-    }
-
-    private float scaledCellTextSp() {
-        float delta = (currentColDp - 96) / 24f;
-        return Math.max(10f, baseTextSpCell + delta * 2.0f);
-    }
-
-    private String fmtHour(int h) {
-        int hh = ((h % 24) + 24) % 24;
-        return String.format(Locale.getDefault(), "%02d:00", hh);
-    }
-
-    private String slotLabel(int startHour) {
-        return fmtHour(startHour) + "-" + fmtHour(startHour + 1);
-    }
-
-    private View findCellView(int seat, int hour) {
-        if (table == null) return null;
-        int rowIndex = seat - 1;
-        if (rowIndex < 0 || rowIndex >= table.getChildCount()) return null;
-        TableRow row = (TableRow) table.getChildAt(rowIndex);
-        int colIndex = hour - openHour;
-        if (colIndex < 0 || colIndex >= row.getChildCount()) return null;
-        return row.getChildAt(colIndex);
-    }
-
     // ---------------------------
     // Floating buttons (programmatic)
     // ---------------------------
@@ -567,9 +269,7 @@ public class BusinessSeat extends AppCompatActivity {
                 dpToPx(48), dpToPx(48), Gravity.END | Gravity.BOTTOM);
         p1.setMargins(0,0,0, dpToPx(56));
         floatZoomIn.setLayoutParams(p1);
-        floatZoomIn.setOnClickListener(v -> {
-            zoomInPreserve();
-        });
+        floatZoomIn.setOnClickListener(v -> seatGrid.zoomIn());
 
         // zoom out
         floatZoomOut = createFloatingButton(this, "-");
@@ -577,9 +277,7 @@ public class BusinessSeat extends AppCompatActivity {
                 dpToPx(48), dpToPx(48), Gravity.END | Gravity.BOTTOM);
         p2.setMargins(0,0,0, 0);
         floatZoomOut.setLayoutParams(p2);
-        floatZoomOut.setOnClickListener(v -> {
-            zoomOutPreserve();
-        });
+        floatZoomOut.setOnClickListener(v -> seatGrid.zoomOut());
 
         container.addView(floatZoomIn);
         container.addView(floatZoomOut);
@@ -598,21 +296,6 @@ public class BusinessSeat extends AppCompatActivity {
         return b;
     }
 
-    // ---------------------------
-    // Zoom helpers that preserve state
-    // ---------------------------
-    private void zoomInPreserve() {
-        if (currentColDp + COL_STEP_DP > MAX_COL_DP) currentColDp = MAX_COL_DP;
-        else currentColDp += COL_STEP_DP;
-        rebuildGridPreservingState();
-    }
-
-    private void zoomOutPreserve() {
-        if (currentColDp - COL_STEP_DP < MIN_COL_DP) currentColDp = MIN_COL_DP;
-        else currentColDp -= COL_STEP_DP;
-        rebuildGridPreservingState();
-    }
-
     private void openCustomerProfile(String targetCustomerId) {
         if (businessId == null || targetCustomerId == null || targetCustomerId.trim().isEmpty()) {
             return;
@@ -22,17 +22,18 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.sentri.access_control.adapters.DiffingAdapter;
 import com.sentri.access_control.repositories.BusinessRepository;
 import com.sentri.access_control.repositories.CardRepository;
 import com.sentri.access_control.repositories.CommentRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessRepository;
 import com.sentri.access_control.repositories.FirestoreCardRepository;
 import com.sentri.access_control.repositories.FirestoreCommentRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.text.SimpleDateFormat;
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Locale;
 import java.util.Map;
 import java.util.TimeZone;
@@ -61,7 +62,6 @@ public class CardAssignment extends AppCompatActivity {
     private String userEmail;
     private String businessPrefix;
 
-    private final List<DocumentSnapshot> cards = new ArrayList<>();
     private CardAdapter adapter;
 
     @Override
@@ -94,9 +94,9 @@ public class CardAssignment extends AppCompatActivity {
 
     private void initializeDependencies() {
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        cardRepository = new FirestoreCardRepository(firestore);
-        businessRepository = new FirestoreBusinessRepository(firestore);
-        commentRepository = new FirestoreCommentRepository(firestore);
+        cardRepository = RepositoryMetrics.instrument(CardRepository.class, new FirestoreCardRepository(firestore), "CardAssignment");
+        businessRepository = RepositoryMetrics.instrument(BusinessRepository.class, new FirestoreBusinessRepository(firestore), "CardAssignment");
+        commentRepository = RepositoryMetrics.instrument(CommentRepository.class, new FirestoreCommentRepository(firestore), "CardAssignment");
         userEmail = new PrefsManager(this).getUserEmail();
     }
 
@@ -110,7 +110,7 @@ public class CardAssignment extends AppCompatActivity {
     }
 
     private void setupRecycler() {
-        adapter = new CardAdapter(cards, this::onCardClicked);
+        adapter = new CardAdapter(this::onCardClicked);
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         recyclerView.addItemDecoration(new DividerItemDecoration(this, DividerItemDecoration.VERTICAL));
         recyclerView.setAdapter(adapter);
@@ -120,9 +120,7 @@ public class CardAssignment extends AppCompatActivity {
         setLoading(true);
         cardRepository.fetchAllCards(
                 docs -> {
-                    cards.clear();
-                    cards.addAll(docs);
-                    adapter.notifyDataSetChanged();
+                    adapter.submitList(docs);
                     setLoading(false);
                 },
                 exception -> {
@@ -139,9 +137,7 @@ public class CardAssignment extends AppCompatActivity {
                 businessId,
                 onlyUnassigned,
                 docs -> {
-                    cards.clear();
-                    cards.addAll(docs);
-                    adapter.notifyDataSetChanged();
+                    adapter.submitList(docs);
                     setLoading(false);
                 },
                 exception -> {
@@ -151,12 +147,7 @@ public class CardAssignment extends AppCompatActivity {
         );
     }
 
-    private void onCardClicked(int position) {
-        if (position < 0 || position >= cards.size()) {
-            return;
-        }
-
-        DocumentSnapshot cardDoc = cards.get(position);
+    private void onCardClicked(DocumentSnapshot cardDoc) {
         String cardId = safeText(cardDoc.getString("card_id"), cardDoc.getId());
 
         if (!isNewFlow && !isReplaceFlow && !isReturnFlow) {
@@ -396,29 +387,45 @@ public class CardAssignment extends AppCompatActivity {
         return value.trim();
     }
 
-    private static class CardAdapter extends RecyclerView.Adapter<CardAdapter.VH> {
+    private static class CardAdapter extends DiffingAdapter<DocumentSnapshot, CardAdapter.VH> {
         interface ItemClick {
-            void onClick(int position);
+            void onClick(DocumentSnapshot cardDoc);
         }
 
-        private final List<DocumentSnapshot> list;
         private final ItemClick click;
 
-        CardAdapter(List<DocumentSnapshot> list, ItemClick click) {
-            this.list = list;
+        CardAdapter(ItemClick click) {
             this.click = click;
         }
 
+        @Override
+        protected Object keyOf(DocumentSnapshot cardDoc) {
+            return cardDoc.getId();
+        }
+
+        @Override
+        protected Object contentOf(DocumentSnapshot cardDoc) {
+            return Arrays.asList(cardDoc.getString("card_id"), cardDoc.getString("card_assigned_to"),
+                    cardDoc.getBoolean("card_status"));
+        }
+
         @NonNull
         @Override
         public VH onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
             View view = LayoutInflater.from(parent.getContext()).inflate(R.layout.item_card_assign, parent, false);
-            return new VH(view, click);
+            VH holder = new VH(view);
+            view.setOnClickListener(v -> {
+                int adapterPosition = holder.getAdapterPosition();
+                if (click != null && adapterPosition != RecyclerView.NO_POSITION) {
+                    click.onClick(getItem(adapterPosition));
+                }
+            });
+            return holder;
         }
 
         @Override
         public void onBindViewHolder(@NonNull VH holder, int position) {
-            DocumentSnapshot cardDoc = list.get(position);
+            DocumentSnapshot cardDoc = getItem(position);
             String cardId = cardDoc.getString("card_id");
             holder.tvTitle.setText(cardId != null ? cardId : cardDoc.getId());
 
@@ -430,25 +437,14 @@ public class CardAssignment extends AppCompatActivity {
                     + (status == null ? DASH : String.valueOf(status)));
         }
 
-        @Override
-        public int getItemCount() {
-            return list.size();
-        }
-
         static class VH extends RecyclerView.ViewHolder {
             private final TextView tvTitle;
             private final TextView tvDetail;
 
-            VH(@NonNull View itemView, ItemClick click) {
+            VH(@NonNull View itemView) {
                 super(itemView);
                 tvTitle = itemView.findViewById(R.id.card_title);
                 tvDetail = itemView.findViewById(R.id.card_detail);
-                itemView.setOnClickListener(view -> {
-                    int adapterPosition = getAdapterPosition();
-                    if (click != null && adapterPosition != RecyclerView.NO_POSITION) {
-                        click.onClick(adapterPosition);
-                    }
-                });
             }
         }
     }
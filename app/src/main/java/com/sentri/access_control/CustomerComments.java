@@ -20,6 +20,7 @@ import com.sentri.access_control.adapters.CommentsAdapter;
 import com.sentri.access_control.models.CommentItem;
 import com.sentri.access_control.repositories.CommentRepository;
 import com.sentri.access_control.repositories.FirestoreCommentRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -51,7 +52,7 @@ public class CustomerComments extends AppCompatActivity {
             return;
         }
 
-        commentRepository = new FirestoreCommentRepository(FirebaseFirestore.getInstance());
+        commentRepository = RepositoryMetrics.instrument(CommentRepository.class, new FirestoreCommentRepository(FirebaseFirestore.getInstance()), "CustomerComments");
 
         etComment = findViewById(R.id.etComment);
         tvCharCount = findViewById(R.id.tvCharCount);
@@ -23,6 +23,7 @@ import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.sentri.access_control.repositories.FirestoreHistoryRepository;
 import com.sentri.access_control.repositories.HistoryRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 
 import java.text.SimpleDateFormat;
 import java.util.List;
@@ -149,7 +150,7 @@ public class CustomerHistory extends AppCompatActivity {
                 listContainer = root.findViewById(R.id.listContainer);
                 btnLoadMore = root.findViewById(R.id.btnLoadMore);
                 progressBar = root.findViewById(R.id.progressBar);
-                historyRepository = new FirestoreHistoryRepository(FirebaseFirestore.getInstance());
+                historyRepository = RepositoryMetrics.instrument(HistoryRepository.class, new FirestoreHistoryRepository(FirebaseFirestore.getInstance()), "CustomerHistory");
 
                 if (getArguments() != null) {
                     businessId = getArguments().getString("businessId");
@@ -497,7 +498,7 @@ public class CustomerHistory extends AppCompatActivity {
                 listContainer = root.findViewById(R.id.listContainer);
                 btnLoadMore = root.findViewById(R.id.btnLoadMore);
                 progressBar = root.findViewById(R.id.progressBar);
-                historyRepository = new FirestoreHistoryRepository(FirebaseFirestore.getInstance());
+                historyRepository = RepositoryMetrics.instrument(HistoryRepository.class, new FirestoreHistoryRepository(FirebaseFirestore.getInstance()), "CustomerHistory");
 
                 if (getArguments() != null) {
                     businessId = getArguments().getString("businessId");
@@ -17,6 +17,7 @@ import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.CoalescingCustomerRepository;
 import com.sentri.access_control.repositories.CommentRepository;
 import com.sentri.access_control.repositories.CustomerRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessRepository;
@@ -24,6 +25,7 @@ import com.sentri.access_control.repositories.FirestoreCommentRepository;
 import com.sentri.access_control.repositories.FirestoreCustomerRepository;
 import com.sentri.access_control.repositories.FirestoreLeaveRepository;
 import com.sentri.access_control.repositories.LeaveRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -90,10 +92,10 @@ public class CustomerLeave extends AppCompatActivity {
 
     private void initializeDependencies() {
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        businessRepository = new FirestoreBusinessRepository(firestore);
-        customerRepository = new FirestoreCustomerRepository(firestore);
-        commentRepository = new FirestoreCommentRepository(firestore);
-        leaveRepository = new FirestoreLeaveRepository(firestore);
+        businessRepository = RepositoryMetrics.instrument(BusinessRepository.class, new FirestoreBusinessRepository(firestore), "CustomerLeave");
+        customerRepository = new CoalescingCustomerRepository(RepositoryMetrics.instrument(CustomerRepository.class, new FirestoreCustomerRepository(firestore), "CustomerLeave"));
+        commentRepository = RepositoryMetrics.instrument(CommentRepository.class, new FirestoreCommentRepository(firestore), "CustomerLeave");
+        leaveRepository = RepositoryMetrics.instrument(LeaveRepository.class, new FirestoreLeaveRepository(firestore), "CustomerLeave");
         userEmail = new PrefsManager(this).getUserEmail();
     }
 
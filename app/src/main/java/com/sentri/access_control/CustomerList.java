@@ -2,6 +2,8 @@ package com.sentri.access_control;
 
 import android.content.Intent;
 import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
 import android.text.Editable;
 import android.text.TextWatcher;
 import android.widget.EditText;
@@ -15,17 +17,22 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.floatingactionbutton.FloatingActionButton;
+import com.google.android.material.textfield.TextInputLayout;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QuerySnapshot;
 import com.sentri.access_control.adapters.CustomerAdapter;
 import com.sentri.access_control.models.Customer;
+import com.sentri.access_control.repositories.CoalescingCustomerRepository;
 import com.sentri.access_control.repositories.CustomerRepository;
 import com.sentri.access_control.repositories.FirestoreCustomerRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
+import com.sentri.access_control.services.CustomerPager;
+import com.sentri.access_control.services.CustomerSearch;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Locale;
 
 public class CustomerList extends AppCompatActivity {
 
@@ -38,8 +45,18 @@ public class CustomerList extends AppCompatActivity {
     private Chip chipActive;
     private Chip chipInactive;
     private EditText etSearch;
+    private TextInputLayout tilSearch;
 
     private CustomerRepository customerRepository;
+    private CustomerPager<DocumentSnapshot> pager;
+    private CustomerSearch search;
+    // Bumped for each new pager so a replaced pager's late pages are ignored.
+    private int loadSequence;
+    // Set when a screen that can add, edit or deactivate customers is opened from here.
+    private boolean reloadOnReturn;
+    // What the pager has loaded for the filter on show; search only covers these.
+    private int loadedCount;
+    private boolean loadedAll;
 
     @Override
     protected void onCreate(@Nullable Bundle savedInstanceState) {
@@ -53,6 +70,21 @@ public class CustomerList extends AppCompatActivity {
         loadCustomers();
     }
 
+    @Override
+    protected void onRestart() {
+        super.onRestart();
+        if (reloadOnReturn) {
+            reloadOnReturn = false;
+            loadCustomers();
+        }
+    }
+
+    @Override
+    protected void onDestroy() {
+        search.shutdown();
+        super.onDestroy();
+    }
+
     private void setupToolbar() {
         MaterialToolbar toolbar = findViewById(R.id.toolbar);
         setSupportActionBar(toolbar);
@@ -64,12 +96,13 @@ public class CustomerList extends AppCompatActivity {
 
     private void setupState() {
         businessDocId = new PrefsManager(this).getCurrentBizId();
-        customerRepository = new FirestoreCustomerRepository(FirebaseFirestore.getInstance());
+        customerRepository = new CoalescingCustomerRepository(RepositoryMetrics.instrument(CustomerRepository.class, new FirestoreCustomerRepository(FirebaseFirestore.getInstance()), "CustomerList"));
 
         chipAll = findViewById(R.id.chipAll);
         chipActive = findViewById(R.id.chipActive);
         chipInactive = findViewById(R.id.chipInactive);
         etSearch = findViewById(R.id.etSearch);
+        tilSearch = findViewById(R.id.tilSearch);
     }
 
     private void setupList() {
@@ -77,11 +110,25 @@ public class CustomerList extends AppCompatActivity {
         recyclerView.setLayoutManager(new LinearLayoutManager(this));
         adapter = new CustomerAdapter(customerList);
         recyclerView.setAdapter(adapter);
+        search = new CustomerSearch(
+                new Handler(Looper.getMainLooper())::post,
+                (query, results) -> adapter.updateList(results)
+        );
+        recyclerView.addOnScrollListener(new RecyclerView.OnScrollListener() {
+            @Override
+            public void onScrolled(RecyclerView view, int dx, int dy) {
+                LinearLayoutManager layoutManager = (LinearLayoutManager) view.getLayoutManager();
+                if (pager != null && layoutManager != null && dy > 0) {
+                    pager.onScrolled(layoutManager.findLastVisibleItemPosition(), adapter.getItemCount());
+                }
+            }
+        });
 
         adapter.setOnItemClickListener(customer -> {
             Intent intent = new Intent(CustomerList.this, CustomerProfile.class);
             intent.putExtra("businessDocId", businessDocId);
             intent.putExtra("customerDocId", customer.getCustomerId());
+            reloadOnReturn = true;
             startActivity(intent);
         });
     }
@@ -91,12 +138,13 @@ public class CustomerList extends AppCompatActivity {
         fab.setOnClickListener(v -> {
             Intent intent = new Intent(CustomerList.this, AddCustomer.class);
             intent.putExtra("businessDocId", businessDocId);
+            reloadOnReturn = true;
             startActivity(intent);
         });
 
-        chipAll.setOnCheckedChangeListener((chip, checked) -> reloadAndFilter());
-        chipActive.setOnCheckedChangeListener((chip, checked) -> reloadAndFilter());
-        chipInactive.setOnCheckedChangeListener((chip, checked) -> reloadAndFilter());
+        chipAll.setOnCheckedChangeListener((chip, checked) -> applyFilter());
+        chipActive.setOnCheckedChangeListener((chip, checked) -> applyFilter());
+        chipInactive.setOnCheckedChangeListener((chip, checked) -> applyFilter());
 
         etSearch.addTextChangedListener(new TextWatcher() {
             @Override
@@ -105,7 +153,12 @@ public class CustomerList extends AppCompatActivity {
 
             @Override
             public void onTextChanged(CharSequence s, int start, int before, int count) {
-                adapter.filter(s.toString());
+                search.setQuery(s.toString());
+                if (pager != null && s.toString().trim().length() > 0) {
+                    // Search covers loaded rows only, so fetch more of this filter, up to a cap.
+                    pager.loadUpTo(CustomerPager.SEARCH_LOAD_LIMIT);
+                }
+                updateSearchHint();
             }
 
             @Override
@@ -114,8 +167,23 @@ public class CustomerList extends AppCompatActivity {
         });
     }
 
-    private void reloadAndFilter() {
-        loadCustomers();
+    private void applyFilter() {
+        if (pager != null) {
+            pager.show(selectedFilter());
+            if (!etSearch.getText().toString().trim().isEmpty()) {
+                pager.loadUpTo(CustomerPager.SEARCH_LOAD_LIMIT);
+            }
+        }
+    }
+
+    private CustomerPager.Filter selectedFilter() {
+        if (chipActive.isChecked()) {
+            return CustomerPager.Filter.ACTIVE;
+        }
+        if (chipInactive.isChecked()) {
+            return CustomerPager.Filter.INACTIVE;
+        }
+        return CustomerPager.Filter.ALL;
     }
 
     private void loadCustomers() {
@@ -124,48 +192,49 @@ public class CustomerList extends AppCompatActivity {
             return;
         }
 
-        customerRepository.fetchCustomers(
-                businessDocId,
-                this::onCustomersLoaded,
-                e -> Toast.makeText(this, "Error loading customers: " + e.getMessage(), Toast.LENGTH_LONG).show()
-        );
-    }
-
-    private void onCustomersLoaded(QuerySnapshot snapshots) {
-        boolean showAll = chipAll.isChecked();
-        boolean showActive = chipActive.isChecked();
-        boolean showInactive = chipInactive.isChecked();
-
-        List<Customer> filtered = new ArrayList<>();
-        for (DocumentSnapshot doc : snapshots.getDocuments()) {
-            Customer customer = toCustomer(doc);
-            if (!showAll) {
-                if (showActive && !customer.isCustomerStatus()) {
-                    continue;
+        int sequence = ++loadSequence;
+        pager = new CustomerPager<>(
+                CustomerPager.fromRepository(customerRepository, businessDocId, CustomerRepository.ORDER_BY_NAME),
+                CustomerPager.DEFAULT_PAGE_SIZE,
+                new CustomerPager.Listener() {
+                    @Override
+                    public void onCustomers(CustomerPager.Filter filter, List<Customer> customers, boolean complete) {
+                        if (sequence != loadSequence) {
+                            return;
+                        }
+                        loadedCount = customers.size();
+                        loadedAll = complete;
+                        search.setCustomers(customers);
+                        if (etSearch.getText().toString().trim().isEmpty()) {
+                            adapter.updateList(customers);
+                        }
+                        updateSearchHint();
+                    }
+
+                    @Override
+                    public void onError(CustomerPager.Filter filter, Exception e) {
+                        if (sequence != loadSequence) {
+                            return;
+                        }
+                        Toast.makeText(CustomerList.this, "Error loading customers: " + e.getMessage(), Toast.LENGTH_LONG).show();
+                    }
                 }
-                if (showInactive && customer.isCustomerStatus()) {
-                    continue;
-                }
-            }
-            filtered.add(customer);
+        );
+        pager.show(selectedFilter());
+        if (!etSearch.getText().toString().trim().isEmpty()) {
+            pager.loadUpTo(CustomerPager.SEARCH_LOAD_LIMIT);
         }
-
-        adapter.updateList(filtered);
-        adapter.filter(etSearch.getText().toString());
-    }
-
-    private Customer toCustomer(DocumentSnapshot doc) {
-        String name = safeString(doc.getString("customer_name"));
-        String id = safeString(doc.getString("customer_id"));
-        String cardId = safeString(doc.getString("customer_current_card_id"));
-        boolean status = Boolean.TRUE.equals(doc.getBoolean("customer_status"));
-        String photoUrl = safeString(doc.getString("customer_photo"));
-        String aadharUrl = safeString(doc.getString("customer_aadhar_photo"));
-
-        return new Customer(name, id, cardId, status, photoUrl, aadharUrl);
     }
 
-    private String safeString(String value) {
-        return value != null ? value : "";
+    /**
+     * Says when search results come from part of the list only, i.e. the filter has more
+     * customers than {@link CustomerPager#SEARCH_LOAD_LIMIT} loads.
+     */
+    private void updateSearchHint() {
+        boolean partial = !loadedAll && pager != null && !pager.isLoading()
+                && !etSearch.getText().toString().trim().isEmpty();
+        tilSearch.setHelperText(partial
+                ? String.format(Locale.getDefault(), "Searched the first %d customers. Scroll down to load more.", loadedCount)
+                : null);
     }
 }
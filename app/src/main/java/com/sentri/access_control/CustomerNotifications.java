@@ -16,6 +16,7 @@ import com.sentri.access_control.repositories.CommentRepository;
 import com.sentri.access_control.repositories.FirestoreCommentRepository;
 import com.sentri.access_control.repositories.FirestoreNotificationRepository;
 import com.sentri.access_control.repositories.NotificationRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -45,8 +46,8 @@ public class CustomerNotifications extends AppCompatActivity {
             return;
         }
 
-        CommentRepository commentRepository = new FirestoreCommentRepository(FirebaseFirestore.getInstance());
-        notificationRepository = new FirestoreNotificationRepository(commentRepository);
+        CommentRepository commentRepository = RepositoryMetrics.instrument(CommentRepository.class, new FirestoreCommentRepository(FirebaseFirestore.getInstance()), "CustomerNotifications");
+        notificationRepository = RepositoryMetrics.instrument(NotificationRepository.class, new FirestoreNotificationRepository(commentRepository), "CustomerNotifications");
 
         ImageView back = findViewById(R.id.backButton);
         back.setOnClickListener(v -> finish());
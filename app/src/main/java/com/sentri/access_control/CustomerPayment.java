@@ -26,15 +26,21 @@ import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.QueryDocumentSnapshot;
 import com.sentri.access_control.adapters.PaymentAdapter;
+import com.sentri.access_control.models.Money;
 import com.sentri.access_control.models.PaymentItem;
+import com.sentri.access_control.repositories.CoalescingCustomerRepository;
+import com.sentri.access_control.repositories.CoalescingShiftRepository;
 import com.sentri.access_control.repositories.CustomerRepository;
-import com.sentri.access_control.repositories.CommentRepository;
-import com.sentri.access_control.repositories.FirestoreCommentRepository;
 import com.sentri.access_control.repositories.FirestoreCustomerRepository;
+import com.sentri.access_control.repositories.FirestoreIdCounterRepository;
 import com.sentri.access_control.repositories.FirestorePaymentRepository;
 import com.sentri.access_control.repositories.FirestoreShiftRepository;
+import com.sentri.access_control.repositories.IdCounterRepository;
 import com.sentri.access_control.repositories.PaymentRepository;
+import com.sentri.access_control.repositories.RepositoryFutures;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.ShiftRepository;
+import com.sentri.access_control.services.BookingTransaction;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -43,8 +49,8 @@ import java.util.Date;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.Locale;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public class CustomerPayment extends AppCompatActivity {
@@ -70,7 +76,7 @@ public class CustomerPayment extends AppCompatActivity {
     private TextView tvRenewStartDate;
     private TextView tvRenewEndDate;
 
-    private CommentRepository commentRepository;
+    private IdCounterRepository idCounterRepository;
     private CustomerRepository customerRepository;
     private ShiftRepository shiftRepository;
     private PaymentRepository paymentRepository;
@@ -93,7 +99,7 @@ public class CustomerPayment extends AppCompatActivity {
     private long latestShiftEndMs = 0L;
 
     // Keeps split amount insertion order for stable method string generation.
-    private final Map<String, String> splitAmounts = new LinkedHashMap<>();
+    private final Map<String, Money> splitAmounts = new LinkedHashMap<>();
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
@@ -131,10 +137,10 @@ public class CustomerPayment extends AppCompatActivity {
 
     private void initState() {
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        commentRepository = new FirestoreCommentRepository(firestore);
-        customerRepository = new FirestoreCustomerRepository(firestore);
-        shiftRepository = new FirestoreShiftRepository(firestore);
-        paymentRepository = new FirestorePaymentRepository(firestore);
+        idCounterRepository = RepositoryMetrics.instrument(IdCounterRepository.class, new FirestoreIdCounterRepository(firestore), "CustomerPayment");
+        customerRepository = new CoalescingCustomerRepository(RepositoryMetrics.instrument(CustomerRepository.class, new FirestoreCustomerRepository(firestore, idCounterRepository), "CustomerPayment"));
+        shiftRepository = new CoalescingShiftRepository(RepositoryMetrics.instrument(ShiftRepository.class, new FirestoreShiftRepository(firestore, idCounterRepository), "CustomerPayment"));
+        paymentRepository = RepositoryMetrics.instrument(PaymentRepository.class, new FirestorePaymentRepository(firestore, idCounterRepository), "CustomerPayment");
 
         Intent intent = getIntent();
         businessId = intent.getStringExtra("businessDocId");
@@ -224,7 +230,7 @@ public class CustomerPayment extends AppCompatActivity {
         }
 
         if (switchRenew.isChecked()) {
-            processRenewSubscription(rateText, rateValue, paymentInput);
+            processRenewSubscription(rateText, paymentInput);
             return;
         }
 
@@ -245,14 +251,13 @@ public class CustomerPayment extends AppCompatActivity {
                         handleActionError(new IllegalStateException("Business prefix missing"));
                         return;
                     }
-                    addCommentIfAny("payment", description,
-                            () -> createPaymentRecord(paymentInput, paymentType, description, rateText));
+                    submitBooking(paymentInput, paymentType, description, rateText);
                 },
                 this::handleActionError
         );
     }
 
-    private void processRenewSubscription(String rateText, double rateValue, PaymentInput paymentInput) {
+    private void processRenewSubscription(String rateText, PaymentInput paymentInput) {
         String description = getText(etDescription);
         if (description.isEmpty()) {
             etDescription.setError("Required");
@@ -271,202 +276,114 @@ public class CustomerPayment extends AppCompatActivity {
         String paymentType = spinnerType.getSelectedItem().toString();
         btnSubmit.setEnabled(false);
 
-        paymentRepository.fetchBusinessPrefix(
-                businessId,
-                prefix -> {
+        // The prefix and the customer's current shifts are independent reads; issue them together.
+        CompletableFuture<String> prefixFuture = paymentRepository.fetchBusinessPrefixAsync(businessId);
+        CompletableFuture<List<DocumentSnapshot>> shiftsFuture = fetchCurrentShiftDocs();
+        RepositoryFutures.deliver(
+                prefixFuture.thenCombine(shiftsFuture, (prefix, shiftDocs) -> {
                     businessPrefix = prefix != null ? prefix.trim() : "";
                     if (businessPrefix.isEmpty()) {
-                        handleActionError(new IllegalStateException("Business prefix missing"));
-                        return;
+                        throw new IllegalStateException("Business prefix missing");
                     }
-                    addCommentIfAny("payment", description,
-                            () -> createRenewPaymentAndExtendShifts(rateText, rateValue, paymentInput, paymentType, description));
-                },
+                    return shiftDocs;
+                }),
+                shiftDocs -> commitRenewal(rateText, paymentInput, paymentType, description, shiftDocs),
                 this::handleActionError
         );
     }
 
-    private void createRenewPaymentAndExtendShifts(String rateText,
-                                                   double rateValue,
-                                                   PaymentInput paymentInput,
-                                                   String paymentType,
-                                                   String description) {
-        paymentRepository.fetchNextPaymentId(
-                businessId,
-                businessPrefix,
-                paymentId -> {
-                    Map<String, Object> payment = buildPaymentMap(paymentId, paymentInput, paymentType, description, rateText);
-                    paymentRepository.createPayment(
-                            businessId,
-                            paymentId,
-                            payment,
-                            () -> extendSubscriptionAfterRenew(rateText, rateValue, paymentInput.amountValue),
-                            this::handleActionError
-                    );
+    private void submitBooking(PaymentInput paymentInput,
+                               String paymentType,
+                               String description,
+                               String rateText) {
+        String lastDate = DateFormat.format("d MMM, yyyy hh:mm a", new Date()).toString();
+        BookingTransaction booking = newBookingTransaction()
+                .setPayment(paymentId -> buildPaymentMap(paymentId, paymentInput, paymentType, description, rateText))
+                .addComment("payment", description)
+                .updateCustomer(rateText, lastDate);
+
+        if (calledFromShift) {
+            Timestamp shiftStart = new Timestamp(new Date(shiftStartMs));
+            Timestamp shiftEnd = new Timestamp(new Date(shiftEndMs));
+            booking.addShift(
+                            shiftSeat,
+                            shiftStart,
+                            shiftEnd,
+                            shiftId -> buildShiftMap(shiftId, shiftSeat, shiftStart, shiftEnd, rateText)
+                    )
+                    .addComment("shift", shiftComments);
+        }
+
+        booking.commit(
+                () -> {
+                    if (!calledFromShift) {
+                        Toast.makeText(this, "Payment recorded and customer updated", Toast.LENGTH_SHORT).show();
+                    }
+                    navigateToCustomerProfile();
                 },
                 this::handleActionError
         );
     }
 
-    private void extendSubscriptionAfterRenew(String rateText, double rateValue, double paidAmount) {
-        if (renewStartMs <= 0L || renewEndMs <= 0L || renewEndMs < renewStartMs) {
-            Toast.makeText(this, "Invalid subscription dates for renewal", Toast.LENGTH_LONG).show();
-            btnSubmit.setEnabled(true);
-            return;
-        }
-
+    private void commitRenewal(String rateText,
+                               PaymentInput paymentInput,
+                               String paymentType,
+                               String description,
+                               List<DocumentSnapshot> shiftDocs) {
         final Date renewStartDate = new Date(renewStartMs);
         final Date renewEndDate = new Date(renewEndMs);
+        String lastDate = DateFormat.format("d MMM, yyyy hh:mm a", new Date()).toString();
 
-        customerRepository.fetchCustomer(
-                businessId,
-                customerId,
-                customerDoc -> {
-                    List<String> shiftIds = readStringList(customerDoc.get("customer_current_shift_id"));
-                    if (shiftIds.isEmpty()) {
-                        // No active shifts; just update payment-related fields.
-                        updateCustomerAfterPaymentOnly(rateText);
-                        return;
-                    }
+        BookingTransaction booking = newBookingTransaction()
+                .setPayment(paymentId -> buildPaymentMap(paymentId, paymentInput, paymentType, description, rateText))
+                .addComment("payment", description)
+                .updateCustomer(rateText, lastDate);
+
+        List<String> oldShiftIds = new ArrayList<>();
+        for (DocumentSnapshot shiftDoc : shiftDocs) {
+            String seat = shiftDoc.getString("shift_seat");
+            Timestamp startTs = shiftDoc.getTimestamp("shift_start_time");
+            Timestamp endTs = shiftDoc.getTimestamp("shift_end_time");
+            if (seat == null || startTs == null || endTs == null) {
+                continue;
+            }
+            oldShiftIds.add(shiftDoc.getId());
+
+            Timestamp newStartTs = combineDateWithOriginalTime(renewStartDate, startTs);
+            Timestamp newEndTs = combineDateWithOriginalTime(renewEndDate, endTs);
+            booking.addShift(
+                    seat,
+                    newStartTs,
+                    newEndTs,
+                    newShiftId -> buildShiftMap(newShiftId, seat, newStartTs, newEndTs, rateText)
+            );
+        }
+
+        boolean renewingShifts = !oldShiftIds.isEmpty();
+        if (renewingShifts) {
+            booking.deactivateShifts(oldShiftIds).replaceCurrentAssignments(true);
+        }
 
-                    shiftRepository.fetchShiftsByIds(
-                            businessId,
-                            shiftIds,
-                            shiftDocs -> {
-                                if (shiftDocs == null || shiftDocs.isEmpty()) {
-                                    updateCustomerAfterPaymentOnly(rateText);
-                                    return;
-                                }
-                                List<DocumentSnapshot> activeShiftDocs = new ArrayList<>();
-                                List<String> oldShiftIds = new ArrayList<>();
-                                for (DocumentSnapshot shiftDoc : shiftDocs) {
-                                    String seat = shiftDoc.getString("shift_seat");
-                                    Timestamp startTs = shiftDoc.getTimestamp("shift_start_time");
-                                    Timestamp endTs = shiftDoc.getTimestamp("shift_end_time");
-                                    if (seat == null || startTs == null || endTs == null) {
-                                        continue;
-                                    }
-                                    oldShiftIds.add(shiftDoc.getId());
-                                    activeShiftDocs.add(shiftDoc);
-                                }
-
-                                if (activeShiftDocs.isEmpty()) {
-                                    updateCustomerAfterPaymentOnly(rateText);
-                                    return;
-                                }
-
-                                List<String> newShiftIds = new ArrayList<>();
-                                List<String> newSeats = new ArrayList<>();
-                                List<Timestamp> newShiftStarts = new ArrayList<>();
-                                List<Timestamp> newShiftEnds = new ArrayList<>();
-
-                                createRenewedShiftsSequentially(
-                                        activeShiftDocs,
-                                        0,
-                                        renewStartDate,
-                                        renewEndDate,
-                                        rateText,
-                                        newShiftIds,
-                                        newSeats,
-                                        newShiftStarts,
-                                        newShiftEnds,
-                                        () -> deactivateOldAndReplaceCurrentAssignments(
-                                                oldShiftIds,
-                                                newShiftIds,
-                                                newSeats,
-                                                newShiftStarts,
-                                                newShiftEnds,
-                                                rateText
-                                        )
-                                );
-                            },
-                            this::handleActionError
-                    );
+        booking.commit(
+                () -> {
+                    String message = renewingShifts
+                            ? "Subscription renewed successfully"
+                            : "Payment recorded and customer updated";
+                    Toast.makeText(this, message, Toast.LENGTH_SHORT).show();
+                    navigateToCustomerProfile();
                 },
                 this::handleActionError
         );
     }
 
-    private void createRenewedShiftsSequentially(List<DocumentSnapshot> activeShiftDocs,
-                                                 int index,
-                                                 Date renewStartDate,
-                                                 Date renewEndDate,
-                                                 String rateText,
-                                                 List<String> newShiftIds,
-                                                 List<String> newSeats,
-                                                 List<Timestamp> newShiftStarts,
-                                                 List<Timestamp> newShiftEnds,
-                                                 Runnable onComplete) {
-        if (index >= activeShiftDocs.size()) {
-            onComplete.run();
-            return;
-        }
-
-        DocumentSnapshot shiftDoc = activeShiftDocs.get(index);
-        String seat = shiftDoc.getString("shift_seat");
-        Timestamp originalStartTs = shiftDoc.getTimestamp("shift_start_time");
-        Timestamp originalEndTs = shiftDoc.getTimestamp("shift_end_time");
-        if (seat == null || originalStartTs == null || originalEndTs == null) {
-            createRenewedShiftsSequentially(
-                    activeShiftDocs,
-                    index + 1,
-                    renewStartDate,
-                    renewEndDate,
-                    rateText,
-                    newShiftIds,
-                    newSeats,
-                    newShiftStarts,
-                    newShiftEnds,
-                    onComplete
-            );
-            return;
-        }
-
-        Timestamp newStartTs = combineDateWithOriginalTime(renewStartDate, originalStartTs);
-        Timestamp newEndTs = combineDateWithOriginalTime(renewEndDate, originalEndTs);
-
-        shiftRepository.fetchNextShiftId(
+    private BookingTransaction newBookingTransaction() {
+        return new BookingTransaction(
+                FirebaseFirestore.getInstance(),
+                idCounterRepository,
                 businessId,
                 businessPrefix,
-                newShiftId -> {
-                    Map<String, Object> shift = new HashMap<>();
-                    shift.put("created_at", FieldValue.serverTimestamp());
-                    shift.put("created_by", userEmail);
-                    shift.put("shift_business_id", businessId);
-                    shift.put("shift_customer_id", customerId);
-                    shift.put("shift_start_time", newStartTs);
-                    shift.put("shift_end_time", newEndTs);
-                    shift.put("shift_seat", seat);
-                    shift.put("shift_payment_rate", rateText);
-                    shift.put("shift_status", true);
-                    shift.put("shift_id", newShiftId);
-
-                    shiftRepository.createShift(
-                            businessId,
-                            newShiftId,
-                            shift,
-                            () -> {
-                                newShiftIds.add(newShiftId);
-                                newSeats.add(seat);
-                                newShiftStarts.add(newStartTs);
-                                newShiftEnds.add(newEndTs);
-                                createRenewedShiftsSequentially(
-                                        activeShiftDocs,
-                                        index + 1,
-                                        renewStartDate,
-                                        renewEndDate,
-                                        rateText,
-                                        newShiftIds,
-                                        newSeats,
-                                        newShiftStarts,
-                                        newShiftEnds,
-                                        onComplete
-                                );
-                            },
-                            this::handleActionError
-                    );
-                },
-                this::handleActionError
+                customerId,
+                userEmail != null ? userEmail : "unknown"
         );
     }
 
@@ -482,37 +399,6 @@ public class CustomerPayment extends AppCompatActivity {
         return new Timestamp(newCal.getTime());
     }
 
-    private void deactivateOldAndReplaceCurrentAssignments(List<String> oldShiftIds,
-                                                           List<String> newShiftIds,
-                                                           List<String> newSeats,
-                                                           List<Timestamp> newShiftStarts,
-                                                           List<Timestamp> newShiftEnds,
-                                                           String rateText) {
-        shiftRepository.markShiftsInactive(
-                businessId,
-                oldShiftIds,
-                () -> {
-                    String lastDate = DateFormat.format("d MMM, yyyy hh:mm a", new Date()).toString();
-                    customerRepository.replaceCurrentShiftAssignments(
-                            businessId,
-                            customerId,
-                            newShiftIds,
-                            newSeats,
-                            newShiftStarts,
-                            newShiftEnds,
-                            rateText,
-                            lastDate,
-                            () -> {
-                                Toast.makeText(this, "Subscription renewed successfully", Toast.LENGTH_SHORT).show();
-                                navigateToCustomerProfile();
-                            },
-                            this::handleActionError
-                    );
-                },
-                this::handleActionError
-        );
-    }
-
     private void resetRenewDates() {
         renewStartMs = 0L;
         renewEndMs = 0L;
@@ -533,36 +419,33 @@ public class CustomerPayment extends AppCompatActivity {
     }
 
     private void resolveLatestActiveShiftEnd(Consumer<Long> onSuccess, Consumer<Exception> onError) {
-        customerRepository.fetchCustomer(
-                businessId,
-                customerId,
-                customerDoc -> {
-                    List<String> shiftIds = readStringList(customerDoc.get("customer_current_shift_id"));
-                    if (shiftIds.isEmpty()) {
-                        onSuccess.accept(0L);
-                        return;
+        RepositoryFutures.deliver(
+                fetchCurrentShiftDocs().thenApply(shiftDocs -> {
+                    long latestEndMs = 0L;
+                    for (DocumentSnapshot shiftDoc : shiftDocs) {
+                        Timestamp endTs = shiftDoc.getTimestamp("shift_end_time");
+                        if (endTs != null) {
+                            latestEndMs = Math.max(latestEndMs, endTs.toDate().getTime());
+                        }
                     }
-
-                    shiftRepository.fetchShiftsByIds(
-                            businessId,
-                            shiftIds,
-                            shiftDocs -> {
-                                long latestEndMs = 0L;
-                                for (DocumentSnapshot shiftDoc : shiftDocs) {
-                                    Timestamp endTs = shiftDoc.getTimestamp("shift_end_time");
-                                    if (endTs != null) {
-                                        latestEndMs = Math.max(latestEndMs, endTs.toDate().getTime());
-                                    }
-                                }
-                                onSuccess.accept(latestEndMs);
-                            },
-                            onError
-                    );
-                },
+                    return latestEndMs;
+                }),
+                onSuccess,
                 onError
         );
     }
 
+    /**
+     * Loads the shift documents referenced by the customer's customer_current_shift_id array.
+     */
+    private CompletableFuture<List<DocumentSnapshot>> fetchCurrentShiftDocs() {
+        return customerRepository.fetchCustomerAsync(businessId, customerId)
+                .thenCompose(customerDoc -> shiftRepository.fetchShiftsByIdsAsync(
+                        businessId,
+                        readStringList(customerDoc.get("customer_current_shift_id"))
+                ));
+    }
+
     private void showRenewDatePickers() {
         Calendar initial = Calendar.getInstance();
         if (latestShiftEndMs > 0L) {
@@ -688,13 +571,13 @@ public class CustomerPayment extends AppCompatActivity {
 
     private void addSplitEntry(String method, RadioButton radioButton, EditText amountInput, Button addButton) {
         String value = getText(amountInput);
-        Double amount = parsePositiveDouble(value);
+        Money amount = parsePositiveAmount(value);
         if (amount == null) {
             amountInput.setError("Enter a valid amount");
             return;
         }
 
-        splitAmounts.put(method, String.format(Locale.US, "%.2f", amount));
+        splitAmounts.put(method, amount);
         amountInput.setEnabled(false);
         radioButton.setEnabled(false);
         addButton.setVisibility(View.GONE);
@@ -703,12 +586,12 @@ public class CustomerPayment extends AppCompatActivity {
     private static class PaymentInput {
         final String method;
         final String amountText;
-        final double amountValue;
+        final Money amount;
 
-        PaymentInput(String method, String amountText, double amountValue) {
+        PaymentInput(String method, Money amount) {
             this.method = method;
-            this.amountText = amountText;
-            this.amountValue = amountValue;
+            this.amountText = amount.formatDecimal();
+            this.amount = amount;
         }
     }
 
@@ -718,18 +601,18 @@ public class CustomerPayment extends AppCompatActivity {
                 throw new IllegalArgumentException("Add at least one split entry");
             }
 
-            double sum = 0.0;
+            Money sum = Money.ZERO;
             StringBuilder methodBuilder = new StringBuilder();
-            for (Map.Entry<String, String> entry : splitAmounts.entrySet()) {
+            for (Map.Entry<String, Money> entry : splitAmounts.entrySet()) {
                 if (methodBuilder.length() > 0) {
                     methodBuilder.append(",");
                 }
-                methodBuilder.append(entry.getKey()).append(":").append(entry.getValue());
-                sum += Double.parseDouble(entry.getValue());
+                methodBuilder.append(entry.getKey()).append(":");
+                Money.appendDecimal(methodBuilder, entry.getValue().getPaise());
+                sum = sum.plus(entry.getValue());
             }
 
-            String amountText = String.format(Locale.US, "%.2f", sum);
-            return new PaymentInput(methodBuilder.toString(), amountText, sum);
+            return new PaymentInput(methodBuilder.toString(), sum);
         }
 
         String method;
@@ -747,11 +630,11 @@ public class CustomerPayment extends AppCompatActivity {
             throw new IllegalArgumentException("Select a payment method");
         }
 
-        Double amount = parsePositiveDouble(value);
+        Money amount = parsePositiveAmount(value);
         if (amount == null) {
             throw new IllegalArgumentException("Enter an amount");
         }
-        return new PaymentInput(method, String.format(Locale.US, "%.2f", amount), amount);
+        return new PaymentInput(method, amount);
     }
 
     private void loadPaymentHistory(PaymentAdapter adapter) {
@@ -782,33 +665,6 @@ public class CustomerPayment extends AppCompatActivity {
         );
     }
 
-    private void createPaymentRecord(PaymentInput paymentInput,
-                                     String paymentType,
-                                     String description,
-                                     String rateText) {
-        paymentRepository.fetchNextPaymentId(
-                businessId,
-                businessPrefix,
-                paymentId -> {
-                    Map<String, Object> payment = buildPaymentMap(paymentId, paymentInput, paymentType, description, rateText);
-                    paymentRepository.createPayment(
-                            businessId,
-                            paymentId,
-                            payment,
-                            () -> {
-                                if (calledFromShift) {
-                                    createShiftRecord(rateText);
-                                } else {
-                                    updateCustomerAfterPaymentOnly(rateText);
-                                }
-                            },
-                            this::handleActionError
-                    );
-                },
-                this::handleActionError
-        );
-    }
-
     private Map<String, Object> buildPaymentMap(String paymentId,
                                                 PaymentInput paymentInput,
                                                 String paymentType,
@@ -828,81 +684,23 @@ public class CustomerPayment extends AppCompatActivity {
         return payment;
     }
 
-    private void createShiftRecord(String rateText) {
-        shiftRepository.fetchNextShiftId(
-                businessId,
-                businessPrefix,
-                shiftId -> {
-                    Map<String, Object> shift = new HashMap<>();
-                    shift.put("created_at", FieldValue.serverTimestamp());
-                    shift.put("created_by", userEmail);
-                    shift.put("shift_business_id", businessId);
-                    shift.put("shift_customer_id", customerId);
-                    shift.put("shift_start_time", new Timestamp(new Date(shiftStartMs)));
-                    shift.put("shift_end_time", new Timestamp(new Date(shiftEndMs)));
-                    shift.put("shift_seat", shiftSeat);
-                    shift.put("shift_payment_rate", rateText);
-                    shift.put("shift_status", true);
-                    shift.put("shift_id", shiftId);
-
-                    shiftRepository.createShift(
-                            businessId,
-                            shiftId,
-                            shift,
-                            () -> {
-                                String lastDate = DateFormat.format("d MMM, yyyy hh:mm a", new Date()).toString();
-                                customerRepository.appendShiftAssignment(
-                                        businessId,
-                                        customerId,
-                                        shiftId,
-                                        shiftSeat,
-                                        new Timestamp(new Date(shiftStartMs)),
-                                        new Timestamp(new Date(shiftEndMs)),
-                                        rateText,
-                                        lastDate,
-                                        () -> addCommentIfAny("shift", shiftComments, this::navigateToCustomerProfile),
-                                        this::handleActionError
-                                );
-                            },
-                            this::handleActionError
-                    );
-                },
-                this::handleActionError
-        );
-    }
-
-    private void updateCustomerAfterPaymentOnly(String rateText) {
-        String lastDate = DateFormat.format("d MMM, yyyy hh:mm a", new Date()).toString();
-        customerRepository.updateCustomerAfterPayment(
-                businessId,
-                customerId,
-                rateText,
-                lastDate,
-                () -> {
-                    Toast.makeText(this, "Payment recorded and customer updated", Toast.LENGTH_SHORT).show();
-                    navigateToCustomerProfile();
-                },
-                this::handleActionError
-        );
-    }
-
-    private void addCommentIfAny(String entityType, String text, Runnable next) {
-        String commentText = text != null ? text.trim() : "";
-        if (commentText.isEmpty()) {
-            next.run();
-            return;
-        }
-
-        commentRepository.addComment(
-                businessId,
-                customerId,
-                businessPrefix,
-                entityType,
-                commentText,
-                userEmail != null ? userEmail : "unknown",
-                next,
-                this::handleActionError
-        );
+    private Map<String, Object> buildShiftMap(String shiftId,
+                                              String seat,
+                                              Timestamp shiftStart,
+                                              Timestamp shiftEnd,
+                                              String rateText) {
+        Map<String, Object> shift = new HashMap<>();
+        shift.put("created_at", FieldValue.serverTimestamp());
+        shift.put("created_by", userEmail);
+        shift.put("shift_business_id", businessId);
+        shift.put("shift_customer_id", customerId);
+        shift.put("shift_start_time", shiftStart);
+        shift.put("shift_end_time", shiftEnd);
+        shift.put("shift_seat", seat);
+        shift.put("shift_payment_rate", rateText);
+        shift.put("shift_status", true);
+        shift.put("shift_id", shiftId);
+        return shift;
     }
 
     private List<String> readStringList(Object value) {
@@ -962,6 +760,18 @@ public class CustomerPayment extends AppCompatActivity {
         }
     }
 
+    /**
+     * Same validation as {@link #parsePositiveDouble}, rounded to the paisa.
+     */
+    private Money parsePositiveAmount(String rawValue) {
+        Double value = parsePositiveDouble(rawValue);
+        if (value == null) {
+            return null;
+        }
+        long paise = Math.round(value * 100.0);
+        return paise > 0 ? Money.ofPaise(paise) : null;
+    }
+
     private long startOfDay(long valueMs) {
         Calendar calendar = Calendar.getInstance();
         calendar.setTimeInMillis(valueMs);
@@ -25,10 +25,15 @@ import com.bumptech.glide.Glide;
 import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.repositories.CoalescingCustomerRepository;
+import com.sentri.access_control.repositories.CoalescingShiftRepository;
 import com.sentri.access_control.repositories.CustomerRepository;
 import com.sentri.access_control.repositories.FirestoreCustomerRepository;
 import com.sentri.access_control.repositories.FirestoreShiftRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.ShiftRepository;
+import com.sentri.access_control.services.ShiftConflictEngine;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -79,8 +84,8 @@ public class CustomerProfile extends AppCompatActivity {
         setContentView(R.layout.activity_customer_profile);
 
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        customerRepository = new FirestoreCustomerRepository(firestore);
-        shiftRepository = new FirestoreShiftRepository(firestore);
+        customerRepository = new CoalescingCustomerRepository(RepositoryMetrics.instrument(CustomerRepository.class, new FirestoreCustomerRepository(firestore), "CustomerProfile"));
+        shiftRepository = new CoalescingShiftRepository(RepositoryMetrics.instrument(ShiftRepository.class, new FirestoreShiftRepository(firestore), "CustomerProfile"));
 
         businessDocId = getIntent().getStringExtra("businessDocId");
         customerDocId = getIntent().getStringExtra("customerDocId");
@@ -483,28 +488,8 @@ public class CustomerProfile extends AppCompatActivity {
     }
 
     private boolean hasOverlappingShifts(List<DocumentSnapshot> docs) {
-        for (int i = 0; i < docs.size(); i++) {
-            Timestamp aStart = docs.get(i).getTimestamp("shift_start_time");
-            Timestamp aEnd = docs.get(i).getTimestamp("shift_end_time");
-            if (aStart == null || aEnd == null) {
-                continue;
-            }
-            long aStartMs = aStart.toDate().getTime();
-            long aEndMs = aEnd.toDate().getTime();
-            for (int j = i + 1; j < docs.size(); j++) {
-                Timestamp bStart = docs.get(j).getTimestamp("shift_start_time");
-                Timestamp bEnd = docs.get(j).getTimestamp("shift_end_time");
-                if (bStart == null || bEnd == null) {
-                    continue;
-                }
-                long bStartMs = bStart.toDate().getTime();
-                long bEndMs = bEnd.toDate().getTime();
-                if (aStartMs <= bEndMs && bStartMs <= aEndMs) {
-                    return true;
-                }
-            }
-        }
-        return false;
+        // docs are already this customer's shifts; their shift_customer_id may be missing or stale.
+        return ShiftConflictEngine.anyOverlap(RecordDecoder.shifts(docs));
     }
 
     private void renderNoShiftState(String message) {
@@ -20,7 +20,9 @@ import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.sentri.access_control.adapters.ShiftAdapter;
 import com.sentri.access_control.models.ShiftItem;
+import com.sentri.access_control.repositories.CoalescingShiftRepository;
 import com.sentri.access_control.repositories.FirestoreShiftRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.ShiftRepository;
 
 import java.text.ParseException;
@@ -76,7 +78,7 @@ public class CustomerShift extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_customer_shift);
 
-        shiftRepository = new FirestoreShiftRepository(FirebaseFirestore.getInstance());
+        shiftRepository = new CoalescingShiftRepository(RepositoryMetrics.instrument(ShiftRepository.class, new FirestoreShiftRepository(FirebaseFirestore.getInstance()), "CustomerShift"));
 
         readIntentExtras();
         if (businessId == null || customerId == null) {
@@ -15,6 +15,7 @@ import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.sentri.access_control.repositories.DeviceRepository;
 import com.sentri.access_control.repositories.FirestoreDeviceRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 
 import java.text.DateFormat;
 import java.util.Locale;
@@ -49,7 +50,7 @@ public class DeviceDetails extends AppCompatActivity {
             return;
         }
 
-        deviceRepository = new FirestoreDeviceRepository(FirebaseFirestore.getInstance());
+        deviceRepository = RepositoryMetrics.instrument(DeviceRepository.class, new FirestoreDeviceRepository(FirebaseFirestore.getInstance()), "DeviceDetails");
         bindViews();
         setupActions();
         loadDevice();
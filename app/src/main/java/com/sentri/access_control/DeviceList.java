@@ -20,6 +20,7 @@ import com.sentri.access_control.adapters.DeviceAdapter;
 import com.sentri.access_control.models.DeviceItem;
 import com.sentri.access_control.repositories.DeviceRepository;
 import com.sentri.access_control.repositories.FirestoreDeviceRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -43,7 +44,7 @@ public class DeviceList extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_device_list);
 
-        deviceRepository = new FirestoreDeviceRepository(FirebaseFirestore.getInstance());
+        deviceRepository = RepositoryMetrics.instrument(DeviceRepository.class, new FirestoreDeviceRepository(FirebaseFirestore.getInstance()), "DeviceList");
         businessId = new PrefsManager(this).getCurrentBizId();
         if (businessId == null || businessId.trim().isEmpty()) {
             businessId = getIntent().getStringExtra("businessDocId");
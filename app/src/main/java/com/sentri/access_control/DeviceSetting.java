@@ -18,6 +18,7 @@ import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.sentri.access_control.repositories.DeviceRepository;
 import com.sentri.access_control.repositories.FirestoreDeviceRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.text.DateFormat;
@@ -64,7 +65,7 @@ public class DeviceSetting extends AppCompatActivity {
         canEdit = "admin".equalsIgnoreCase(prefsManager.getCurrentBizAccessLevel());
         currentUpdatedBy = prefsManager.getUserEmail();
 
-        deviceRepository = new FirestoreDeviceRepository(FirebaseFirestore.getInstance());
+        deviceRepository = RepositoryMetrics.instrument(DeviceRepository.class, new FirestoreDeviceRepository(FirebaseFirestore.getInstance()), "DeviceSetting");
 
         bindViews();
         setupActions();
@@ -5,6 +5,7 @@ import android.animation.ArgbEvaluator;
 import android.animation.ValueAnimator;
 import android.graphics.Color;
 import android.os.Bundle;
+import android.os.SystemClock;
 import android.util.TypedValue;
 import android.view.MenuItem;
 import android.view.View;
@@ -25,11 +26,19 @@ import androidx.appcompat.app.ActionBarDrawerToggle;
 import androidx.appcompat.app.AppCompatActivity;
 import androidx.appcompat.widget.Toolbar;
 import androidx.drawerlayout.widget.DrawerLayout;
+import androidx.lifecycle.Lifecycle;
 
 import com.bumptech.glide.Glide;
 import com.google.android.material.navigation.NavigationView;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.data.RevenueRollups;
+import com.sentri.access_control.models.DailyRevenue;
+import com.sentri.access_control.models.Money;
+import com.sentri.access_control.models.PaymentRecord;
+import com.sentri.access_control.models.RevenueSeries;
+import com.sentri.access_control.repositories.BusinessConfigCache;
 import com.sentri.access_control.repositories.BusinessRepository;
 import com.sentri.access_control.repositories.CardRepository;
 import com.sentri.access_control.repositories.DeviceRepository;
@@ -38,8 +47,13 @@ import com.sentri.access_control.repositories.FirestoreCardRepository;
 import com.sentri.access_control.repositories.FirestoreDeviceRepository;
 import com.sentri.access_control.repositories.FirestorePaymentRepository;
 import com.sentri.access_control.repositories.PaymentRepository;
+import com.sentri.access_control.repositories.ReadCoalescer;
+import com.sentri.access_control.repositories.RepositoryMetrics;
+import com.sentri.access_control.services.DashboardAggregates;
 import com.sentri.access_control.services.DashboardMetrics;
-import com.sentri.access_control.services.DashboardMetricsCalculator;
+import com.sentri.access_control.services.DashboardSnapshot;
+import com.sentri.access_control.services.DashboardSnapshotStore;
+import com.sentri.access_control.services.LiveDashboardMetrics;
 import com.sentri.access_control.utils.CurrencyUtils;
 import com.sentri.access_control.utils.PrefsManager;
 
@@ -49,6 +63,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
+import java.util.function.Consumer;
 
 public class HomeActivity extends AppCompatActivity implements NavigationView.OnNavigationItemSelectedListener {
 
@@ -87,26 +102,42 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
     private int selectedBusinessIndex = 0;
 
     private PrefsManager prefsManager;
-    private BusinessRepository businessRepository;
     private CardRepository cardRepository;
     private DeviceRepository deviceRepository;
     private PaymentRepository paymentRepository;
-    private DashboardMetricsCalculator metricsCalculator;
+    private LiveDashboardMetrics liveMetrics;
+    private DashboardAggregates dashboardAggregates;
+    private String observedBusinessId;
+    private final Consumer<DashboardMetrics> metricsObserver = this::onDashboardMetrics;
+    private final Consumer<Exception> liveMetricsError =
+            e -> Toast.makeText(this, "Failed to load dashboard: " + e.getMessage(), Toast.LENGTH_LONG).show();
+    // True while the dashboard falls back to the live listener; it is stopped and restarted with the activity.
+    private boolean observingLiveMetrics;
     private DashboardMetrics latestMetrics;
-    private final List<DocumentSnapshot> recentPaymentDocs = new ArrayList<>();
+    private RevenueSeries revenueSeries = RevenueSeries.EMPTY;
+    private DashboardSnapshotStore snapshotStore;
+    // What the widgets show for the business in view; saved as each part is revalidated.
+    private DashboardSnapshot shownSnapshot;
+    private long createdAtNanos;
+    private boolean firstPaintReported;
+    private boolean revalidationReported;
 
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        createdAtNanos = SystemClock.elapsedRealtimeNanos();
         setContentView(R.layout.activity_home);
 
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
         prefsManager = new PrefsManager(this);
-        businessRepository = new FirestoreBusinessRepository(firestore);
-        cardRepository = new FirestoreCardRepository(firestore);
-        deviceRepository = new FirestoreDeviceRepository(firestore);
-        paymentRepository = new FirestorePaymentRepository(firestore);
-        metricsCalculator = new DashboardMetricsCalculator();
+        cardRepository = RepositoryMetrics.instrument(CardRepository.class, new FirestoreCardRepository(firestore), "HomeActivity");
+        deviceRepository = RepositoryMetrics.instrument(DeviceRepository.class, new FirestoreDeviceRepository(firestore), "HomeActivity");
+        paymentRepository = RepositoryMetrics.instrument(PaymentRepository.class, new FirestorePaymentRepository(firestore), "HomeActivity");
+        liveMetrics = LiveDashboardMetrics.getInstance(firestore);
+        snapshotStore = DashboardSnapshotStore.getInstance(this);
+        dashboardAggregates = new DashboardAggregates(
+                RepositoryMetrics.instrument(BusinessRepository.class, new FirestoreBusinessRepository(firestore), "HomeActivity")
+        );
 
         bindViews();
         setupToolbarAndDrawer();
@@ -118,6 +149,10 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
             return;
         }
 
+        // Owners of several branches get a combined overview.
+        NavigationView navView = findViewById(R.id.navView);
+        navView.getMenu().findItem(R.id.nav_overview).setVisible(businessIds.size() > 1);
+
         setupBusinessSelector();
         setupDurationSpinner();
         setupAddBusinessButton();
@@ -308,14 +343,38 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         }
 
         renderDefaultDashboardState();
+        DashboardSnapshot cached = snapshotStore.load(businessId);
+        shownSnapshot = cached != null ? cached : DashboardSnapshot.empty(businessId);
+        if (cached != null) {
+            renderSnapshot(cached);
+        }
         loadLowCardsAlert(businessId);
         loadMiniDevices(businessId);
         loadRevenueData(businessId);
 
-        businessRepository.fetchActiveCustomers(
+        if (observedBusinessId != null) {
+            liveMetrics.removeObserver(observedBusinessId, metricsObserver);
+        }
+        observedBusinessId = businessId;
+        observingLiveMetrics = false;
+        dashboardAggregates.fetchDashboardMetrics(
                 businessId,
-                docs -> renderDashboard(metricsCalculator.calculate(docs)),
-                e -> Toast.makeText(this, "Failed to load dashboard: " + e.getMessage(), Toast.LENGTH_LONG).show()
+                System.currentTimeMillis(),
+                shownSnapshot.getMetrics(),
+                metrics -> {
+                    if (businessId.equals(observedBusinessId)) {
+                        onDashboardMetrics(metrics);
+                    }
+                },
+                e -> {
+                    // Offline or index missing: listen to every active customer instead.
+                    if (businessId.equals(observedBusinessId)) {
+                        observingLiveMetrics = true;
+                        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+                            liveMetrics.observe(businessId, metricsObserver, liveMetricsError);
+                        }
+                    }
+                }
         );
     }
 
@@ -328,7 +387,9 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         pbContract.setProgress(0);
         pbDevice.setProgress(0);
         latestMetrics = null;
-        recentPaymentDocs.clear();
+        revenueSeries = RevenueSeries.EMPTY;
+        if (cardLowCards != null) cardLowCards.setVisibility(View.GONE);
+        if (layoutMiniDeviceList != null) layoutMiniDeviceList.removeAllViews();
         if (revenuePercent != null) {
             revenuePercent.setText(CurrencyUtils.formatRupees(0));
             revenuePercent.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
@@ -336,13 +397,89 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         renderGraphForDuration("7D", true);
     }
 
+    /**
+     * Shows every part of a saved dashboard at once; live data then replaces only what changed.
+     */
+    private void renderSnapshot(DashboardSnapshot snapshot) {
+        if (snapshot.getMetrics() != null) {
+            renderDashboard(snapshot.getMetrics());
+            reportFirstPaint("snapshot");
+        }
+        if (snapshot.getUnassignedCards() != DashboardSnapshot.NO_CARD_COUNT) {
+            renderCardCount(snapshot.getUnassignedCards());
+        }
+        if (snapshot.getDevices() != null) {
+            renderMiniDevices(snapshot.getBusinessId(), snapshot.getDevices());
+        }
+        if (snapshot.getRevenue() != null) {
+            revenueSeries = snapshot.getRevenue();
+            renderGraphForDuration(selectedDuration(), false);
+        }
+    }
+
+    /**
+     * Replaces the shown snapshot with {@code updated} and saves it, unless the user has since
+     * switched to another business.
+     */
+    private void remember(String businessId, DashboardSnapshot updated) {
+        if (!isShowing(businessId)) {
+            return;
+        }
+        shownSnapshot = updated;
+        snapshotStore.save(updated);
+    }
+
+    private boolean isShowing(String businessId) {
+        return shownSnapshot != null && businessId.equals(shownSnapshot.getBusinessId());
+    }
+
+    private void onDashboardMetrics(DashboardMetrics metrics) {
+        String businessId = observedBusinessId;
+        if (!metrics.equals(latestMetrics)) {
+            renderDashboard(metrics);
+        }
+        reportFirstPaint("network");
+        if (!revalidationReported) {
+            revalidationReported = true;
+            RepositoryMetrics.getInstance().recordTiming(
+                    "HomeActivity",
+                    "dashboardRevalidated",
+                    SystemClock.elapsedRealtimeNanos() - createdAtNanos
+            );
+        }
+        if (businessId != null && !metrics.equals(shownSnapshot != null ? shownSnapshot.getMetrics() : null)) {
+            remember(businessId, shownSnapshot.withMetrics(metrics, System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Records time from launch to the first dashboard with real numbers, tagged by where they came from.
+     */
+    private void reportFirstPaint(String source) {
+        if (firstPaintReported) {
+            return;
+        }
+        firstPaintReported = true;
+        RepositoryMetrics.getInstance().recordTiming(
+                "HomeActivity",
+                "firstMeaningfulDashboard." + source,
+                SystemClock.elapsedRealtimeNanos() - createdAtNanos
+        );
+    }
+
+    private String selectedDuration() {
+        return spinnerDuration != null && spinnerDuration.getSelectedItem() != null
+                ? String.valueOf(spinnerDuration.getSelectedItem())
+                : "7D";
+    }
+
     private void renderDashboard(DashboardMetrics metrics) {
         latestMetrics = metrics;
         tvCustomersValue.setText(String.valueOf(metrics.getNewCustomersInLast10Days()));
         tvContractsValue.setText(String.valueOf(metrics.getTotalActiveCustomers()));
         valueActiveSubscriptions.setText(String.valueOf(metrics.getTotalActiveCustomers()));
-        valuePendingPayments.setText(CurrencyUtils.formatRupees(metrics.getPendingPayments()));
-        valueExpectedOverall.setText(CurrencyUtils.formatRupees(metrics.getExpectedPaymentsThisMonth()));
+        valuePendingPayments.setText(metrics.getPendingPayments().formatRupees());
+        valueExpectedOverall.setText(metrics.getExpectedPaymentsThisMonth().formatRupees());
 
         int base = Math.max(1, metrics.getTotalActiveCustomers());
         int contractProgress = Math.min(100, (metrics.getNewCustomersInLast10Days() * 100) / base);
@@ -351,10 +488,7 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         pbContract.setProgress(contractProgress);
         pbDevice.setProgress(deviceProgress);
 
-        String duration = spinnerDuration != null && spinnerDuration.getSelectedItem() != null
-                ? String.valueOf(spinnerDuration.getSelectedItem())
-                : "7D";
-        renderGraphForDuration(duration, false);
+        renderGraphForDuration(selectedDuration(), false);
     }
 
     private void renderGraphForDuration(String duration, boolean fallbackZero) {
@@ -397,22 +531,23 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
 
     private int[] buildRevenueBucketHeights(String duration) {
         int days = resolveDurationDays(duration);
-        double[] buckets = computeRevenueBuckets(days);
-        double max = 0.0;
-        for (double value : buckets) {
+        int today = RevenueRollups.dayOf(System.currentTimeMillis());
+        long[] bucketPaise = revenueSeries.dailyPaise(today, days);
+        long max = 0L;
+        for (long value : bucketPaise) {
             if (value > max) {
                 max = value;
             }
         }
-        int[] heights = new int[buckets.length];
-        for (int i = 0; i < buckets.length; i++) {
-            if (max <= 0.0) {
+        int[] heights = new int[bucketPaise.length];
+        for (int i = 0; i < bucketPaise.length; i++) {
+            if (max <= 0L) {
                 heights[i] = 8;
             } else {
-                heights[i] = Math.max(8, (int) ((buckets[i] / max) * 120.0));
+                heights[i] = Math.max(8, (int) (((double) bucketPaise[i] / max) * 120.0));
             }
         }
-        updateRevenueTrend(days, buckets);
+        updateRevenueTrend(today, days);
         return heights;
     }
 
@@ -426,121 +561,95 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         return 7;
     }
 
-    private double[] computeRevenueBuckets(int days) {
-        double[] buckets = new double[days];
-        Calendar startCal = Calendar.getInstance();
-        resetToDayStart(startCal);
-        startCal.add(Calendar.DAY_OF_MONTH, -(days - 1));
-        long startMs = startCal.getTimeInMillis();
-
-        for (DocumentSnapshot doc : recentPaymentDocs) {
-            com.google.firebase.Timestamp createdAt = doc.getTimestamp("created_at");
-            if (createdAt == null) {
-                continue;
-            }
-            long createdMs = createdAt.toDate().getTime();
-            if (createdMs < startMs) {
-                continue;
-            }
-            int index = (int) ((createdMs - startMs) / (24L * 60L * 60L * 1000L));
-            if (index < 0 || index >= days) {
-                continue;
-            }
-
-            double amount = CurrencyUtils.parseAmount(doc.get("payment_amount"));
-            String type = doc.getString("payment_type");
-            if ("debit".equalsIgnoreCase(type)) {
-                amount = -amount;
-            }
-            buckets[index] += amount;
-        }
-        return buckets;
-    }
-
-    private void updateRevenueTrend(int days, double[] currentBuckets) {
+    private void updateRevenueTrend(int today, int days) {
         if (revenuePercent == null) {
             return;
         }
 
-        double currentTotal = 0.0;
-        for (double value : currentBuckets) {
-            currentTotal += value;
-        }
-
-        double previousTotal = computePreviousPeriodRevenue(days);
-        String amountText = CurrencyUtils.formatRupees(currentTotal);
+        Money currentTotal = Money.ofPaise(revenueSeries.windowPaise(today, days));
+        Money previousTotal = Money.ofPaise(revenueSeries.windowPaise(RevenueSeries.addDays(today, -days), days));
+        String amountText = currentTotal.formatRupees();
 
-        if (previousTotal <= 0.0) {
+        if (previousTotal.signum() <= 0) {
             revenuePercent.setText(amountText);
             revenuePercent.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
             return;
         }
 
-        double deltaPct = ((currentTotal - previousTotal) / previousTotal) * 100.0;
+        double deltaPct = (currentTotal.minus(previousTotal).toRupees() / previousTotal.toRupees()) * 100.0;
         String arrow = deltaPct >= 0 ? "↑" : "↓";
         revenuePercent.setText(String.format(Locale.getDefault(), "%s  %.1f%%  %s", arrow, Math.abs(deltaPct), amountText));
         revenuePercent.setTextColor(deltaPct >= 0 ? Color.parseColor("#2E7D32") : Color.parseColor("#C62828"));
     }
 
-    private double computePreviousPeriodRevenue(int days) {
-        Calendar startCurrent = Calendar.getInstance();
-        resetToDayStart(startCurrent);
-        startCurrent.add(Calendar.DAY_OF_MONTH, -(days - 1));
-
-        Calendar startPrevious = (Calendar) startCurrent.clone();
-        startPrevious.add(Calendar.DAY_OF_MONTH, -days);
-        long startPrevMs = startPrevious.getTimeInMillis();
-        long endPrevMs = startCurrent.getTimeInMillis() - 1L;
-
-        double total = 0.0;
-        for (DocumentSnapshot doc : recentPaymentDocs) {
-            com.google.firebase.Timestamp createdAt = doc.getTimestamp("created_at");
-            if (createdAt == null) {
-                continue;
-            }
-            long createdMs = createdAt.toDate().getTime();
-            if (createdMs < startPrevMs || createdMs > endPrevMs) {
-                continue;
-            }
-            double amount = CurrencyUtils.parseAmount(doc.get("payment_amount"));
-            String type = doc.getString("payment_type");
-            if ("debit".equalsIgnoreCase(type)) {
-                amount = -amount;
-            }
-            total += amount;
-        }
-        return total;
-    }
-
     private void loadRevenueData(String businessId) {
-        Calendar end = Calendar.getInstance();
         Calendar start = Calendar.getInstance();
         resetToDayStart(start);
         start.add(Calendar.DAY_OF_MONTH, -59);
+        int firstDay = RevenueRollups.dayOf(start.getTimeInMillis());
+        int lastDay = RevenueRollups.dayOf(System.currentTimeMillis());
 
+        BusinessConfigCache.getInstance(FirebaseFirestore.getInstance()).getConfig(
+                businessId,
+                config -> {
+                    if (!config.hasRevenueRollupsFrom(firstDay)) {
+                        // Rollups not rebuilt yet: days before the rollup writes began would read as
+                        // empty or short, so derive the whole range from the payments.
+                        loadRevenueFromPayments(businessId, start, lastDay);
+                        return;
+                    }
+                    paymentRepository.fetchDailyRevenue(
+                            businessId,
+                            firstDay,
+                            lastDay,
+                            days -> showRevenue(businessId, RevenueSeries.of(days, firstDay, lastDay)),
+                            e -> showRevenueUnavailable(businessId)
+                    );
+                },
+                e -> loadRevenueFromPayments(businessId, start, lastDay)
+        );
+    }
+
+    private void loadRevenueFromPayments(String businessId, Calendar start, int lastDay) {
         paymentRepository.fetchBusinessPayments(
                 businessId,
                 new com.google.firebase.Timestamp(start.getTime()),
-                new com.google.firebase.Timestamp(end.getTime()),
+                new com.google.firebase.Timestamp(Calendar.getInstance().getTime()),
                 snapshot -> {
-                    recentPaymentDocs.clear();
-                    recentPaymentDocs.addAll(snapshot.getDocuments());
-                    String duration = spinnerDuration != null && spinnerDuration.getSelectedItem() != null
-                            ? String.valueOf(spinnerDuration.getSelectedItem())
-                            : "7D";
-                    renderGraphForDuration(duration, false);
-                },
-                e -> {
-                    recentPaymentDocs.clear();
-                    renderGraphForDuration("7D", true);
-                    if (revenuePercent != null) {
-                        revenuePercent.setText("Revenue unavailable");
-                        revenuePercent.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
+                    List<DailyRevenue> days = new ArrayList<>();
+                    for (PaymentRecord payment : RecordDecoder.payments(snapshot.getDocuments())) {
+                        if (payment.getCreatedAtMs() != RecordDecoder.NO_TIME) {
+                            days.add(RevenueRollups.fromPayment(payment, RecordDecoder.NO_TIME));
+                        }
                     }
-                }
+                    showRevenue(businessId, RevenueSeries.of(days, RevenueRollups.dayOf(start.getTimeInMillis()), lastDay));
+                },
+                e -> showRevenueUnavailable(businessId)
         );
     }
 
+    private void showRevenue(String businessId, RevenueSeries series) {
+        if (!isShowing(businessId) || series.equals(shownSnapshot.getRevenue())) {
+            return;
+        }
+        revenueSeries = series;
+        renderGraphForDuration(selectedDuration(), false);
+        remember(businessId, shownSnapshot.withRevenue(series, System.currentTimeMillis()));
+    }
+
+    private void showRevenueUnavailable(String businessId) {
+        if (!isShowing(businessId) || shownSnapshot.getRevenue() != null) {
+            // Keep the saved chart rather than blanking it.
+            return;
+        }
+        revenueSeries = RevenueSeries.EMPTY;
+        renderGraphForDuration("7D", true);
+        if (revenuePercent != null) {
+            revenuePercent.setText("Revenue unavailable");
+            revenuePercent.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
+        }
+    }
+
     private void resetToDayStart(Calendar calendar) {
         calendar.set(Calendar.HOUR_OF_DAY, 0);
         calendar.set(Calendar.MINUTE, 0);
@@ -560,17 +669,16 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
                             unassignedCount++;
                         }
                     }
-
-                    if (cardLowCards != null) cardLowCards.setVisibility(View.VISIBLE);
-                    if (unassignedCount <= LOW_CARD_THRESHOLD) {
-                        tvLowCardsAlert.setText("Low Remaining Cards: " + unassignedCount);
-                        tvLowCardsAlert.setTextColor(Color.parseColor("#FFB300"));
-                    } else {
-                        tvLowCardsAlert.setText("Remaining Cards: " + unassignedCount);
-                        tvLowCardsAlert.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
+                    if (!isShowing(businessId) || unassignedCount == shownSnapshot.getUnassignedCards()) {
+                        return;
                     }
+                    renderCardCount(unassignedCount);
+                    remember(businessId, shownSnapshot.withUnassignedCards(unassignedCount, System.currentTimeMillis()));
                 },
                 e -> {
+                    if (!isShowing(businessId) || shownSnapshot.getUnassignedCards() != DashboardSnapshot.NO_CARD_COUNT) {
+                        return;
+                    }
                     if (cardLowCards != null) cardLowCards.setVisibility(View.VISIBLE);
                     tvLowCardsAlert.setText("Cards: unavailable");
                     tvLowCardsAlert.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
@@ -578,30 +686,49 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         );
     }
 
+    private void renderCardCount(int unassignedCount) {
+        if (cardLowCards != null) cardLowCards.setVisibility(View.VISIBLE);
+        if (unassignedCount <= LOW_CARD_THRESHOLD) {
+            tvLowCardsAlert.setText("Low Remaining Cards: " + unassignedCount);
+            tvLowCardsAlert.setTextColor(Color.parseColor("#FFB300"));
+        } else {
+            tvLowCardsAlert.setText("Remaining Cards: " + unassignedCount);
+            tvLowCardsAlert.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
+        }
+    }
+
     private void loadMiniDevices(String businessId) {
         if (layoutMiniDeviceList == null) {
             return;
         }
-        layoutMiniDeviceList.removeAllViews();
 
         deviceRepository.fetchDevices(
                 businessId,
                 docs -> {
-                    layoutMiniDeviceList.removeAllViews();
-                    if (docs.isEmpty()) {
-                        TextView empty = new TextView(this);
-                        empty.setText("No devices available");
-                        empty.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
-                        layoutMiniDeviceList.addView(empty);
-                        return;
-                    }
-
                     int maxItems = Math.min(6, docs.size());
+                    List<DashboardSnapshot.DeviceSummary> devices = new ArrayList<>(maxItems);
                     for (int i = 0; i < maxItems; i++) {
-                        layoutMiniDeviceList.addView(buildMiniDeviceRow(businessId, docs.get(i)));
+                        DocumentSnapshot doc = docs.get(i);
+                        String deviceName = doc.getString("device_name");
+                        if (deviceName == null || deviceName.trim().isEmpty()) {
+                            deviceName = doc.getId();
+                        }
+                        devices.add(new DashboardSnapshot.DeviceSummary(
+                                doc.getId(),
+                                deviceName,
+                                Boolean.TRUE.equals(doc.getBoolean("device_status"))
+                        ));
+                    }
+                    if (!isShowing(businessId) || devices.equals(shownSnapshot.getDevices())) {
+                        return;
                     }
+                    renderMiniDevices(businessId, devices);
+                    remember(businessId, shownSnapshot.withDevices(devices, System.currentTimeMillis()));
                 },
                 e -> {
+                    if (!isShowing(businessId) || shownSnapshot.getDevices() != null) {
+                        return;
+                    }
                     layoutMiniDeviceList.removeAllViews();
                     TextView error = new TextView(this);
                     error.setText("Failed to load devices");
@@ -611,7 +738,24 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         );
     }
 
-    private View buildMiniDeviceRow(String businessId, DocumentSnapshot doc) {
+    private void renderMiniDevices(String businessId, List<DashboardSnapshot.DeviceSummary> devices) {
+        if (layoutMiniDeviceList == null) {
+            return;
+        }
+        layoutMiniDeviceList.removeAllViews();
+        if (devices.isEmpty()) {
+            TextView empty = new TextView(this);
+            empty.setText("No devices available");
+            empty.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
+            layoutMiniDeviceList.addView(empty);
+            return;
+        }
+        for (DashboardSnapshot.DeviceSummary device : devices) {
+            layoutMiniDeviceList.addView(buildMiniDeviceRow(businessId, device));
+        }
+    }
+
+    private View buildMiniDeviceRow(String businessId, DashboardSnapshot.DeviceSummary device) {
         LinearLayout row = new LinearLayout(this);
         row.setOrientation(LinearLayout.HORIZONTAL);
         row.setGravity(android.view.Gravity.CENTER_VERTICAL);
@@ -622,18 +766,13 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         dotLp.setMargins(0, 0, dp(10), 0);
         dot.setLayoutParams(dotLp);
 
-        Boolean status = doc.getBoolean("device_status");
-        boolean isOnline = Boolean.TRUE.equals(status);
+        boolean isOnline = device.isOnline();
         dot.setBackgroundColor(isOnline ? Color.parseColor("#4CAF50") : Color.parseColor("#F44336"));
 
         TextView name = new TextView(this);
         LinearLayout.LayoutParams nameLp = new LinearLayout.LayoutParams(0, LinearLayout.LayoutParams.WRAP_CONTENT, 1f);
         name.setLayoutParams(nameLp);
-        String deviceName = doc.getString("device_name");
-        if (deviceName == null || deviceName.trim().isEmpty()) {
-            deviceName = doc.getId();
-        }
-        name.setText(deviceName);
+        name.setText(device.getName());
         name.setTextColor(resolveThemeColor(android.R.attr.textColorPrimary));
 
         ImageView lock = new ImageView(this);
@@ -644,7 +783,7 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         lock.setColorFilter(getLockTintColor(isOnline));
         lock.setPadding(dp(2), dp(2), dp(2), dp(2));
 
-        String deviceId = doc.getId();
+        String deviceId = device.getId();
         View.OnClickListener toggleListener = v -> animateAndToggleDeviceStatus(businessId, deviceId, isOnline, lock);
         lock.setOnClickListener(toggleListener);
         row.setOnClickListener(toggleListener);
@@ -737,6 +876,11 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
 
         if (id == R.id.nav_logout) {
             prefsManager.clearSession();
+            BusinessConfigCache.getInstance(FirebaseFirestore.getInstance()).clear();
+            ReadCoalescer.getInstance().clear();
+            RecordDecoder.clearCache();
+            liveMetrics.clear();
+            snapshotStore.clear();
             Intent intent = new Intent(this, MainActivity.class);
             intent.setFlags(Intent.FLAG_ACTIVITY_NEW_TASK | Intent.FLAG_ACTIVITY_CLEAR_TASK);
             startActivity(intent);
@@ -744,7 +888,12 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
             return true;
         }
 
-        if (id == R.id.nav_customers) {
+        if (id == R.id.nav_overview) {
+            Intent intent = new Intent(this, BusinessOverview.class);
+            intent.putStringArrayListExtra(BusinessOverview.EXTRA_BIZ_IDS, businessIds);
+            intent.putStringArrayListExtra(BusinessOverview.EXTRA_BIZ_NAMES, businessNames);
+            startActivity(intent);
+        } else if (id == R.id.nav_customers) {
             startActivity(new Intent(this, CustomerList.class));
         } else if (id == R.id.nav_cards) {
             Intent intent = new Intent(this, CardAssignment.class);
@@ -766,6 +915,30 @@ public class HomeActivity extends AppCompatActivity implements NavigationView.On
         return true;
     }
 
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (observingLiveMetrics && observedBusinessId != null) {
+            liveMetrics.observe(observedBusinessId, metricsObserver, liveMetricsError);
+        }
+    }
+
+    @Override
+    protected void onStop() {
+        if (observingLiveMetrics && observedBusinessId != null) {
+            liveMetrics.stop(observedBusinessId, metricsObserver);
+        }
+        super.onStop();
+    }
+
+    @Override
+    protected void onDestroy() {
+        if (liveMetrics != null && observedBusinessId != null) {
+            liveMetrics.removeObserver(observedBusinessId, metricsObserver);
+        }
+        super.onDestroy();
+    }
+
     @Override
     public void onBackPressed() {
         NavigationView navView = findViewById(R.id.navView);
@@ -2,6 +2,7 @@ package com.sentri.access_control;
 
 import android.app.ProgressDialog;
 import android.content.Intent;
+import android.content.pm.ApplicationInfo;
 import android.os.Bundle;
 import android.widget.TextView;
 import android.widget.Toast;
@@ -16,6 +17,7 @@ import com.google.firebase.auth.FirebaseUser;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.sentri.access_control.repositories.FirestoreUserRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.UserRepository;
 import com.sentri.access_control.utils.PrefsManager;
 
@@ -37,6 +39,10 @@ public class MainActivity extends AppCompatActivity {
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
+        if (savedInstanceState == null) {
+            // Read metrics are for development; release builds leave them to Diagnostics.
+            RepositoryMetrics.getInstance().setEnabled((getApplicationInfo().flags & ApplicationInfo.FLAG_DEBUGGABLE) != 0);
+        }
 
         PrefsManager prefsManager = new PrefsManager(this);
         if (prefsManager.hasSession()) {
@@ -50,7 +56,7 @@ public class MainActivity extends AppCompatActivity {
 
         setContentView(R.layout.activity_main);
         auth = FirebaseAuth.getInstance();
-        userRepository = new FirestoreUserRepository(FirebaseFirestore.getInstance());
+        userRepository = RepositoryMetrics.instrument(UserRepository.class, new FirestoreUserRepository(FirebaseFirestore.getInstance()), "MainActivity");
 
         progressDialog = new ProgressDialog(this);
         progressDialog.setMessage("Signing in...");
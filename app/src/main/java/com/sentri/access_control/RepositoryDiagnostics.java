@@ -0,0 +1,215 @@
+package com.sentri.access_control;
+
+import android.os.Bundle;
+import android.widget.Button;
+import android.widget.ImageView;
+import android.widget.Switch;
+import android.widget.TextView;
+import android.widget.Toast;
+
+import androidx.appcompat.app.AppCompatActivity;
+
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.sentri.access_control.repositories.CoalescingCustomerRepository;
+import com.sentri.access_control.repositories.CustomerRepository;
+import com.sentri.access_control.repositories.FirestoreCustomerRepository;
+import com.sentri.access_control.repositories.FirestoreIdCounterRepository;
+import com.sentri.access_control.repositories.FirestorePaymentRepository;
+import com.sentri.access_control.repositories.IdCounterRepository;
+import com.sentri.access_control.repositories.PaymentRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
+import com.sentri.access_control.services.CustomerFieldBackfill;
+import com.sentri.access_control.services.RevenueRollupBackfill;
+import com.sentri.access_control.utils.PrefsManager;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Shows the repository read metrics collected this session and saves them to a file.
+ */
+public class RepositoryDiagnostics extends AppCompatActivity {
+
+    private TextView tvReport;
+    private RepositoryMetrics metrics;
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        setContentView(R.layout.activity_repository_diagnostics);
+
+        metrics = RepositoryMetrics.getInstance();
+        tvReport = findViewById(R.id.tvReport);
+        ImageView back = findViewById(R.id.ivBack);
+        Button btnRefresh = findViewById(R.id.btnRefresh);
+        Button btnReset = findViewById(R.id.btnReset);
+        Button btnSave = findViewById(R.id.btnSave);
+        Button btnBackfill = findViewById(R.id.btnBackfillRevenue);
+        Button btnBackfillCustomers = findViewById(R.id.btnBackfillCustomers);
+        Button btnSeedCounters = findViewById(R.id.btnSeedCounters);
+        Switch swRecord = findViewById(R.id.swRecordReads);
+        Switch swBytes = findViewById(R.id.swEstimateBytes);
+
+        back.setOnClickListener(v -> finish());
+        btnRefresh.setOnClickListener(v -> renderReport());
+        btnReset.setOnClickListener(v -> {
+            metrics.reset();
+            renderReport();
+        });
+        btnSave.setOnClickListener(v -> saveReport());
+        btnBackfill.setOnClickListener(v -> rebuildRevenueRollups(btnBackfill));
+        btnBackfillCustomers.setOnClickListener(v -> fixCustomerFields(btnBackfillCustomers));
+        btnSeedCounters.setOnClickListener(v -> seedIdCounters(btnSeedCounters));
+
+        swRecord.setChecked(metrics.isEnabled());
+        swBytes.setChecked(metrics.isEstimatingBytes());
+        swRecord.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            metrics.setEnabled(isChecked);
+            renderReport();
+        });
+        swBytes.setOnCheckedChangeListener((buttonView, isChecked) -> {
+            metrics.setEstimatingBytes(isChecked);
+            renderReport();
+        });
+    }
+
+    @Override
+    protected void onResume() {
+        super.onResume();
+        renderReport();
+    }
+
+    private void renderReport() {
+        tvReport.setText(metrics.formatReport());
+    }
+
+    /**
+     * Rebuilds the current business's daily revenue rollups from its payments.
+     */
+    private void rebuildRevenueRollups(Button button) {
+        String businessId = new PrefsManager(this).getCurrentBizId();
+        if (businessId == null || businessId.trim().isEmpty()) {
+            Toast.makeText(this, "No business selected", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        CharSequence label = button.getText();
+        button.setEnabled(false);
+        PaymentRepository paymentRepository = RepositoryMetrics.instrument(
+                PaymentRepository.class,
+                new FirestorePaymentRepository(FirebaseFirestore.getInstance()),
+                "RepositoryDiagnostics"
+        );
+        new RevenueRollupBackfill(paymentRepository).run(
+                businessId,
+                read -> button.setText("Reading payments: " + read),
+                days -> {
+                    button.setEnabled(true);
+                    button.setText(label);
+                    Toast.makeText(this, "Rebuilt " + days + " days of revenue", Toast.LENGTH_LONG).show();
+                    renderReport();
+                },
+                exception -> {
+                    button.setEnabled(true);
+                    button.setText(label);
+                    Toast.makeText(this, "Rebuild failed: " + exception.getMessage(), Toast.LENGTH_LONG).show();
+                }
+        );
+    }
+
+    /**
+     * Gives the current business's customers the name and status fields the customer list pages on.
+     */
+    private void fixCustomerFields(Button button) {
+        String businessId = new PrefsManager(this).getCurrentBizId();
+        if (businessId == null || businessId.trim().isEmpty()) {
+            Toast.makeText(this, "No business selected", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        button.setEnabled(false);
+        CustomerRepository customerRepository = RepositoryMetrics.instrument(
+                CustomerRepository.class,
+                new CoalescingCustomerRepository(new FirestoreCustomerRepository(FirebaseFirestore.getInstance())),
+                "RepositoryDiagnostics"
+        );
+        new CustomerFieldBackfill(customerRepository).run(
+                businessId,
+                fixed -> {
+                    button.setEnabled(true);
+                    Toast.makeText(this, "Fixed " + fixed + " customers", Toast.LENGTH_LONG).show();
+                    renderReport();
+                },
+                exception -> {
+                    button.setEnabled(true);
+                    Toast.makeText(this, "Fix failed: " + exception.getMessage(), Toast.LENGTH_LONG).show();
+                }
+        );
+    }
+
+    /**
+     * Creates this year's missing ID counters of the current business from the highest IDs already
+     * in use, so the first allocation of each kind does not have to scan for them.
+     */
+    private void seedIdCounters(Button button) {
+        String businessId = new PrefsManager(this).getCurrentBizId();
+        if (businessId == null || businessId.trim().isEmpty()) {
+            Toast.makeText(this, "No business selected", Toast.LENGTH_SHORT).show();
+            return;
+        }
+
+        button.setEnabled(false);
+        FirebaseFirestore firestore = FirebaseFirestore.getInstance();
+        PaymentRepository paymentRepository = RepositoryMetrics.instrument(
+                PaymentRepository.class,
+                new FirestorePaymentRepository(firestore),
+                "RepositoryDiagnostics"
+        );
+        IdCounterRepository idCounterRepository = RepositoryMetrics.instrument(
+                IdCounterRepository.class,
+                new FirestoreIdCounterRepository(firestore),
+                "RepositoryDiagnostics"
+        );
+        paymentRepository.fetchBusinessPrefix(
+                businessId,
+                prefix -> {
+                    if (prefix == null || prefix.trim().isEmpty()) {
+                        button.setEnabled(true);
+                        Toast.makeText(this, "Business prefix missing", Toast.LENGTH_LONG).show();
+                        return;
+                    }
+                    idCounterRepository.backfillCounters(
+                            businessId,
+                            prefix.trim(),
+                            seeded -> {
+                                button.setEnabled(true);
+                                Toast.makeText(this, "ID counters: " + seeded, Toast.LENGTH_LONG).show();
+                                renderReport();
+                            },
+                            exception -> {
+                                button.setEnabled(true);
+                                Toast.makeText(this, "Seeding failed: " + exception.getMessage(), Toast.LENGTH_LONG).show();
+                            }
+                    );
+                },
+                exception -> {
+                    button.setEnabled(true);
+                    Toast.makeText(this, "Seeding failed: " + exception.getMessage(), Toast.LENGTH_LONG).show();
+                }
+        );
+    }
+
+    private void saveReport() {
+        File directory = getExternalFilesDir("diagnostics");
+        if (directory == null) {
+            directory = new File(getFilesDir(), "diagnostics");
+        }
+        File file = new File(directory, "repository-metrics-" + System.currentTimeMillis() + ".txt");
+        try {
+            metrics.dumpToFile(file);
+            Toast.makeText(this, "Saved to " + file.getAbsolutePath(), Toast.LENGTH_LONG).show();
+        } catch (IOException exception) {
+            Toast.makeText(this, "Save failed: " + exception.getMessage(), Toast.LENGTH_LONG).show();
+        }
+    }
+}
@@ -4,18 +4,14 @@ import android.app.AlertDialog;
 import android.app.TimePickerDialog;
 import android.content.Intent;
 import android.graphics.Color;
-import android.graphics.Paint;
 import android.os.Bundle;
 import android.text.format.DateFormat;
 import android.util.Log;
 import android.util.TypedValue;
-import android.view.Gravity;
 import android.view.MotionEvent;
 import android.view.View;
-import android.view.ViewGroup;
 import android.widget.Button;
 import android.widget.EditText;
-import android.widget.LinearLayout;
 import android.widget.Switch;
 import android.widget.TableLayout;
 import android.widget.TableRow;
@@ -23,24 +19,29 @@ import android.widget.TextView;
 import android.widget.Toast;
 
 import androidx.appcompat.app.AppCompatActivity;
+import androidx.lifecycle.Lifecycle;
 
-import com.google.firebase.Timestamp;
-import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.models.ShiftRecord;
 import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.CoalescingShiftRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessRepository;
 import com.sentri.access_control.repositories.FirestoreShiftRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.ShiftRepository;
+import com.sentri.access_control.services.LiveSeatMap;
+import com.sentri.access_control.services.SeatOccupancyModel;
+import com.sentri.access_control.services.ShiftConflictEngine;
+import com.sentri.access_control.ui.SeatGridView;
 
 import java.text.SimpleDateFormat;
 import java.text.ParseException;
+import java.util.BitSet;
 import java.util.Calendar;
 import java.util.Date;
 import java.util.Locale;
 import java.util.List;
-import java.util.Map;
-import java.util.HashMap;
 import java.lang.reflect.Field;
 
 public class SeatSelection extends AppCompatActivity {
@@ -56,7 +57,13 @@ public class SeatSelection extends AppCompatActivity {
     private String origEndDateStr = null;
 
     // Views
-    private TableLayout table;
+    private SeatGridView seatGrid;
+    private final SeatOccupancyModel occupancy = new SeatOccupancyModel();
+    // Keeps the grid and its conflict engine current while the screen is visible.
+    private LiveSeatMap liveSeatMap;
+    private List<String> currentShiftIds;
+    // Set when a live change lands on the selected hours.
+    private boolean selectionTaken;
     private TableLayout tableUnallocatedShifts;
     private EditText etStart, etEnd;
     private Button btnSubmit;
@@ -66,44 +73,14 @@ public class SeatSelection extends AppCompatActivity {
     private Switch switchUnallocatedSeat;
     private TextView tvSeatDisplay;
 
-    // Sticky scrolls (your custom views)
-    private com.sentri.access_control.ui.ObservableHorizontalScrollView hsvHeader, hsvContent;
-    private com.sentri.access_control.ui.ObservableScrollView svLeft, svContent;
-    private LinearLayout headerRow, leftSeatColumn;
-
     // Selection state
     private int selectedSeat = -1;
     private int startHourSel = -1;
     private int endHourSel   = -1;
 
-    private boolean syncingH = false, syncingV = false;
-
-    // Zoom state
-    private int currentColDp = 80;
-    private final int MIN_COL_DP = 36;
-    private final int MAX_COL_DP = 220;
-    private final int COL_STEP_DP = 12;
-    private float baseTextSpHeader = 11f;
-    private float baseTextSpCell   = 12f;
-
-    // Preserve state across rebuilds
-    private Map<String, CellState> savedCellState = new HashMap<>();
-
-    // Dedicated saved selection fields (persist across rebuild)
-    private int savedSelectedSeat = -1;
-    private int savedStartHour = -1;
-    private int savedEndHour = -1;
     private BusinessRepository businessRepository;
     private ShiftRepository shiftRepository;
 
-    private static class CellState {
-        boolean occupied;
-        boolean customerShift;
-        boolean selected;
-        CharSequence text;
-        String occupiedCustomerId;
-    }
-
     private static class UnallocatedShiftRow {
         final String customerId;
         final String startTime;
@@ -118,16 +95,6 @@ public class SeatSelection extends AppCompatActivity {
 
     private final java.util.List<UnallocatedShiftRow> unallocatedShiftRows = new java.util.ArrayList<>();
 
-    // Format helpers
-    private String fmtHour(int h) {
-        int hh = ((h % 24) + 24) % 24;
-        return String.format(Locale.getDefault(), "%02d:00", hh);
-    }
-
-    private String slotLabel(int startHour) {
-        return fmtHour(startHour) + "-" + fmtHour(startHour + 1);
-    }
-
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -139,8 +106,8 @@ public class SeatSelection extends AppCompatActivity {
         origStartDateStr = getIntent().getStringExtra("startDate");
         origEndDateStr   = getIntent().getStringExtra("endDate");
         FirebaseFirestore firestore = FirebaseFirestore.getInstance();
-        businessRepository = new FirestoreBusinessRepository(firestore);
-        shiftRepository = new FirestoreShiftRepository(firestore);
+        businessRepository = RepositoryMetrics.instrument(BusinessRepository.class, new FirestoreBusinessRepository(firestore), "SeatSelection");
+        shiftRepository = new CoalescingShiftRepository(RepositoryMetrics.instrument(ShiftRepository.class, new FirestoreShiftRepository(firestore), "SeatSelection"));
 
         // parse dates (graceful fallback)
         try {
@@ -166,19 +133,12 @@ public class SeatSelection extends AppCompatActivity {
         windowEndMs   = endDate.getTime();
 
         // Bind views
-        table    = findViewById(R.id.tableLayout);
+        seatGrid = findViewById(R.id.seatGrid);
         tableUnallocatedShifts = findViewById(R.id.tableUnallocatedShifts);
         etStart  = findViewById(R.id.etStartTime);
         etEnd    = findViewById(R.id.etEndTime);
         btnSubmit= findViewById(R.id.btnSubmit);
 
-        hsvHeader = findViewById(R.id.hsvHeader);
-        hsvContent= findViewById(R.id.hsvContent);
-        svLeft    = findViewById(R.id.svLeft);
-        svContent = findViewById(R.id.svContent);
-        headerRow = findViewById(R.id.headerRow);
-        leftSeatColumn = findViewById(R.id.leftSeatColumn);
-
         // Controls - if your layout doesn't have these ids, add them per previous instructions
         btnZoomIn = findViewById(R.id.btnZoomIn);
         btnZoomOut = findViewById(R.id.btnZoomOut);
@@ -190,38 +150,14 @@ public class SeatSelection extends AppCompatActivity {
         if (switchUnallocatedSeat != null) switchUnallocatedSeat.setChecked(false);
         if (tvSeatDisplay != null) tvSeatDisplay.setText("Seat: -");
 
-        if (table != null) {
-            table.setStretchAllColumns(false);
-            table.setShrinkAllColumns(false);
-        }
-
-        // sync horizontal scroll (header <-> content)
-        if (hsvContent != null) hsvContent.setOnScrollListener((l, t) -> {
-            if (syncingH) return;
-            syncingH = true; if (hsvHeader != null) hsvHeader.scrollTo(l, 0); syncingH = false;
-        });
-        if (hsvHeader != null) hsvHeader.setOnScrollListener((l, t) -> {
-            if (syncingH) return;
-            syncingH = true; if (hsvContent != null) hsvContent.scrollTo(l, svContent.getScrollY()); syncingH = false;
-        });
-
-        // sync vertical scroll (left <-> content)
-        if (svContent != null) svContent.setOnScrollListener((l, t) -> {
-            if (syncingV) return;
-            syncingV = true; if (svLeft != null) svLeft.scrollTo(0, t); syncingV = false;
-        });
-        if (svLeft != null) svLeft.setOnScrollListener((l, t) -> {
-            if (syncingV) return;
-            syncingV = true; if (svContent != null) svContent.scrollTo(hsvContent.getScrollX(), t); syncingV = false;
-        });
-
         // Build UI
-        buildHeaderRow();
-        buildSeatRows();
+        seatGrid.setCells(occupancy);
+        seatGrid.setOnCellClickListener(this::onCellTapped);
+        resetGrid();
 
         // Zoom buttons
-        if (btnZoomIn != null) btnZoomIn.setOnClickListener(v -> zoomIn());
-        if (btnZoomOut != null) btnZoomOut.setOnClickListener(v -> zoomOut());
+        if (btnZoomIn != null) btnZoomIn.setOnClickListener(v -> seatGrid.zoomIn());
+        if (btnZoomOut != null) btnZoomOut.setOnClickListener(v -> seatGrid.zoomOut());
 
         // Wire unallocated switch behaviour
         if (switchUnallocatedSeat != null) {
@@ -263,8 +199,7 @@ public class SeatSelection extends AppCompatActivity {
                         closeHour = config.getCloseHour();
                         maxSeats = config.getMaxSeats();
 
-                        buildHeaderRow();
-                        buildSeatRows();
+                        resetGrid();
 
                         loadShiftsWithCustomerFirst();
                     },
@@ -377,7 +312,14 @@ public class SeatSelection extends AppCompatActivity {
                     });
 
                 } else {
-                    // Allocated seat path (unchanged)
+                    if (liveSeatMap == null || !liveSeatMap.isLoaded()) {
+                        // Without the live shifts every seat looks free, so a booking could overlap one.
+                        new AlertDialog.Builder(this)
+                                .setMessage("Booked seats have not loaded yet. Please wait for the seat map, or retry if loading failed.")
+                                .setPositiveButton("OK", null)
+                                .show();
+                        return;
+                    }
                     if (selectedSeat > 0) {
                         seatValue = String.valueOf(selectedSeat);
                         finalSelectedSeat = selectedSeat;
@@ -481,63 +423,24 @@ public class SeatSelection extends AppCompatActivity {
     }
 
     /**
-     * Query Firestore for unallocated shifts in this business and check overlap.
-     *
-     * Order of checks:
-     *  1) Filter shifts to those that have shift_seat == "unallocated" and shift_status == true (server-side).
-     *  2) From those, first look for shifts that belong to this customer (we try common field names).
-     *     If any same-customer unallocated shifts are found, check them all for overlap with new range.
-     *     If any overlap -> conflict = true.
-     *  3) If no same-customer unallocated shifts are found -> allow (conflict = false).
-     *
-     * Note: if you'd rather also block if ANY unallocated shift (other customers) overlaps, tell me and
-     * I will check the full set instead of only the same-customer subset.
+     * Checks the new range against this customer's active unallocated shifts. Uses the live shifts
+     * behind the grid, the same data allocated-seat picks are checked against, and only fetches
+     * the unallocated shifts if the grid has not loaded yet.
      */
     private void checkUnallocatedConflict(long newStartMs, long newEndMs, java.util.function.Consumer<Boolean> callback) {
-        if (businessId == null) {
+        if (businessId == null || customerId == null) {
             callback.accept(false);
             return;
         }
+        if (liveSeatMap != null && liveSeatMap.isLoaded()) {
+            callback.accept(hasUnallocatedOverlap(liveSeatMap.getConflicts(), newStartMs, newEndMs));
+            return;
+        }
 
         shiftRepository.fetchActiveUnallocatedShifts(
                 businessId,
-                documents -> {
-                    // Collect docs that belong to this customerId (robust to several possible field names)
-                    java.util.List<DocumentSnapshot> sameCustomerDocs = new java.util.ArrayList<>();
-
-                    for (DocumentSnapshot doc : documents) {
-                        // try several candidate fields that might hold the customer id in your schema
-                        String docCustomerId = null;
-                        if (docCustomerId == null && doc.contains("shift_customer_id")) docCustomerId = doc.getString("shift_customer_id");
-
-                        // If we have a customerId and it matches the current customer, add to sameCustomerDocs
-                        if (docCustomerId != null && customerId != null && docCustomerId.equals(customerId)) {
-                            sameCustomerDocs.add(doc);
-                        }
-                    }
-
-                    // If there are same-customer unallocated shifts, check overlap against all of them
-                    if (!sameCustomerDocs.isEmpty()) {
-                        boolean conflict = false;
-                        for (DocumentSnapshot doc : sameCustomerDocs) {
-                            Timestamp tsStart = doc.getTimestamp("shift_start_time");
-                            Timestamp tsEnd   = doc.getTimestamp("shift_end_time");
-                            if (tsStart == null || tsEnd == null) continue;
-                            long s = tsStart.toDate().getTime();
-                            long e = tsEnd.toDate().getTime();
-                            // overlap check: existing_end > new_start && existing_start < new_end
-                            if (e > newStartMs && s < newEndMs) {
-                                conflict = true;
-                                break;
-                            }
-                        }
-                        callback.accept(conflict);
-                        return;
-                    }
-
-                    // No same-customer unallocated shifts found -> allow (no conflict).
-                    callback.accept(false);
-                },
+                documents -> callback.accept(hasUnallocatedOverlap(
+                        ShiftConflictEngine.of(RecordDecoder.shifts(documents)), newStartMs, newEndMs)),
                 e -> {
                     Log.e("SeatSel", "Error fetching unallocated shifts for conflict check", e);
                     // Conservatively block on failure.
@@ -547,6 +450,15 @@ public class SeatSelection extends AppCompatActivity {
     }
 
 
+    private boolean hasUnallocatedOverlap(ShiftConflictEngine conflicts, long newStartMs, long newEndMs) {
+        for (ShiftRecord shift : conflicts.findCustomerOverlaps(customerId, newStartMs, newEndMs)) {
+            if (shift.isUnallocated()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     // ---------------------------
     // Load shifts (customer-first)
     // ---------------------------
@@ -554,191 +466,118 @@ public class SeatSelection extends AppCompatActivity {
         if (businessId == null) return;
 
         if (customerId != null) {
-            java.util.concurrent.atomic.AtomicReference<List<String>> currentShiftIdsRef =
-                    new java.util.concurrent.atomic.AtomicReference<>(null);
-
             shiftRepository.fetchCustomerShiftIds(
                     businessId,
                     customerId,
-                    shiftIds -> {
-                        if (shiftIds != null && !shiftIds.isEmpty()) {
-                            currentShiftIdsRef.set(new java.util.ArrayList<>(shiftIds));
-                        }
-                        shiftRepository.fetchAllShifts(
-                                businessId,
-                                querySnapshot -> iterateAndMarkShifts(querySnapshot, currentShiftIdsRef.get()),
-                                e -> Log.e("SeatSel", "Error loading shifts after customer fetch", e)
-                        );
-                    },
+                    shiftIds -> startLiveSeatMap(shiftIds != null ? new java.util.ArrayList<>(shiftIds) : null),
                     e -> {
                         Log.e("SeatSel", "Error loading customer doc for current shift id", e);
-                        shiftRepository.fetchAllShifts(
-                                businessId,
-                                querySnapshot -> iterateAndMarkShifts(querySnapshot, null),
-                                e2 -> Log.e("SeatSel", "Error loading shifts (fallback)", e2)
-                        );
+                        startLiveSeatMap(null);
                     }
             );
         } else {
-            shiftRepository.fetchAllShifts(
-                    businessId,
-                    querySnapshot -> iterateAndMarkShifts(querySnapshot, null),
-                    e -> Log.e("SeatSel", "Error loading shifts (no customerId)", e)
-            );
+            startLiveSeatMap(null);
         }
     }
 
-    private void iterateAndMarkShifts(QuerySnapshot querySnapshot, List<String> currentShiftIds) {
-        unallocatedShiftRows.clear();
-        for (DocumentSnapshot shiftDoc : querySnapshot.getDocuments()) {
-            Boolean status = shiftDoc.getBoolean("shift_status");
-            if (!Boolean.TRUE.equals(status)) continue;
-
-            Timestamp tsStart = shiftDoc.getTimestamp("shift_start_time");
-            Timestamp tsEnd   = shiftDoc.getTimestamp("shift_end_time");
-            String seatStr    = shiftDoc.getString("shift_seat");
-            if (tsStart == null || tsEnd == null || seatStr == null) continue;
-
-            long startMs = tsStart.toDate().getTime();
-            long endMs   = tsEnd.toDate().getTime();
-            if (!(endMs > windowStartMs && startMs < windowEndMs)) continue;
-            String shiftCustomerId = shiftDoc.getString("shift_customer_id");
-
-            int seatNum;
-            try {
-                seatNum = Integer.parseInt(seatStr);
-            } catch (NumberFormatException e) {
-                if ("unallocated".equalsIgnoreCase(seatStr)) {
-                    String startLabel = DateFormat.format("d MMM yyyy, HH:mm", tsStart.toDate()).toString();
-                    String endLabel = DateFormat.format("d MMM yyyy, HH:mm", tsEnd.toDate()).toString();
-                    String customerLabel = (shiftCustomerId == null || shiftCustomerId.trim().isEmpty()) ? "-" : shiftCustomerId;
-                    unallocatedShiftRows.add(new UnallocatedShiftRow(customerLabel, startLabel, endLabel));
-                }
-                continue;
-            }
+    private void startLiveSeatMap(List<String> shiftIds) {
+        currentShiftIds = shiftIds;
+        liveSeatMap = new LiveSeatMap(
+                shiftRepository,
+                businessId,
+                windowStartMs,
+                windowEndMs,
+                occupancy,
+                this::paintShift,
+                this::onSeatMapChanged,
+                this::onSeatMapError
+        );
+        if (getLifecycle().getCurrentState().isAtLeast(Lifecycle.State.STARTED)) {
+            liveSeatMap.start();
+        }
+    }
 
-            Calendar cal = Calendar.getInstance();
-            cal.setTime(tsStart.toDate());
-            int startH = cal.get(Calendar.HOUR_OF_DAY);
-            cal.setTime(tsEnd.toDate());
-            int endH   = cal.get(Calendar.HOUR_OF_DAY);
+    @Override
+    protected void onStart() {
+        super.onStart();
+        if (liveSeatMap != null) liveSeatMap.start();
+    }
 
-            boolean isCurrentCustomerShift = currentShiftIds != null && currentShiftIds.contains(shiftDoc.getId());
+    @Override
+    protected void onStop() {
+        if (liveSeatMap != null) liveSeatMap.stop();
+        super.onStop();
+    }
 
-            if (startH <= endH) {
-                for (int h = startH; h < endH; h++) {
-                    if (isCurrentCustomerShift) markCustomerShift(seatNum, h);
-                    else markOccupied(seatNum, h, shiftCustomerId);
-                }
-            } else {
-                for (int h = startH; h < closeHour; h++) {
-                    if (isCurrentCustomerShift) markCustomerShift(seatNum, h);
-                    else markOccupied(seatNum, h, shiftCustomerId);
-                }
-                for (int h = openHour; h < endH; h++) {
-                    if (isCurrentCustomerShift) markCustomerShift(seatNum, h);
-                    else markOccupied(seatNum, h, shiftCustomerId);
-                }
-            }
+    private void onSeatMapError(Exception e) {
+        Log.e("SeatSel", "Error listening to shifts", e);
+        if (isFinishing()) {
+            return;
+        }
+        new AlertDialog.Builder(this)
+                .setTitle("Booked seats not loaded")
+                .setMessage("Existing bookings could not be loaded: " + e.getMessage()
+                        + "\nSeats cannot be booked until they load.")
+                .setPositiveButton("Retry", (dialog, which) -> {
+                    if (liveSeatMap != null) liveSeatMap.start();
+                })
+                .setNegativeButton("Close", null)
+                .show();
+    }
+
+    private void paintShift(SeatOccupancyModel model, ShiftRecord shift, int startH, int endH) {
+        int seatNum = shift.getSeatNumber();
+        if (isCustomerShift(shift)) {
+            model.markCustomerShift(seatNum, startH, endH);
+            return;
+        }
+        if (model.overlapsSelection(seatNum, startH, endH)) {
+            // Someone else just booked part of the selection; drop it so the booking shows.
+            model.clearSelection(seatNum);
+            selectionTaken = true;
         }
-        renderUnallocatedRows();
+        model.occupy(seatNum, startH, endH, shift.getCustomerId(), true);
     }
 
-    // ---------------------------
-    // Header + Rows builders
-    // ---------------------------
-    private void buildHeaderRow() {
-        if (headerRow != null) headerRow.removeAllViews();
-
-        final int w = colPx();
-        float scaledSp = scaledHeaderTextSp();
-
-        for (int h = openHour; h < closeHour; h++) {
-            TextView tv = new TextView(this);
-            tv.setText(slotLabel(h));
-            tv.setSingleLine(true);
-            tv.setEllipsize(null);
-            tv.setGravity(Gravity.CENTER);
-            int pad = dpToPx(8 + (currentColDp - 96) / 12);
-            tv.setPadding(pad, pad, pad, pad);
-            tv.setBackgroundResource(R.drawable.cell_border);
-            tv.setTypeface(null, android.graphics.Typeface.BOLD);
-            tv.setTextSize(TypedValue.COMPLEX_UNIT_SP, scaledSp);
-
-            LinearLayout.LayoutParams lp =
-                    new LinearLayout.LayoutParams(w, ViewGroup.LayoutParams.WRAP_CONTENT);
-            tv.setLayoutParams(lp);
-
-            headerRow.addView(tv);
-        }
+    private boolean isCustomerShift(ShiftRecord shift) {
+        // Matching the customer also covers shifts booked after the screen opened; the IDs read at
+        // start cover older shifts saved without shift_customer_id.
+        return (customerId != null && customerId.equals(shift.getCustomerId()))
+                || (currentShiftIds != null && currentShiftIds.contains(shift.getId()));
     }
 
-    private void buildSeatRows() {
-        if (leftSeatColumn != null) leftSeatColumn.removeAllViews();
-        if (table != null) table.removeAllViews();
-
-        final int w = colPx();
-        float scaledSpCell = scaledCellTextSp();
-        int cellPad = dpToPx(8 + (currentColDp - 96) / 12);
-
-        for (int seat = 1; seat <= maxSeats; seat++) {
-            // left seat label column
-            if (leftSeatColumn != null) {
-                TextView seatTv = new TextView(this);
-                seatTv.setText(String.valueOf(seat));
-                seatTv.setGravity(Gravity.CENTER);
-                seatTv.setPadding(cellPad / 2, cellPad, cellPad / 2, cellPad);
-                seatTv.setBackgroundResource(R.drawable.cell_border);
-                seatTv.setTextSize(TypedValue.COMPLEX_UNIT_SP, scaledSpCell);
-                leftSeatColumn.addView(seatTv);
+    private void onSeatMapChanged(BitSet seats, boolean unallocatedChanged) {
+        if (selectionTaken) {
+            selectionTaken = false;
+            if (selectedSeat > 0) {
+                int takenSeat = selectedSeat;
+                clearSelectedSeatHighlights(takenSeat);
+                if (tvSeatDisplay != null) tvSeatDisplay.setText("Seat: -");
+                Toast.makeText(this, "Seat " + takenSeat + " was just booked for part of your selection. Please pick again.", Toast.LENGTH_LONG).show();
             }
-
-            // build the row for this seat
-            TableRow row = new TableRow(this);
-            row.setLayoutParams(new TableLayout.LayoutParams(
-                    ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
-
-            for (int h = openHour; h < closeHour; h++) {
-                TextView cell = new TextView(this);
-                String tag = seat + ":" + h;
-                cell.setTag(tag);
-                cell.setGravity(Gravity.CENTER);
-                cell.setPadding(cellPad, cellPad, cellPad, cellPad);
-                cell.setBackgroundResource(R.drawable.cell_border);
-                cell.setTextSize(TypedValue.COMPLEX_UNIT_SP, scaledSpCell);
-                cell.setText("");
-
-                // clickable (always interactive)
-                cell.setOnClickListener(this::onCellTapped);
-
-                TableRow.LayoutParams lp = new TableRow.LayoutParams(w, ViewGroup.LayoutParams.WRAP_CONTENT);
-                cell.setLayoutParams(lp);
-
-                row.addView(cell);
+        }
+        for (int seat = seats.nextSetBit(0); seat >= 0; seat = seats.nextSetBit(seat + 1)) {
+            seatGrid.invalidateSeat(seat);
+        }
+        if (unallocatedChanged) {
+            unallocatedShiftRows.clear();
+            for (ShiftRecord shift : liveSeatMap.getUnallocatedShifts()) {
+                String shiftCustomerId = shift.getCustomerId();
+                String startLabel = DateFormat.format("d MMM yyyy, HH:mm", shift.getStartMs()).toString();
+                String endLabel = DateFormat.format("d MMM yyyy, HH:mm", shift.getEndMs()).toString();
+                String customerLabel = (shiftCustomerId == null || shiftCustomerId.trim().isEmpty()) ? "-" : shiftCustomerId;
+                unallocatedShiftRows.add(new UnallocatedShiftRow(customerLabel, startLabel, endLabel));
             }
-
-            if (table != null) table.addView(row);
+            renderUnallocatedRows();
         }
     }
 
     // ---------------------------
-    // Zoom utilities
+    // Grid
     // ---------------------------
-    private void zoomIn() {
-        if (currentColDp + COL_STEP_DP > MAX_COL_DP) currentColDp = MAX_COL_DP;
-        else currentColDp += COL_STEP_DP;
-        rebuildGridPreservingState();
-    }
-
-    private void zoomOut() {
-        if (currentColDp - COL_STEP_DP < MIN_COL_DP) currentColDp = MIN_COL_DP;
-        else currentColDp -= COL_STEP_DP;
-        rebuildGridPreservingState();
-    }
-
-    private int colPx() {
-        return (int) TypedValue.applyDimension(
-                TypedValue.COMPLEX_UNIT_DIP, currentColDp, getResources().getDisplayMetrics());
+    private void resetGrid() {
+        occupancy.reset(maxSeats, openHour, closeHour);
+        seatGrid.notifyCellsChanged();
     }
 
     private int dpToPx(int dp) {
@@ -746,129 +585,19 @@ public class SeatSelection extends AppCompatActivity {
                 TypedValue.COMPLEX_UNIT_DIP, dp, getResources().getDisplayMetrics());
     }
 
-    private float scaledHeaderTextSp() {
-        float delta = (currentColDp - 96) / 24f;
-        return Math.max(10f, baseTextSpHeader + delta * 2f);
-    }
-
-    private float scaledCellTextSp() {
-        float delta = (currentColDp - 96) / 24f;
-        return Math.max(10f, baseTextSpCell + delta * 2.0f);
-    }
-
-    /**
-     * Capture current UI cell state into savedCellState.
-     * Also capture the current selected seat/range into savedSelectedSeat/savedStartHour/savedEndHour.
-     */
-    private void captureCurrentCellState() {
-        savedCellState.clear();
-        savedSelectedSeat = -1;
-        savedStartHour = -1;
-        savedEndHour = -1;
-
-        for (int seat = 1; seat <= maxSeats; seat++) {
-            int localMin = Integer.MAX_VALUE;
-            int localMax = Integer.MIN_VALUE;
-            boolean seatHasSel = false;
-
-            for (int h = openHour; h < closeHour; h++) {
-                View v = findCellView(seat, h);
-                if (v == null) continue;
-                CellState cs = new CellState();
-                cs.occupied = Boolean.TRUE.equals(v.getTag(R.id.occupied));
-                cs.customerShift = Boolean.TRUE.equals(v.getTag(R.id.customer_shift));
-                cs.selected = Boolean.TRUE.equals(v.getTag(R.id.selected));
-                if (v instanceof TextView) cs.text = ((TextView)v).getText();
-                Object occupiedCustomerId = v.getTag(R.id.occupied_customer_id);
-                cs.occupiedCustomerId = occupiedCustomerId != null ? String.valueOf(occupiedCustomerId) : null;
-                savedCellState.put(seat + ":" + h, cs);
-
-                if (cs.selected) {
-                    seatHasSel = true;
-                    if (h < localMin) localMin = h;
-                    if (h > localMax) localMax = h;
-                }
-            }
-
-            if (seatHasSel && savedSelectedSeat == -1) {
-                savedSelectedSeat = seat;
-                savedStartHour = (localMin == Integer.MAX_VALUE) ? -1 : localMin;
-                savedEndHour = (localMax == Integer.MIN_VALUE) ? -1 : (localMax + 1);
-            }
-        }
-    }
-
-    /**
-     * Rebuild grid and re-applies savedCellState.
-     * Also restores selectedSeat/startHourSel/endHourSel from the dedicated saved fields.
-     */
-    private void rebuildGridPreservingState() {
-        captureCurrentCellState();
-
-        // rebuild
-        buildHeaderRow();
-        buildSeatRows();
-
-        // reapply saved state
-        for (Map.Entry<String, CellState> e : savedCellState.entrySet()) {
-            String key = e.getKey();
-            String[] parts = key.split(":");
-            if (parts.length != 2) continue;
-            int seat = Integer.parseInt(parts[0]);
-            int hour = Integer.parseInt(parts[1]);
-            CellState cs = e.getValue();
-            View v = findCellView(seat, hour);
-            if (v == null) continue;
-            if (cs.customerShift) {
-                v.setBackgroundResource(R.drawable.cell_customer_shift);
-                v.setTag(R.id.customer_shift, true);
-                v.setTag(R.id.occupied, null);
-                v.setTag(R.id.selected, null);
-                v.setTag(R.id.occupied_customer_id, null);
-                v.setOnClickListener(null);
-            } else if (cs.occupied) {
-                v.setBackgroundResource(R.drawable.cell_occupied);
-                v.setTag(R.id.occupied, true);
-                v.setTag(R.id.occupied_customer_id, cs.occupiedCustomerId);
-                if (cs.occupiedCustomerId != null && !cs.occupiedCustomerId.trim().isEmpty()) {
-                    v.setOnClickListener(view -> openCustomerProfile(cs.occupiedCustomerId));
-                } else {
-                    v.setOnClickListener(null);
-                }
-            } else if (cs.selected) {
-                v.setBackgroundResource(R.drawable.cell_selected);
-                v.setTag(R.id.selected, true);
-                v.setTag(R.id.occupied_customer_id, null);
-            } else {
-                v.setBackgroundResource(R.drawable.cell_border);
-                v.setTag(R.id.selected, null);
-                v.setTag(R.id.occupied_customer_id, null);
-                v.setOnClickListener(this::onCellTapped);
-            }
-            if (v instanceof TextView && cs.text != null) ((TextView)v).setText(cs.text);
-        }
-
-        // Restore selection variables from dedicated saved fields (if present).
-        if (savedSelectedSeat > 0) {
-            selectedSeat = savedSelectedSeat;
-            startHourSel = savedStartHour;
-            endHourSel   = savedEndHour;
-            if (startHourSel >= 0 && etStart != null) etStart.setText(String.format("%02d:00", startHourSel));
-            if (endHourSel >= 0 && etEnd != null) etEnd.setText(String.format("%02d:00", endHourSel));
-            if (tvSeatDisplay != null) tvSeatDisplay.setText("Seat: " + selectedSeat);
-        }
-    }
-
     // ---------------------------
     // Selection logic
     // ---------------------------
-    private void onCellTapped(View v) {
-        String rawTag = (String) v.getTag();
-        if (rawTag == null) return;
-        String[] p = rawTag.split(":");
-        if (p.length != 2) return;
-        int seatFromTag = Integer.parseInt(p[0]);
-        int hr = Integer.parseInt(p[1]);
+    private void onCellTapped(int seat, int hr) {
+        int state = occupancy.getCellState(seat, hr);
+        if (state == SeatGridView.CELL_OCCUPIED) {
+            openCustomerProfile(occupancy.getCustomerId(seat, hr));
+            return;
+        }
+        if (state == SeatGridView.CELL_CUSTOMER_SHIFT) {
+            Toast.makeText(this, "This slot belongs to the current customer's shift and cannot be selected.", Toast.LENGTH_SHORT).show();
+            return;
+        }
 
         boolean unallocatedMode = (switchUnallocatedSeat != null && switchUnallocatedSeat.isChecked());
 
@@ -897,32 +626,26 @@ public class SeatSelection extends AppCompatActivity {
         }
 
         // Allocated mode: seat = tapped row
-        View tappedCell = findCellView(seatFromTag, hr);
-        Boolean isCustShiftTap = (tappedCell != null) ? (Boolean) tappedCell.getTag(R.id.customer_shift) : null;
-        if (Boolean.TRUE.equals(isCustShiftTap)) {
-            Toast.makeText(this, "This slot belongs to the current customer's shift and cannot be selected.", Toast.LENGTH_SHORT).show();
-            return;
-        }
-
-        if (tvSeatDisplay != null) tvSeatDisplay.setText("Seat: " + seatFromTag);
+        if (tvSeatDisplay != null) tvSeatDisplay.setText("Seat: " + seat);
 
         // If selecting a different seat, clear previous
-        if (selectedSeat != seatFromTag) {
+        if (selectedSeat != seat) {
             if (selectedSeat > 0) clearSelectedSeatHighlights(selectedSeat);
 
-            selectedSeat = seatFromTag;
+            selectedSeat = seat;
             startHourSel = hr;
             endHourSel = -1;
             if (etStart != null) etStart.setText(String.format("%02d:00", hr));
             if (etEnd != null) etEnd.setText("");
-            clearHighlights();
-            highlightCell(seatFromTag, hr);
+            occupancy.clearSelection();
+            occupancy.select(seat, hr, hr);
+            seatGrid.invalidate();
             return;
         }
 
         // second tap -> set end, with conflict check
         int attemptedEndHour = hr + 1;
-        boolean conflict = hasConflictInRange(seatFromTag, startHourSel, hr);
+        boolean conflict = hasConflictInRange(seat, startHourSel, hr);
         if (conflict) {
             new AlertDialog.Builder(this)
                     .setTitle("Time slot unavailable")
@@ -934,50 +657,20 @@ public class SeatSelection extends AppCompatActivity {
 
         endHourSel = attemptedEndHour;
         if (etEnd != null) etEnd.setText(String.format("%02d:00", endHourSel));
-        clearHighlights();
-
-        if (startHourSel <= hr) {
-            for (int h = startHourSel; h <= hr; h++) highlightCell(seatFromTag, h);
-        } else {
-            for (int h = startHourSel; h < closeHour; h++) highlightCell(seatFromTag, h);
-            for (int h = openHour; h <= hr; h++) highlightCell(seatFromTag, h);
-        }
+        occupancy.clearSelection();
+        occupancy.select(seat, startHourSel, hr);
+        seatGrid.invalidate();
     }
 
     private boolean hasConflictInRange(int seat, int startH, int endHinclusive) {
         if (seat <= 0) return false;
-        java.util.function.IntPredicate checkHour = (h) -> {
-            View cell = findCellView(seat, h);
-            if (cell == null) return false;
-            Boolean isOcc = (Boolean) cell.getTag(R.id.occupied);
-            Boolean isCust = (Boolean) cell.getTag(R.id.customer_shift);
-            return (Boolean.TRUE.equals(isOcc) && !Boolean.TRUE.equals(isCust));
-        };
-        if (startH <= endHinclusive) {
-            for (int h = startH; h <= endHinclusive; h++) if (checkHour.test(h)) return true;
-        } else {
-            for (int h = startH; h < closeHour; h++) if (checkHour.test(h)) return true;
-            for (int h = openHour; h <= endHinclusive; h++) if (checkHour.test(h)) return true;
-        }
-        return false;
+        return occupancy.isOccupied(seat, startH, endHinclusive);
     }
 
     private void clearSelectedSeatHighlights(int seat) {
         if (seat <= 0) return;
-        for (int h = openHour; h < closeHour; h++) {
-            View cell = findCellView(seat, h);
-            if (cell == null) continue;
-            Boolean isOcc = (Boolean) cell.getTag(R.id.occupied);
-            if (Boolean.TRUE.equals(isOcc)) continue;
-            Boolean isCustShift = (Boolean) cell.getTag(R.id.customer_shift);
-            if (Boolean.TRUE.equals(isCustShift)) continue;
-            Boolean isSel = (Boolean) cell.getTag(R.id.selected);
-            if (Boolean.TRUE.equals(isSel)) {
-                cell.setBackgroundResource(R.drawable.cell_border);
-                cell.setTag(R.id.selected, null);
-                cell.setOnClickListener(this::onCellTapped);
-            }
-        }
+        occupancy.clearSelection(seat);
+        seatGrid.invalidate();
         if (selectedSeat == seat) {
             selectedSeat = -1;
             startHourSel = -1;
@@ -987,84 +680,6 @@ public class SeatSelection extends AppCompatActivity {
         }
     }
 
-    private View findCellView(int seat, int hour) {
-        int rowIndex = seat - 1;
-        int colIndex = hour - openHour;
-        if (rowIndex < 0 || rowIndex >= table.getChildCount()) return null;
-        TableRow row = (TableRow) table.getChildAt(rowIndex);
-        if (colIndex < 0 || colIndex >= row.getChildCount()) return null;
-        return row.getChildAt(colIndex);
-    }
-
-    private void highlightCell(int seat, int hour) {
-        View cell = findCellView(seat, hour);
-        if (cell == null) return;
-        Boolean isCustShift = (Boolean) cell.getTag(R.id.customer_shift);
-        if (Boolean.TRUE.equals(isCustShift)) return;
-        Boolean isOcc = (Boolean) cell.getTag(R.id.occupied);
-        if (Boolean.TRUE.equals(isOcc)) return;
-        cell.setBackgroundResource(R.drawable.cell_selected);
-        cell.setTag(R.id.selected, true);
-    }
-
-    private void markCustomerShift(int seat, int hour) {
-        View cell = findCellView(seat, hour);
-        if (cell == null) return;
-        cell.setBackgroundResource(R.drawable.cell_customer_shift);
-        if (cell instanceof TextView) {
-            ((TextView) cell).setText("");
-        }
-        cell.setTag(R.id.customer_shift, true);
-        cell.setTag(R.id.occupied, null);
-        cell.setTag(R.id.occupied_customer_id, null);
-        cell.setTag(R.id.selected, null);
-        cell.setOnClickListener(null);
-    }
-
-    private void markOccupied(int seat, int hour, String occupiedCustomerId) {
-        View cell = findCellView(seat, hour);
-        if (cell == null) return;
-        Boolean isCustShift = (Boolean) cell.getTag(R.id.customer_shift);
-        if (Boolean.TRUE.equals(isCustShift)) return;
-        Boolean isSel = (Boolean) cell.getTag(R.id.selected);
-        if (Boolean.TRUE.equals(isSel)) return;
-        cell.setBackgroundResource(R.drawable.cell_occupied);
-        cell.setTag(R.id.occupied, true);
-        cell.setTag(R.id.occupied_customer_id, occupiedCustomerId);
-        if (cell instanceof TextView) {
-            TextView tv = (TextView) cell;
-            tv.setText(occupiedCustomerId != null ? occupiedCustomerId : "");
-            tv.setTextColor(android.graphics.Color.WHITE);
-            tv.setPaintFlags(tv.getPaintFlags() | Paint.UNDERLINE_TEXT_FLAG);
-            tv.setTextSize(TypedValue.COMPLEX_UNIT_SP, Math.max(9f, scaledCellTextSp() - 1f));
-            tv.setGravity(Gravity.TOP | Gravity.CENTER_HORIZONTAL);
-        }
-        if (occupiedCustomerId != null && !occupiedCustomerId.trim().isEmpty()) {
-            cell.setOnClickListener(v -> openCustomerProfile(occupiedCustomerId));
-        } else {
-            cell.setOnClickListener(null);
-        }
-    }
-
-    private void clearHighlights() {
-        for (int i = 0; i < table.getChildCount(); i++) {
-            TableRow row = (TableRow) table.getChildAt(i);
-            for (int j = 0; j < row.getChildCount(); j++) {
-                View cell = row.getChildAt(j);
-                Boolean isOcc = (Boolean) cell.getTag(R.id.occupied);
-                if (Boolean.TRUE.equals(isOcc)) continue;
-                Boolean isCustShift = (Boolean) cell.getTag(R.id.customer_shift);
-                if (Boolean.TRUE.equals(isCustShift)) continue;
-                cell.setTag(R.id.selected, null);
-                cell.setTag(R.id.occupied_customer_id, null);
-                cell.setBackgroundResource(R.drawable.cell_border);
-                if (cell instanceof TextView) {
-                    ((TextView) cell).setText("");
-                }
-                cell.setOnClickListener(this::onCellTapped);
-            }
-        }
-    }
 
     private void openCustomerProfile(String targetCustomerId) {
         if (businessId == null || targetCustomerId == null || targetCustomerId.trim().isEmpty()) {
@@ -16,7 +16,7 @@ public class Settings extends AppCompatActivity {
     private ImageView backButton, ivAvatar;
     private TextView tvTitle, tvAccessLabel, tvAccessValue;
     private View rowDetails, rowUsers, rowDevices;
-    private View rowFaq, rowContact, rowPaymentLink;
+    private View rowFaq, rowContact, rowPaymentLink, rowDiagnostics;
     private Button btnLight, btnDark, btnLogout;
 
     @Override
@@ -36,6 +36,7 @@ public class Settings extends AppCompatActivity {
         rowFaq        = findViewById(R.id.rowFaq);
         rowContact    = findViewById(R.id.rowContact);
         rowPaymentLink= findViewById(R.id.rowPaymentLink);
+        rowDiagnostics= findViewById(R.id.rowDiagnostics);
 
         btnLight      = findViewById(R.id.btnLight);
         btnDark       = findViewById(R.id.btnDark);
@@ -71,6 +72,9 @@ public class Settings extends AppCompatActivity {
         rowPaymentLink.setOnClickListener(v ->
                 startActivity(new Intent(this, SentriPayment.class)));
 
+        rowDiagnostics.setOnClickListener(v ->
+                startActivity(new Intent(this, RepositoryDiagnostics.class)));
+
         // Theme toggle
         btnLight.setOnClickListener(v -> {
             AppCompatDelegate.setDefaultNightMode(
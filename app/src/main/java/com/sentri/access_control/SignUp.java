@@ -23,6 +23,7 @@ import com.google.firebase.auth.UserProfileChangeRequest;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.sentri.access_control.repositories.FirestoreUserRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.UserRepository;
 
 import java.util.ArrayList;
@@ -55,7 +56,7 @@ public class SignUp extends AppCompatActivity {
         tvHaveAccount = findViewById(R.id.tvHaveAccount);
 
         auth = FirebaseAuth.getInstance();
-        userRepository = new FirestoreUserRepository(FirebaseFirestore.getInstance());
+        userRepository = RepositoryMetrics.instrument(UserRepository.class, new FirestoreUserRepository(FirebaseFirestore.getInstance()), "SignUp");
 
         progressDialog = new ProgressDialog(this);
         progressDialog.setMessage("Creating account...");
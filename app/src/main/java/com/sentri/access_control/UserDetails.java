@@ -11,6 +11,7 @@ import com.bumptech.glide.Glide;
 import com.google.android.material.appbar.MaterialToolbar;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.sentri.access_control.repositories.FirestoreUserRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.repositories.UserRepository;
 import com.sentri.access_control.utils.PrefsManager;
 
@@ -38,7 +39,7 @@ public class UserDetails extends AppCompatActivity {
 
         toolbar.setNavigationOnClickListener(v -> finish());
 
-        userRepository = new FirestoreUserRepository(FirebaseFirestore.getInstance());
+        userRepository = RepositoryMetrics.instrument(UserRepository.class, new FirestoreUserRepository(FirebaseFirestore.getInstance()), "UserDetails");
         userEmail = new PrefsManager(this).getUserEmail();
         if (userEmail == null || userEmail.trim().isEmpty()) {
             Toast.makeText(this, "No user signed in", Toast.LENGTH_SHORT).show();
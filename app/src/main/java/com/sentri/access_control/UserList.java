@@ -17,6 +17,7 @@ import com.sentri.access_control.adapters.UserAdapter;
 import com.sentri.access_control.models.UserModel;
 import com.sentri.access_control.repositories.BusinessUserRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessUserRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -48,7 +49,7 @@ public class UserList extends AppCompatActivity {
             return;
         }
 
-        businessUserRepository = new FirestoreBusinessUserRepository(FirebaseFirestore.getInstance());
+        businessUserRepository = RepositoryMetrics.instrument(BusinessUserRepository.class, new FirestoreBusinessUserRepository(FirebaseFirestore.getInstance()), "UserList");
 
         bindViews();
         setupRecycler();
@@ -17,6 +17,7 @@ import com.sentri.access_control.repositories.CommentRepository;
 import com.sentri.access_control.repositories.FirestoreCommentRepository;
 import com.sentri.access_control.repositories.FirestoreNotificationRepository;
 import com.sentri.access_control.repositories.NotificationRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.PrefsManager;
 
 import java.util.ArrayList;
@@ -56,8 +57,8 @@ public class UserNotifications extends AppCompatActivity {
             return;
         }
 
-        CommentRepository commentRepository = new FirestoreCommentRepository(FirebaseFirestore.getInstance());
-        notificationRepository = new FirestoreNotificationRepository(commentRepository);
+        CommentRepository commentRepository = RepositoryMetrics.instrument(CommentRepository.class, new FirestoreCommentRepository(FirebaseFirestore.getInstance()), "UserNotifications");
+        notificationRepository = RepositoryMetrics.instrument(NotificationRepository.class, new FirestoreNotificationRepository(commentRepository), "UserNotifications");
 
         ImageView backButton = findViewById(R.id.backButton);
         ImageView ivUserImage = findViewById(R.id.ivUserImage);
@@ -27,6 +27,7 @@ import com.google.firebase.storage.FirebaseStorage;
 import com.google.firebase.storage.StorageReference;
 import com.sentri.access_control.repositories.BusinessUserRepository;
 import com.sentri.access_control.repositories.FirestoreBusinessUserRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
 import com.sentri.access_control.utils.ImageUploadHelper;
 import com.sentri.access_control.utils.PrefsManager;
 
@@ -66,7 +67,7 @@ public class UserProfile extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         setContentView(R.layout.activity_user_profile);
 
-        businessUserRepository = new FirestoreBusinessUserRepository(FirebaseFirestore.getInstance());
+        businessUserRepository = RepositoryMetrics.instrument(BusinessUserRepository.class, new FirestoreBusinessUserRepository(FirebaseFirestore.getInstance()), "UserProfile");
         businessId = getIntent().getStringExtra("businessDocId");
         userId = getIntent().getStringExtra("userId");
         if (businessId == null || userId == null) {
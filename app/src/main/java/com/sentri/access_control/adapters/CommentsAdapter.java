@@ -8,23 +8,26 @@ import android.widget.TextView;
 import androidx.annotation.NonNull;
 import androidx.recyclerview.widget.RecyclerView;
 
+import java.util.Arrays;
 import java.util.List;
 
 import com.sentri.access_control.R;
 import com.sentri.access_control.models.CommentItem;
 
 
-public class CommentsAdapter extends RecyclerView.Adapter<CommentsAdapter.CommentViewHolder> {
-
-    private List<CommentItem> comments;
+public class CommentsAdapter extends DiffingAdapter<CommentItem, CommentsAdapter.CommentViewHolder> {
 
     public CommentsAdapter(List<CommentItem> comments) {
-        this.comments = comments;
+        submitList(comments);
+    }
+
+    @Override
+    protected Object keyOf(CommentItem item) {
+        return Arrays.asList(item.getText(), item.getDate());
     }
 
     public void updateList(List<CommentItem> newComments) {
-        this.comments = newComments;
-        notifyDataSetChanged();
+        submitList(newComments);
     }
 
     @NonNull
@@ -36,16 +39,11 @@ public class CommentsAdapter extends RecyclerView.Adapter<CommentsAdapter.Commen
 
     @Override
     public void onBindViewHolder(@NonNull CommentViewHolder holder, int position) {
-        CommentItem item = comments.get(position);
+        CommentItem item = getItem(position);
         holder.tvComment.setText(item.getText());
         holder.tvDate.setText(item.getDate());
     }
 
-    @Override
-    public int getItemCount() {
-        return comments.size();
-    }
-
     static class CommentViewHolder extends RecyclerView.ViewHolder {
         TextView tvComment, tvDate;
 
@@ -13,13 +13,11 @@ import com.bumptech.glide.Glide;
 import com.sentri.access_control.R;
 import com.sentri.access_control.models.Customer;
 
-import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-public class CustomerAdapter extends RecyclerView.Adapter<CustomerAdapter.ViewHolder> {
+public class CustomerAdapter extends DiffingAdapter<Customer, CustomerAdapter.ViewHolder> {
 
-    private final List<Customer> originalList;
-    private final List<Customer> filteredList;
     private OnItemClickListener listener;
 
     /** Callback for item clicks */
@@ -33,8 +31,18 @@ public class CustomerAdapter extends RecyclerView.Adapter<CustomerAdapter.ViewHo
     }
 
     public CustomerAdapter(List<Customer> list) {
-        this.originalList = new ArrayList<>(list);
-        this.filteredList = new ArrayList<>(list);
+        submitList(list);
+    }
+
+    @Override
+    protected Object keyOf(Customer customer) {
+        return customer.getCustomerId();
+    }
+
+    @Override
+    protected Object contentOf(Customer c) {
+        return Arrays.asList(c.getCustomerName(), c.getCustomerId(), c.getCustomerCurrentCardId(),
+                c.isCustomerStatus(), c.getCustomerPhoto());
     }
 
     @NonNull
@@ -47,7 +55,7 @@ public class CustomerAdapter extends RecyclerView.Adapter<CustomerAdapter.ViewHo
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        Customer c = filteredList.get(position);
+        Customer c = getItem(position);
         holder.tvName.setText(c.getCustomerName());
         holder.tvId  .setText(c.getCustomerId());
         holder.tvCard.setText(c.getCustomerCurrentCardId());
@@ -80,33 +88,9 @@ public class CustomerAdapter extends RecyclerView.Adapter<CustomerAdapter.ViewHo
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return filteredList.size();
-    }
-
-    /** Replace entire data set and reset filter */
+    /** Replace the shown rows, e.g. with search results */
     public void updateList(List<Customer> newList) {
-        originalList.clear();
-        originalList.addAll(newList);
-        filter("");  // show all by default
-    }
-
-    /** Case-insensitive filter on name or ID */
-    public void filter(String query) {
-        filteredList.clear();
-        if (query == null || query.trim().isEmpty()) {
-            filteredList.addAll(originalList);
-        } else {
-            String q = query.toLowerCase();
-            for (Customer c : originalList) {
-                if (c.getCustomerName().toLowerCase().contains(q)
-                        || c.getCustomerId()  .toLowerCase().contains(q)) {
-                    filteredList.add(c);
-                }
-            }
-        }
-        notifyDataSetChanged();
+        submitList(newList);
     }
 
     static class ViewHolder extends RecyclerView.ViewHolder {
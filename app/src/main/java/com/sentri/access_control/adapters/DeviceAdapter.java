@@ -13,33 +13,41 @@ import com.sentri.access_control.models.DeviceItem;
 
 import java.text.DateFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Locale;
 
-public class DeviceAdapter extends RecyclerView.Adapter<DeviceAdapter.DeviceVH> {
+public class DeviceAdapter extends DiffingAdapter<DeviceItem, DeviceAdapter.DeviceVH> {
 
     public interface OnDeviceClick {
         void onClick(DeviceItem item);
     }
 
     private final List<DeviceItem> full = new ArrayList<>();
-    private final List<DeviceItem> visible = new ArrayList<>();
     private final OnDeviceClick click;
 
     public DeviceAdapter(OnDeviceClick click) {
         this.click = click;
     }
 
+    @Override
+    protected Object keyOf(DeviceItem d) {
+        return d.getId();
+    }
+
+    @Override
+    protected Object contentOf(DeviceItem d) {
+        return Arrays.asList(d.getName(), d.getMac(), d.isOnline(), d.getLastSeen());
+    }
+
     public void setItems(List<DeviceItem> items) {
         full.clear();
         if (items != null) full.addAll(items);
-        visible.clear();
-        visible.addAll(full);
-        notifyDataSetChanged();
+        submitList(full);
     }
 
     public void filter(String query) {
-        visible.clear();
+        List<DeviceItem> visible = new ArrayList<>();
         if (query == null || query.trim().isEmpty()) {
             visible.addAll(full);
         } else {
@@ -52,7 +60,7 @@ public class DeviceAdapter extends RecyclerView.Adapter<DeviceAdapter.DeviceVH>
                 }
             }
         }
-        notifyDataSetChanged();
+        submitList(visible);
     }
 
     @NonNull
@@ -65,7 +73,7 @@ public class DeviceAdapter extends RecyclerView.Adapter<DeviceAdapter.DeviceVH>
 
     @Override
     public void onBindViewHolder(@NonNull DeviceVH h, int pos) {
-        DeviceItem d = visible.get(pos);
+        DeviceItem d = getItem(pos);
 
         // Name
         String name = (d.getName() != null && !d.getName().isEmpty())
@@ -97,11 +105,6 @@ public class DeviceAdapter extends RecyclerView.Adapter<DeviceAdapter.DeviceVH>
         });
     }
 
-    @Override
-    public int getItemCount() {
-        return visible.size();
-    }
-
     static class DeviceVH extends RecyclerView.ViewHolder {
         TextView tvName, tvLastOnline, tvRight;
         DeviceVH(@NonNull View itemView) {
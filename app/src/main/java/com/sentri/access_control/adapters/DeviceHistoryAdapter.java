@@ -10,14 +10,22 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.sentri.access_control.R;
 import com.sentri.access_control.models.DeviceHistoryItem;
 
+import java.util.Arrays;
 import java.util.List;
 
-public class DeviceHistoryAdapter extends RecyclerView.Adapter<DeviceHistoryAdapter.DeviceViewHolder> {
-
-    private final List<DeviceHistoryItem> historyList;
+public class DeviceHistoryAdapter extends DiffingAdapter<DeviceHistoryItem, DeviceHistoryAdapter.DeviceViewHolder> {
 
     public DeviceHistoryAdapter(List<DeviceHistoryItem> historyList) {
-        this.historyList = historyList;
+        submitList(historyList);
+    }
+
+    @Override
+    protected Object keyOf(DeviceHistoryItem item) {
+        return Arrays.asList(item.getUser(), item.getAction(), item.getTimestamp());
+    }
+
+    public void updateList(List<DeviceHistoryItem> newList) {
+        submitList(newList);
     }
 
     @NonNull
@@ -30,17 +38,12 @@ public class DeviceHistoryAdapter extends RecyclerView.Adapter<DeviceHistoryAdap
 
     @Override
     public void onBindViewHolder(@NonNull DeviceViewHolder holder, int position) {
-        DeviceHistoryItem item = historyList.get(position);
+        DeviceHistoryItem item = getItem(position);
         holder.tvUser.setText(item.getUser());
         holder.tvAction.setText(item.getAction());
         holder.tvTimestamp.setText(item.getTimestamp());
     }
 
-    @Override
-    public int getItemCount() {
-        return historyList.size();
-    }
-
     static class DeviceViewHolder extends RecyclerView.ViewHolder {
         TextView tvUser, tvAction, tvTimestamp;
 
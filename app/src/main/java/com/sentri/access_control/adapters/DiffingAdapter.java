@@ -0,0 +1,92 @@
+package com.sentri.access_control.adapters;
+
+import androidx.annotation.NonNull;
+import androidx.recyclerview.widget.AdapterListUpdateCallback;
+import androidx.recyclerview.widget.AsyncDifferConfig;
+import androidx.recyclerview.widget.AsyncListDiffer;
+import androidx.recyclerview.widget.DiffUtil;
+import androidx.recyclerview.widget.RecyclerView;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Base for adapters whose rows are replaced as a whole list. {@link #submitList} diffs the old and
+ * new rows on a background thread and dispatches only the inserts, moves, removals and changes, so
+ * unchanged rows keep their views, loaded images and scroll position. Rows are matched by
+ * {@link #keyOf}, which also gives them stable IDs, and rebound only when {@link #contentOf}
+ * differs.
+ */
+public abstract class DiffingAdapter<T, VH extends RecyclerView.ViewHolder> extends RecyclerView.Adapter<VH> {
+    private final AsyncListDiffer<T> differ;
+    private final StableIds stableIds = new StableIds();
+    private List<T> idsFor = Collections.emptyList();
+    private long[] ids = new long[0];
+
+    protected DiffingAdapter() {
+        differ = new AsyncListDiffer<>(
+                new AdapterListUpdateCallback(this),
+                new AsyncDifferConfig.Builder<>(new DiffUtil.ItemCallback<T>() {
+                    @Override
+                    public boolean areItemsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+                        return Objects.equals(keyOf(oldItem), keyOf(newItem));
+                    }
+
+                    @Override
+                    public boolean areContentsTheSame(@NonNull T oldItem, @NonNull T newItem) {
+                        return Objects.equals(contentOf(oldItem), contentOf(newItem));
+                    }
+                }).build()
+        );
+        setHasStableIds(true);
+    }
+
+    /**
+     * Identifies the row across updates, e.g. its document ID.
+     */
+    protected abstract Object keyOf(T item);
+
+    /**
+     * Everything the row shows; equal content skips the rebind. Defaults to the key, for rows
+     * keyed by their whole content.
+     */
+    protected Object contentOf(T item) {
+        return keyOf(item);
+    }
+
+    /**
+     * Shows {@code items}; the list is copied, so the caller may keep changing it.
+     */
+    public void submitList(List<T> items) {
+        differ.submitList(items != null ? new ArrayList<>(items) : new ArrayList<>());
+    }
+
+    public List<T> getCurrentList() {
+        return differ.getCurrentList();
+    }
+
+    protected T getItem(int position) {
+        return differ.getCurrentList().get(position);
+    }
+
+    @Override
+    public int getItemCount() {
+        return differ.getCurrentList().size();
+    }
+
+    @Override
+    public long getItemId(int position) {
+        List<T> current = differ.getCurrentList();
+        if (current != idsFor) {
+            List<Object> keys = new ArrayList<>(current.size());
+            for (T item : current) {
+                keys.add(keyOf(item));
+            }
+            ids = stableIds.assign(keys);
+            idsFor = current;
+        }
+        return ids[position];
+    }
+}
@@ -12,19 +12,22 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.sentri.access_control.R;
 import com.sentri.access_control.models.NotificationItem;
 
+import java.util.Arrays;
 import java.util.List;
 
-public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapter.ViewHolder> {
-
-    private List<NotificationItem> notifications;
+public class NotificationAdapter extends DiffingAdapter<NotificationItem, NotificationAdapter.ViewHolder> {
 
     public NotificationAdapter(List<NotificationItem> notifications) {
-        this.notifications = notifications;
+        submitList(notifications);
+    }
+
+    @Override
+    protected Object keyOf(NotificationItem item) {
+        return Arrays.asList(item.getMessage(), item.getDate());
     }
 
     public void updateList(List<NotificationItem> newItems) {
-        this.notifications = newItems;
-        notifyDataSetChanged();
+        submitList(newItems);
     }
 
     public static class ViewHolder extends RecyclerView.ViewHolder {
@@ -48,7 +51,7 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
 
     @Override
     public void onBindViewHolder(@NonNull NotificationAdapter.ViewHolder holder, int position) {
-        NotificationItem item = notifications.get(position);
+        NotificationItem item = getItem(position);
         String rawMessage = item.getMessage();
         holder.tvText.setText(stripTypePrefix(rawMessage));
         holder.tvDate.setText(item.getDate());
@@ -105,10 +108,5 @@ public class NotificationAdapter extends RecyclerView.Adapter<NotificationAdapte
         }
         return Color.parseColor("#448AFF");
     }
-
-    @Override
-    public int getItemCount() {
-        return notifications.size();
-    }
 }
 
@@ -12,18 +12,23 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.sentri.access_control.R;
 import com.sentri.access_control.models.PaymentItem;
 
+import java.util.Arrays;
 import java.util.List;
 
-public class PaymentAdapter extends RecyclerView.Adapter<PaymentAdapter.ViewHolder> {
-    private List<PaymentItem> list;
+public class PaymentAdapter extends DiffingAdapter<PaymentItem, PaymentAdapter.ViewHolder> {
 
     public PaymentAdapter(List<PaymentItem> list) {
-        this.list = list;
+        submitList(list);
+    }
+
+    @Override
+    protected Object keyOf(PaymentItem p) {
+        return Arrays.asList(p.getDate(), p.getMethod(), p.getProcessedBy(), p.getType(), p.getRate(),
+                p.getAmount(), p.isPositive());
     }
 
     public void updateList(List<PaymentItem> newList) {
-        this.list = newList;
-        notifyDataSetChanged();
+        submitList(newList);
     }
 
     @NonNull
@@ -35,7 +40,7 @@ public class PaymentAdapter extends RecyclerView.Adapter<PaymentAdapter.ViewHold
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        PaymentItem payment = list.get(position);
+        PaymentItem payment = getItem(position);
         holder.date.setText(payment.getDate());
         holder.method.setText(payment.getMethod());
         holder.processedBy.setText(payment.getProcessedBy());
@@ -49,11 +54,6 @@ public class PaymentAdapter extends RecyclerView.Adapter<PaymentAdapter.ViewHold
         );
     }
 
-    @Override
-    public int getItemCount() {
-        return list != null ? list.size() : 0;
-    }
-
     static class ViewHolder extends RecyclerView.ViewHolder {
         TextView date;
         TextView method;
@@ -11,19 +11,23 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.sentri.access_control.R;
 import com.sentri.access_control.models.ShiftItem;
 
+import java.util.Arrays;
 import java.util.List;
 
-public class ShiftAdapter extends RecyclerView.Adapter<ShiftAdapter.ViewHolder> {
-
-    private List<ShiftItem> items;
+public class ShiftAdapter extends DiffingAdapter<ShiftItem, ShiftAdapter.ViewHolder> {
 
     public ShiftAdapter(List<ShiftItem> items) {
-        this.items = items;
+        submitList(items);
+    }
+
+    @Override
+    protected Object keyOf(ShiftItem item) {
+        return Arrays.asList(item.getDateAdmin(), item.getTimeSlot(), item.getSubStartDate(), item.getSubEndDate(),
+                item.getSeatInfo());
     }
 
     public void updateList(List<ShiftItem> newItems) {
-        this.items = newItems;
-        notifyDataSetChanged();
+        submitList(newItems);
     }
 
     @NonNull
@@ -35,18 +39,13 @@ public class ShiftAdapter extends RecyclerView.Adapter<ShiftAdapter.ViewHolder>
 
     @Override
     public void onBindViewHolder(@NonNull ViewHolder holder, int position) {
-        ShiftItem item = items.get(position);
+        ShiftItem item = getItem(position);
         holder.tvDateAdmin.setText(item.getDateAdmin());
         holder.tvTimeSlot.setText(item.getTimeSlot());
         holder.tvSubDates.setText(item.getSubStartDate() + " - " + item.getSubEndDate());
         holder.tvSeatInfo.setText(item.getSeatInfo());
     }
 
-    @Override
-    public int getItemCount() {
-        return items == null ? 0 : items.size();
-    }
-
     static class ViewHolder extends RecyclerView.ViewHolder {
         TextView tvDateAdmin;
         TextView tvTimeSlot;
@@ -0,0 +1,61 @@
+package com.sentri.access_control.adapters;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Hands out RecyclerView item IDs that stay the same for a row key across list updates. Repeated
+ * keys in one list, e.g. two identical payments, are told apart by occurrence, so every row of a
+ * list gets a distinct ID. Only the keys of the latest list are remembered; a key that comes back
+ * after dropping out gets a fresh ID, and IDs are never reused.
+ */
+final class StableIds {
+    private Map<Object, Long> ids = new HashMap<>();
+    private long nextId;
+
+    long[] assign(List<?> keys) {
+        long[] assigned = new long[keys.size()];
+        Map<Object, Long> current = new HashMap<>();
+        Map<Object, Integer> seen = new HashMap<>();
+        for (int i = 0; i < assigned.length; i++) {
+            Object key = keys.get(i);
+            Integer count = seen.get(key);
+            int occurrence = count == null ? 0 : count;
+            seen.put(key, occurrence + 1);
+            Object idKey = occurrence == 0 ? key : new Repeat(key, occurrence);
+            Long id = ids.get(idKey);
+            if (id == null) {
+                id = nextId++;
+            }
+            current.put(idKey, id);
+            assigned[i] = id;
+        }
+        ids = current;
+        return assigned;
+    }
+
+    private static final class Repeat {
+        private final Object key;
+        private final int occurrence;
+
+        Repeat(Object key, int occurrence) {
+            this.key = key;
+            this.occurrence = occurrence;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Repeat)) return false;
+            Repeat that = (Repeat) o;
+            return occurrence == that.occurrence && Objects.equals(key, that.key);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * Objects.hashCode(key) + occurrence;
+        }
+    }
+}
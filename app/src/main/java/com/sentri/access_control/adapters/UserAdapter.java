@@ -14,19 +14,29 @@ import com.sentri.access_control.R;
 import com.sentri.access_control.models.UserModel;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
-public class UserAdapter extends RecyclerView.Adapter<UserAdapter.VH> {
+public class UserAdapter extends DiffingAdapter<UserModel, UserAdapter.VH> {
     public interface OnUserClick { void onUserClick(UserModel u); }
 
     private final List<UserModel> fullList;
-    private final List<UserModel> displayList;
     private final OnUserClick listener;
 
     public UserAdapter(List<UserModel> data, OnUserClick listener) {
         this.fullList    = new ArrayList<>(data);
-        this.displayList = new ArrayList<>(data);
         this.listener    = listener;
+        submitList(data);
+    }
+
+    @Override
+    protected Object keyOf(UserModel u) {
+        return u.getUserId() != null ? u.getUserId() : u.getEmail();
+    }
+
+    @Override
+    protected Object contentOf(UserModel u) {
+        return Arrays.asList(u.getName(), u.getEmail(), u.getAccessLevel(), u.getPhotoUrl());
     }
 
     public void updateList(List<UserModel> data) {
@@ -36,7 +46,7 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.VH> {
     }
 
     public void filter(String q) {
-        displayList.clear();
+        List<UserModel> displayList = new ArrayList<>();
         if (q.isEmpty()) {
             displayList.addAll(fullList);
         } else {
@@ -49,7 +59,7 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.VH> {
                 }
             }
         }
-        notifyDataSetChanged();
+        submitList(displayList);
     }
 
     @NonNull @Override
@@ -61,7 +71,7 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.VH> {
 
     @Override
     public void onBindViewHolder(@NonNull VH holder, int position) {
-        UserModel u = displayList.get(position);
+        UserModel u = getItem(position);
         holder.tvName.setText(u.getName());
         holder.tvEmail.setText(u.getEmail());
         holder.tvAccess.setText(u.getAccessLevel());
@@ -76,8 +86,6 @@ public class UserAdapter extends RecyclerView.Adapter<UserAdapter.VH> {
         holder.itemView.setOnClickListener(v -> listener.onUserClick(u));
     }
 
-    @Override public int getItemCount() { return displayList.size(); }
-
     static class VH extends RecyclerView.ViewHolder {
         ImageView ivPhoto;
         TextView  tvName, tvEmail, tvAccess;
@@ -19,10 +19,14 @@ public final class FirestorePaths {
     public static final String SUB_CARDS = "cards";
     public static final String SUB_BUSINESS_USERS = "business_users";
     public static final String SUB_BUSINESS_DEVICES = "business_devices";
+    public static final String SUB_COUNTERS = "counters";
+    public static final String SUB_REVENUE_DAILY = "revenue_daily";
 
     public static final String FIELD_BUSINESS_PREFIX = "business_prefix";
     public static final String FIELD_CREATED_AT = "created_at";
     public static final String FIELD_UPDATED_AT = "updated_at";
+    public static final String FIELD_COUNTER_VALUE = "counter_value";
+    public static final String FIELD_REVENUE_ROLLUPS_FROM = "revenue_rollups_from";
 
     private FirestorePaths() {
     }
@@ -35,6 +39,10 @@ public final class FirestorePaths {
         return businesses(db).document(businessId);
     }
 
+    public static DocumentReference counter(FirebaseFirestore db, String businessId, String counterKey) {
+        return business(db, businessId).collection(SUB_COUNTERS).document(counterKey);
+    }
+
     public static CollectionReference users(FirebaseFirestore db) {
         return db.collection(COLLECTION_USERS);
     }
@@ -0,0 +1,52 @@
+package com.sentri.access_control.data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU of decoded records keyed by document path. An entry is reused only while the
+ * document's version (its update time) is unchanged.
+ */
+final class RecordCache<T> {
+    private final Map<String, Entry<T>> entries;
+
+    RecordCache(int maxEntries) {
+        this.entries = new LinkedHashMap<String, Entry<T>>(256, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<T>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    T get(String key, long version, Supplier<T> decoder) {
+        synchronized (entries) {
+            Entry<T> entry = entries.get(key);
+            if (entry != null && entry.version == version) {
+                return entry.record;
+            }
+        }
+        T record = decoder.get();
+        synchronized (entries) {
+            entries.put(key, new Entry<>(version, record));
+        }
+        return record;
+    }
+
+    void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry<T> {
+        final long version;
+        final T record;
+
+        Entry(long version, T record) {
+            this.version = version;
+            this.record = record;
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.sentri.access_control.data;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.models.CustomerRecord;
+import com.sentri.access_control.models.Money;
+import com.sentri.access_control.models.PaymentRecord;
+import com.sentri.access_control.models.ShiftRecord;
+import com.sentri.access_control.utils.DateUtils;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Turns customer, shift and payment documents into immutable records once, so aggregations work on
+ * primitive millis and paise instead of re-parsing loosely-typed fields on every pass.
+ *
+ * <p>Snapshot decodes are cached by document path and update time ({@code updated_at}, falling back
+ * to {@code created_at}). A local write's pending server timestamp counts as its estimate, so the
+ * write gets a new version. Documents with neither field are always decoded.
+ */
+public final class RecordDecoder {
+    public static final long NO_TIME = Long.MIN_VALUE;
+
+    private static final int CACHE_SIZE = 20_000;
+    private static final long NO_VERSION = Long.MIN_VALUE;
+    private static final DocumentSnapshot.ServerTimestampBehavior SERVER_TIMESTAMPS =
+            DocumentSnapshot.ServerTimestampBehavior.ESTIMATE;
+
+    private static final RecordCache<CustomerRecord> CUSTOMERS = new RecordCache<>(CACHE_SIZE);
+    private static final RecordCache<ShiftRecord> SHIFTS = new RecordCache<>(CACHE_SIZE);
+    private static final RecordCache<PaymentRecord> PAYMENTS = new RecordCache<>(CACHE_SIZE);
+
+    private RecordDecoder() {} // Prevent instantiation
+
+    public static CustomerRecord customer(DocumentSnapshot doc) {
+        long version = versionOf(doc);
+        if (version == NO_VERSION) {
+            return decodeCustomer(doc.getId(), dataOf(doc));
+        }
+        return CUSTOMERS.get(doc.getReference().getPath(), version, () -> decodeCustomer(doc.getId(), dataOf(doc)));
+    }
+
+    public static ShiftRecord shift(DocumentSnapshot doc) {
+        long version = versionOf(doc);
+        if (version == NO_VERSION) {
+            return decodeShift(doc.getId(), dataOf(doc));
+        }
+        return SHIFTS.get(doc.getReference().getPath(), version, () -> decodeShift(doc.getId(), dataOf(doc)));
+    }
+
+    public static PaymentRecord payment(DocumentSnapshot doc) {
+        long version = versionOf(doc);
+        if (version == NO_VERSION) {
+            return decodePayment(doc.getId(), dataOf(doc));
+        }
+        return PAYMENTS.get(doc.getReference().getPath(), version, () -> decodePayment(doc.getId(), dataOf(doc)));
+    }
+
+    public static List<CustomerRecord> customers(List<DocumentSnapshot> docs) {
+        List<CustomerRecord> records = new ArrayList<>(docs.size());
+        for (DocumentSnapshot doc : docs) {
+            records.add(customer(doc));
+        }
+        return records;
+    }
+
+    public static List<ShiftRecord> shifts(List<DocumentSnapshot> docs) {
+        List<ShiftRecord> records = new ArrayList<>(docs.size());
+        for (DocumentSnapshot doc : docs) {
+            records.add(shift(doc));
+        }
+        return records;
+    }
+
+    public static List<PaymentRecord> payments(List<DocumentSnapshot> docs) {
+        List<PaymentRecord> records = new ArrayList<>(docs.size());
+        for (DocumentSnapshot doc : docs) {
+            records.add(payment(doc));
+        }
+        return records;
+    }
+
+    public static CustomerRecord decodeCustomer(String id, Map<String, Object> data) {
+        long ratePaise = Money.parsePaise(data.get("customer_current_payment_rate"));
+        if (ratePaise == 0L) {
+            ratePaise = Money.parsePaise(data.get("current_payment_rate"));
+        }
+        return new CustomerRecord(
+                id != null ? id : stringOf(data.get("customer_id")),
+                stringOf(data.get("customer_name")),
+                Boolean.TRUE.equals(data.get("customer_status")),
+                createdAtMillis(data.get(FirestorePaths.FIELD_CREATED_AT)),
+                toMillis(data.get("customer_last_payment_date")),
+                latestMillis(data.get("customer_subscription_end_date")),
+                ratePaise
+        );
+    }
+
+    public static ShiftRecord decodeShift(String id, Map<String, Object> data) {
+        String seat = stringOf(data.get("shift_seat"));
+        return new ShiftRecord(
+                id != null ? id : stringOf(data.get("shift_id")),
+                stringOf(data.get("shift_customer_id")),
+                seat,
+                parseSeatNumber(seat),
+                toMillis(data.get("shift_start_time")),
+                toMillis(data.get("shift_end_time")),
+                Boolean.TRUE.equals(data.get("shift_status")),
+                Money.parsePaise(data.get("shift_payment_rate"))
+        );
+    }
+
+    public static PaymentRecord decodePayment(String id, Map<String, Object> data) {
+        return new PaymentRecord(
+                id != null ? id : stringOf(data.get("payment_id")),
+                stringOf(data.get("payment_customer_id")),
+                toMillis(data.get(FirestorePaths.FIELD_CREATED_AT)),
+                Math.abs(Money.parsePaise(data.get("payment_amount"))),
+                Money.parsePaise(data.get("payment_rate")),
+                trimmed(data.get("payment_type")),
+                trimmed(data.get("payment_method")),
+                trimmed(data.get("payment_processed_by"))
+        );
+    }
+
+    /**
+     * Drops every cached record; call on logout.
+     */
+    public static void clearCache() {
+        CUSTOMERS.clear();
+        SHIFTS.clear();
+        PAYMENTS.clear();
+    }
+
+    private static long versionOf(DocumentSnapshot doc) {
+        // Read as null by default until the server confirms them, which would leave a changed
+        // document with its created_at version and the decode from before the write.
+        long updatedAt = timestampMillis(doc.get(FirestorePaths.FIELD_UPDATED_AT, SERVER_TIMESTAMPS));
+        if (updatedAt != NO_VERSION) {
+            return updatedAt;
+        }
+        return timestampMillis(doc.get(FirestorePaths.FIELD_CREATED_AT, SERVER_TIMESTAMPS));
+    }
+
+    private static long timestampMillis(Object raw) {
+        if (raw instanceof Timestamp) {
+            Timestamp timestamp = (Timestamp) raw;
+            // Keep sub-millisecond precision so two writes within the same millisecond still differ.
+            return timestamp.getSeconds() * 1_000_000_000L + timestamp.getNanoseconds();
+        }
+        return NO_VERSION;
+    }
+
+    private static Map<String, Object> dataOf(DocumentSnapshot doc) {
+        Map<String, Object> data = doc.getData();
+        return data != null ? data : Collections.emptyMap();
+    }
+
+    private static long toMillis(Object raw) {
+        if (raw instanceof Timestamp) {
+            return ((Timestamp) raw).toDate().getTime();
+        }
+        if (raw == null || (raw instanceof String && ((String) raw).trim().isEmpty())) {
+            return NO_TIME;
+        }
+        Date date = DateUtils.parseFlexibleDate(raw);
+        return date != null ? date.getTime() : NO_TIME;
+    }
+
+    /**
+     * Only a Timestamp counts, so "new customers" agrees with the server-side range count,
+     * which never matches created_at stored as a string.
+     */
+    private static long createdAtMillis(Object raw) {
+        return raw instanceof Timestamp ? ((Timestamp) raw).toDate().getTime() : NO_TIME;
+    }
+
+    private static long latestMillis(Object raw) {
+        if (!(raw instanceof List)) {
+            return toMillis(raw);
+        }
+        long latest = NO_TIME;
+        for (Object item : (List<?>) raw) {
+            latest = Math.max(latest, toMillis(item));
+        }
+        return latest;
+    }
+
+    private static int parseSeatNumber(String seat) {
+        if (seat == null) {
+            return 0;
+        }
+        try {
+            return Integer.parseInt(seat.trim());
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    private static String stringOf(Object raw) {
+        return raw != null ? String.valueOf(raw) : null;
+    }
+
+    private static String trimmed(Object raw) {
+        return raw != null ? String.valueOf(raw).trim() : "";
+    }
+}
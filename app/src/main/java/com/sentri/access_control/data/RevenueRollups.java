@@ -0,0 +1,206 @@
+package com.sentri.access_control.data;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+import com.sentri.access_control.models.DailyRevenue;
+import com.sentri.access_control.models.Money;
+import com.sentri.access_control.models.PaymentRecord;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Per-business daily revenue rollups under {@code revenue_daily}, one document per local day and
+ * shard ({@code <yyyyMMdd>_<shard>}). Every payment write increments its day in the same batch,
+ * so reading a chart costs one small document per day instead of every payment.
+ */
+public final class RevenueRollups {
+    public static final String FIELD_DAY = "rollup_day";
+    public static final String FIELD_CREDIT_PAISE = "credit_paise";
+    public static final String FIELD_DEBIT_PAISE = "debit_paise";
+    public static final String FIELD_CREDIT_COUNT = "credit_count";
+    public static final String FIELD_DEBIT_COUNT = "debit_count";
+    public static final String FIELD_METHOD_PAISE = "method_paise";
+
+    /**
+     * Shards per day. One front desk stays far below Firestore's ~1 write/second per document, so
+     * one shard is enough; raise this if a business outgrows it. Readers merge any shard count.
+     */
+    public static final int SHARD_COUNT = 1;
+
+    private static final String UNKNOWN_METHOD = "Unknown";
+
+    private RevenueRollups() {} // Prevent instantiation
+
+    /**
+     * Adds the payment's increments to {@code batch}, dated by its created_at or else {@code nowMs}
+     * (payments are written with a server timestamp).
+     */
+    public static void addPayment(WriteBatch batch,
+                                  DocumentReference businessRef,
+                                  Map<String, Object> paymentData,
+                                  long nowMs) {
+        DailyRevenue delta = fromPayment(RecordDecoder.decodePayment(null, paymentData), nowMs);
+        int shard = SHARD_COUNT > 1 ? ThreadLocalRandom.current().nextInt(SHARD_COUNT) : 0;
+        batch.set(document(businessRef, delta.getDay(), shard), increments(delta), SetOptions.merge());
+    }
+
+    /**
+     * Overwrites a day with absolute totals, keeping them in shard 0 and zeroing the others.
+     */
+    public static void setTotals(WriteBatch batch, DocumentReference businessRef, DailyRevenue totals) {
+        batch.set(document(businessRef, totals.getDay(), 0), totals(totals));
+        for (int shard = 1; shard < SHARD_COUNT; shard++) {
+            batch.set(document(businessRef, totals.getDay(), shard), totals(empty(totals.getDay())));
+        }
+    }
+
+    public static DocumentReference document(DocumentReference businessRef, int day, int shard) {
+        return businessRef.collection(FirestorePaths.SUB_REVENUE_DAILY).document(day + "_" + shard);
+    }
+
+    /**
+     * The rollup contribution of one payment.
+     */
+    public static DailyRevenue fromPayment(PaymentRecord payment, long fallbackTimeMs) {
+        long createdAtMs = payment.getCreatedAtMs() != RecordDecoder.NO_TIME ? payment.getCreatedAtMs() : fallbackTimeMs;
+        long amountPaise = payment.getAmountPaise();
+        boolean debit = payment.isDebit();
+        Map<String, Long> methods = splitMethods(payment.getMethod(), amountPaise);
+        if (debit) {
+            for (Map.Entry<String, Long> entry : methods.entrySet()) {
+                entry.setValue(-entry.getValue());
+            }
+        }
+        return new DailyRevenue(
+                dayOf(createdAtMs),
+                debit ? 0L : amountPaise,
+                debit ? amountPaise : 0L,
+                debit ? 0 : 1,
+                debit ? 1 : 0,
+                methods
+        );
+    }
+
+    /**
+     * Splits a payment method such as "Cash:100.00,UPI:50.00" into amounts; a plain method such
+     * as "UPI" takes the whole amount.
+     */
+    static Map<String, Long> splitMethods(String method, long amountPaise) {
+        Map<String, Long> methods = new TreeMap<>();
+        String text = method != null ? method.trim() : "";
+        if (text.indexOf(':') < 0) {
+            methods.put(text.isEmpty() ? UNKNOWN_METHOD : text, amountPaise);
+            return methods;
+        }
+        for (String part : text.split(",")) {
+            int colon = part.indexOf(':');
+            String name = (colon >= 0 ? part.substring(0, colon) : part).trim();
+            long paise = colon >= 0 ? Money.parsePaise(part.substring(colon + 1)) : 0L;
+            if (name.isEmpty()) {
+                name = UNKNOWN_METHOD;
+            }
+            Long current = methods.get(name);
+            methods.put(name, (current != null ? current : 0L) + paise);
+        }
+        return methods;
+    }
+
+    static Map<String, Object> increments(DailyRevenue delta) {
+        Map<String, Object> methods = new HashMap<>();
+        for (Map.Entry<String, Long> entry : delta.getMethodPaise().entrySet()) {
+            methods.put(entry.getKey(), FieldValue.increment(entry.getValue()));
+        }
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_DAY, delta.getDay());
+        data.put(FIELD_CREDIT_PAISE, FieldValue.increment(delta.getCreditPaise()));
+        data.put(FIELD_DEBIT_PAISE, FieldValue.increment(delta.getDebitPaise()));
+        data.put(FIELD_CREDIT_COUNT, FieldValue.increment(delta.getCreditCount()));
+        data.put(FIELD_DEBIT_COUNT, FieldValue.increment(delta.getDebitCount()));
+        data.put(FIELD_METHOD_PAISE, methods);
+        data.put(FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        return data;
+    }
+
+    static Map<String, Object> totals(DailyRevenue totals) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FIELD_DAY, totals.getDay());
+        data.put(FIELD_CREDIT_PAISE, totals.getCreditPaise());
+        data.put(FIELD_DEBIT_PAISE, totals.getDebitPaise());
+        data.put(FIELD_CREDIT_COUNT, totals.getCreditCount());
+        data.put(FIELD_DEBIT_COUNT, totals.getDebitCount());
+        data.put(FIELD_METHOD_PAISE, new HashMap<>(totals.getMethodPaise()));
+        data.put(FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        return data;
+    }
+
+    /**
+     * Reads one rollup shard; missing counters are zero.
+     */
+    public static DailyRevenue decode(Map<String, Object> data) {
+        Map<String, Long> methods = new TreeMap<>();
+        Object rawMethods = data.get(FIELD_METHOD_PAISE);
+        if (rawMethods instanceof Map) {
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) rawMethods).entrySet()) {
+                methods.put(String.valueOf(entry.getKey()), longOf(entry.getValue()));
+            }
+        }
+        return new DailyRevenue(
+                (int) longOf(data.get(FIELD_DAY)),
+                longOf(data.get(FIELD_CREDIT_PAISE)),
+                longOf(data.get(FIELD_DEBIT_PAISE)),
+                (int) longOf(data.get(FIELD_CREDIT_COUNT)),
+                (int) longOf(data.get(FIELD_DEBIT_COUNT)),
+                methods
+        );
+    }
+
+    /**
+     * Combines shards and payments of the same day; the result is ordered by day.
+     */
+    public static List<DailyRevenue> mergeByDay(Iterable<DailyRevenue> rollups) {
+        Map<Integer, DailyRevenue> byDay = new TreeMap<>();
+        for (DailyRevenue rollup : rollups) {
+            DailyRevenue current = byDay.get(rollup.getDay());
+            byDay.put(rollup.getDay(), current != null ? current.plus(rollup) : rollup);
+        }
+        return new ArrayList<>(byDay.values());
+    }
+
+    public static DailyRevenue empty(int day) {
+        return new DailyRevenue(day, 0L, 0L, 0, 0, Collections.emptyMap());
+    }
+
+    /**
+     * Local date of {@code timeMs} as yyyyMMdd.
+     */
+    public static int dayOf(long timeMs) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTimeInMillis(timeMs);
+        return calendar.get(Calendar.YEAR) * 10_000
+                + (calendar.get(Calendar.MONTH) + 1) * 100
+                + calendar.get(Calendar.DAY_OF_MONTH);
+    }
+
+    /**
+     * Local midnight at the start of a yyyyMMdd day.
+     */
+    public static long dayStartMs(int day) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.clear();
+        calendar.set(day / 10_000, (day / 100) % 100 - 1, day % 100);
+        return calendar.getTimeInMillis();
+    }
+
+    private static long longOf(Object raw) {
+        return raw instanceof Number ? ((Number) raw).longValue() : 0L;
+    }
+}
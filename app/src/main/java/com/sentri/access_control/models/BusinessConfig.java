@@ -1,14 +1,31 @@
 package com.sentri.access_control.models;
 
 public class BusinessConfig {
+    /**
+     * {@link #getRevenueRollupsFromDay()} for a business whose rollups were never rebuilt.
+     */
+    public static final int NO_REVENUE_ROLLUPS = Integer.MAX_VALUE;
+
     private final int openHour;
     private final int closeHour;
     private final int maxSeats;
+    private final String businessPrefix;
+    private final int revenueRollupsFromDay;
 
     public BusinessConfig(int openHour, int closeHour, int maxSeats) {
+        this(openHour, closeHour, maxSeats, null);
+    }
+
+    public BusinessConfig(int openHour, int closeHour, int maxSeats, String businessPrefix) {
+        this(openHour, closeHour, maxSeats, businessPrefix, NO_REVENUE_ROLLUPS);
+    }
+
+    public BusinessConfig(int openHour, int closeHour, int maxSeats, String businessPrefix, int revenueRollupsFromDay) {
         this.openHour = openHour;
         this.closeHour = closeHour;
         this.maxSeats = maxSeats;
+        this.businessPrefix = businessPrefix;
+        this.revenueRollupsFromDay = revenueRollupsFromDay;
     }
 
     public int getOpenHour() {
@@ -22,4 +39,23 @@ public class BusinessConfig {
     public int getMaxSeats() {
         return maxSeats;
     }
+
+    public String getBusinessPrefix() {
+        return businessPrefix;
+    }
+
+    /**
+     * First day (yyyyMMdd) from which the daily revenue rollups hold every payment; 0 once they were
+     * rebuilt from all payments.
+     */
+    public int getRevenueRollupsFromDay() {
+        return revenueRollupsFromDay;
+    }
+
+    /**
+     * True when the rollups alone give the revenue of every day from {@code day} on.
+     */
+    public boolean hasRevenueRollupsFrom(int day) {
+        return revenueRollupsFromDay <= day;
+    }
 }
@@ -7,6 +7,7 @@ public class Customer {
     private boolean customer_status;
     private String customer_photo;        // URL to profile photo
     private String customer_aadhar_photo; // URL to Aadhar image
+    private String customer_whatsapp;
 
     /** No-arg constructor required by Firestore */
     public Customer() { }
@@ -17,12 +18,23 @@ public class Customer {
                     boolean status,
                     String photo,
                     String aadharPhoto) {
+        this(name, id, cardId, status, photo, aadharPhoto, "");
+    }
+
+    public Customer(String name,
+                    String id,
+                    String cardId,
+                    boolean status,
+                    String photo,
+                    String aadharPhoto,
+                    String whatsapp) {
         this.customer_name             = name;
         this.customer_id               = id;
         this.customer_current_card_id  = cardId;
         this.customer_status           = status;
         this.customer_photo            = photo;
         this.customer_aadhar_photo     = aadharPhoto;
+        this.customer_whatsapp         = whatsapp;
     }
 
     public String  getCustomerName()            { return customer_name; }
@@ -31,6 +43,7 @@ public class Customer {
     public boolean isCustomerStatus()           { return customer_status; }
     public String  getCustomerPhoto()           { return customer_photo; }
     public String  getCustomerAadharPhoto()     { return customer_aadhar_photo; }
+    public String  getCustomerWhatsapp()        { return customer_whatsapp; }
 
     public void setCustomerPhoto(String photo)          { this.customer_photo = photo; }
     public void setCustomerAadharPhoto(String aadhar)   { this.customer_aadhar_photo = aadhar; }
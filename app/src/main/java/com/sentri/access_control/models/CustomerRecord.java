@@ -0,0 +1,62 @@
+package com.sentri.access_control.models;
+
+/**
+ * Immutable, pre-parsed view of a customer document. Times are epoch millis and money is in paise;
+ * a missing time is {@link Long#MIN_VALUE}, so it sorts before every real date.
+ */
+public final class CustomerRecord {
+    private final String id;
+    private final String name;
+    private final boolean active;
+    private final long createdAtMs;
+    private final long lastPaymentMs;
+    private final long subscriptionEndMs;
+    private final long paymentRatePaise;
+
+    public CustomerRecord(String id,
+                          String name,
+                          boolean active,
+                          long createdAtMs,
+                          long lastPaymentMs,
+                          long subscriptionEndMs,
+                          long paymentRatePaise) {
+        this.id = id;
+        this.name = name;
+        this.active = active;
+        this.createdAtMs = createdAtMs;
+        this.lastPaymentMs = lastPaymentMs;
+        this.subscriptionEndMs = subscriptionEndMs;
+        this.paymentRatePaise = paymentRatePaise;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public long getCreatedAtMs() {
+        return createdAtMs;
+    }
+
+    public long getLastPaymentMs() {
+        return lastPaymentMs;
+    }
+
+    /**
+     * Latest subscription end across the customer's shifts.
+     */
+    public long getSubscriptionEndMs() {
+        return subscriptionEndMs;
+    }
+
+    public long getPaymentRatePaise() {
+        return paymentRatePaise;
+    }
+}
@@ -0,0 +1,112 @@
+package com.sentri.access_control.models;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * One local day of payments for a business, as stored in a revenue rollup. Money is in paise;
+ * {@code methodPaise} holds the net (credits minus debits) per payment method.
+ */
+public final class DailyRevenue {
+    private final int day;
+    private final long creditPaise;
+    private final long debitPaise;
+    private final int creditCount;
+    private final int debitCount;
+    private final Map<String, Long> methodPaise;
+
+    public DailyRevenue(int day,
+                        long creditPaise,
+                        long debitPaise,
+                        int creditCount,
+                        int debitCount,
+                        Map<String, Long> methodPaise) {
+        this.day = day;
+        this.creditPaise = creditPaise;
+        this.debitPaise = debitPaise;
+        this.creditCount = creditCount;
+        this.debitCount = debitCount;
+        this.methodPaise = Collections.unmodifiableMap(new TreeMap<>(methodPaise));
+    }
+
+    /**
+     * Local date as yyyyMMdd, e.g. 20250314.
+     */
+    public int getDay() {
+        return day;
+    }
+
+    public long getCreditPaise() {
+        return creditPaise;
+    }
+
+    public long getDebitPaise() {
+        return debitPaise;
+    }
+
+    public long getNetPaise() {
+        return creditPaise - debitPaise;
+    }
+
+    public int getCreditCount() {
+        return creditCount;
+    }
+
+    public int getDebitCount() {
+        return debitCount;
+    }
+
+    public Map<String, Long> getMethodPaise() {
+        return methodPaise;
+    }
+
+    /**
+     * Sums two rollups of the same day, e.g. the shards of one day.
+     */
+    public DailyRevenue plus(DailyRevenue other) {
+        Map<String, Long> methods = new TreeMap<>(methodPaise);
+        for (Map.Entry<String, Long> entry : other.methodPaise.entrySet()) {
+            Long current = methods.get(entry.getKey());
+            methods.put(entry.getKey(), (current != null ? current : 0L) + entry.getValue());
+        }
+        return new DailyRevenue(
+                day,
+                creditPaise + other.creditPaise,
+                debitPaise + other.debitPaise,
+                creditCount + other.creditCount,
+                debitCount + other.debitCount,
+                methods
+        );
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DailyRevenue)) return false;
+        DailyRevenue that = (DailyRevenue) o;
+        return day == that.day
+                && creditPaise == that.creditPaise
+                && debitPaise == that.debitPaise
+                && creditCount == that.creditCount
+                && debitCount == that.debitCount
+                && methodPaise.equals(that.methodPaise);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = day;
+        result = 31 * result + Long.hashCode(creditPaise);
+        result = 31 * result + Long.hashCode(debitPaise);
+        result = 31 * result + creditCount;
+        result = 31 * result + debitCount;
+        result = 31 * result + methodPaise.hashCode();
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "DailyRevenue{" + day + " +" + creditPaise + "/" + creditCount
+                + " -" + debitPaise + "/" + debitCount + " " + methodPaise + "}";
+    }
+}
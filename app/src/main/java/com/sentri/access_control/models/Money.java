@@ -0,0 +1,271 @@
+package com.sentri.access_control.models;
+
+import java.text.DecimalFormatSymbols;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * An amount of Indian Rupees held as a whole number of paise, so sums never drift. The static
+ * {@code long} helpers parse and format without allocating and are meant for hot loops; the
+ * instance methods wrap them for aggregates and display.
+ */
+public final class Money implements Comparable<Money> {
+    public static final Money ZERO = new Money(0L);
+
+    private static final ThreadLocal<Formatter> FORMATTER = new ThreadLocal<Formatter>() {
+        @Override
+        protected Formatter initialValue() {
+            return new Formatter();
+        }
+    };
+
+    private final long paise;
+
+    private Money(long paise) {
+        this.paise = paise;
+    }
+
+    public static Money ofPaise(long paise) {
+        return paise == 0L ? ZERO : new Money(paise);
+    }
+
+    public static Money ofRupees(long rupees) {
+        return ofPaise(Math.multiplyExact(rupees, 100L));
+    }
+
+    /**
+     * Parses the same inputs as {@link #parsePaise(Object)}.
+     */
+    public static Money parse(Object raw) {
+        return ofPaise(parsePaise(raw));
+    }
+
+    /**
+     * Parses an amount stored as a number, a string such as "₹ 1,200" or "1200.50", or a map
+     * holding either under "value". Anything else, or a malformed string, is zero.
+     */
+    public static long parsePaise(Object raw) {
+        if (raw instanceof Map) {
+            raw = ((Map<?, ?>) raw).get("value");
+        }
+        if (raw instanceof CharSequence) {
+            return parsePaise((CharSequence) raw);
+        }
+        if (raw instanceof Long || raw instanceof Integer || raw instanceof Short || raw instanceof Byte) {
+            long rupees = ((Number) raw).longValue();
+            if (rupees > Long.MAX_VALUE / 100L) return Long.MAX_VALUE;
+            if (rupees < Long.MIN_VALUE / 100L) return Long.MIN_VALUE;
+            return rupees * 100L;
+        }
+        if (raw instanceof Number) {
+            return Math.round(((Number) raw).doubleValue() * 100.0);
+        }
+        return 0L;
+    }
+
+    /**
+     * Single pass over the text: every character other than digits, '.' and '-' is skipped (currency
+     * symbols, grouping commas, spaces), then what remains must read as [-]digits[.digits].
+     * Fractions finer than a paisa are rounded half away from zero.
+     */
+    public static long parsePaise(CharSequence text) {
+        boolean negative = false;
+        boolean seenSign = false;
+        boolean seenPoint = false;
+        boolean seenDigit = false;
+        boolean overflow = false;
+        long rupees = 0L;
+        int fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+
+        for (int i = 0, length = text.length(); i < length; i++) {
+            char c = text.charAt(i);
+            if (c >= '0' && c <= '9') {
+                int digit = c - '0';
+                seenDigit = true;
+                if (!seenPoint) {
+                    if (rupees > (Long.MAX_VALUE / 100L - digit) / 10L) {
+                        overflow = true;
+                    } else {
+                        rupees = rupees * 10L + digit;
+                    }
+                } else if (fractionDigits < 2) {
+                    fraction = fraction * 10 + digit;
+                    fractionDigits++;
+                } else if (fractionDigits == 2) {
+                    roundUp = digit >= 5;
+                    fractionDigits++;
+                }
+            } else if (c == '.') {
+                if (seenPoint) return 0L;
+                seenPoint = true;
+            } else if (c == '-') {
+                if (seenSign || seenDigit || seenPoint) return 0L;
+                seenSign = true;
+                negative = true;
+            }
+        }
+
+        if (!seenDigit) return 0L;
+        if (overflow) return negative ? Long.MIN_VALUE : Long.MAX_VALUE;
+        if (fractionDigits == 1) fraction *= 10;
+        long paise = rupees * 100L + fraction + (roundUp ? 1 : 0);
+        return negative ? -paise : paise;
+    }
+
+    /**
+     * Appends "₹ 1,200", rounded half up to whole rupees and grouped with the default locale's
+     * separator.
+     */
+    public static StringBuilder appendRupees(StringBuilder out, long paise) {
+        Formatter formatter = FORMATTER.get();
+        formatter.refreshSymbols();
+        long rupees = paise > Long.MAX_VALUE - 50L ? paise / 100L : Math.floorDiv(paise + 50L, 100L);
+
+        out.append("₹ ");
+        if (rupees < 0) {
+            out.append(formatter.minusSign);
+        }
+        char[] digits = formatter.digits;
+        int position = digits.length;
+        int written = 0;
+        long remaining = rupees;
+        do {
+            if (written > 0 && written % 3 == 0) {
+                digits[--position] = formatter.groupingSeparator;
+            }
+            digits[--position] = (char) (formatter.zeroDigit + Math.abs(remaining % 10L));
+            remaining /= 10L;
+            written++;
+        } while (remaining != 0L);
+        return out.append(digits, position, digits.length - position);
+    }
+
+    /**
+     * Appends the plain two-decimal form, e.g. "1200.50" or "-12.05", independent of locale.
+     */
+    public static StringBuilder appendDecimal(StringBuilder out, long paise) {
+        if (paise < 0) {
+            out.append('-');
+        }
+        long rupees = Math.abs(paise / 100L);
+        int cents = (int) Math.abs(paise % 100L);
+        out.append(rupees).append('.');
+        if (cents < 10) {
+            out.append('0');
+        }
+        return out.append(cents);
+    }
+
+    public static String formatRupees(long paise) {
+        StringBuilder buffer = FORMATTER.get().buffer();
+        return appendRupees(buffer, paise).toString();
+    }
+
+    public static String formatDecimal(long paise) {
+        StringBuilder buffer = FORMATTER.get().buffer();
+        return appendDecimal(buffer, paise).toString();
+    }
+
+    public long getPaise() {
+        return paise;
+    }
+
+    /**
+     * For charts and percentages only; keep arithmetic in paise.
+     */
+    public double toRupees() {
+        return paise / 100.0;
+    }
+
+    public Money plus(Money other) {
+        return ofPaise(Math.addExact(paise, other.paise));
+    }
+
+    public Money plusPaise(long amountPaise) {
+        return ofPaise(Math.addExact(paise, amountPaise));
+    }
+
+    public Money minus(Money other) {
+        return ofPaise(Math.subtractExact(paise, other.paise));
+    }
+
+    public Money negate() {
+        return ofPaise(Math.negateExact(paise));
+    }
+
+    public Money abs() {
+        return paise < 0 ? negate() : this;
+    }
+
+    public int signum() {
+        return Long.signum(paise);
+    }
+
+    public boolean isZero() {
+        return paise == 0L;
+    }
+
+    public boolean isNegative() {
+        return paise < 0L;
+    }
+
+    public String formatRupees() {
+        return formatRupees(paise);
+    }
+
+    public String formatDecimal() {
+        return formatDecimal(paise);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(paise, other.paise);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Money && ((Money) other).paise == paise;
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(paise);
+    }
+
+    @Override
+    public String toString() {
+        return formatDecimal(paise);
+    }
+
+    /**
+     * Per-thread scratch buffers and the default locale's digit symbols, re-read when it changes.
+     */
+    private static final class Formatter {
+        // Room for 19 digits, 6 separators and a sign.
+        final char[] digits = new char[26];
+        private final StringBuilder buffer = new StringBuilder(32);
+        private Locale locale;
+        char zeroDigit;
+        char groupingSeparator;
+        char minusSign;
+
+        StringBuilder buffer() {
+            buffer.setLength(0);
+            return buffer;
+        }
+
+        void refreshSymbols() {
+            Locale current = Locale.getDefault();
+            if (current.equals(locale)) {
+                return;
+            }
+            DecimalFormatSymbols symbols = DecimalFormatSymbols.getInstance(current);
+            zeroDigit = symbols.getZeroDigit();
+            groupingSeparator = symbols.getGroupingSeparator();
+            minusSign = symbols.getMinusSign();
+            locale = current;
+        }
+    }
+}
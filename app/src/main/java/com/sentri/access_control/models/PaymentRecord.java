@@ -0,0 +1,77 @@
+package com.sentri.access_control.models;
+
+/**
+ * Immutable, pre-parsed view of a payment document. Money is in paise and {@code amountPaise} is
+ * unsigned; {@link #getSignedAmountPaise()} applies the payment type.
+ */
+public final class PaymentRecord {
+    private final String id;
+    private final String customerId;
+    private final long createdAtMs;
+    private final long amountPaise;
+    private final long ratePaise;
+    private final String type;
+    private final String method;
+    private final String processedBy;
+
+    public PaymentRecord(String id,
+                         String customerId,
+                         long createdAtMs,
+                         long amountPaise,
+                         long ratePaise,
+                         String type,
+                         String method,
+                         String processedBy) {
+        this.id = id;
+        this.customerId = customerId;
+        this.createdAtMs = createdAtMs;
+        this.amountPaise = amountPaise;
+        this.ratePaise = ratePaise;
+        this.type = type;
+        this.method = method;
+        this.processedBy = processedBy;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    public long getCreatedAtMs() {
+        return createdAtMs;
+    }
+
+    public long getAmountPaise() {
+        return amountPaise;
+    }
+
+    public long getRatePaise() {
+        return ratePaise;
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public String getProcessedBy() {
+        return processedBy;
+    }
+
+    public boolean isDebit() {
+        return "debit".equalsIgnoreCase(type);
+    }
+
+    /**
+     * Amount with debits negated, as used by the revenue chart.
+     */
+    public long getSignedAmountPaise() {
+        return isDebit() ? -amountPaise : amountPaise;
+    }
+}
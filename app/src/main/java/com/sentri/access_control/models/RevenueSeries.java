@@ -0,0 +1,154 @@
+package com.sentri.access_control.models;
+
+import java.util.Arrays;
+
+/**
+ * Net revenue for a contiguous range of local days, held as prefix sums so that the total of any
+ * window costs two array reads. Built once per load from {@link DailyRevenue} rollups; days are
+ * yyyyMMdd keys and days outside the range count as zero.
+ */
+public final class RevenueSeries {
+    public static final RevenueSeries EMPTY = new RevenueSeries(19700101, new long[1]);
+
+    private final int firstDay;
+    private final int firstEpochDay;
+    // prefixPaise[i] is the net of the first i days.
+    private final long[] prefixPaise;
+
+    private RevenueSeries(int firstDay, long[] prefixPaise) {
+        this.firstDay = firstDay;
+        this.firstEpochDay = epochDay(firstDay);
+        this.prefixPaise = prefixPaise;
+    }
+
+    /**
+     * Builds the series for {@code firstDay} through {@code lastDay}; rollups outside it are ignored
+     * and several rollups of the same day are summed.
+     */
+    public static RevenueSeries of(Iterable<DailyRevenue> days, int firstDay, int lastDay) {
+        int first = epochDay(firstDay);
+        int count = Math.max(0, epochDay(lastDay) - first + 1);
+        long[] prefix = new long[count + 1];
+        for (DailyRevenue day : days) {
+            int index = epochDay(day.getDay()) - first;
+            if (index >= 0 && index < count) {
+                prefix[index + 1] += day.getNetPaise();
+            }
+        }
+        for (int i = 1; i <= count; i++) {
+            prefix[i] += prefix[i - 1];
+        }
+        return new RevenueSeries(firstDay, prefix);
+    }
+
+    /**
+     * Rebuilds a series from consecutive daily values starting on {@code firstDay}, as returned by
+     * {@link #dailyPaise}.
+     */
+    public static RevenueSeries ofDaily(int firstDay, long[] dailyPaise) {
+        long[] prefix = new long[dailyPaise.length + 1];
+        for (int i = 0; i < dailyPaise.length; i++) {
+            prefix[i + 1] = prefix[i] + dailyPaise[i];
+        }
+        return new RevenueSeries(firstDay, prefix);
+    }
+
+    public int getFirstDay() {
+        return firstDay;
+    }
+
+    public int getLastDay() {
+        return addDays(firstDay, size() - 1);
+    }
+
+    /**
+     * Number of days covered.
+     */
+    public int size() {
+        return prefixPaise.length - 1;
+    }
+
+    /**
+     * Net paise from {@code fromDay} through {@code toDay}, both inclusive.
+     */
+    public long totalPaise(int fromDay, int toDay) {
+        int from = epochDay(fromDay);
+        int to = epochDay(toDay);
+        return to < from ? 0L : prefixAt(to + 1) - prefixAt(from);
+    }
+
+    /**
+     * Net paise of the {@code days} days ending on {@code endDay}.
+     */
+    public long windowPaise(int endDay, int days) {
+        int end = epochDay(endDay) + 1;
+        return prefixAt(end) - prefixAt(end - Math.max(0, days));
+    }
+
+    /**
+     * Net paise per day for the {@code days} days ending on {@code endDay}, oldest first.
+     */
+    public long[] dailyPaise(int endDay, int days) {
+        long[] values = new long[Math.max(0, days)];
+        int start = epochDay(endDay) + 1 - values.length;
+        for (int i = 0; i < values.length; i++) {
+            values[i] = prefixAt(start + i + 1) - prefixAt(start + i);
+        }
+        return values;
+    }
+
+    /**
+     * The yyyyMMdd day {@code delta} days after {@code day}.
+     */
+    public static int addDays(int day, int delta) {
+        // Civil-from-days on the proleptic Gregorian calendar.
+        int z = epochDay(day) + delta + 719_468;
+        int era = (z >= 0 ? z : z - 146_096) / 146_097;
+        int doe = z - era * 146_097;
+        int yoe = (doe - doe / 1_460 + doe / 36_524 - doe / 146_096) / 365;
+        int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        int mp = (5 * doy + 2) / 153;
+        int dayOfMonth = doy - (153 * mp + 2) / 5 + 1;
+        int month = mp < 10 ? mp + 3 : mp - 9;
+        int year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return year * 10_000 + month * 100 + dayOfMonth;
+    }
+
+    /**
+     * Days since 1970-01-01 for a yyyyMMdd day; pure arithmetic, independent of time zone.
+     */
+    static int epochDay(int day) {
+        int year = day / 10_000;
+        int month = (day / 100) % 100;
+        int dayOfMonth = day % 100;
+        if (month <= 2) {
+            year--;
+        }
+        int era = (year >= 0 ? year : year - 399) / 400;
+        int yoe = year - era * 400;
+        int doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + dayOfMonth - 1;
+        int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - 719_468;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof RevenueSeries)) return false;
+        RevenueSeries that = (RevenueSeries) o;
+        return firstEpochDay == that.firstEpochDay && Arrays.equals(prefixPaise, that.prefixPaise);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * firstEpochDay + Arrays.hashCode(prefixPaise);
+    }
+
+    private long prefixAt(int epochDay) {
+        int index = epochDay - firstEpochDay;
+        if (index <= 0) {
+            return prefixPaise[0];
+        }
+        return prefixPaise[Math.min(index, prefixPaise.length - 1)];
+    }
+}
@@ -0,0 +1,79 @@
+package com.sentri.access_control.models;
+
+import java.util.Locale;
+
+/**
+ * Immutable, pre-parsed view of a shift document. Times are epoch millis; a missing time is
+ * {@link Long#MIN_VALUE}. {@code seatNumber} is 0 when the seat is unallocated or not numeric.
+ */
+public final class ShiftRecord {
+    private final String id;
+    private final String customerId;
+    private final String seat;
+    private final int seatNumber;
+    private final long startMs;
+    private final long endMs;
+    private final boolean active;
+    private final long paymentRatePaise;
+
+    public ShiftRecord(String id,
+                       String customerId,
+                       String seat,
+                       int seatNumber,
+                       long startMs,
+                       long endMs,
+                       boolean active,
+                       long paymentRatePaise) {
+        this.id = id;
+        this.customerId = customerId;
+        this.seat = seat;
+        this.seatNumber = seatNumber;
+        this.startMs = startMs;
+        this.endMs = endMs;
+        this.active = active;
+        this.paymentRatePaise = paymentRatePaise;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getCustomerId() {
+        return customerId;
+    }
+
+    /**
+     * Raw shift_seat value, e.g. "4" or "unallocated".
+     */
+    public String getSeat() {
+        return seat;
+    }
+
+    public int getSeatNumber() {
+        return seatNumber;
+    }
+
+    public boolean isUnallocated() {
+        return seat != null && seat.trim().toLowerCase(Locale.US).contains("unallocated");
+    }
+
+    public long getStartMs() {
+        return startMs;
+    }
+
+    public long getEndMs() {
+        return endMs;
+    }
+
+    public boolean hasTimes() {
+        return startMs != Long.MIN_VALUE && endMs != Long.MIN_VALUE;
+    }
+
+    public boolean isActive() {
+        return active;
+    }
+
+    public long getPaymentRatePaise() {
+        return paymentRatePaise;
+    }
+}
@@ -0,0 +1,225 @@
+package com.sentri.access_control.repositories;
+
+import android.text.TextUtils;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.models.BusinessConfig;
+
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Process-wide in-memory cache of business configuration (prefix, open/close hours, max seats).
+ * Each business gets a single snapshot listener that keeps its entry fresh; when the listener is
+ * not delivering (not attached yet, or failed) entries fall back to a TTL and are re-read on expiry.
+ */
+public final class BusinessConfigCache {
+    private static final long DEFAULT_TTL_MS = 5 * 60 * 1000L;
+
+    private static BusinessConfigCache instance;
+
+    private final FirebaseFirestore db;
+    private final long ttlMs;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, ListenerRegistration> registrations = new ConcurrentHashMap<>();
+
+    BusinessConfigCache(FirebaseFirestore db, long ttlMs) {
+        this.db = db;
+        this.ttlMs = ttlMs;
+    }
+
+    public static synchronized BusinessConfigCache getInstance(FirebaseFirestore db) {
+        if (instance == null) {
+            instance = new BusinessConfigCache(db, DEFAULT_TTL_MS);
+        }
+        return instance;
+    }
+
+    /**
+     * Returns the cached config if it is still fresh, otherwise null. Never touches the network.
+     */
+    public BusinessConfig peek(String businessId) {
+        Entry entry = businessId != null ? entries.get(businessId) : null;
+        return entry != null && isFresh(entry) ? entry.config : null;
+    }
+
+    public void getConfig(String businessId, Consumer<BusinessConfig> onSuccess, Consumer<Exception> onError) {
+        if (TextUtils.isEmpty(businessId)) {
+            onError.accept(new IllegalArgumentException("Missing business ID"));
+            return;
+        }
+
+        ensureListener(businessId);
+        BusinessConfig cached = peek(businessId);
+        if (cached != null) {
+            onSuccess.accept(cached);
+            return;
+        }
+
+        FirestorePaths.business(db, businessId)
+                .get()
+                .addOnSuccessListener(doc -> onSuccess.accept(store(businessId, doc, false)))
+                .addOnFailureListener(exception -> {
+                    // Prefer a stale value over failing the screen when the read fails (e.g. offline).
+                    Entry stale = entries.get(businessId);
+                    if (stale != null) {
+                        onSuccess.accept(stale.config);
+                    } else {
+                        onError.accept(exception);
+                    }
+                });
+    }
+
+    public void getBusinessPrefix(String businessId, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        getConfig(businessId, config -> onSuccess.accept(config.getBusinessPrefix()), onError);
+    }
+
+    /**
+     * Drops the cached entry and detaches the listener for one business.
+     */
+    public void invalidate(String businessId) {
+        entries.remove(businessId);
+        ListenerRegistration registration = registrations.remove(businessId);
+        if (registration != null) {
+            registration.remove();
+        }
+    }
+
+    /**
+     * Drops every entry and listener; call on logout.
+     */
+    public void clear() {
+        for (ListenerRegistration registration : registrations.values()) {
+            registration.remove();
+        }
+        registrations.clear();
+        entries.clear();
+    }
+
+    private void ensureListener(String businessId) {
+        if (registrations.containsKey(businessId)) {
+            return;
+        }
+        ListenerRegistration registration = FirestorePaths.business(db, businessId)
+                .addSnapshotListener((doc, error) -> {
+                    if (error != null) {
+                        // Fall back to TTL-based expiry; the next read re-attaches the listener.
+                        Entry entry = entries.get(businessId);
+                        if (entry != null) {
+                            entry.live = false;
+                        }
+                        ListenerRegistration failed = registrations.remove(businessId);
+                        if (failed != null) {
+                            failed.remove();
+                        }
+                        return;
+                    }
+                    if (doc != null && doc.exists()) {
+                        store(businessId, doc, true);
+                    }
+                });
+        registrations.put(businessId, registration);
+    }
+
+    private BusinessConfig store(String businessId, DocumentSnapshot doc, boolean live) {
+        BusinessConfig config = parseBusinessConfig(doc);
+        Entry previous = entries.get(businessId);
+        entries.put(businessId, new Entry(config, System.currentTimeMillis(), live || (previous != null && previous.live)));
+        return config;
+    }
+
+    private boolean isFresh(Entry entry) {
+        return entry.live || System.currentTimeMillis() - entry.loadedAtMs < ttlMs;
+    }
+
+    static BusinessConfig parseBusinessConfig(DocumentSnapshot doc) {
+        Map<String, Object> data = doc.getData();
+        return parseBusinessConfig(data != null ? data : Collections.emptyMap());
+    }
+
+    /**
+     * Parses a business document's raw fields; missing or malformed fields fall back to defaults.
+     */
+    static BusinessConfig parseBusinessConfig(Map<String, Object> data) {
+        int openHour = readHourField(data.get("business_open_time"), 0);
+        int closeHour = readHourField(data.get("business_close_time"), 24);
+        int maxSeats = readInt(data.get("business_max_seats"), 10);
+        Object prefix = data.get(FirestorePaths.FIELD_BUSINESS_PREFIX);
+        int rollupsFrom = readInt(data.get(FirestorePaths.FIELD_REVENUE_ROLLUPS_FROM), BusinessConfig.NO_REVENUE_ROLLUPS);
+        return new BusinessConfig(openHour, closeHour, maxSeats, prefix instanceof String ? (String) prefix : null, rollupsFrom);
+    }
+
+    private static int readInt(Object raw, int defaultValue) {
+        if (raw instanceof Number) {
+            return ((Number) raw).intValue();
+        }
+        if (raw instanceof String) {
+            try {
+                return Integer.parseInt(((String) raw).trim());
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return defaultValue;
+    }
+
+    private static int readHourField(Object raw, int defaultValue) {
+        if (raw instanceof Timestamp) {
+            return extractHour(((Timestamp) raw).toDate(), defaultValue);
+        }
+        if (raw instanceof Date) {
+            return extractHour((Date) raw, defaultValue);
+        }
+        if (raw instanceof Number) {
+            return ((Number) raw).intValue();
+        }
+        if (raw instanceof String) {
+            String text = ((String) raw).trim();
+            if (text.isEmpty()) {
+                return defaultValue;
+            }
+            if (text.contains(":")) {
+                String[] parts = text.split(":");
+                if (parts.length > 0) {
+                    try {
+                        return Integer.parseInt(parts[0].trim());
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+            try {
+                return Integer.parseInt(text);
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        return defaultValue;
+    }
+
+    private static int extractHour(Date date, int defaultValue) {
+        if (date == null) {
+            return defaultValue;
+        }
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(date);
+        return calendar.get(Calendar.HOUR_OF_DAY);
+    }
+
+    private static final class Entry {
+        final BusinessConfig config;
+        final long loadedAtMs;
+        volatile boolean live;
+
+        Entry(BusinessConfig config, long loadedAtMs, boolean live) {
+            this.config = config;
+            this.loadedAtMs = loadedAtMs;
+            this.live = live;
+        }
+    }
+}
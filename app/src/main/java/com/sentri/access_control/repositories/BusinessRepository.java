@@ -1,10 +1,13 @@
 package com.sentri.access_control.repositories;
 
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
 import com.sentri.access_control.models.BusinessConfig;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface BusinessRepository {
@@ -14,9 +17,71 @@ public interface BusinessRepository {
 
     void fetchActiveCustomers(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError);
 
+    /**
+     * Active customers from the device's Firestore cache only, without a server read. Holds only
+     * what earlier reads and listeners left behind, so it may be incomplete or empty.
+     */
+    void fetchCachedActiveCustomers(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError);
+
+    /**
+     * Listens to the active customers of a business. The first snapshot lists every customer as
+     * ADDED; later ones carry only the changed documents. Remove the registration when done.
+     */
+    ListenerRegistration listenActiveCustomers(String businessId, Consumer<QuerySnapshot> onChange, Consumer<Exception> onError);
+
+    /**
+     * Number of active customers, counted by the server without reading the documents.
+     */
+    void countActiveCustomers(String businessId, Consumer<Long> onSuccess, Consumer<Exception> onError);
+
+    /**
+     * Number of active customers created at or after {@code sinceMs}, counted by the server. Needs a
+     * composite index on (customer_status, created_at).
+     */
+    void countActiveCustomersCreatedSince(String businessId, long sinceMs, Consumer<Long> onSuccess, Consumer<Exception> onError);
+
     void fetchNextBusinessId(int year, Consumer<String> onSuccess, Consumer<Exception> onError);
 
     void createBusiness(String businessId, Map<String, Object> businessData, Runnable onSuccess, Consumer<Exception> onError);
 
     void initializeBusinessCollections(String businessId, Runnable onSuccess, Consumer<Exception> onError);
+
+    default CompletableFuture<String> fetchBusinessPrefixAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchBusinessPrefix(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<BusinessConfig> fetchBusinessConfigAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchBusinessConfig(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchActiveCustomersAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchActiveCustomers(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchCachedActiveCustomersAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchCachedActiveCustomers(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Long> countActiveCustomersAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> countActiveCustomers(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Long> countActiveCustomersCreatedSinceAsync(String businessId, long sinceMs) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                countActiveCustomersCreatedSince(businessId, sinceMs, onSuccess, onError));
+    }
+
+    default CompletableFuture<String> fetchNextBusinessIdAsync(int year) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchNextBusinessId(year, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> createBusinessAsync(String businessId, Map<String, Object> businessData) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                createBusiness(businessId, businessData, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> initializeBusinessCollectionsAsync(String businessId) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                initializeBusinessCollections(businessId, onSuccess, onError));
+    }
 }
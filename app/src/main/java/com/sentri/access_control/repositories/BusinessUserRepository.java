@@ -4,6 +4,7 @@ import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface BusinessUserRepository {
@@ -22,4 +23,24 @@ public interface BusinessUserRepository {
                             Map<String, Object> updates,
                             Runnable onSuccess,
                             Consumer<Exception> onError);
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchBusinessUsersAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchBusinessUsers(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<DocumentSnapshot> fetchBusinessUserAsync(String businessId, String userId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchBusinessUser(businessId, userId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> saveBusinessUserAsync(String businessId, String userId, Map<String, Object> data) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                saveBusinessUser(businessId, userId, data, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> updateBusinessUserAsync(String businessId,
+                                                            String userId,
+                                                            Map<String, Object> updates) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                updateBusinessUser(businessId, userId, updates, onSuccess, onError));
+    }
 }
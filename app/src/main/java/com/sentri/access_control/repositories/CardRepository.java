@@ -3,6 +3,7 @@ package com.sentri.access_control.repositories;
 import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface CardRepository {
@@ -37,4 +38,40 @@ public interface CardRepository {
                       String cardDocId,
                       Runnable onSuccess,
                       Consumer<Exception> onError);
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchBusinessCardsAsync(String businessId,
+                                                                              boolean onlyUnassigned) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchBusinessCards(businessId, onlyUnassigned, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchAllCardsAsync() {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchAllCards(onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> assignCardToCustomerAsync(String businessId,
+                                                              String customerId,
+                                                              String cardDocId,
+                                                              String cardId) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                assignCardToCustomer(businessId, customerId, cardDocId, cardId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> replaceCardForCustomerAsync(String businessId,
+                                                                String customerId,
+                                                                String newCardDocId,
+                                                                String newCardId) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                replaceCardForCustomer(businessId, customerId, newCardDocId, newCardId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> returnCardFromCustomerAsync(String businessId, String customerId) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                returnCardFromCustomer(businessId, customerId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> unassignCardAsync(String businessId, String customerId, String cardDocId) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                unassignCard(businessId, customerId, cardDocId, onSuccess, onError));
+    }
 }
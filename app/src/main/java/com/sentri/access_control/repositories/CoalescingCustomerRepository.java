@@ -0,0 +1,196 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CustomerRepository decorator that shares duplicate customer reads through {@link ReadCoalescer}.
+ * Writes go straight to the delegate and invalidate the business's cached reads on success.
+ */
+public class CoalescingCustomerRepository implements CustomerRepository {
+    private final CustomerRepository delegate;
+    private final ReadCoalescer coalescer;
+
+    public CoalescingCustomerRepository(CustomerRepository delegate) {
+        this(delegate, ReadCoalescer.getInstance());
+    }
+
+    public CoalescingCustomerRepository(CustomerRepository delegate, ReadCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public void fetchCustomers(String businessId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError) {
+        coalescer.read(
+                ReadCoalescer.key(businessId, "customers"),
+                (success, error) -> delegate.fetchCustomers(businessId, success, error),
+                onSuccess,
+                onError
+        );
+    }
+
+    @Override
+    public void fetchCustomerPage(String businessId,
+                                  Boolean status,
+                                  String orderField,
+                                  DocumentSnapshot startAfter,
+                                  int limit,
+                                  Consumer<QuerySnapshot> onSuccess,
+                                  Consumer<Exception> onError) {
+        // Pages are read once per cursor by the pager, so there is nothing to share.
+        delegate.fetchCustomerPage(businessId, status, orderField, startAfter, limit, onSuccess, onError);
+    }
+
+    @Override
+    public void fetchCustomer(String businessId, String customerId, Consumer<DocumentSnapshot> onSuccess, Consumer<Exception> onError) {
+        coalescer.read(
+                ReadCoalescer.key(businessId, "customer", customerId),
+                (success, error) -> delegate.fetchCustomer(businessId, customerId, success, error),
+                onSuccess,
+                onError
+        );
+    }
+
+    @Override
+    public void fetchNextCustomerId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        delegate.fetchNextCustomerId(businessId, businessPrefix, onSuccess, onError);
+    }
+
+    @Override
+    public void saveCustomer(String businessId, String customerId, Map<String, Object> customerData, Runnable onSuccess, Consumer<Exception> onError) {
+        delegate.saveCustomer(businessId, customerId, customerData, coalescer.afterWrite(businessId, onSuccess), onError);
+    }
+
+    @Override
+    public void deactivateCustomer(String businessId, String customerId, Runnable onSuccess, Consumer<Exception> onError) {
+        delegate.deactivateCustomer(businessId, customerId, coalescer.afterWrite(businessId, onSuccess), onError);
+    }
+
+    @Override
+    public void removeCustomerShiftAssignment(String businessId,
+                                              String customerId,
+                                              String shiftId,
+                                              String seat,
+                                              Timestamp shiftStart,
+                                              Timestamp shiftEnd,
+                                              Runnable onSuccess,
+                                              Consumer<Exception> onError) {
+        delegate.removeCustomerShiftAssignment(
+                businessId,
+                customerId,
+                shiftId,
+                seat,
+                shiftStart,
+                shiftEnd,
+                coalescer.afterWrite(businessId, onSuccess),
+                onError
+        );
+    }
+
+    @Override
+    public void updateCustomerAfterPayment(String businessId,
+                                           String customerId,
+                                           String paymentRate,
+                                           String lastPaymentDate,
+                                           Runnable onSuccess,
+                                           Consumer<Exception> onError) {
+        delegate.updateCustomerAfterPayment(
+                businessId,
+                customerId,
+                paymentRate,
+                lastPaymentDate,
+                coalescer.afterWrite(businessId, onSuccess),
+                onError
+        );
+    }
+
+    @Override
+    public void appendShiftAssignment(String businessId,
+                                      String customerId,
+                                      String shiftId,
+                                      String seat,
+                                      Timestamp shiftStart,
+                                      Timestamp shiftEnd,
+                                      String paymentRate,
+                                      String lastPaymentDate,
+                                      Runnable onSuccess,
+                                      Consumer<Exception> onError) {
+        delegate.appendShiftAssignment(
+                businessId,
+                customerId,
+                shiftId,
+                seat,
+                shiftStart,
+                shiftEnd,
+                paymentRate,
+                lastPaymentDate,
+                coalescer.afterWrite(businessId, onSuccess),
+                onError
+        );
+    }
+
+    @Override
+    public void updateRenewedSubscription(String businessId,
+                                          String customerId,
+                                          List<Timestamp> newSubscriptionEndDates,
+                                          String paymentRate,
+                                          Runnable onSuccess,
+                                          Consumer<Exception> onError) {
+        delegate.updateRenewedSubscription(
+                businessId,
+                customerId,
+                newSubscriptionEndDates,
+                paymentRate,
+                coalescer.afterWrite(businessId, onSuccess),
+                onError
+        );
+    }
+
+    @Override
+    public void replaceCurrentShiftAssignments(String businessId,
+                                               String customerId,
+                                               List<String> shiftIds,
+                                               List<String> seats,
+                                               List<Timestamp> shiftStarts,
+                                               List<Timestamp> shiftEnds,
+                                               String paymentRate,
+                                               String lastPaymentDate,
+                                               Runnable onSuccess,
+                                               Consumer<Exception> onError) {
+        delegate.replaceCurrentShiftAssignments(
+                businessId,
+                customerId,
+                shiftIds,
+                seats,
+                shiftStarts,
+                shiftEnds,
+                paymentRate,
+                lastPaymentDate,
+                coalescer.afterWrite(businessId, onSuccess),
+                onError
+        );
+    }
+
+    @Override
+    public void updateCustomerProfile(String businessId,
+                                      String customerId,
+                                      Map<String, Object> updates,
+                                      Runnable onSuccess,
+                                      Consumer<Exception> onError) {
+        delegate.updateCustomerProfile(businessId, customerId, updates, coalescer.afterWrite(businessId, onSuccess), onError);
+    }
+
+    @Override
+    public void updateCustomers(String businessId,
+                                Map<String, Map<String, Object>> updatesById,
+                                Runnable onSuccess,
+                                Consumer<Exception> onError) {
+        delegate.updateCustomers(businessId, updatesById, coalescer.afterWrite(businessId, onSuccess), onError);
+    }
+}
@@ -0,0 +1,137 @@
+package com.sentri.access_control.repositories;
+
+import android.text.TextUtils;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * ShiftRepository decorator that shares duplicate shift reads through {@link ReadCoalescer}.
+ * Writes go straight to the delegate and invalidate the business's cached reads on success.
+ */
+public class CoalescingShiftRepository implements ShiftRepository {
+    private final ShiftRepository delegate;
+    private final ReadCoalescer coalescer;
+
+    public CoalescingShiftRepository(ShiftRepository delegate) {
+        this(delegate, ReadCoalescer.getInstance());
+    }
+
+    public CoalescingShiftRepository(ShiftRepository delegate, ReadCoalescer coalescer) {
+        this.delegate = delegate;
+        this.coalescer = coalescer;
+    }
+
+    @Override
+    public void fetchAllShifts(String businessId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError) {
+        coalescer.read(
+                ReadCoalescer.key(businessId, "shifts", "all"),
+                (success, error) -> delegate.fetchAllShifts(businessId, success, error),
+                onSuccess,
+                onError
+        );
+    }
+
+    @Override
+    public void fetchActiveShifts(String businessId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError) {
+        coalescer.read(
+                ReadCoalescer.key(businessId, "shifts", "active"),
+                (success, error) -> delegate.fetchActiveShifts(businessId, success, error),
+                onSuccess,
+                onError
+        );
+    }
+
+    @Override
+    public ListenerRegistration listenActiveShiftsInWindow(String businessId,
+                                                           long windowStartMs,
+                                                           Consumer<QuerySnapshot> onChange,
+                                                           Consumer<Exception> onError) {
+        return delegate.listenActiveShiftsInWindow(businessId, windowStartMs, onChange, onError);
+    }
+
+    @Override
+    public void fetchCustomerShiftIds(String businessId, String customerId, Consumer<List<String>> onSuccess, Consumer<Exception> onError) {
+        coalescer.<List<String>>read(
+                ReadCoalescer.key(businessId, "shiftIds", customerId),
+                (success, error) -> delegate.fetchCustomerShiftIds(businessId, customerId, success, error),
+                ids -> onSuccess.accept(new ArrayList<>(ids)),
+                onError
+        );
+    }
+
+    @Override
+    public void fetchCustomerShifts(String businessId, String customerId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        coalescer.<List<DocumentSnapshot>>read(
+                ReadCoalescer.key(businessId, "shifts", "customer", customerId),
+                (success, error) -> delegate.fetchCustomerShifts(businessId, customerId, success, error),
+                docs -> onSuccess.accept(new ArrayList<>(docs)),
+                onError
+        );
+    }
+
+    @Override
+    public void fetchShiftsByIds(String businessId, List<String> shiftIds, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        if (shiftIds == null || shiftIds.isEmpty()) {
+            onSuccess.accept(Collections.emptyList());
+            return;
+        }
+
+        // The same set of IDs is the same query regardless of order.
+        List<String> sortedIds = new ArrayList<>(shiftIds);
+        Collections.sort(sortedIds);
+        coalescer.<List<DocumentSnapshot>>read(
+                ReadCoalescer.key(businessId, "shifts", "ids", TextUtils.join(",", sortedIds)),
+                (success, error) -> delegate.fetchShiftsByIds(businessId, shiftIds, success, error),
+                docs -> onSuccess.accept(new ArrayList<>(docs)),
+                onError
+        );
+    }
+
+    @Override
+    public void fetchActiveUnallocatedShifts(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        coalescer.<List<DocumentSnapshot>>read(
+                ReadCoalescer.key(businessId, "shifts", "unallocated"),
+                (success, error) -> delegate.fetchActiveUnallocatedShifts(businessId, success, error),
+                docs -> onSuccess.accept(new ArrayList<>(docs)),
+                onError
+        );
+    }
+
+    @Override
+    public void fetchNextShiftId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        delegate.fetchNextShiftId(businessId, businessPrefix, onSuccess, onError);
+    }
+
+    @Override
+    public void createShift(String businessId, String shiftId, Map<String, Object> shiftData, Runnable onSuccess, Consumer<Exception> onError) {
+        delegate.createShift(businessId, shiftId, shiftData, coalescer.afterWrite(businessId, onSuccess), onError);
+    }
+
+    @Override
+    public void extendShifts(String businessId,
+                             Map<String, Timestamp> newShiftEndTimes,
+                             String paymentRate,
+                             Runnable onSuccess,
+                             Consumer<Exception> onError) {
+        delegate.extendShifts(businessId, newShiftEndTimes, paymentRate, coalescer.afterWrite(businessId, onSuccess), onError);
+    }
+
+    @Override
+    public void markShiftInactive(String businessId, String shiftId, Runnable onSuccess, Consumer<Exception> onError) {
+        delegate.markShiftInactive(businessId, shiftId, coalescer.afterWrite(businessId, onSuccess), onError);
+    }
+
+    @Override
+    public void markShiftsInactive(String businessId, List<String> shiftIds, Runnable onSuccess, Consumer<Exception> onError) {
+        delegate.markShiftsInactive(businessId, shiftIds, coalescer.afterWrite(businessId, onSuccess), onError);
+    }
+}
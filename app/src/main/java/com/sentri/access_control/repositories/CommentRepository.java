@@ -2,6 +2,7 @@ package com.sentri.access_control.repositories;
 
 import com.google.firebase.firestore.QuerySnapshot;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface CommentRepository {
@@ -27,4 +28,32 @@ public interface CommentRepository {
                                 int limit,
                                 Consumer<QuerySnapshot> onSuccess,
                                 Consumer<Exception> onError);
+
+    default CompletableFuture<Void> addCommentAsync(String businessId,
+                                                    String customerId,
+                                                    String businessPrefix,
+                                                    String entityType,
+                                                    String text,
+                                                    String createdBy) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                addComment(businessId, customerId, businessPrefix, entityType, text, createdBy, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchRecentCommentsAsync(String businessId, int limit) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchRecentComments(businessId, limit, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchCommentsByCustomerAsync(String businessId,
+                                                                          String customerId,
+                                                                          int limit) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchCommentsByCustomer(businessId, customerId, limit, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchCommentsByCreatorAsync(String businessId,
+                                                                         String createdBy,
+                                                                         int limit) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchCommentsByCreator(businessId, createdBy, limit, onSuccess, onError));
+    }
 }
@@ -6,11 +6,31 @@ import com.google.firebase.Timestamp;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface CustomerRepository {
+    String ORDER_BY_NAME = "customer_name";
+    String ORDER_BY_ID = "customer_id";
+
     void fetchCustomers(String businessId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError);
 
+    /**
+     * One page of customers ordered by {@code orderField} ({@link #ORDER_BY_NAME} or
+     * {@link #ORDER_BY_ID}), starting after {@code startAfter}, or from the first customer when it
+     * is null. A non-null {@code status} filters on customer_status on the server, which needs a
+     * (customer_status, orderField) composite index. The server leaves out documents without
+     * {@code orderField}, and a status filter those whose customer_status is not a boolean; the
+     * app always writes both, and {@code CustomerFieldBackfill} repairs older documents.
+     */
+    void fetchCustomerPage(String businessId,
+                           Boolean status,
+                           String orderField,
+                           DocumentSnapshot startAfter,
+                           int limit,
+                           Consumer<QuerySnapshot> onSuccess,
+                           Consumer<Exception> onError);
+
     void fetchCustomer(String businessId, String customerId, Consumer<DocumentSnapshot> onSuccess, Consumer<Exception> onError);
 
     void fetchNextCustomerId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError);
@@ -72,4 +92,110 @@ public interface CustomerRepository {
                                Map<String, Object> updates,
                                Runnable onSuccess,
                                Consumer<Exception> onError);
+
+    /**
+     * Applies field updates to several customers, keyed by customer ID, in as few batches as
+     * possible. Succeeds at once when there is nothing to update.
+     */
+    void updateCustomers(String businessId,
+                         Map<String, Map<String, Object>> updatesById,
+                         Runnable onSuccess,
+                         Consumer<Exception> onError);
+
+    default CompletableFuture<QuerySnapshot> fetchCustomersAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchCustomers(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchCustomerPageAsync(String businessId,
+                                                                    Boolean status,
+                                                                    String orderField,
+                                                                    DocumentSnapshot startAfter,
+                                                                    int limit) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchCustomerPage(businessId, status, orderField, startAfter, limit, onSuccess, onError));
+    }
+
+    default CompletableFuture<DocumentSnapshot> fetchCustomerAsync(String businessId, String customerId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchCustomer(businessId, customerId, onSuccess, onError));
+    }
+
+    default CompletableFuture<String> fetchNextCustomerIdAsync(String businessId, String businessPrefix) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchNextCustomerId(businessId, businessPrefix, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> saveCustomerAsync(String businessId,
+                                                      String customerId,
+                                                      Map<String, Object> customerData) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                saveCustomer(businessId, customerId, customerData, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> deactivateCustomerAsync(String businessId, String customerId) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                deactivateCustomer(businessId, customerId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> removeCustomerShiftAssignmentAsync(String businessId,
+                                                                       String customerId,
+                                                                       String shiftId,
+                                                                       String seat,
+                                                                       Timestamp shiftStart,
+                                                                       Timestamp shiftEnd) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                removeCustomerShiftAssignment(businessId, customerId, shiftId, seat, shiftStart, shiftEnd, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> updateCustomerAfterPaymentAsync(String businessId,
+                                                                    String customerId,
+                                                                    String paymentRate,
+                                                                    String lastPaymentDate) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                updateCustomerAfterPayment(businessId, customerId, paymentRate, lastPaymentDate, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> appendShiftAssignmentAsync(String businessId,
+                                                               String customerId,
+                                                               String shiftId,
+                                                               String seat,
+                                                               Timestamp shiftStart,
+                                                               Timestamp shiftEnd,
+                                                               String paymentRate,
+                                                               String lastPaymentDate) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                appendShiftAssignment(businessId, customerId, shiftId, seat, shiftStart, shiftEnd, paymentRate, lastPaymentDate, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> updateRenewedSubscriptionAsync(String businessId,
+                                                                   String customerId,
+                                                                   List<Timestamp> newSubscriptionEndDates,
+                                                                   String paymentRate) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                updateRenewedSubscription(businessId, customerId, newSubscriptionEndDates, paymentRate, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> replaceCurrentShiftAssignmentsAsync(String businessId,
+                                                                        String customerId,
+                                                                        List<String> shiftIds,
+                                                                        List<String> seats,
+                                                                        List<Timestamp> shiftStarts,
+                                                                        List<Timestamp> shiftEnds,
+                                                                        String paymentRate,
+                                                                        String lastPaymentDate) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                replaceCurrentShiftAssignments(businessId, customerId, shiftIds, seats, shiftStarts, shiftEnds, paymentRate, lastPaymentDate, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> updateCustomerProfileAsync(String businessId,
+                                                               String customerId,
+                                                               Map<String, Object> updates) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                updateCustomerProfile(businessId, customerId, updates, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> updateCustomersAsync(String businessId,
+                                                         Map<String, Map<String, Object>> updatesById) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                updateCustomers(businessId, updatesById, onSuccess, onError));
+    }
 }
@@ -4,6 +4,7 @@ import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface DeviceRepository {
@@ -16,4 +17,17 @@ public interface DeviceRepository {
                       Map<String, Object> updates,
                       Runnable onSuccess,
                       Consumer<Exception> onError);
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchDevicesAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchDevices(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<DocumentSnapshot> fetchDeviceAsync(String businessId, String deviceId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchDevice(businessId, deviceId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> updateDeviceAsync(String businessId, String deviceId, Map<String, Object> updates) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                updateDevice(businessId, deviceId, updates, onSuccess, onError));
+    }
 }
@@ -1,15 +1,18 @@
 package com.sentri.access_control.repositories;
 
 import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.AggregateSource;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.Source;
 import com.google.firebase.firestore.WriteBatch;
 import com.sentri.access_control.data.FirestorePaths;
 import com.sentri.access_control.models.BusinessConfig;
 
 import java.util.ArrayList;
-import java.util.Calendar;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.List;
@@ -18,37 +21,83 @@ import java.util.function.Consumer;
 
 public class FirestoreBusinessRepository implements BusinessRepository {
     private final FirebaseFirestore db;
+    private final BusinessConfigCache configCache;
 
     public FirestoreBusinessRepository(FirebaseFirestore db) {
         this.db = db;
+        this.configCache = BusinessConfigCache.getInstance(db);
     }
 
     @Override
     public void fetchBusinessPrefix(String businessId, Consumer<String> onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .get()
-                .addOnSuccessListener(doc -> onSuccess.accept(doc.getString(FirestorePaths.FIELD_BUSINESS_PREFIX)))
-                .addOnFailureListener(onError::accept);
+        configCache.getBusinessPrefix(businessId, onSuccess, onError);
     }
 
     @Override
     public void fetchBusinessConfig(String businessId, Consumer<BusinessConfig> onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .get()
-                .addOnSuccessListener(doc -> onSuccess.accept(parseBusinessConfig(doc)))
-                .addOnFailureListener(onError::accept);
+        configCache.getConfig(businessId, onSuccess, onError);
     }
 
     @Override
     public void fetchActiveCustomers(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .collection(FirestorePaths.SUB_CUSTOMERS)
-                .whereEqualTo("customer_status", true)
+        activeCustomers(businessId)
                 .get()
                 .addOnSuccessListener(snap -> onSuccess.accept(snap.getDocuments()))
                 .addOnFailureListener(onError::accept);
     }
 
+    @Override
+    public void fetchCachedActiveCustomers(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        activeCustomers(businessId)
+                .get(Source.CACHE)
+                .addOnSuccessListener(snap -> onSuccess.accept(snap.getDocuments()))
+                .addOnFailureListener(onError::accept);
+    }
+
+    @Override
+    public ListenerRegistration listenActiveCustomers(String businessId, Consumer<QuerySnapshot> onChange, Consumer<Exception> onError) {
+        return activeCustomers(businessId)
+                .addSnapshotListener((snapshot, error) -> {
+                    if (error != null) {
+                        onError.accept(error);
+                        return;
+                    }
+                    if (snapshot != null) {
+                        onChange.accept(snapshot);
+                    }
+                });
+    }
+
+    @Override
+    public void countActiveCustomers(String businessId, Consumer<Long> onSuccess, Consumer<Exception> onError) {
+        count(activeCustomers(businessId), onSuccess, onError);
+    }
+
+    @Override
+    public void countActiveCustomersCreatedSince(String businessId,
+                                                 long sinceMs,
+                                                 Consumer<Long> onSuccess,
+                                                 Consumer<Exception> onError) {
+        count(
+                activeCustomers(businessId).whereGreaterThanOrEqualTo(FirestorePaths.FIELD_CREATED_AT, new Timestamp(new Date(sinceMs))),
+                onSuccess,
+                onError
+        );
+    }
+
+    private Query activeCustomers(String businessId) {
+        return FirestorePaths.business(db, businessId)
+                .collection(FirestorePaths.SUB_CUSTOMERS)
+                .whereEqualTo("customer_status", true);
+    }
+
+    private static void count(Query query, Consumer<Long> onSuccess, Consumer<Exception> onError) {
+        query.count()
+                .get(AggregateSource.SERVER)
+                .addOnSuccessListener(snapshot -> onSuccess.accept(snapshot.getCount()))
+                .addOnFailureListener(onError::accept);
+    }
+
     @Override
     public void fetchNextBusinessId(int year, Consumer<String> onSuccess, Consumer<Exception> onError) {
         String prefix = "business_id_" + year + "_";
@@ -110,13 +159,6 @@ public class FirestoreBusinessRepository implements BusinessRepository {
                 });
     }
 
-    private BusinessConfig parseBusinessConfig(DocumentSnapshot doc) {
-        int openHour = readHourField(doc.get("business_open_time"), 0);
-        int closeHour = readHourField(doc.get("business_close_time"), 24);
-        int maxSeats = readInt(doc, "business_max_seats", 10);
-        return new BusinessConfig(openHour, closeHour, maxSeats);
-    }
-
     private String generateNextBusinessId(String prefix, QuerySnapshot snapshot) {
         int maxId = 0;
         for (DocumentSnapshot doc : snapshot.getDocuments()) {
@@ -134,59 +176,4 @@ public class FirestoreBusinessRepository implements BusinessRepository {
         }
         return prefix + (maxId + 1);
     }
-
-    private int readInt(DocumentSnapshot doc, String fieldName, int defaultValue) {
-        Object raw = doc.get(fieldName);
-        if (raw instanceof Number) {
-            return ((Number) raw).intValue();
-        }
-        if (raw instanceof String) {
-            try {
-                return Integer.parseInt(((String) raw).trim());
-            } catch (NumberFormatException ignored) {
-            }
-        }
-        return defaultValue;
-    }
-
-    private int readHourField(Object raw, int defaultValue) {
-        if (raw instanceof Timestamp) {
-            return extractHour(((Timestamp) raw).toDate(), defaultValue);
-        }
-        if (raw instanceof Date) {
-            return extractHour((Date) raw, defaultValue);
-        }
-        if (raw instanceof Number) {
-            return ((Number) raw).intValue();
-        }
-        if (raw instanceof String) {
-            String text = ((String) raw).trim();
-            if (text.isEmpty()) {
-                return defaultValue;
-            }
-            if (text.contains(":")) {
-                String[] parts = text.split(":");
-                if (parts.length > 0) {
-                    try {
-                        return Integer.parseInt(parts[0].trim());
-                    } catch (NumberFormatException ignored) {
-                    }
-                }
-            }
-            try {
-                return Integer.parseInt(text);
-            } catch (NumberFormatException ignored) {
-            }
-        }
-        return defaultValue;
-    }
-
-    private int extractHour(Date date, int defaultValue) {
-        if (date == null) {
-            return defaultValue;
-        }
-        Calendar calendar = Calendar.getInstance();
-        calendar.setTime(date);
-        return calendar.get(Calendar.HOUR_OF_DAY);
-    }
 }
@@ -70,7 +70,7 @@ public class FirestoreCardRepository implements CardRepository {
                 FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp()
         );
 
-        commitBatch(batch, onSuccess, onError);
+        commitBatch(businessId, batch, onSuccess, onError);
     }
 
     @Override
@@ -116,7 +116,7 @@ public class FirestoreCardRepository implements CardRepository {
                             );
                         }
 
-                        commitBatch(batch, onSuccess, onError);
+                        commitBatch(businessId, batch, onSuccess, onError);
                     }, onError);
                 })
                 .addOnFailureListener(onError::accept);
@@ -165,7 +165,7 @@ public class FirestoreCardRepository implements CardRepository {
                                             FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp()
                                     );
                                 }
-                                commitBatch(batch, onSuccess, onError);
+                                commitBatch(businessId, batch, onSuccess, onError);
                             },
                             onError
                     );
@@ -205,7 +205,7 @@ public class FirestoreCardRepository implements CardRepository {
             );
         }
 
-        commitBatch(batch, onSuccess, onError);
+        commitBatch(businessId, batch, onSuccess, onError);
     }
 
     private boolean validateCardAssignmentInput(String businessId,
@@ -255,9 +255,11 @@ public class FirestoreCardRepository implements CardRepository {
                 .document(cardDocId);
     }
 
-    private void commitBatch(WriteBatch batch, Runnable onSuccess, Consumer<Exception> onError) {
+    private void commitBatch(String businessId, WriteBatch batch, Runnable onSuccess, Consumer<Exception> onError) {
         batch.commit()
                 .addOnSuccessListener(ignored -> {
+                    // Card changes also rewrite the customer document.
+                    ReadCoalescer.getInstance().invalidateBusiness(businessId);
                     if (onSuccess != null) {
                         onSuccess.run();
                     }
@@ -12,12 +12,16 @@ import java.util.Map;
 import java.util.function.Consumer;
 
 public class FirestoreCommentRepository implements CommentRepository {
-    private static final String ENTITY_COM = "COM";
-
     private final FirebaseFirestore db;
+    private final IdCounterRepository idCounterRepository;
 
     public FirestoreCommentRepository(FirebaseFirestore db) {
+        this(db, new FirestoreIdCounterRepository(db));
+    }
+
+    public FirestoreCommentRepository(FirebaseFirestore db, IdCounterRepository idCounterRepository) {
         this.db = db;
+        this.idCounterRepository = idCounterRepository;
     }
 
     @Override
@@ -29,25 +33,12 @@ public class FirestoreCommentRepository implements CommentRepository {
                            String createdBy,
                            Runnable onSuccess,
                            Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .collection(FirestorePaths.SUB_COMMENTS)
-                .get()
-                .addOnSuccessListener(snapshot -> {
-                    String commentId = FirestoreIdGenerator.generateNextId(
-                            businessPrefix,
-                            ENTITY_COM,
-                            "comment_id",
-                            snapshot
-                    );
-
-                    Map<String, Object> comment = new HashMap<>();
-                    comment.put("comment_business_id", businessId);
-                    comment.put("comment_customer_id", customerId);
-                    comment.put("comment_entity_type", entityType);
-                    comment.put("comment_text", text);
-                    comment.put("comment_id", commentId);
-                    comment.put(FirestorePaths.FIELD_CREATED_AT, FieldValue.serverTimestamp());
-                    comment.put("created_by", createdBy);
+        idCounterRepository.allocateNextId(
+                businessId,
+                businessPrefix,
+                FirestoreIdGenerator.ENTITY_COMMENT,
+                commentId -> {
+                    Map<String, Object> comment = buildCommentData(commentId, businessId, customerId, entityType, text, createdBy);
 
                     FirestorePaths.business(db, businessId)
                             .collection(FirestorePaths.SUB_COMMENTS)
@@ -63,12 +54,13 @@ public class FirestoreCommentRepository implements CommentRepository {
                                     onError.accept(e);
                                 }
                             });
-                })
-                .addOnFailureListener(e -> {
+                },
+                e -> {
                     if (onError != null) {
                         onError.accept(e);
                     }
-                });
+                }
+        );
     }
 
     @Override
@@ -105,6 +97,26 @@ public class FirestoreCommentRepository implements CommentRepository {
                 .addOnFailureListener(onError::accept);
     }
 
+    /**
+     * Builds the comment document payload; shared with batched writers so the schema stays in one place.
+     */
+    public static Map<String, Object> buildCommentData(String commentId,
+                                                       String businessId,
+                                                       String customerId,
+                                                       String entityType,
+                                                       String text,
+                                                       String createdBy) {
+        Map<String, Object> comment = new HashMap<>();
+        comment.put("comment_business_id", businessId);
+        comment.put("comment_customer_id", customerId);
+        comment.put("comment_entity_type", entityType);
+        comment.put("comment_text", text);
+        comment.put("comment_id", commentId);
+        comment.put(FirestorePaths.FIELD_CREATED_AT, FieldValue.serverTimestamp());
+        comment.put("created_by", createdBy);
+        return comment;
+    }
+
     private Query baseCommentQuery(String businessId, int limit) {
         Query query = FirestorePaths.business(db, businessId)
                 .collection(FirestorePaths.SUB_COMMENTS)
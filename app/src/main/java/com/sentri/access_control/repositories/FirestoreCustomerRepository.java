@@ -1,13 +1,19 @@
 package com.sentri.access_control.repositories;
 
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.CollectionReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
 import com.google.firebase.Timestamp;
 import com.sentri.access_control.data.FirestorePaths;
 import com.sentri.access_control.utils.FirestoreIdGenerator;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -15,10 +21,19 @@ import java.util.Map;
 import java.util.function.Consumer;
 
 public class FirestoreCustomerRepository implements CustomerRepository {
+    // Firestore allows 500 writes per batch.
+    private static final int MAX_BATCH_WRITES = 500;
+
     private final FirebaseFirestore db;
+    private final IdCounterRepository idCounterRepository;
 
     public FirestoreCustomerRepository(FirebaseFirestore db) {
+        this(db, new FirestoreIdCounterRepository(db));
+    }
+
+    public FirestoreCustomerRepository(FirebaseFirestore db, IdCounterRepository idCounterRepository) {
         this.db = db;
+        this.idCounterRepository = idCounterRepository;
     }
 
     @Override
@@ -30,6 +45,27 @@ public class FirestoreCustomerRepository implements CustomerRepository {
                 .addOnFailureListener(onError::accept);
     }
 
+    @Override
+    public void fetchCustomerPage(String businessId,
+                                  Boolean status,
+                                  String orderField,
+                                  DocumentSnapshot startAfter,
+                                  int limit,
+                                  Consumer<QuerySnapshot> onSuccess,
+                                  Consumer<Exception> onError) {
+        Query query = FirestorePaths.business(db, businessId).collection(FirestorePaths.SUB_CUSTOMERS);
+        if (status != null) {
+            query = query.whereEqualTo("customer_status", status);
+        }
+        query = query.orderBy(orderField).limit(limit);
+        if (startAfter != null) {
+            query = query.startAfter(startAfter);
+        }
+        query.get()
+                .addOnSuccessListener(onSuccess::accept)
+                .addOnFailureListener(onError::accept);
+    }
+
     @Override
     public void fetchCustomer(String businessId, String customerId, Consumer<DocumentSnapshot> onSuccess, Consumer<Exception> onError) {
         FirestorePaths.business(db, businessId)
@@ -42,13 +78,13 @@ public class FirestoreCustomerRepository implements CustomerRepository {
 
     @Override
     public void fetchNextCustomerId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .collection(FirestorePaths.SUB_CUSTOMERS)
-                .get()
-                .addOnSuccessListener(snapshot -> onSuccess.accept(
-                        FirestoreIdGenerator.generateNextCustomerId(businessPrefix, snapshot)
-                ))
-                .addOnFailureListener(onError::accept);
+        idCounterRepository.allocateNextId(
+                businessId,
+                businessPrefix,
+                FirestoreIdGenerator.ENTITY_CUSTOMER,
+                onSuccess,
+                onError
+        );
     }
 
     @Override
@@ -298,4 +334,42 @@ public class FirestoreCustomerRepository implements CustomerRepository {
                     }
                 });
     }
+
+    @Override
+    public void updateCustomers(String businessId,
+                                Map<String, Map<String, Object>> updatesById,
+                                Runnable onSuccess,
+                                Consumer<Exception> onError) {
+        CollectionReference customers = FirestorePaths.business(db, businessId).collection(FirestorePaths.SUB_CUSTOMERS);
+        List<Task<Void>> commits = new ArrayList<>();
+        WriteBatch batch = null;
+        int writes = 0;
+        for (Map.Entry<String, Map<String, Object>> entry : updatesById.entrySet()) {
+            if (batch == null) {
+                batch = db.batch();
+            }
+            Map<String, Object> updates = new HashMap<>(entry.getValue());
+            updates.put(FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+            batch.update(customers.document(entry.getKey()), updates);
+            if (++writes == MAX_BATCH_WRITES) {
+                commits.add(batch.commit());
+                batch = null;
+                writes = 0;
+            }
+        }
+        if (batch != null) {
+            commits.add(batch.commit());
+        }
+        Tasks.whenAll(commits)
+                .addOnSuccessListener(ignored -> {
+                    if (onSuccess != null) {
+                        onSuccess.run();
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    if (onError != null) {
+                        onError.accept(e);
+                    }
+                });
+    }
 }
@@ -0,0 +1,204 @@
+package com.sentri.access_control.repositories;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class FirestoreIdCounterRepository implements IdCounterRepository {
+    private static final Map<String, CounterSource> SOURCES = new LinkedHashMap<>();
+
+    static {
+        SOURCES.put(FirestoreIdGenerator.ENTITY_PAY, new CounterSource(FirestorePaths.SUB_PAYMENTS, "payment_id"));
+        SOURCES.put(FirestoreIdGenerator.ENTITY_SHIFT, new CounterSource(FirestorePaths.SUB_SHIFTS, "shift_id"));
+        SOURCES.put(FirestoreIdGenerator.ENTITY_LEAVES, new CounterSource(FirestorePaths.SUB_LEAVES, "leaves_id"));
+        SOURCES.put(FirestoreIdGenerator.ENTITY_COMMENT, new CounterSource(FirestorePaths.SUB_COMMENTS, "comment_id"));
+        SOURCES.put(FirestoreIdGenerator.ENTITY_CUSTOMER, new CounterSource(FirestorePaths.SUB_CUSTOMERS, "customer_id"));
+    }
+
+    private final FirebaseFirestore db;
+
+    public FirestoreIdCounterRepository(FirebaseFirestore db) {
+        this.db = db;
+    }
+
+    @Override
+    public void allocateNextId(String businessId,
+                               String businessPrefix,
+                               String entityType,
+                               Consumer<String> onSuccess,
+                               Consumer<Exception> onError) {
+        reserveIdBlock(businessId, businessPrefix, entityType, 1, lease -> onSuccess.accept(lease.next()), onError);
+    }
+
+    @Override
+    public void reserveIdBlock(String businessId,
+                               String businessPrefix,
+                               String entityType,
+                               int count,
+                               Consumer<IdLease> onSuccess,
+                               Consumer<Exception> onError) {
+        CounterSource source = SOURCES.get(entityType);
+        if (source == null) {
+            onError.accept(new IllegalArgumentException("Unknown entity type: " + entityType));
+            return;
+        }
+        if (count <= 0) {
+            onError.accept(new IllegalArgumentException("ID block size must be positive"));
+            return;
+        }
+
+        int year = FirestoreIdGenerator.getCurrentYear();
+        String idPrefix = FirestoreIdGenerator.buildIdPrefix(businessPrefix, entityType, year);
+        String counterKey = FirestoreIdGenerator.buildCounterKey(entityType, year);
+        DocumentReference counterRef = FirestorePaths.counter(db, businessId, counterKey);
+
+        // Fast path: counter already exists, so a single transactional read/write is enough.
+        incrementCounter(counterRef, null, count)
+                .addOnSuccessListener(lastValue -> {
+                    if (lastValue != null) {
+                        onSuccess.accept(new IdLease(businessId, counterKey, idPrefix, lastValue - count + 1, lastValue));
+                        return;
+                    }
+                    // Counter missing: seed it once from the existing documents, then increment.
+                    scanMaxSuffix(businessId, source, idPrefix)
+                            .onSuccessTask(maxSuffix -> incrementCounter(counterRef, maxSuffix, count))
+                            .addOnSuccessListener(seededLast -> onSuccess.accept(
+                                    new IdLease(businessId, counterKey, idPrefix, seededLast - count + 1, seededLast)
+                            ))
+                            .addOnFailureListener(onError::accept);
+                })
+                .addOnFailureListener(onError::accept);
+    }
+
+    @Override
+    public void releaseUnusedIds(IdLease lease, Consumer<Boolean> onSuccess, Consumer<Exception> onError) {
+        if (lease == null || !lease.hasNext()) {
+            onSuccess.accept(false);
+            return;
+        }
+
+        long firstUnused = lease.getNextValue();
+        long lastValue = lease.getLastValue();
+        lease.exhaust();
+
+        DocumentReference counterRef = FirestorePaths.counter(db, lease.getBusinessId(), lease.getCounterKey());
+        db.runTransaction(transaction -> {
+                    DocumentSnapshot counterDoc = transaction.get(counterRef);
+                    Long current = counterDoc.getLong(FirestorePaths.FIELD_COUNTER_VALUE);
+                    if (current == null || current != lastValue) {
+                        // Someone allocated past this lease; the unused IDs are simply skipped.
+                        return false;
+                    }
+                    transaction.set(counterRef, buildCounterData(firstUnused - 1));
+                    return true;
+                })
+                .addOnSuccessListener(onSuccess::accept)
+                .addOnFailureListener(onError::accept);
+    }
+
+    @Override
+    public void backfillCounters(String businessId,
+                                 String businessPrefix,
+                                 Consumer<Map<String, Long>> onSuccess,
+                                 Consumer<Exception> onError) {
+        int year = FirestoreIdGenerator.getCurrentYear();
+        List<String> counterKeys = new ArrayList<>();
+        List<Task<Long>> tasks = new ArrayList<>();
+
+        for (Map.Entry<String, CounterSource> entry : SOURCES.entrySet()) {
+            String entityType = entry.getKey();
+            String idPrefix = FirestoreIdGenerator.buildIdPrefix(businessPrefix, entityType, year);
+            String counterKey = FirestoreIdGenerator.buildCounterKey(entityType, year);
+            DocumentReference counterRef = FirestorePaths.counter(db, businessId, counterKey);
+
+            counterKeys.add(counterKey);
+            tasks.add(scanMaxSuffix(businessId, entry.getValue(), idPrefix)
+                    .onSuccessTask(maxSuffix -> seedCounterIfMissing(counterRef, maxSuffix)));
+        }
+
+        Tasks.whenAllSuccess(tasks)
+                .addOnSuccessListener(results -> {
+                    Map<String, Long> seeded = new LinkedHashMap<>();
+                    for (int i = 0; i < results.size(); i++) {
+                        seeded.put(counterKeys.get(i), (Long) results.get(i));
+                    }
+                    onSuccess.accept(seeded);
+                })
+                .addOnFailureListener(onError::accept);
+    }
+
+    /**
+     * Advances the counter by {@code count} inside a transaction and returns the last reserved value.
+     * When the counter does not exist it is created from {@code seed}, or null is returned if no seed is given.
+     */
+    private Task<Long> incrementCounter(DocumentReference counterRef, Long seed, int count) {
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot counterDoc = transaction.get(counterRef);
+            Long current = counterDoc.exists() ? counterDoc.getLong(FirestorePaths.FIELD_COUNTER_VALUE) : null;
+            if (current == null) {
+                if (seed == null) {
+                    return null;
+                }
+                current = seed;
+            }
+            long last = current + count;
+            transaction.set(counterRef, buildCounterData(last));
+            return last;
+        });
+    }
+
+    private Task<Long> seedCounterIfMissing(DocumentReference counterRef, long maxSuffix) {
+        return db.runTransaction(transaction -> {
+            DocumentSnapshot counterDoc = transaction.get(counterRef);
+            Long current = counterDoc.exists() ? counterDoc.getLong(FirestorePaths.FIELD_COUNTER_VALUE) : null;
+            if (current != null) {
+                return current;
+            }
+            transaction.set(counterRef, buildCounterData(maxSuffix));
+            return maxSuffix;
+        });
+    }
+
+    /**
+     * Reads only this year's IDs (prefix range on the ID field) to find the highest suffix in use.
+     */
+    private Task<Long> scanMaxSuffix(String businessId, CounterSource source, String idPrefix) {
+        return FirestorePaths.business(db, businessId)
+                .collection(source.collection)
+                .whereGreaterThanOrEqualTo(source.idField, idPrefix)
+                .whereLessThan(source.idField, idPrefix + "\uf8ff")
+                .get()
+                .onSuccessTask(snapshot -> Tasks.forResult(
+                        FirestoreIdGenerator.findMaxSuffix(idPrefix, source.idField, snapshot)
+                ));
+    }
+
+    private Map<String, Object> buildCounterData(long value) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(FirestorePaths.FIELD_COUNTER_VALUE, value);
+        data.put(FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        return data;
+    }
+
+    private static final class CounterSource {
+        final String collection;
+        final String idField;
+
+        CounterSource(String collection, String idField) {
+            this.collection = collection;
+            this.idField = idField;
+        }
+    }
+}
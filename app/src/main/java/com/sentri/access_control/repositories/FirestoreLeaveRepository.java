@@ -20,23 +20,27 @@ import java.util.Map;
 import java.util.function.Consumer;
 
 public class FirestoreLeaveRepository implements LeaveRepository {
-    private static final String ENTITY_LEAVES = "LEAVES";
-
     private final FirebaseFirestore db;
+    private final IdCounterRepository idCounterRepository;
 
     public FirestoreLeaveRepository(FirebaseFirestore db) {
+        this(db, new FirestoreIdCounterRepository(db));
+    }
+
+    public FirestoreLeaveRepository(FirebaseFirestore db, IdCounterRepository idCounterRepository) {
         this.db = db;
+        this.idCounterRepository = idCounterRepository;
     }
 
     @Override
     public void fetchNextLeaveId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .collection(FirestorePaths.SUB_LEAVES)
-                .get()
-                .addOnSuccessListener(snapshot -> onSuccess.accept(
-                        FirestoreIdGenerator.generateNextId(businessPrefix, ENTITY_LEAVES, "leaves_id", snapshot)
-                ))
-                .addOnFailureListener(onError::accept);
+        idCounterRepository.allocateNextId(
+                businessId,
+                businessPrefix,
+                FirestoreIdGenerator.ENTITY_LEAVES,
+                onSuccess,
+                onError
+        );
     }
 
     @Override
@@ -93,8 +97,8 @@ public class FirestoreLeaveRepository implements LeaveRepository {
                         }
                         batch.update(
                                 shiftDoc.getReference(),
-                                "shift_end_time",
-                                addDays(oldShiftEnd, leaveDays)
+                                "shift_end_time", addDays(oldShiftEnd, leaveDays),
+                                FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp()
                         );
                     }
 
@@ -114,6 +118,7 @@ public class FirestoreLeaveRepository implements LeaveRepository {
 
                     batch.commit()
                             .addOnSuccessListener(ignored -> {
+                                ReadCoalescer.getInstance().invalidateBusiness(businessId);
                                 if (onSuccess != null) {
                                     onSuccess.run();
                                 }
@@ -1,49 +1,63 @@
 package com.sentri.access_control.repositories;
 
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.Tasks;
 import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.google.firebase.firestore.WriteBatch;
 import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.data.RevenueRollups;
+import com.sentri.access_control.models.DailyRevenue;
 import com.sentri.access_control.utils.FirestoreIdGenerator;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 public class FirestorePaymentRepository implements PaymentRepository {
-    private static final String ENTITY_PAY = "PAY";
+    // Firestore allows 500 writes per batch.
+    private static final int MAX_BATCH_WRITES = 500;
 
     private final FirebaseFirestore db;
+    private final IdCounterRepository idCounterRepository;
 
     public FirestorePaymentRepository(FirebaseFirestore db) {
+        this(db, new FirestoreIdCounterRepository(db));
+    }
+
+    public FirestorePaymentRepository(FirebaseFirestore db, IdCounterRepository idCounterRepository) {
         this.db = db;
+        this.idCounterRepository = idCounterRepository;
     }
 
     @Override
     public void fetchBusinessPrefix(String businessId, Consumer<String> onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .get()
-                .addOnSuccessListener(doc -> onSuccess.accept(doc.getString(FirestorePaths.FIELD_BUSINESS_PREFIX)))
-                .addOnFailureListener(onError::accept);
+        BusinessConfigCache.getInstance(db).getBusinessPrefix(businessId, onSuccess, onError);
     }
 
     @Override
     public void fetchNextPaymentId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .collection(FirestorePaths.SUB_PAYMENTS)
-                .get()
-                .addOnSuccessListener(snapshot -> onSuccess.accept(
-                        FirestoreIdGenerator.generateNextId(businessPrefix, ENTITY_PAY, "payment_id", snapshot)
-                ))
-                .addOnFailureListener(onError::accept);
+        idCounterRepository.allocateNextId(
+                businessId,
+                businessPrefix,
+                FirestoreIdGenerator.ENTITY_PAY,
+                onSuccess,
+                onError
+        );
     }
 
     @Override
     public void createPayment(String businessId, String paymentId, Map<String, Object> paymentData, Runnable onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .collection(FirestorePaths.SUB_PAYMENTS)
-                .document(paymentId)
-                .set(paymentData)
+        DocumentReference businessRef = FirestorePaths.business(db, businessId);
+        WriteBatch batch = db.batch();
+        batch.set(businessRef.collection(FirestorePaths.SUB_PAYMENTS).document(paymentId), paymentData);
+        RevenueRollups.addPayment(batch, businessRef, paymentData, System.currentTimeMillis());
+        batch.commit()
                 .addOnSuccessListener(ignored -> {
                     if (onSuccess != null) {
                         onSuccess.run();
@@ -87,4 +101,78 @@ public class FirestorePaymentRepository implements PaymentRepository {
                 .addOnSuccessListener(onSuccess::accept)
                 .addOnFailureListener(onError::accept);
     }
+
+    @Override
+    public void fetchDailyRevenue(String businessId,
+                                  int fromDay,
+                                  int toDay,
+                                  Consumer<List<DailyRevenue>> onSuccess,
+                                  Consumer<Exception> onError) {
+        dailyRevenue(businessId, fromDay, toDay)
+                .get()
+                .addOnSuccessListener(snapshot -> {
+                    List<DailyRevenue> shards = new ArrayList<>(snapshot.size());
+                    for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                        Map<String, Object> data = doc.getData();
+                        if (data != null) {
+                            shards.add(RevenueRollups.decode(data));
+                        }
+                    }
+                    onSuccess.accept(RevenueRollups.mergeByDay(shards));
+                })
+                .addOnFailureListener(onError::accept);
+    }
+
+    private Query dailyRevenue(String businessId, int fromDay, int toDay) {
+        return FirestorePaths.business(db, businessId)
+                .collection(FirestorePaths.SUB_REVENUE_DAILY)
+                .whereGreaterThanOrEqualTo(RevenueRollups.FIELD_DAY, fromDay)
+                .whereLessThanOrEqualTo(RevenueRollups.FIELD_DAY, toDay);
+    }
+
+    @Override
+    public void fetchPaymentsPage(String businessId,
+                                  DocumentSnapshot lastDoc,
+                                  int pageSize,
+                                  Consumer<QuerySnapshot> onSuccess,
+                                  Consumer<Exception> onError) {
+        Query query = FirestorePaths.business(db, businessId)
+                .collection(FirestorePaths.SUB_PAYMENTS)
+                .orderBy(FirestorePaths.FIELD_CREATED_AT, Query.Direction.ASCENDING)
+                .limit(pageSize);
+
+        if (lastDoc != null) {
+            query = query.startAfter(lastDoc);
+        }
+
+        query.get()
+                .addOnSuccessListener(onSuccess::accept)
+                .addOnFailureListener(onError::accept);
+    }
+
+    @Override
+    public void replaceDailyRevenue(String businessId, List<DailyRevenue> totals, Runnable onSuccess, Consumer<Exception> onError) {
+        DocumentReference businessRef = FirestorePaths.business(db, businessId);
+        List<Task<Void>> commits = new ArrayList<>();
+        int daysPerBatch = MAX_BATCH_WRITES / RevenueRollups.SHARD_COUNT;
+        for (int start = 0; start < totals.size(); start += daysPerBatch) {
+            WriteBatch batch = db.batch();
+            for (DailyRevenue day : totals.subList(start, Math.min(totals.size(), start + daysPerBatch))) {
+                RevenueRollups.setTotals(batch, businessRef, day);
+            }
+            commits.add(batch.commit());
+        }
+        Tasks.whenAll(commits)
+                .onSuccessTask(ignored -> businessRef.update(FirestorePaths.FIELD_REVENUE_ROLLUPS_FROM, 0))
+                .addOnSuccessListener(ignored -> {
+                    if (onSuccess != null) {
+                        onSuccess.run();
+                    }
+                })
+                .addOnFailureListener(e -> {
+                    if (onError != null) {
+                        onError.accept(e);
+                    }
+                });
+    }
 }
@@ -6,7 +6,10 @@ import com.google.firebase.Timestamp;
 import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldPath;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.firestore.WriteBatch;
 import com.sentri.access_control.data.FirestorePaths;
@@ -14,15 +17,22 @@ import com.sentri.access_control.utils.FirestoreIdGenerator;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 public class FirestoreShiftRepository implements ShiftRepository {
     private final FirebaseFirestore db;
+    private final IdCounterRepository idCounterRepository;
 
     public FirestoreShiftRepository(FirebaseFirestore db) {
+        this(db, new FirestoreIdCounterRepository(db));
+    }
+
+    public FirestoreShiftRepository(FirebaseFirestore db, IdCounterRepository idCounterRepository) {
         this.db = db;
+        this.idCounterRepository = idCounterRepository;
     }
 
     @Override
@@ -44,6 +54,34 @@ public class FirestoreShiftRepository implements ShiftRepository {
                 .addOnFailureListener(onError::accept);
     }
 
+    @Override
+    public ListenerRegistration listenActiveShiftsInWindow(String businessId,
+                                                           long windowStartMs,
+                                                           Consumer<QuerySnapshot> onChange,
+                                                           Consumer<Exception> onError) {
+        return activeShiftsEndingAfter(businessId, windowStartMs)
+                .addSnapshotListener((snapshot, error) -> {
+                    if (error != null) {
+                        onError.accept(error);
+                        return;
+                    }
+                    if (snapshot != null) {
+                        onChange.accept(snapshot);
+                    }
+                });
+    }
+
+    private Query activeShiftsEndingAfter(String businessId, long windowStartMs) {
+        Query query = FirestorePaths.business(db, businessId)
+                .collection(FirestorePaths.SUB_SHIFTS)
+                .whereEqualTo("shift_status", true);
+        if (windowStartMs > 0) {
+            // Needs the (shift_status, shift_end_time) composite index.
+            query = query.whereGreaterThan("shift_end_time", new Timestamp(new Date(windowStartMs)));
+        }
+        return query;
+    }
+
     @Override
     public void fetchCustomerShiftIds(String businessId, String customerId, Consumer<List<String>> onSuccess, Consumer<Exception> onError) {
         FirestorePaths.business(db, businessId)
@@ -109,13 +147,13 @@ public class FirestoreShiftRepository implements ShiftRepository {
 
     @Override
     public void fetchNextShiftId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
-        FirestorePaths.business(db, businessId)
-                .collection(FirestorePaths.SUB_SHIFTS)
-                .get()
-                .addOnSuccessListener(snapshot -> onSuccess.accept(
-                        FirestoreIdGenerator.generateNextId(businessPrefix, "SHIFT", "shift_id", snapshot)
-                ))
-                .addOnFailureListener(onError::accept);
+        idCounterRepository.allocateNextId(
+                businessId,
+                businessPrefix,
+                FirestoreIdGenerator.ENTITY_SHIFT,
+                onSuccess,
+                onError
+        );
     }
 
     @Override
@@ -162,7 +200,8 @@ public class FirestoreShiftRepository implements ShiftRepository {
                     shiftRef,
                     "shift_end_time", newEnd,
                     "shift_payment_rate", paymentRate,
-                    "shift_status", true
+                    "shift_status", true,
+                    FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp()
             );
         }
 
@@ -191,7 +230,10 @@ public class FirestoreShiftRepository implements ShiftRepository {
         FirestorePaths.business(db, businessId)
                 .collection(FirestorePaths.SUB_SHIFTS)
                 .document(shiftId)
-                .update("shift_status", false)
+                .update(
+                        "shift_status", false,
+                        FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp()
+                )
                 .addOnSuccessListener(ignored -> {
                     if (onSuccess != null) {
                         onSuccess.run();
@@ -220,7 +262,11 @@ public class FirestoreShiftRepository implements ShiftRepository {
                 continue;
             }
             DocumentReference shiftRef = businessRef.collection(FirestorePaths.SUB_SHIFTS).document(shiftId);
-            batch.update(shiftRef, "shift_status", false);
+            batch.update(
+                    shiftRef,
+                    "shift_status", false,
+                    FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp()
+            );
         }
 
         batch.commit()
@@ -3,6 +3,7 @@ package com.sentri.access_control.repositories;
 import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
 
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface HistoryRepository {
@@ -23,4 +24,24 @@ public interface HistoryRepository {
                             int pageSize,
                             Consumer<QuerySnapshot> onSuccess,
                             Consumer<Exception> onError);
+
+    default CompletableFuture<QuerySnapshot> fetchPagedRecordsAsync(String businessId,
+                                                                    String collection,
+                                                                    String filterField,
+                                                                    String filterValue,
+                                                                    String orderField,
+                                                                    DocumentSnapshot lastDoc,
+                                                                    int pageSize) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchPagedRecords(businessId, collection, filterField, filterValue, orderField, lastDoc, pageSize, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchPagedCommentsAsync(String businessId,
+                                                                     String customerId,
+                                                                     String entityType,
+                                                                     DocumentSnapshot lastDoc,
+                                                                     int pageSize) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchPagedComments(businessId, customerId, entityType, lastDoc, pageSize, onSuccess, onError));
+    }
 }
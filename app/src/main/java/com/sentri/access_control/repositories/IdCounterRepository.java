@@ -0,0 +1,68 @@
+package com.sentri.access_control.repositories;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Allocates sequential entity IDs from per-business, per-entity, per-year counter documents
+ * stored under businessess/{businessId}/counters/{ENTITYTYPE_YEAR}.
+ */
+public interface IdCounterRepository {
+    /**
+     * Atomically increments the counter for the entity type and returns the resulting ID.
+     * A missing counter is seeded from the highest existing ID suffix before incrementing.
+     */
+    void allocateNextId(String businessId,
+                        String businessPrefix,
+                        String entityType,
+                        Consumer<String> onSuccess,
+                        Consumer<Exception> onError);
+
+    /**
+     * Reserves {@code count} sequential IDs in a single transaction. IDs are handed out locally from the lease.
+     */
+    void reserveIdBlock(String businessId,
+                        String businessPrefix,
+                        String entityType,
+                        int count,
+                        Consumer<IdLease> onSuccess,
+                        Consumer<Exception> onError);
+
+    /**
+     * Gives the unused tail of a lease back to the counter when nothing was allocated after it.
+     * Otherwise the unused IDs are skipped, leaving a gap in the sequence. Reports whether they were returned.
+     */
+    void releaseUnusedIds(IdLease lease, Consumer<Boolean> onSuccess, Consumer<Exception> onError);
+
+    /**
+     * One-time seeding of every entity counter for the current year from the existing max suffix.
+     * Counters that already exist are left untouched. Reports the seeded value per counter key.
+     */
+    void backfillCounters(String businessId,
+                          String businessPrefix,
+                          Consumer<Map<String, Long>> onSuccess,
+                          Consumer<Exception> onError);
+
+    default CompletableFuture<String> allocateNextIdAsync(String businessId, String businessPrefix, String entityType) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                allocateNextId(businessId, businessPrefix, entityType, onSuccess, onError));
+    }
+
+    default CompletableFuture<IdLease> reserveIdBlockAsync(String businessId,
+                                                           String businessPrefix,
+                                                           String entityType,
+                                                           int count) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                reserveIdBlock(businessId, businessPrefix, entityType, count, onSuccess, onError));
+    }
+
+    default CompletableFuture<Boolean> releaseUnusedIdsAsync(IdLease lease) {
+        return RepositoryFutures.of((onSuccess, onError) -> releaseUnusedIds(lease, onSuccess, onError));
+    }
+
+    default CompletableFuture<Map<String, Long>> backfillCountersAsync(String businessId, String businessPrefix) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                backfillCounters(businessId, businessPrefix, onSuccess, onError));
+    }
+}
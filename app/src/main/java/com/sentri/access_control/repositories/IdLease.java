@@ -0,0 +1,85 @@
+package com.sentri.access_control.repositories;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * A block of sequential IDs reserved from a counter document in one transaction and handed out locally.
+ * Not thread-safe; a lease is meant to be consumed by a single flow.
+ */
+public final class IdLease {
+    private final String businessId;
+    private final String counterKey;
+    private final String idPrefix;
+    private final long firstValue;
+    private final long lastValue;
+    private long nextValue;
+
+    public IdLease(String businessId, String counterKey, String idPrefix, long firstValue, long lastValue) {
+        this.businessId = businessId;
+        this.counterKey = counterKey;
+        this.idPrefix = idPrefix;
+        this.firstValue = firstValue;
+        this.lastValue = lastValue;
+        this.nextValue = firstValue;
+    }
+
+    public boolean hasNext() {
+        return nextValue <= lastValue;
+    }
+
+    public String next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("ID lease exhausted for " + counterKey);
+        }
+        return idPrefix + (nextValue++);
+    }
+
+    public List<String> next(int count) {
+        List<String> ids = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ids.add(next());
+        }
+        return ids;
+    }
+
+    public int remaining() {
+        return (int) Math.max(0L, lastValue - nextValue + 1);
+    }
+
+    /**
+     * Makes the whole block unused again, for when the writes that took its IDs failed, so
+     * {@link IdCounterRepository#releaseUnusedIds} can give it back.
+     */
+    public void rewind() {
+        nextValue = firstValue;
+    }
+
+    /**
+     * Marks the rest of the block as consumed so it cannot be handed out after a release attempt.
+     */
+    void exhaust() {
+        nextValue = lastValue + 1;
+    }
+
+    public String getBusinessId() {
+        return businessId;
+    }
+
+    public String getCounterKey() {
+        return counterKey;
+    }
+
+    public long getFirstValue() {
+        return firstValue;
+    }
+
+    public long getLastValue() {
+        return lastValue;
+    }
+
+    public long getNextValue() {
+        return nextValue;
+    }
+}
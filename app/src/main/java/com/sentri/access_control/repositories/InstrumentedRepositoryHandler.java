@@ -0,0 +1,246 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.Blob;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.GeoPoint;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Dynamic-proxy decorator behind {@link RepositoryMetrics#instrument}. Callback methods are timed
+ * from the call until onSuccess/onError fires; *Async methods until their future completes.
+ * Listeners are billed for every changed document on every snapshot, so their first snapshot is
+ * recorded as the call and each later one as a {@code .onChange} row with no latency, both
+ * counting only the documents that changed.
+ */
+final class InstrumentedRepositoryHandler implements InvocationHandler {
+    static final String CHANGE_SUFFIX = ".onChange";
+
+    private final RepositoryMetrics metrics;
+    private final Object delegate;
+    private final String repositoryName;
+    private final String screen;
+
+    InstrumentedRepositoryHandler(RepositoryMetrics metrics, Object delegate, String repositoryName, String screen) {
+        this.metrics = metrics;
+        this.delegate = delegate;
+        this.repositoryName = repositoryName;
+        this.screen = screen;
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class || !metrics.isEnabled()) {
+            return invokeDelegate(method, args);
+        }
+
+        String methodName = repositoryName + "." + method.getName();
+        long startNanos = System.nanoTime();
+
+        if (CompletableFuture.class.isAssignableFrom(method.getReturnType())) {
+            // Default *Async methods run on the delegate, so the callback method underneath is not counted twice.
+            CompletableFuture<?> future = (CompletableFuture<?>) invokeDelegate(method, args);
+            if (future == null) {
+                return null;
+            }
+            return future.whenComplete((value, throwable) -> record(methodName, startNanos, throwable != null, value));
+        }
+
+        Class<?>[] parameterTypes = method.getParameterTypes();
+        int count = parameterTypes.length;
+        if (count < 2 || args == null || parameterTypes[count - 1] != Consumer.class) {
+            return invokeDelegate(method, args);
+        }
+
+        boolean listener = method.getReturnType() == ListenerRegistration.class;
+        AtomicBoolean recorded = new AtomicBoolean(false);
+        Object[] wrappedArgs = args.clone();
+        Object onSuccess = args[count - 2];
+        if (parameterTypes[count - 2] == Runnable.class) {
+            Runnable original = (Runnable) onSuccess;
+            wrappedArgs[count - 2] = (Runnable) () -> {
+                if (recorded.compareAndSet(false, true)) {
+                    record(methodName, startNanos, false, null);
+                }
+                if (original != null) {
+                    original.run();
+                }
+            };
+        } else if (parameterTypes[count - 2] == Consumer.class) {
+            @SuppressWarnings("unchecked")
+            Consumer<Object> original = (Consumer<Object>) onSuccess;
+            wrappedArgs[count - 2] = (Consumer<Object>) value -> {
+                if (listener) {
+                    if (recorded.compareAndSet(false, true)) {
+                        recordChanges(methodName, startNanos, value);
+                    } else {
+                        recordChanges(methodName + CHANGE_SUFFIX, System.nanoTime(), value);
+                    }
+                } else if (recorded.compareAndSet(false, true)) {
+                    record(methodName, startNanos, false, value);
+                }
+                if (original != null) {
+                    original.accept(value);
+                }
+            };
+        } else {
+            return invokeDelegate(method, args);
+        }
+
+        @SuppressWarnings("unchecked")
+        Consumer<Exception> originalError = (Consumer<Exception>) args[count - 1];
+        wrappedArgs[count - 1] = (Consumer<Exception>) exception -> {
+            // A listener error ends the listener, so it is recorded even after snapshots.
+            if (recorded.compareAndSet(false, true) || listener) {
+                record(methodName, startNanos, true, null);
+            }
+            if (originalError != null) {
+                originalError.accept(exception);
+            }
+        };
+        return invokeDelegate(method, wrappedArgs);
+    }
+
+    private Object invokeDelegate(Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(delegate, args);
+        } catch (InvocationTargetException exception) {
+            throw exception.getCause() != null ? exception.getCause() : exception;
+        }
+    }
+
+    private void record(String methodName, long startNanos, boolean failed, Object result) {
+        long latency = System.nanoTime() - startNanos;
+        long bytes = metrics.isEstimatingBytes() ? estimateBytes(result) : 0L;
+        metrics.record(screen, methodName, latency, failed, countDocuments(result), bytes);
+    }
+
+    private void recordChanges(String methodName, long startNanos, Object result) {
+        if (!(result instanceof QuerySnapshot)) {
+            record(methodName, startNanos, false, result);
+            return;
+        }
+        long latency = System.nanoTime() - startNanos;
+        List<DocumentChange> changes = ((QuerySnapshot) result).getDocumentChanges();
+        long bytes = 0L;
+        if (metrics.isEstimatingBytes()) {
+            for (DocumentChange change : changes) {
+                bytes += documentBytes(change.getDocument());
+            }
+        }
+        metrics.record(screen, methodName, latency, false, changes.size(), bytes);
+    }
+
+    static int countDocuments(Object result) {
+        if (result instanceof QuerySnapshot) {
+            return ((QuerySnapshot) result).size();
+        }
+        if (result instanceof DocumentSnapshot) {
+            // A point read is billed even when the document does not exist.
+            return 1;
+        }
+        if (result instanceof Collection) {
+            // Repository lists hold one kind of element, so the first one decides.
+            Collection<?> items = (Collection<?>) result;
+            Iterator<?> iterator = items.iterator();
+            return iterator.hasNext() && iterator.next() instanceof DocumentSnapshot ? items.size() : 0;
+        }
+        return 0;
+    }
+
+    /**
+     * Approximates document storage size using Firestore's sizing rules (names + field values).
+     */
+    static long estimateBytes(Object result) {
+        if (result instanceof QuerySnapshot) {
+            long total = 0L;
+            for (DocumentSnapshot doc : ((QuerySnapshot) result).getDocuments()) {
+                total += documentBytes(doc);
+            }
+            return total;
+        }
+        if (result instanceof DocumentSnapshot) {
+            return documentBytes((DocumentSnapshot) result);
+        }
+        if (result instanceof Collection) {
+            long total = 0L;
+            for (Object item : (Collection<?>) result) {
+                if (item instanceof DocumentSnapshot) {
+                    total += documentBytes((DocumentSnapshot) item);
+                }
+            }
+            return total;
+        }
+        return 0L;
+    }
+
+    private static long documentBytes(DocumentSnapshot doc) {
+        long bytes = utf8Length(doc.getReference().getPath()) + 16;
+        Map<String, Object> data = doc.getData();
+        if (data != null) {
+            bytes += mapBytes(data);
+        }
+        return bytes;
+    }
+
+    private static long mapBytes(Map<?, ?> map) {
+        long bytes = 0L;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            bytes += utf8Length(String.valueOf(entry.getKey())) + 1;
+            bytes += valueBytes(entry.getValue());
+        }
+        return bytes;
+    }
+
+    private static long valueBytes(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 1L;
+        }
+        if (value instanceof String) {
+            return utf8Length((String) value) + 1;
+        }
+        if (value instanceof Number || value instanceof Timestamp || value instanceof Date) {
+            return 8L;
+        }
+        if (value instanceof GeoPoint) {
+            return 16L;
+        }
+        if (value instanceof Blob) {
+            return ((Blob) value).toBytes().length;
+        }
+        if (value instanceof DocumentReference) {
+            return utf8Length(((DocumentReference) value).getPath()) + 1;
+        }
+        if (value instanceof Map) {
+            return mapBytes((Map<?, ?>) value);
+        }
+        if (value instanceof Collection) {
+            long bytes = 0L;
+            for (Object item : (Collection<?>) value) {
+                bytes += valueBytes(item);
+            }
+            return bytes;
+        }
+        return 8L;
+    }
+
+    private static int utf8Length(String text) {
+        return text != null ? text.getBytes(StandardCharsets.UTF_8).length : 0;
+    }
+}
@@ -1,6 +1,7 @@
 package com.sentri.access_control.repositories;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface LeaveRepository {
@@ -9,4 +10,19 @@ public interface LeaveRepository {
     void createLeave(String businessId, String leaveId, Map<String, Object> leaveData, Runnable onSuccess, Consumer<Exception> onError);
 
     void applyLeaveAdjustments(String businessId, String customerId, int leaveDays, Runnable onSuccess, Consumer<Exception> onError);
+
+    default CompletableFuture<String> fetchNextLeaveIdAsync(String businessId, String businessPrefix) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchNextLeaveId(businessId, businessPrefix, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> createLeaveAsync(String businessId, String leaveId, Map<String, Object> leaveData) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                createLeave(businessId, leaveId, leaveData, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> applyLeaveAdjustmentsAsync(String businessId, String customerId, int leaveDays) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                applyLeaveAdjustments(businessId, customerId, leaveDays, onSuccess, onError));
+    }
 }
@@ -3,6 +3,7 @@ package com.sentri.access_control.repositories;
 import com.sentri.access_control.models.NotificationItem;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface NotificationRepository {
@@ -19,4 +20,23 @@ public interface NotificationRepository {
                                 int limit,
                                 Consumer<List<NotificationItem>> onSuccess,
                                 Consumer<Exception> onError);
+
+    default CompletableFuture<List<NotificationItem>> fetchBusinessNotificationsAsync(String businessId, int limit) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchBusinessNotifications(businessId, limit, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<NotificationItem>> fetchCustomerNotificationsAsync(String businessId,
+                                                                                      String customerId,
+                                                                                      int limit) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchCustomerNotifications(businessId, customerId, limit, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<NotificationItem>> fetchUserNotificationsAsync(String businessId,
+                                                                                  String userEmail,
+                                                                                  int limit) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchUserNotifications(businessId, userEmail, limit, onSuccess, onError));
+    }
 }
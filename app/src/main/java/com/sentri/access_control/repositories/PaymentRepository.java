@@ -1,9 +1,13 @@
 package com.sentri.access_control.repositories;
 
 import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.models.DailyRevenue;
 
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface PaymentRepository {
@@ -20,4 +24,75 @@ public interface PaymentRepository {
                               Timestamp endInclusive,
                               Consumer<QuerySnapshot> onSuccess,
                               Consumer<Exception> onError);
+
+    /**
+     * Daily revenue rollups from {@code fromDay} to {@code toDay} (yyyyMMdd, inclusive), shards
+     * merged and ordered by day. Days without payments are absent.
+     */
+    void fetchDailyRevenue(String businessId,
+                           int fromDay,
+                           int toDay,
+                           Consumer<List<DailyRevenue>> onSuccess,
+                           Consumer<Exception> onError);
+
+    /**
+     * All payments oldest first, one page at a time; pass the last document of a page to get the next.
+     */
+    void fetchPaymentsPage(String businessId,
+                           DocumentSnapshot lastDoc,
+                           int pageSize,
+                           Consumer<QuerySnapshot> onSuccess,
+                           Consumer<Exception> onError);
+
+    /**
+     * Overwrites the given days' rollups with absolute totals, then marks the business's rollups as
+     * complete from the first day on (see {@code BusinessConfig.getRevenueRollupsFromDay()}). Pass
+     * totals rebuilt from every payment.
+     */
+    void replaceDailyRevenue(String businessId, List<DailyRevenue> totals, Runnable onSuccess, Consumer<Exception> onError);
+
+    default CompletableFuture<String> fetchBusinessPrefixAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchBusinessPrefix(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<String> fetchNextPaymentIdAsync(String businessId, String businessPrefix) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchNextPaymentId(businessId, businessPrefix, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> createPaymentAsync(String businessId,
+                                                       String paymentId,
+                                                       Map<String, Object> paymentData) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                createPayment(businessId, paymentId, paymentData, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchCustomerPaymentsAsync(String businessId, String customerId) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchCustomerPayments(businessId, customerId, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchBusinessPaymentsAsync(String businessId,
+                                                                        Timestamp startInclusive,
+                                                                        Timestamp endInclusive) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchBusinessPayments(businessId, startInclusive, endInclusive, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<DailyRevenue>> fetchDailyRevenueAsync(String businessId, int fromDay, int toDay) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchDailyRevenue(businessId, fromDay, toDay, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchPaymentsPageAsync(String businessId,
+                                                                    DocumentSnapshot lastDoc,
+                                                                    int pageSize) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchPaymentsPage(businessId, lastDoc, pageSize, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> replaceDailyRevenueAsync(String businessId, List<DailyRevenue> totals) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                replaceDailyRevenue(businessId, totals, onSuccess, onError));
+    }
 }
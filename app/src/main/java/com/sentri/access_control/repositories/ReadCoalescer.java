@@ -0,0 +1,185 @@
+package com.sentri.access_control.repositories;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Single-flight layer for repository reads. Requests for the same key share one in-flight call,
+ * and a successful result is reused for a short window. Keys are scoped as "{businessId}/..." so
+ * writes can drop everything cached for a business.
+ */
+public final class ReadCoalescer {
+    public static final long DEFAULT_WINDOW_MS = 5000L;
+
+    private static ReadCoalescer instance;
+
+    private final Map<String, Flight> flights = new HashMap<>();
+    private long windowMs;
+
+    ReadCoalescer(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    public static synchronized ReadCoalescer getInstance() {
+        if (instance == null) {
+            instance = new ReadCoalescer(DEFAULT_WINDOW_MS);
+        }
+        return instance;
+    }
+
+    public static String key(String businessId, String... parts) {
+        StringBuilder builder = new StringBuilder(businessId != null ? businessId : "").append('/');
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                builder.append('/');
+            }
+            builder.append(parts[i]);
+        }
+        return builder.toString();
+    }
+
+    /**
+     * How long a completed result is served without re-reading. Zero disables reuse but keeps
+     * in-flight sharing.
+     */
+    public synchronized void setWindowMs(long windowMs) {
+        this.windowMs = Math.max(0L, windowMs);
+    }
+
+    public <T> void read(String key,
+                         RepositoryFutures.ValueCall<T> call,
+                         Consumer<T> onSuccess,
+                         Consumer<Exception> onError) {
+        Flight flight;
+        boolean start = false;
+        Object cachedValue = null;
+        boolean cached = false;
+
+        synchronized (this) {
+            flight = flights.get(key);
+            long now = System.currentTimeMillis();
+            if (flight != null && flight.done && now - flight.completedAtMs >= windowMs) {
+                flights.remove(key);
+                flight = null;
+            }
+            if (flight == null) {
+                flight = new Flight();
+                flights.put(key, flight);
+                start = true;
+            }
+            if (flight.done) {
+                cached = true;
+                cachedValue = flight.value;
+            } else {
+                flight.waiters.add(new Waiter(onSuccess, onError));
+            }
+        }
+
+        if (cached) {
+            deliverValue(onSuccess, cachedValue);
+            return;
+        }
+        if (start) {
+            Flight started = flight;
+            try {
+                call.invoke(value -> complete(key, started, value), exception -> fail(key, started, exception));
+            } catch (RuntimeException exception) {
+                fail(key, started, exception);
+            }
+        }
+    }
+
+    public synchronized void invalidate(String key) {
+        flights.remove(key);
+    }
+
+    /**
+     * Drops every cached result for the business. In-flight reads still complete for their waiters
+     * but are not kept.
+     */
+    public synchronized void invalidateBusiness(String businessId) {
+        String prefix = key(businessId);
+        Iterator<Map.Entry<String, Flight>> iterator = flights.entrySet().iterator();
+        while (iterator.hasNext()) {
+            if (iterator.next().getKey().startsWith(prefix)) {
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        flights.clear();
+    }
+
+    /**
+     * Wraps a write's success callback so the business's cached reads are dropped once the write lands.
+     */
+    public Runnable afterWrite(String businessId, Runnable onSuccess) {
+        return () -> {
+            invalidateBusiness(businessId);
+            if (onSuccess != null) {
+                onSuccess.run();
+            }
+        };
+    }
+
+    private void complete(String key, Flight flight, Object value) {
+        List<Waiter> waiters;
+        synchronized (this) {
+            flight.done = true;
+            flight.value = value;
+            flight.completedAtMs = System.currentTimeMillis();
+            waiters = new ArrayList<>(flight.waiters);
+            flight.waiters.clear();
+            if (flights.get(key) != flight || windowMs == 0L) {
+                // Invalidated while in flight (or reuse disabled); do not serve it to later readers.
+                flights.remove(key, flight);
+            }
+        }
+        for (Waiter waiter : waiters) {
+            deliverValue(waiter.onSuccess, value);
+        }
+    }
+
+    private void fail(String key, Flight flight, Exception exception) {
+        List<Waiter> waiters;
+        synchronized (this) {
+            flights.remove(key, flight);
+            waiters = new ArrayList<>(flight.waiters);
+            flight.waiters.clear();
+        }
+        for (Waiter waiter : waiters) {
+            if (waiter.onError != null) {
+                waiter.onError.accept(exception);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void deliverValue(Consumer<?> onSuccess, Object value) {
+        if (onSuccess != null) {
+            ((Consumer<T>) onSuccess).accept((T) value);
+        }
+    }
+
+    private static final class Flight {
+        final List<Waiter> waiters = new ArrayList<>();
+        boolean done;
+        Object value;
+        long completedAtMs;
+    }
+
+    private static final class Waiter {
+        final Consumer<?> onSuccess;
+        final Consumer<Exception> onError;
+
+        Waiter(Consumer<?> onSuccess, Consumer<Exception> onError) {
+            this.onSuccess = onSuccess;
+            this.onError = onError;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package com.sentri.access_control.repositories;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+/**
+ * Adapters between the callback-style repository methods and {@link CompletableFuture}.
+ * Futures complete on the thread that delivered the callback (the main thread for Firestore).
+ */
+public final class RepositoryFutures {
+
+    private RepositoryFutures() {} // Prevent instantiation
+
+    /**
+     * A repository call that reports a value through onSuccess/onError callbacks.
+     */
+    public interface ValueCall<T> {
+        void invoke(Consumer<T> onSuccess, Consumer<Exception> onError);
+    }
+
+    /**
+     * A repository call that reports completion through onSuccess/onError callbacks.
+     */
+    public interface CompletionCall {
+        void invoke(Runnable onSuccess, Consumer<Exception> onError);
+    }
+
+    public static <T> CompletableFuture<T> of(ValueCall<T> call) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        try {
+            call.invoke(future::complete, future::completeExceptionally);
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    public static CompletableFuture<Void> ofCompletion(CompletionCall call) {
+        CompletableFuture<Void> future = new CompletableFuture<>();
+        try {
+            call.invoke(() -> future.complete(null), future::completeExceptionally);
+        } catch (RuntimeException exception) {
+            future.completeExceptionally(exception);
+        }
+        return future;
+    }
+
+    /**
+     * Bridges a future back to callbacks so future-based flows can feed existing callers.
+     */
+    public static <T> void deliver(CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<Exception> onError) {
+        future.whenComplete((value, throwable) -> {
+            if (throwable != null) {
+                if (onError != null) {
+                    onError.accept(unwrap(throwable));
+                }
+                return;
+            }
+            if (onSuccess != null) {
+                onSuccess.accept(value);
+            }
+        });
+    }
+
+    /**
+     * Strips CompletionException/ExecutionException wrappers added by future composition.
+     */
+    public static Exception unwrap(Throwable throwable) {
+        Throwable cause = throwable;
+        while ((cause instanceof CompletionException || cause instanceof ExecutionException) && cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause instanceof Exception ? (Exception) cause : new RuntimeException(cause);
+    }
+}
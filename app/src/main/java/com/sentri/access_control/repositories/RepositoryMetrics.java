@@ -0,0 +1,352 @@
+package com.sentri.access_control.repositories;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Process-wide read metrics for instrumented repositories: call count, errors, documents returned,
+ * approximate bytes and latency percentiles, kept per (screen, method). Off by default; debug
+ * builds turn recording on at launch and Diagnostics can switch it. Byte estimates walk every
+ * returned document, so they are a separate opt-in.
+ */
+public final class RepositoryMetrics {
+    static final int LATENCY_SAMPLES = 256;
+
+    private static RepositoryMetrics instance;
+
+    private final Map<String, MethodStats> stats = new TreeMap<>();
+    private volatile boolean enabled;
+    private volatile boolean estimatingBytes;
+    private long resetAtMs = System.currentTimeMillis();
+
+    RepositoryMetrics() {
+    }
+
+    public static synchronized RepositoryMetrics getInstance() {
+        if (instance == null) {
+            instance = new RepositoryMetrics();
+        }
+        return instance;
+    }
+
+    /**
+     * Wraps a repository so every call made through it is recorded against {@code screen}.
+     */
+    public static <T> T instrument(Class<T> type, T delegate, String screen) {
+        return getInstance().wrap(type, delegate, screen);
+    }
+
+    public <T> T wrap(Class<T> type, T delegate, String screen) {
+        if (delegate == null || !type.isInterface()) {
+            return delegate;
+        }
+        Object proxy = Proxy.newProxyInstance(
+                type.getClassLoader(),
+                new Class<?>[]{type},
+                new InstrumentedRepositoryHandler(this, delegate, type.getSimpleName(), screen)
+        );
+        return type.cast(proxy);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEstimatingBytes() {
+        return estimatingBytes;
+    }
+
+    public void setEstimatingBytes(boolean estimatingBytes) {
+        this.estimatingBytes = estimatingBytes;
+    }
+
+    void record(String screen, String method, long latencyNanos, boolean failed, int documents, long bytes) {
+        String key = (screen != null ? screen : "?") + "|" + method;
+        MethodStats methodStats;
+        synchronized (this) {
+            methodStats = stats.get(key);
+            if (methodStats == null) {
+                methodStats = new MethodStats(screen, method);
+                stats.put(key, methodStats);
+            }
+        }
+        methodStats.add(latencyNanos, failed, documents, bytes);
+    }
+
+    /**
+     * Records a timing that is not a repository call, e.g. time to first dashboard, as a row with
+     * no documents so it shows up in the report next to the reads.
+     */
+    public void recordTiming(String screen, String label, long elapsedNanos) {
+        if (enabled) {
+            record(screen, label, elapsedNanos, false, 0, 0L);
+        }
+    }
+
+    public synchronized void reset() {
+        stats.clear();
+        resetAtMs = System.currentTimeMillis();
+    }
+
+    /**
+     * Immutable copy of every (screen, method) row, ordered by screen then method.
+     */
+    public synchronized List<Summary> snapshot() {
+        List<Summary> rows = new ArrayList<>();
+        for (MethodStats methodStats : stats.values()) {
+            rows.add(methodStats.summarize(methodStats.screen, methodStats.method));
+        }
+        return rows;
+    }
+
+    /**
+     * Rows merged across screens, one per repository method, ordered by documents read.
+     */
+    public synchronized List<Summary> snapshotByMethod() {
+        Map<String, MethodStats> merged = new LinkedHashMap<>();
+        for (MethodStats methodStats : stats.values()) {
+            MethodStats target = merged.get(methodStats.method);
+            if (target == null) {
+                target = new MethodStats(null, methodStats.method);
+                merged.put(methodStats.method, target);
+            }
+            target.merge(methodStats);
+        }
+        return sortByDocuments(merged);
+    }
+
+    /**
+     * Rows merged across methods, one per screen, ordered by documents read.
+     */
+    public synchronized List<Summary> snapshotByScreen() {
+        Map<String, MethodStats> merged = new LinkedHashMap<>();
+        for (MethodStats methodStats : stats.values()) {
+            MethodStats target = merged.get(methodStats.screen);
+            if (target == null) {
+                target = new MethodStats(methodStats.screen, null);
+                merged.put(methodStats.screen, target);
+            }
+            target.merge(methodStats);
+        }
+        return sortByDocuments(merged);
+    }
+
+    public String formatReport() {
+        StringBuilder builder = new StringBuilder();
+        SimpleDateFormat format = new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.getDefault());
+        long since;
+        synchronized (this) {
+            since = resetAtMs;
+        }
+        builder.append("Repository metrics since ").append(format.format(new Date(since))).append('\n');
+        if (!enabled) {
+            builder.append("Recording is off\n");
+        } else if (!estimatingBytes) {
+            builder.append("Byte estimates are off\n");
+        }
+
+        builder.append("\n== By screen ==\n");
+        appendRows(builder, snapshotByScreen(), true, false);
+        builder.append("\n== By method ==\n");
+        appendRows(builder, snapshotByMethod(), false, true);
+        builder.append("\n== By screen and method ==\n");
+        appendRows(builder, snapshot(), true, true);
+        return builder.toString();
+    }
+
+    /**
+     * Writes {@link #formatReport()} to the file, creating parent directories as needed.
+     */
+    public void dumpToFile(File file) throws IOException {
+        File parent = file.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8)) {
+            writer.write(formatReport());
+        }
+    }
+
+    private static List<Summary> sortByDocuments(Map<String, MethodStats> merged) {
+        List<Summary> rows = new ArrayList<>();
+        for (MethodStats methodStats : merged.values()) {
+            rows.add(methodStats.summarize(methodStats.screen, methodStats.method));
+        }
+        Collections.sort(rows, (a, b) -> Long.compare(b.documents, a.documents));
+        return rows;
+    }
+
+    private static void appendRows(StringBuilder builder, List<Summary> rows, boolean showScreen, boolean showMethod) {
+        if (rows.isEmpty()) {
+            builder.append("(no calls)\n");
+            return;
+        }
+        for (Summary row : rows) {
+            if (showScreen) {
+                builder.append(row.screen);
+            }
+            if (showScreen && showMethod) {
+                builder.append(" > ");
+            }
+            if (showMethod) {
+                builder.append(row.method);
+            }
+            builder.append('\n').append(String.format(
+                    Locale.US,
+                    "  calls=%d errors=%d docs=%d ~%s p50=%.0fms p90=%.0fms p99=%.0fms max=%.0fms\n",
+                    row.calls,
+                    row.errors,
+                    row.documents,
+                    formatBytes(row.bytes),
+                    row.p50Ms,
+                    row.p90Ms,
+                    row.p99Ms,
+                    row.maxMs
+            ));
+        }
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) {
+            return bytes + "B";
+        }
+        if (bytes < 1024 * 1024) {
+            return String.format(Locale.US, "%.1fKB", bytes / 1024.0);
+        }
+        return String.format(Locale.US, "%.1fMB", bytes / (1024.0 * 1024.0));
+    }
+
+    /**
+     * One aggregated row. {@code screen} or {@code method} is null on merged rows.
+     */
+    public static final class Summary {
+        public final String screen;
+        public final String method;
+        public final long calls;
+        public final long errors;
+        public final long documents;
+        public final long bytes;
+        public final double p50Ms;
+        public final double p90Ms;
+        public final double p99Ms;
+        public final double maxMs;
+
+        Summary(String screen,
+                String method,
+                long calls,
+                long errors,
+                long documents,
+                long bytes,
+                double p50Ms,
+                double p90Ms,
+                double p99Ms,
+                double maxMs) {
+            this.screen = screen;
+            this.method = method;
+            this.calls = calls;
+            this.errors = errors;
+            this.documents = documents;
+            this.bytes = bytes;
+            this.p50Ms = p50Ms;
+            this.p90Ms = p90Ms;
+            this.p99Ms = p99Ms;
+            this.maxMs = maxMs;
+        }
+    }
+
+    /**
+     * Counters plus a ring buffer of the most recent latencies, from which percentiles are computed.
+     */
+    private static final class MethodStats {
+        final String screen;
+        final String method;
+        long calls;
+        long errors;
+        long documents;
+        long bytes;
+        long maxNanos;
+        final long[] samples = new long[LATENCY_SAMPLES];
+        int sampleCount;
+        int nextSample;
+
+        MethodStats(String screen, String method) {
+            this.screen = screen;
+            this.method = method;
+        }
+
+        synchronized void add(long latencyNanos, boolean failed, int documentCount, long byteCount) {
+            calls++;
+            if (failed) {
+                errors++;
+            }
+            documents += documentCount;
+            bytes += byteCount;
+            maxNanos = Math.max(maxNanos, latencyNanos);
+            addSample(latencyNanos);
+        }
+
+        synchronized void merge(MethodStats other) {
+            synchronized (other) {
+                calls += other.calls;
+                errors += other.errors;
+                documents += other.documents;
+                bytes += other.bytes;
+                maxNanos = Math.max(maxNanos, other.maxNanos);
+                for (int i = 0; i < other.sampleCount; i++) {
+                    addSample(other.samples[i]);
+                }
+            }
+        }
+
+        synchronized Summary summarize(String screen, String method) {
+            long[] sorted = Arrays.copyOf(samples, sampleCount);
+            Arrays.sort(sorted);
+            return new Summary(
+                    screen,
+                    method,
+                    calls,
+                    errors,
+                    documents,
+                    bytes,
+                    percentileMs(sorted, 0.50),
+                    percentileMs(sorted, 0.90),
+                    percentileMs(sorted, 0.99),
+                    maxNanos / 1_000_000.0
+            );
+        }
+
+        private void addSample(long latencyNanos) {
+            samples[nextSample] = latencyNanos;
+            nextSample = (nextSample + 1) % samples.length;
+            sampleCount = Math.min(sampleCount + 1, samples.length);
+        }
+
+        private static double percentileMs(long[] sorted, double percentile) {
+            if (sorted.length == 0) {
+                return 0d;
+            }
+            int index = (int) Math.ceil(percentile * sorted.length) - 1;
+            index = Math.max(0, Math.min(sorted.length - 1, index));
+            return sorted[index] / 1_000_000.0;
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.sentri.access_control.repositories;
 
 import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.QuerySnapshot;
 import com.google.firebase.Timestamp;
 
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface ShiftRepository {
@@ -13,6 +15,17 @@ public interface ShiftRepository {
 
     void fetchActiveShifts(String businessId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError);
 
+    /**
+     * Listens to the active shifts ending after {@code windowStartMs}; a window start of 0 or less
+     * leaves the start open. Shifts starting after the window are not filtered out.
+     * The first snapshot lists every shift as ADDED; later ones carry only the changed documents.
+     * Remove the registration when done.
+     */
+    ListenerRegistration listenActiveShiftsInWindow(String businessId,
+                                                    long windowStartMs,
+                                                    Consumer<QuerySnapshot> onChange,
+                                                    Consumer<Exception> onError);
+
     void fetchCustomerShiftIds(String businessId, String customerId, Consumer<List<String>> onSuccess, Consumer<Exception> onError);
 
     void fetchCustomerShifts(String businessId, String customerId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError);
@@ -34,4 +47,58 @@ public interface ShiftRepository {
     void markShiftInactive(String businessId, String shiftId, Runnable onSuccess, Consumer<Exception> onError);
 
     void markShiftsInactive(String businessId, List<String> shiftIds, Runnable onSuccess, Consumer<Exception> onError);
+
+    default CompletableFuture<QuerySnapshot> fetchAllShiftsAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchAllShifts(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<QuerySnapshot> fetchActiveShiftsAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchActiveShifts(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<String>> fetchCustomerShiftIdsAsync(String businessId, String customerId) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchCustomerShiftIds(businessId, customerId, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchCustomerShiftsAsync(String businessId, String customerId) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchCustomerShifts(businessId, customerId, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchShiftsByIdsAsync(String businessId, List<String> shiftIds) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchShiftsByIds(businessId, shiftIds, onSuccess, onError));
+    }
+
+    default CompletableFuture<List<DocumentSnapshot>> fetchActiveUnallocatedShiftsAsync(String businessId) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchActiveUnallocatedShifts(businessId, onSuccess, onError));
+    }
+
+    default CompletableFuture<String> fetchNextShiftIdAsync(String businessId, String businessPrefix) {
+        return RepositoryFutures.of((onSuccess, onError) ->
+                fetchNextShiftId(businessId, businessPrefix, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> createShiftAsync(String businessId, String shiftId, Map<String, Object> shiftData) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                createShift(businessId, shiftId, shiftData, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> extendShiftsAsync(String businessId,
+                                                      Map<String, Timestamp> newShiftEndTimes,
+                                                      String paymentRate) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                extendShifts(businessId, newShiftEndTimes, paymentRate, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> markShiftInactiveAsync(String businessId, String shiftId) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                markShiftInactive(businessId, shiftId, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> markShiftsInactiveAsync(String businessId, List<String> shiftIds) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                markShiftsInactive(businessId, shiftIds, onSuccess, onError));
+    }
 }
@@ -3,6 +3,7 @@ package com.sentri.access_control.repositories;
 import com.google.firebase.firestore.DocumentSnapshot;
 
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 public interface UserRepository {
@@ -28,4 +29,32 @@ public interface UserRepository {
                               boolean activeStatus,
                               Runnable onSuccess,
                               Consumer<Exception> onError);
+
+    default CompletableFuture<DocumentSnapshot> fetchUserDocumentAsync(String email) {
+        return RepositoryFutures.of((onSuccess, onError) -> fetchUserDocument(email, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> updateLastLoginAsync(String email) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) -> updateLastLogin(email, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> createUserDocumentAsync(String email, Map<String, Object> data) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                createUserDocument(email, data, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> mergeUserDocumentAsync(String email, Map<String, Object> data) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                mergeUserDocument(email, data, onSuccess, onError));
+    }
+
+    default CompletableFuture<Void> appendBusinessAccessAsync(String email,
+                                                              String businessId,
+                                                              String businessName,
+                                                              String accessLevel,
+                                                              String grantedAt,
+                                                              boolean activeStatus) {
+        return RepositoryFutures.ofCompletion((onSuccess, onError) ->
+                appendBusinessAccess(email, businessId, businessName, accessLevel, grantedAt, activeStatus, onSuccess, onError));
+    }
 }
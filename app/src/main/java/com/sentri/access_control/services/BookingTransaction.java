@@ -0,0 +1,299 @@
+package com.sentri.access_control.services;
+
+import android.util.Log;
+
+import com.google.android.gms.tasks.Task;
+import com.google.android.gms.tasks.TaskCompletionSource;
+import com.google.android.gms.tasks.Tasks;
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.WriteBatch;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.data.RevenueRollups;
+import com.sentri.access_control.repositories.FirestoreCommentRepository;
+import com.sentri.access_control.repositories.IdCounterRepository;
+import com.sentri.access_control.repositories.IdLease;
+import com.sentri.access_control.repositories.ReadCoalescer;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Collects the payment (plus its daily revenue rollup), shift(s), customer assignment update and
+ * audit comments of a booking and commits them together in one WriteBatch, so a booking is never
+ * left half-written.
+ * IDs are reserved up front from the counter documents, in parallel, before the single commit.
+ */
+public class BookingTransaction {
+    private static final String TAG = "BookingTransaction";
+
+    private final FirebaseFirestore db;
+    private final IdCounterRepository idCounterRepository;
+    private final String businessId;
+    private final String businessPrefix;
+    private final String customerId;
+    private final String createdBy;
+
+    private Function<String, Map<String, Object>> paymentBuilder;
+    private final List<PendingShift> shifts = new ArrayList<>();
+    private final List<PendingComment> comments = new ArrayList<>();
+    private final List<String> shiftIdsToDeactivate = new ArrayList<>();
+    private String customerPaymentRate;
+    private String customerLastPaymentDate;
+    private boolean replaceCurrentAssignments;
+
+    private String paymentId;
+    private final List<String> shiftIds = new ArrayList<>();
+
+    public BookingTransaction(FirebaseFirestore db,
+                              IdCounterRepository idCounterRepository,
+                              String businessId,
+                              String businessPrefix,
+                              String customerId,
+                              String createdBy) {
+        this.db = db;
+        this.idCounterRepository = idCounterRepository;
+        this.businessId = businessId;
+        this.businessPrefix = businessPrefix;
+        this.customerId = customerId;
+        this.createdBy = createdBy;
+    }
+
+    /**
+     * Sets the payment document; the builder receives the allocated payment ID.
+     */
+    public BookingTransaction setPayment(Function<String, Map<String, Object>> paymentBuilder) {
+        this.paymentBuilder = paymentBuilder;
+        return this;
+    }
+
+    /**
+     * Adds a shift document; the builder receives the allocated shift ID.
+     * The seat and times are also appended to the customer's current assignment arrays.
+     */
+    public BookingTransaction addShift(String seat,
+                                       Timestamp shiftStart,
+                                       Timestamp shiftEnd,
+                                       Function<String, Map<String, Object>> shiftBuilder) {
+        shifts.add(new PendingShift(seat, shiftStart, shiftEnd, shiftBuilder));
+        return this;
+    }
+
+    /**
+     * Adds an audit comment. Blank text is ignored, matching the screens' "comment if any" behaviour.
+     */
+    public BookingTransaction addComment(String entityType, String text) {
+        String commentText = text != null ? text.trim() : "";
+        if (!commentText.isEmpty()) {
+            comments.add(new PendingComment(entityType, commentText));
+        }
+        return this;
+    }
+
+    /**
+     * Marks existing shifts inactive as part of the same commit (used by renewals).
+     */
+    public BookingTransaction deactivateShifts(List<String> shiftIds) {
+        if (shiftIds != null) {
+            shiftIdsToDeactivate.addAll(shiftIds);
+        }
+        return this;
+    }
+
+    /**
+     * Updates the customer's payment fields and marks them active.
+     */
+    public BookingTransaction updateCustomer(String paymentRate, String lastPaymentDate) {
+        this.customerPaymentRate = paymentRate;
+        this.customerLastPaymentDate = lastPaymentDate;
+        return this;
+    }
+
+    /**
+     * When set, the customer's current assignment arrays are replaced by this booking's shifts
+     * instead of being appended to.
+     */
+    public BookingTransaction replaceCurrentAssignments(boolean replace) {
+        this.replaceCurrentAssignments = replace;
+        return this;
+    }
+
+    public String getPaymentId() {
+        return paymentId;
+    }
+
+    public List<String> getShiftIds() {
+        return Collections.unmodifiableList(shiftIds);
+    }
+
+    public void commit(Runnable onSuccess, Consumer<Exception> onError) {
+        Task<IdLease> paymentLease = reserve(FirestoreIdGenerator.ENTITY_PAY, paymentBuilder != null ? 1 : 0);
+        Task<IdLease> shiftLease = reserve(FirestoreIdGenerator.ENTITY_SHIFT, shifts.size());
+        Task<IdLease> commentLease = reserve(FirestoreIdGenerator.ENTITY_COMMENT, comments.size());
+
+        List<Task<IdLease>> leaseTasks = Arrays.asList(paymentLease, shiftLease, commentLease);
+
+        Tasks.whenAllSuccess(paymentLease, shiftLease, commentLease)
+                .addOnSuccessListener(leases -> {
+                    WriteBatch batch = buildBatch((IdLease) leases.get(0), (IdLease) leases.get(1), (IdLease) leases.get(2));
+                    batch.commit()
+                            .addOnSuccessListener(ignored -> {
+                                ReadCoalescer.getInstance().invalidateBusiness(businessId);
+                                if (onSuccess != null) {
+                                    onSuccess.run();
+                                }
+                            })
+                            .addOnFailureListener(exception -> {
+                                releaseLeases(leaseTasks);
+                                if (onError != null) {
+                                    onError.accept(exception);
+                                }
+                            });
+                })
+                .addOnFailureListener(exception -> {
+                    releaseLeases(leaseTasks);
+                    if (onError != null) {
+                        onError.accept(exception);
+                    }
+                });
+    }
+
+    /**
+     * Nothing was written with the reserved IDs, so hand each block back to its counter. A block
+     * that someone else has allocated past stays a gap in the sequence.
+     */
+    private void releaseLeases(List<Task<IdLease>> leaseTasks) {
+        for (Task<IdLease> task : leaseTasks) {
+            if (!task.isComplete() || !task.isSuccessful() || task.getResult() == null) {
+                continue;
+            }
+            IdLease lease = task.getResult();
+            lease.rewind();
+            idCounterRepository.releaseUnusedIds(
+                    lease,
+                    released -> { },
+                    e -> Log.w(TAG, "Could not release IDs of " + lease.getCounterKey(), e)
+            );
+        }
+    }
+
+    private WriteBatch buildBatch(IdLease paymentLease, IdLease shiftLease, IdLease commentLease) {
+        WriteBatch batch = db.batch();
+        DocumentReference businessRef = FirestorePaths.business(db, businessId);
+
+        if (paymentBuilder != null) {
+            paymentId = paymentLease.next();
+            Map<String, Object> payment = paymentBuilder.apply(paymentId);
+            batch.set(businessRef.collection(FirestorePaths.SUB_PAYMENTS).document(paymentId), payment);
+            RevenueRollups.addPayment(batch, businessRef, payment, System.currentTimeMillis());
+        }
+
+        List<String> seats = new ArrayList<>();
+        List<Timestamp> shiftStarts = new ArrayList<>();
+        List<Timestamp> shiftEnds = new ArrayList<>();
+        shiftIds.clear();
+        for (PendingShift shift : shifts) {
+            String shiftId = shiftLease.next();
+            batch.set(businessRef.collection(FirestorePaths.SUB_SHIFTS).document(shiftId), shift.builder.apply(shiftId));
+            shiftIds.add(shiftId);
+            seats.add(shift.seat);
+            shiftStarts.add(shift.start);
+            shiftEnds.add(shift.end);
+        }
+
+        for (String oldShiftId : shiftIdsToDeactivate) {
+            if (oldShiftId == null || oldShiftId.trim().isEmpty()) {
+                continue;
+            }
+            batch.update(
+                    businessRef.collection(FirestorePaths.SUB_SHIFTS).document(oldShiftId),
+                    "shift_status", false,
+                    FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp()
+            );
+        }
+
+        for (PendingComment comment : comments) {
+            String commentId = commentLease.next();
+            batch.set(
+                    businessRef.collection(FirestorePaths.SUB_COMMENTS).document(commentId),
+                    FirestoreCommentRepository.buildCommentData(commentId, businessId, customerId, comment.entityType, comment.text, createdBy)
+            );
+        }
+
+        Map<String, Object> customerUpdates = buildCustomerUpdates(seats, shiftStarts, shiftEnds);
+        if (!customerUpdates.isEmpty()) {
+            batch.update(businessRef.collection(FirestorePaths.SUB_CUSTOMERS).document(customerId), customerUpdates);
+        }
+        return batch;
+    }
+
+    private Map<String, Object> buildCustomerUpdates(List<String> seats,
+                                                     List<Timestamp> shiftStarts,
+                                                     List<Timestamp> shiftEnds) {
+        Map<String, Object> updates = new HashMap<>();
+        if (customerPaymentRate == null && shiftIds.isEmpty() && !replaceCurrentAssignments) {
+            return updates;
+        }
+
+        updates.put("customer_status", true);
+        if (customerPaymentRate != null) {
+            updates.put("customer_current_payment_rate", customerPaymentRate);
+            updates.put("customer_last_payment_date", customerLastPaymentDate);
+        }
+        if (replaceCurrentAssignments) {
+            updates.put("customer_current_shift_id", new ArrayList<>(shiftIds));
+            updates.put("customer_current_seat", seats);
+            updates.put("customer_subscription_start_date", shiftStarts);
+            updates.put("customer_subscription_end_date", shiftEnds);
+        } else if (!shiftIds.isEmpty()) {
+            updates.put("customer_current_shift_id", FieldValue.arrayUnion(shiftIds.toArray()));
+            updates.put("customer_current_seat", FieldValue.arrayUnion(seats.toArray()));
+            updates.put("customer_subscription_start_date", FieldValue.arrayUnion(shiftStarts.toArray()));
+            updates.put("customer_subscription_end_date", FieldValue.arrayUnion(shiftEnds.toArray()));
+        }
+        updates.put(FirestorePaths.FIELD_UPDATED_AT, FieldValue.serverTimestamp());
+        return updates;
+    }
+
+    private Task<IdLease> reserve(String entityType, int count) {
+        if (count <= 0) {
+            return Tasks.forResult(null);
+        }
+        TaskCompletionSource<IdLease> source = new TaskCompletionSource<>();
+        idCounterRepository.reserveIdBlock(businessId, businessPrefix, entityType, count, source::setResult, source::setException);
+        return source.getTask();
+    }
+
+    private static final class PendingShift {
+        final String seat;
+        final Timestamp start;
+        final Timestamp end;
+        final Function<String, Map<String, Object>> builder;
+
+        PendingShift(String seat, Timestamp start, Timestamp end, Function<String, Map<String, Object>> builder) {
+            this.seat = seat;
+            this.start = start;
+            this.end = end;
+            this.builder = builder;
+        }
+    }
+
+    private static final class PendingComment {
+        final String entityType;
+        final String text;
+
+        PendingComment(String entityType, String text) {
+            this.entityType = entityType;
+            this.text = text;
+        }
+    }
+}
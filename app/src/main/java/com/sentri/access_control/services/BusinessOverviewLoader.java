@@ -0,0 +1,172 @@
+package com.sentri.access_control.services;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Loads dashboard metrics for several businesses at once, with at most {@code maxConcurrent}
+ * loads in flight. Each business is reported as soon as it arrives, so one slow branch only holds
+ * its own slot; the combined metrics are re-published after every arrival. Not thread-safe: start,
+ * cancel and the source callbacks must all run on one thread (the main thread for Firestore).
+ */
+public class BusinessOverviewLoader {
+    public static final int DEFAULT_MAX_CONCURRENT = 3;
+
+    /**
+     * Loads one business's metrics.
+     */
+    public interface MetricsSource {
+        void load(String businessId, Consumer<DashboardMetrics> onSuccess, Consumer<Exception> onError);
+    }
+
+    public interface Listener {
+        void onBusinessLoaded(String businessId, DashboardMetrics metrics);
+
+        void onBusinessFailed(String businessId, Exception error);
+
+        /**
+         * The sum over the businesses loaded so far; {@code finished} counts failures too.
+         */
+        void onCombined(DashboardMetrics combined, int finished, int total);
+    }
+
+    private final MetricsSource source;
+    private final int maxConcurrent;
+
+    public BusinessOverviewLoader(MetricsSource source, int maxConcurrent) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1");
+        }
+        this.source = source;
+        this.maxConcurrent = maxConcurrent;
+    }
+
+    /**
+     * Each business's metrics as the dashboard gets them: count queries on the server, and the money
+     * figures from the cached active customers. Only a business whose cache is short is read in full.
+     */
+    public static MetricsSource fromAggregates(DashboardAggregates aggregates) {
+        return (businessId, onSuccess, onError) -> aggregates.fetchDashboardMetrics(
+                businessId,
+                System.currentTimeMillis(),
+                null,
+                onSuccess,
+                onError
+        );
+    }
+
+    /**
+     * Starts loading every business in order; duplicates are loaded once.
+     */
+    public Session start(List<String> businessIds, Listener listener) {
+        Session session = new Session(businessIds, listener);
+        session.pump();
+        return session;
+    }
+
+    /**
+     * One overview load. Cancel it when the screen closes; later results are then dropped and no
+     * further loads start.
+     */
+    public final class Session {
+        private final Deque<String> pending;
+        private final Map<String, DashboardMetrics> loaded = new LinkedHashMap<>();
+        private final Listener listener;
+        private final int total;
+        private int inFlight;
+        private int finished;
+        private boolean cancelled;
+
+        private Session(List<String> businessIds, Listener listener) {
+            List<String> unique = new ArrayList<>(new LinkedHashSet<>(businessIds));
+            this.pending = new ArrayDeque<>(unique);
+            this.total = unique.size();
+            this.listener = listener;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            pending.clear();
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public boolean isFinished() {
+            return finished == total;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        /**
+         * Metrics of the businesses loaded so far, in completion order.
+         */
+        public Map<String, DashboardMetrics> getLoaded() {
+            return Collections.unmodifiableMap(loaded);
+        }
+
+        private void pump() {
+            while (!cancelled && inFlight < maxConcurrent && !pending.isEmpty()) {
+                String businessId = pending.poll();
+                inFlight++;
+                // A source may answer synchronously; each callback is honoured once.
+                boolean[] done = new boolean[1];
+                try {
+                    source.load(
+                            businessId,
+                            metrics -> {
+                                if (!done[0]) {
+                                    done[0] = true;
+                                    onLoaded(businessId, metrics);
+                                }
+                            },
+                            error -> {
+                                if (!done[0]) {
+                                    done[0] = true;
+                                    onFailed(businessId, error);
+                                }
+                            }
+                    );
+                } catch (RuntimeException exception) {
+                    if (!done[0]) {
+                        done[0] = true;
+                        onFailed(businessId, exception);
+                    }
+                }
+            }
+        }
+
+        private void onLoaded(String businessId, DashboardMetrics metrics) {
+            inFlight--;
+            if (cancelled) {
+                return;
+            }
+            finished++;
+            loaded.put(businessId, metrics);
+            listener.onBusinessLoaded(businessId, metrics);
+            listener.onCombined(DashboardMetrics.combine(loaded.values()), finished, total);
+            pump();
+        }
+
+        private void onFailed(String businessId, Exception error) {
+            inFlight--;
+            if (cancelled) {
+                return;
+            }
+            finished++;
+            listener.onBusinessFailed(businessId, error);
+            listener.onCombined(DashboardMetrics.combine(loaded.values()), finished, total);
+            pump();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.sentri.access_control.services;
+
+/**
+ * Customer counts that the server can answer without sending documents.
+ */
+public final class CustomerCounts {
+    private final long activeCustomers;
+    private final long newCustomersInLast10Days;
+
+    public CustomerCounts(long activeCustomers, long newCustomersInLast10Days) {
+        this.activeCustomers = activeCustomers;
+        this.newCustomersInLast10Days = newCustomersInLast10Days;
+    }
+
+    public long getActiveCustomers() {
+        return activeCustomers;
+    }
+
+    public long getNewCustomersInLast10Days() {
+        return newCustomersInLast10Days;
+    }
+}
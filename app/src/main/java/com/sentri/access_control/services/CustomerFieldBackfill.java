@@ -0,0 +1,58 @@
+package com.sentri.access_control.services;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.repositories.CustomerRepository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Gives every customer document a string customer_name and a boolean customer_status. The paged
+ * customer list orders and filters on those fields on the server, which silently leaves out
+ * documents written without them or with another type. Only documents that need a fix are
+ * written, so it is safe to re-run.
+ */
+public class CustomerFieldBackfill {
+    private final CustomerRepository customerRepository;
+
+    public CustomerFieldBackfill(CustomerRepository customerRepository) {
+        this.customerRepository = customerRepository;
+    }
+
+    /**
+     * @param onSuccess receives the number of customers fixed
+     */
+    public void run(String businessId, Consumer<Integer> onSuccess, Consumer<Exception> onError) {
+        customerRepository.fetchCustomers(businessId, snapshot -> {
+            Map<String, Map<String, Object>> fixes = new LinkedHashMap<>();
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                Map<String, Object> data = doc.getData();
+                Map<String, Object> fix = fixFor(data != null ? data : Collections.emptyMap());
+                if (!fix.isEmpty()) {
+                    fixes.put(doc.getId(), fix);
+                }
+            }
+            customerRepository.updateCustomers(businessId, fixes, () -> onSuccess.accept(fixes.size()), onError);
+        }, onError);
+    }
+
+    /**
+     * The updates one customer needs: a missing or non-string name becomes its text (or ""), and a
+     * status that is not a boolean becomes true only for the text "true". Empty when it needs none.
+     */
+    static Map<String, Object> fixFor(Map<String, Object> data) {
+        Map<String, Object> fix = new HashMap<>();
+        Object name = data.get("customer_name");
+        if (!(name instanceof String)) {
+            fix.put("customer_name", name != null ? String.valueOf(name) : "");
+        }
+        Object status = data.get("customer_status");
+        if (!(status instanceof Boolean)) {
+            fix.put("customer_status", status instanceof String && "true".equalsIgnoreCase(((String) status).trim()));
+        }
+        return fix;
+    }
+}
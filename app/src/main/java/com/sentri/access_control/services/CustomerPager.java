@@ -0,0 +1,246 @@
+package com.sentri.access_control.services;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.models.Customer;
+import com.sentri.access_control.repositories.CustomerRepository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Pages through a business's customers for one status filter at a time, keeping every page it has
+ * fetched. Switching back to a filter shows its cached pages without a read, and once the
+ * unfiltered list is complete the active and inactive lists are derived from it. Not thread-safe:
+ * calls and source callbacks must all run on one thread (the main thread for Firestore).
+ *
+ * @param <C> the source's cursor type, e.g. the last document of a page
+ */
+public class CustomerPager<C> {
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    // Rows from the end of the list at which the next page is requested.
+    public static final int PREFETCH_DISTANCE = 20;
+    // Page size while loading everything, e.g. for search, to keep the number of reads down.
+    public static final int REMAINING_PAGE_SIZE = 500;
+    // Customers loaded eagerly for a search; beyond this the search covers only what is loaded.
+    public static final int SEARCH_LOAD_LIMIT = 1_000;
+
+    public enum Filter {
+        ALL,
+        ACTIVE,
+        INACTIVE
+    }
+
+    /**
+     * Loads up to {@code limit} customers matching the filter, after {@code cursor} (null for the
+     * first page).
+     */
+    public interface PageSource<C> {
+        void load(Filter filter, C cursor, int limit, Consumer<Page<C>> onSuccess, Consumer<Exception> onError);
+    }
+
+    public interface Listener {
+        /**
+         * The customers loaded so far for the filter on show; {@code complete} once there are no
+         * more pages.
+         */
+        void onCustomers(Filter filter, List<Customer> customers, boolean complete);
+
+        void onError(Filter filter, Exception error);
+    }
+
+    public static final class Page<C> {
+        private final List<Customer> customers;
+        private final C nextCursor;
+
+        public Page(List<Customer> customers, C nextCursor) {
+            this.customers = customers;
+            this.nextCursor = nextCursor;
+        }
+
+        public List<Customer> getCustomers() {
+            return customers;
+        }
+
+        public C getNextCursor() {
+            return nextCursor;
+        }
+    }
+
+    private static final class Feed<C> {
+        final List<Customer> customers = new ArrayList<>();
+        C cursor;
+        boolean complete;
+        boolean loading;
+    }
+
+    private final PageSource<C> source;
+    private final int pageSize;
+    private final Listener listener;
+    private final Map<Filter, Feed<C>> feeds = new EnumMap<>(Filter.class);
+    private Filter filter;
+    // Customers to keep fetching up to without scrolling; 0 when only scrolling loads pages.
+    private int loadTarget;
+
+    public CustomerPager(PageSource<C> source, int pageSize, Listener listener) {
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("pageSize must be at least 1");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.listener = listener;
+    }
+
+    /**
+     * Pages ordered by {@code orderField}, filtered on customer_status by the server.
+     */
+    public static PageSource<DocumentSnapshot> fromRepository(CustomerRepository repository,
+                                                              String businessId,
+                                                              String orderField) {
+        return (filter, cursor, limit, onSuccess, onError) -> repository.fetchCustomerPage(
+                businessId,
+                filter == Filter.ALL ? null : filter == Filter.ACTIVE,
+                orderField,
+                cursor,
+                limit,
+                snapshot -> {
+                    List<DocumentSnapshot> docs = snapshot.getDocuments();
+                    List<Customer> customers = new ArrayList<>(docs.size());
+                    for (DocumentSnapshot doc : docs) {
+                        customers.add(toCustomer(doc));
+                    }
+                    onSuccess.accept(new Page<>(customers, docs.isEmpty() ? null : docs.get(docs.size() - 1)));
+                },
+                onError
+        );
+    }
+
+    /**
+     * Shows the filter: from cache when it has pages, otherwise by fetching its first page.
+     */
+    public void show(Filter filter) {
+        if (filter == this.filter) {
+            return;
+        }
+        this.filter = filter;
+        loadTarget = 0;
+        Feed<C> feed = feeds.get(filter);
+        if (feed == null) {
+            Feed<C> all = feeds.get(Filter.ALL);
+            feed = all != null && all.complete ? deriveFrom(all, filter == Filter.ACTIVE) : new Feed<>();
+            feeds.put(filter, feed);
+        }
+        publish(filter);
+        if (feed.customers.size() < pageSize) {
+            loadMore();
+        }
+    }
+
+    /**
+     * Fetches the next page when the last visible row is within {@link #PREFETCH_DISTANCE} of
+     * the end of the {@code shownCount} rows on screen.
+     */
+    public void onScrolled(int lastVisiblePosition, int shownCount) {
+        if (lastVisiblePosition >= shownCount - 1 - PREFETCH_DISTANCE) {
+            loadMore();
+        }
+    }
+
+    /**
+     * Keeps fetching pages of the current filter until it is complete.
+     */
+    public void loadRemaining() {
+        loadUpTo(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Keeps fetching pages of the current filter until it is complete or holds at least
+     * {@code maxCustomers}, e.g. {@link #SEARCH_LOAD_LIMIT} while searching. Scrolling still loads
+     * further pages.
+     */
+    public void loadUpTo(int maxCustomers) {
+        loadTarget = Math.max(loadTarget, maxCustomers);
+        loadMore();
+    }
+
+    public void loadMore() {
+        Filter requested = filter;
+        if (requested == null) {
+            return;
+        }
+        Feed<C> feed = feeds.get(requested);
+        if (feed.loading || feed.complete) {
+            return;
+        }
+        feed.loading = true;
+        Feed<C> loadingFeed = feed;
+        int limit = loadTarget > feed.customers.size() ? Math.max(pageSize, REMAINING_PAGE_SIZE) : pageSize;
+        source.load(requested, feed.cursor, limit, page -> {
+            if (feeds.get(requested) != loadingFeed) {
+                return;
+            }
+            loadingFeed.loading = false;
+            loadingFeed.customers.addAll(page.getCustomers());
+            loadingFeed.cursor = page.getNextCursor();
+            loadingFeed.complete = page.getCustomers().size() < limit || page.getNextCursor() == null;
+            if (requested == filter) {
+                publish(requested);
+                if (loadTarget > loadingFeed.customers.size()) {
+                    loadMore();
+                }
+            }
+        }, error -> {
+            if (feeds.get(requested) != loadingFeed) {
+                return;
+            }
+            loadingFeed.loading = false;
+            if (requested == filter) {
+                listener.onError(requested, error);
+            }
+        });
+    }
+
+    public Filter getFilter() {
+        return filter;
+    }
+
+    public boolean isLoading() {
+        Feed<C> feed = filter != null ? feeds.get(filter) : null;
+        return feed != null && feed.loading;
+    }
+
+    private void publish(Filter filter) {
+        Feed<C> feed = feeds.get(filter);
+        listener.onCustomers(filter, Collections.unmodifiableList(new ArrayList<>(feed.customers)), feed.complete);
+    }
+
+    private static <C> Feed<C> deriveFrom(Feed<C> all, boolean active) {
+        Feed<C> derived = new Feed<>();
+        for (Customer customer : all.customers) {
+            if (customer.isCustomerStatus() == active) {
+                derived.customers.add(customer);
+            }
+        }
+        derived.complete = true;
+        return derived;
+    }
+
+    private static Customer toCustomer(DocumentSnapshot doc) {
+        return new Customer(
+                safeString(doc.getString("customer_name")),
+                safeString(doc.getString("customer_id")),
+                safeString(doc.getString("customer_current_card_id")),
+                Boolean.TRUE.equals(doc.getBoolean("customer_status")),
+                safeString(doc.getString("customer_photo")),
+                safeString(doc.getString("customer_aadhar_photo")),
+                safeString(doc.getString("customer_whatsapp"))
+        );
+    }
+
+    private static String safeString(String value) {
+        return value != null ? value : "";
+    }
+}
@@ -0,0 +1,126 @@
+package com.sentri.access_control.services;
+
+import com.sentri.access_control.models.Customer;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs customer searches off the main thread. Queries are debounced, and a newer query or customer
+ * list makes older ones stale: they stop before searching if they can, and their results are never
+ * delivered. The index is built on the worker by the first query against each new list. Call
+ * {@link #setCustomers}, {@link #setQuery} and {@link #shutdown} from the main thread.
+ */
+public class CustomerSearch {
+    public static final long DEFAULT_DEBOUNCE_MS = 150L;
+
+    public interface Listener {
+        void onResults(String query, List<Customer> results);
+    }
+
+    private final ScheduledExecutorService worker;
+    private final Executor mainThread;
+    private final long debounceMs;
+    private final Listener listener;
+    private final AtomicInteger generation = new AtomicInteger();
+    private volatile List<Customer> customers = Collections.emptyList();
+    // Worker thread only: the list the index was built from, so it is rebuilt once per new list.
+    private List<Customer> indexed = Collections.emptyList();
+    private CustomerSearchIndex index = CustomerSearchIndex.EMPTY;
+    private String query = "";
+    private ScheduledFuture<?> pending;
+
+    /**
+     * @param mainThread posts results to the UI thread, e.g. a main-looper Handler's {@code post}
+     */
+    public CustomerSearch(Executor mainThread, Listener listener) {
+        this(Executors.newSingleThreadScheduledExecutor(), mainThread, DEFAULT_DEBOUNCE_MS, listener);
+    }
+
+    CustomerSearch(ScheduledExecutorService worker, Executor mainThread, long debounceMs, Listener listener) {
+        this.worker = worker;
+        this.mainThread = mainThread;
+        this.debounceMs = debounceMs;
+        this.listener = listener;
+    }
+
+    /**
+     * Replaces the list to search and re-runs the current query against it. The index is rebuilt
+     * on the worker the next time a query runs, so a list that is never searched is never indexed.
+     * A blank query is not re-run: the caller shows the list itself.
+     */
+    public void setCustomers(List<Customer> customers) {
+        this.customers = customers;
+        String current;
+        int queryId;
+        synchronized (this) {
+            current = query;
+            if (isBlank(current)) {
+                return;
+            }
+            queryId = generation.incrementAndGet();
+        }
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = worker.schedule(() -> run(current, queryId), 0L, TimeUnit.MILLISECONDS);
+    }
+
+    public void setQuery(String query) {
+        String current = query != null ? query : "";
+        int queryId;
+        synchronized (this) {
+            this.query = current;
+            queryId = generation.incrementAndGet();
+        }
+        if (pending != null) {
+            pending.cancel(false);
+        }
+        pending = worker.schedule(() -> run(current, queryId), isBlank(current) ? 0L : debounceMs, TimeUnit.MILLISECONDS);
+    }
+
+    public void shutdown() {
+        generation.incrementAndGet();
+        worker.shutdownNow();
+    }
+
+    private void run(String query, int queryId) {
+        if (queryId != generation.get()) {
+            return;
+        }
+        List<Customer> latest = customers;
+        if (isBlank(query)) {
+            deliver(query, queryId, latest);
+            return;
+        }
+        if (latest != indexed) {
+            index = CustomerSearchIndex.build(latest);
+            indexed = latest;
+            if (queryId != generation.get()) {
+                return;
+            }
+        }
+        deliver(query, queryId, index.search(query));
+    }
+
+    private void deliver(String query, int queryId, List<Customer> results) {
+        if (queryId != generation.get()) {
+            return;
+        }
+        mainThread.execute(() -> {
+            if (queryId == generation.get()) {
+                listener.onResults(query, results);
+            }
+        });
+    }
+
+    private static boolean isBlank(String value) {
+        return value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,363 @@
+package com.sentri.access_control.services;
+
+import com.sentri.access_control.models.Customer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable search index over a list of customers' names, customer IDs, card IDs and WhatsApp
+ * numbers, built once per list. Whole fields and their words sit in a sorted key array, so a
+ * prefix lookup is a binary search plus a scan of the matching keys. Every field is also split
+ * into trigrams so a query can match anywhere inside it, as the old substring filter did; terms
+ * too short or not ASCII enough for a trigram fall back to checking each customer. Safe to query
+ * from any thread.
+ */
+public final class CustomerSearchIndex {
+    public static final CustomerSearchIndex EMPTY = build(Collections.<Customer>emptyList());
+
+    // Match ranks, best first; a customer's score is the sum of its best rank per query term.
+    private static final int RANK_EXACT = 0;
+    private static final int RANK_FIELD_PREFIX = 1;
+    private static final int RANK_WORD_PREFIX = 2;
+    private static final int RANK_INFIX = 3;
+
+    private static final int KIND_FIELD = 0;
+    private static final int KIND_WORD = 1;
+    private static final int GRAM = 3;
+    // Trigrams are over ASCII letters and digits, 36 symbols, so each has a dense int code.
+    private static final int SYMBOLS = 36;
+    private static final int GRAM_CODES = SYMBOLS * SYMBOLS * SYMBOLS;
+
+    private final List<Customer> customers;
+    private final String[] keys;
+    // postings[k] lists (customer << 1 | kind) for keys[k].
+    private final int[][] postings;
+    // The customers containing trigram g are gramCustomers[gramStart[g]] to gramCustomers[gramStart[g + 1] - 1].
+    private final int[] gramStart;
+    private final int[] gramCustomers;
+    // Letters and digits of the name, ID and card plus the number's digits, to confirm trigram hits.
+    private final String[] infixText;
+
+    private CustomerSearchIndex(List<Customer> customers,
+                                String[] keys,
+                                int[][] postings,
+                                int[] gramStart,
+                                int[] gramCustomers,
+                                String[] infixText) {
+        this.customers = customers;
+        this.keys = keys;
+        this.postings = postings;
+        this.gramStart = gramStart;
+        this.gramCustomers = gramCustomers;
+        this.infixText = infixText;
+    }
+
+    public static CustomerSearchIndex build(List<Customer> customers) {
+        List<Customer> copy = Collections.unmodifiableList(new ArrayList<>(customers));
+        Map<String, IntList> byKey = new HashMap<>();
+        String[] infixText = new String[copy.size()];
+
+        for (int i = 0; i < copy.size(); i++) {
+            Customer customer = copy.get(i);
+            String name = normalize(customer.getCustomerName());
+            String id = normalize(customer.getCustomerId());
+            String card = normalize(customer.getCustomerCurrentCardId());
+            String phone = digitsOf(customer.getCustomerWhatsapp());
+
+            addKey(byKey, name, i, KIND_FIELD);
+            addWords(byKey, name, i);
+            addKey(byKey, id, i, KIND_FIELD);
+            addWords(byKey, id, i);
+            addKey(byKey, card, i, KIND_FIELD);
+            addKey(byKey, phone, i, KIND_FIELD);
+
+            infixText[i] = compact(name) + ' ' + compact(id) + ' ' + compact(card) + ' ' + phone;
+        }
+
+        String[] keys = byKey.keySet().toArray(new String[0]);
+        Arrays.sort(keys);
+        int[][] postings = new int[keys.length][];
+        for (int k = 0; k < keys.length; k++) {
+            postings[k] = byKey.get(keys[k]).toArray();
+        }
+
+        // Two passes over the text, counting then filling, so the trigram lists share one array.
+        int[] gramStart = new int[GRAM_CODES + 1];
+        int[] lastCustomer = new int[GRAM_CODES];
+        Arrays.fill(lastCustomer, -1);
+        for (int i = 0; i < infixText.length; i++) {
+            forEachGram(infixText[i], i, lastCustomer, gram -> gramStart[gram + 1]++);
+        }
+        for (int g = 0; g < GRAM_CODES; g++) {
+            gramStart[g + 1] += gramStart[g];
+        }
+        int[] gramCustomers = new int[gramStart[GRAM_CODES]];
+        int[] fill = Arrays.copyOf(gramStart, GRAM_CODES);
+        Arrays.fill(lastCustomer, -1);
+        for (int i = 0; i < infixText.length; i++) {
+            int customer = i;
+            forEachGram(infixText[i], i, lastCustomer, gram -> gramCustomers[fill[gram]++] = customer);
+        }
+        return new CustomerSearchIndex(copy, keys, postings, gramStart, gramCustomers, infixText);
+    }
+
+    public int size() {
+        return customers.size();
+    }
+
+    /**
+     * Customers matching every whitespace-separated term of {@code query}, best match first and
+     * in list order among equals. A blank query returns the whole list.
+     */
+    public List<Customer> search(String query) {
+        String[] terms = normalize(query).split(" ");
+        if (terms.length == 0 || terms[0].isEmpty()) {
+            return customers;
+        }
+
+        int count = customers.size();
+        int[] score = new int[count];
+        int[] matchedTerms = new int[count];
+        int[] termRank = new int[count];
+        for (int t = 0; t < terms.length; t++) {
+            Arrays.fill(termRank, Integer.MAX_VALUE);
+            matchPrefix(terms[t], termRank);
+            matchInfix(terms[t], termRank);
+            for (int i = 0; i < count; i++) {
+                if (termRank[i] != Integer.MAX_VALUE && matchedTerms[i] == t) {
+                    matchedTerms[i]++;
+                    score[i] += termRank[i];
+                }
+            }
+        }
+        int matches = 0;
+        for (int i = 0; i < count; i++) {
+            if (matchedTerms[i] == terms.length) {
+                matches++;
+            }
+        }
+        // Score in the high bits, list position in the low: one primitive sort ranks them.
+        long[] ranked = new long[matches];
+        int next = 0;
+        for (int i = 0; i < count; i++) {
+            if (matchedTerms[i] == terms.length) {
+                ranked[next++] = (long) score[i] << 32 | i;
+            }
+        }
+        Arrays.sort(ranked);
+        List<Customer> results = new ArrayList<>(matches);
+        for (long entry : ranked) {
+            results.add(customers.get((int) entry));
+        }
+        return results;
+    }
+
+    private void matchPrefix(String term, int[] termRank) {
+        int k = lowerBound(term);
+        for (; k < keys.length && keys[k].startsWith(term); k++) {
+            boolean exact = keys[k].length() == term.length();
+            for (int posting : postings[k]) {
+                int kind = posting & 1;
+                int rank = kind == KIND_WORD ? RANK_WORD_PREFIX : exact ? RANK_EXACT : RANK_FIELD_PREFIX;
+                int customer = posting >>> 1;
+                if (rank < termRank[customer]) {
+                    termRank[customer] = rank;
+                }
+            }
+        }
+    }
+
+    private void matchInfix(String term, int[] termRank) {
+        String compact = compact(term);
+        if (compact.isEmpty()) {
+            return;
+        }
+        int rarest = rarestGram(compact);
+        if (rarest < 0) {
+            for (int customer = 0; customer < infixText.length; customer++) {
+                matchInfixText(compact, customer, termRank);
+            }
+            return;
+        }
+        // Only customers holding the term's rarest trigram can contain it.
+        for (int k = gramStart[rarest]; k < gramStart[rarest + 1]; k++) {
+            matchInfixText(compact, gramCustomers[k], termRank);
+        }
+    }
+
+    private void matchInfixText(String compact, int customer, int[] termRank) {
+        if (termRank[customer] > RANK_INFIX && infixText[customer].contains(compact)) {
+            termRank[customer] = RANK_INFIX;
+        }
+    }
+
+    /**
+     * The term's trigram with the fewest customers, or -1 if it is too short or has a character
+     * outside the trigram alphabet.
+     */
+    private int rarestGram(String compact) {
+        int rarest = -1;
+        for (int i = 0; i + GRAM <= compact.length(); i++) {
+            int gram = gramCode(compact, i);
+            if (gram < 0) {
+                return -1;
+            }
+            if (rarest < 0 || gramSize(gram) < gramSize(rarest)) {
+                rarest = gram;
+            }
+        }
+        return rarest;
+    }
+
+    private int gramSize(int gram) {
+        return gramStart[gram + 1] - gramStart[gram];
+    }
+
+    private int lowerBound(String term) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(term) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static void addKey(Map<String, IntList> byKey, String key, int customer, int kind) {
+        if (key.isEmpty()) {
+            return;
+        }
+        IntList list = byKey.get(key);
+        if (list == null) {
+            list = new IntList();
+            byKey.put(key, list);
+        }
+        list.addUnique(customer << 1 | kind);
+    }
+
+    private static void addWords(Map<String, IntList> byKey, String field, int customer) {
+        int start = -1;
+        for (int i = 0; i <= field.length(); i++) {
+            boolean letterOrDigit = i < field.length() && Character.isLetterOrDigit(field.charAt(i));
+            if (letterOrDigit && start < 0) {
+                start = i;
+            } else if (!letterOrDigit && start >= 0) {
+                // The first word is already a prefix of the whole field.
+                if (start > 0) {
+                    addKey(byKey, field.substring(start, i), customer, KIND_WORD);
+                }
+                start = -1;
+            }
+        }
+    }
+
+    private static void forEachGram(String text, int customer, int[] lastCustomer, IntConsumer action) {
+        for (int i = 0; i + GRAM <= text.length(); i++) {
+            int gram = gramCode(text, i);
+            if (gram >= 0 && lastCustomer[gram] != customer) {
+                lastCustomer[gram] = customer;
+                action.accept(gram);
+            }
+        }
+    }
+
+    /**
+     * The code of the trigram at {@code start}, or -1 if it has a character other than an ASCII
+     * lower-case letter or digit.
+     */
+    private static int gramCode(String text, int start) {
+        int code = 0;
+        for (int i = start; i < start + GRAM; i++) {
+            char c = text.charAt(i);
+            int symbol;
+            if (c >= '0' && c <= '9') {
+                symbol = c - '0';
+            } else if (c >= 'a' && c <= 'z') {
+                symbol = 10 + c - 'a';
+            } else {
+                return -1;
+            }
+            code = code * SYMBOLS + symbol;
+        }
+        return code;
+    }
+
+    static String normalize(String value) {
+        if (value == null) {
+            return "";
+        }
+        String lower = value.trim().toLowerCase(Locale.ROOT);
+        StringBuilder out = new StringBuilder(lower.length());
+        boolean afterSpace = false;
+        for (int i = 0; i < lower.length(); i++) {
+            char c = lower.charAt(i);
+            if (!Character.isWhitespace(c)) {
+                out.append(c);
+                afterSpace = false;
+            } else if (!afterSpace) {
+                out.append(' ');
+                afterSpace = true;
+            }
+        }
+        return out.toString();
+    }
+
+    private static String compact(String value) {
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    private static String digitsOf(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= '0' && c <= '9') {
+                out.append(c);
+            }
+        }
+        return out.toString();
+    }
+
+    /**
+     * Growable int array; entries for one customer arrive together, so de-duplicating against the
+     * last value is enough.
+     */
+    private static final class IntList {
+        private int[] values = new int[2];
+        private int size;
+
+        void addUnique(int value) {
+            if (size > 0 && values[size - 1] == value) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.sentri.access_control.services;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.RepositoryFutures;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+
+/**
+ * Dashboard numbers answered by Firestore count() aggregate queries, which cost one read per
+ * thousand matching entries instead of one per document. Only what the schema allows is served
+ * here: rates are stored as formatted strings and subscription ends as arrays, so pending and
+ * expected payments are worked out from customers already in the local cache. With a cold cache
+ * and nothing saved they are read from the server once, and {@link LiveDashboardMetrics} is only
+ * used when the counts fail.
+ */
+public class DashboardAggregates {
+    private final BusinessRepository businessRepository;
+    private final DashboardMetricsCalculator calculator = new DashboardMetricsCalculator();
+
+    public DashboardAggregates(BusinessRepository businessRepository) {
+        this.businessRepository = businessRepository;
+    }
+
+    /**
+     * Active customers and those created in the last 10 days, using the same day cut-off as the
+     * live counters. Fails offline or without the (customer_status, created_at) index; callers keep
+     * the live counters in that case.
+     */
+    public void fetchCustomerCounts(String businessId,
+                                    long nowMs,
+                                    Consumer<CustomerCounts> onSuccess,
+                                    Consumer<Exception> onError) {
+        RepositoryFutures.deliver(customerCounts(businessId, nowMs), onSuccess, onError);
+    }
+
+    /**
+     * The whole dashboard without listening to every active customer: the counts come from the
+     * server, and the ending-today, pending and expected figures from the active customers in the
+     * local cache. When the cache holds fewer active customers than the server counted, those
+     * figures are kept from {@code previous} if there is one, and otherwise worked out from the
+     * active customers read from the server. Fails when the counts do.
+     */
+    public void fetchDashboardMetrics(String businessId,
+                                      long nowMs,
+                                      DashboardMetrics previous,
+                                      Consumer<DashboardMetrics> onSuccess,
+                                      Consumer<Exception> onError) {
+        CompletableFuture<List<DocumentSnapshot>> cached = businessRepository.fetchCachedActiveCustomersAsync(businessId)
+                .exceptionally(e -> Collections.emptyList());
+        CompletableFuture<DashboardMetrics> metrics = customerCounts(businessId, nowMs).thenCompose(counts ->
+                cached.thenCompose(docs -> {
+                    DashboardMetrics merged = merge(counts, calculate(docs, nowMs), previous);
+                    if (merged != null) {
+                        return CompletableFuture.completedFuture(merged);
+                    }
+                    return businessRepository.fetchActiveCustomersAsync(businessId)
+                            .thenApply(serverDocs -> withCounts(counts, calculate(serverDocs, nowMs)));
+                })
+        );
+        RepositoryFutures.deliver(metrics, onSuccess, onError);
+    }
+
+    /**
+     * The counts with the money figures of {@code fromCache}, or of {@code previous} when the cache
+     * is short. Null when the cache is short and there is no {@code previous}: a partial cache
+     * would understate them.
+     */
+    static DashboardMetrics merge(CustomerCounts counts, DashboardMetrics fromCache, DashboardMetrics previous) {
+        if (fromCache.getTotalActiveCustomers() >= counts.getActiveCustomers()) {
+            return withCounts(counts, fromCache);
+        }
+        return previous != null ? withCounts(counts, previous) : null;
+    }
+
+    private DashboardMetrics calculate(List<DocumentSnapshot> docs, long nowMs) {
+        return calculator.calculateRecords(RecordDecoder.customers(docs), nowMs);
+    }
+
+    private static DashboardMetrics withCounts(CustomerCounts counts, DashboardMetrics money) {
+        return new DashboardMetrics(
+                (int) counts.getActiveCustomers(),
+                (int) counts.getNewCustomersInLast10Days(),
+                money.getSubscriptionsEndingToday(),
+                money.getPendingPayments(),
+                money.getExpectedPaymentsThisMonth()
+        );
+    }
+
+    private CompletableFuture<CustomerCounts> customerCounts(String businessId, long nowMs) {
+        long tenDaysAgoMs = DashboardWindow.at(nowMs).tenDaysAgoMs;
+        return businessRepository.countActiveCustomersAsync(businessId)
+                .thenCombine(
+                        businessRepository.countActiveCustomersCreatedSinceAsync(businessId, tenDaysAgoMs),
+                        CustomerCounts::new
+                );
+    }
+}
@@ -1,17 +1,19 @@
 package com.sentri.access_control.services;
 
+import com.sentri.access_control.models.Money;
+
 public final class DashboardMetrics {
     private final int totalActiveCustomers;
     private final int newCustomersInLast10Days;
     private final int subscriptionsEndingToday;
-    private final double pendingPayments;
-    private final double expectedPaymentsThisMonth;
+    private final Money pendingPayments;
+    private final Money expectedPaymentsThisMonth;
 
     public DashboardMetrics(int totalActiveCustomers,
                             int newCustomersInLast10Days,
                             int subscriptionsEndingToday,
-                            double pendingPayments,
-                            double expectedPaymentsThisMonth) {
+                            Money pendingPayments,
+                            Money expectedPaymentsThisMonth) {
         this.totalActiveCustomers = totalActiveCustomers;
         this.newCustomersInLast10Days = newCustomersInLast10Days;
         this.subscriptionsEndingToday = subscriptionsEndingToday;
@@ -19,6 +21,31 @@ public final class DashboardMetrics {
         this.expectedPaymentsThisMonth = expectedPaymentsThisMonth;
     }
 
+    /**
+     * Sums the metrics of several businesses, e.g. for an owner's combined overview.
+     */
+    public static DashboardMetrics combine(Iterable<DashboardMetrics> metrics) {
+        int totalActiveCustomers = 0;
+        int newCustomersInLast10Days = 0;
+        int subscriptionsEndingToday = 0;
+        Money pendingPayments = Money.ZERO;
+        Money expectedPaymentsThisMonth = Money.ZERO;
+        for (DashboardMetrics item : metrics) {
+            totalActiveCustomers += item.totalActiveCustomers;
+            newCustomersInLast10Days += item.newCustomersInLast10Days;
+            subscriptionsEndingToday += item.subscriptionsEndingToday;
+            pendingPayments = pendingPayments.plus(item.pendingPayments);
+            expectedPaymentsThisMonth = expectedPaymentsThisMonth.plus(item.expectedPaymentsThisMonth);
+        }
+        return new DashboardMetrics(
+                totalActiveCustomers,
+                newCustomersInLast10Days,
+                subscriptionsEndingToday,
+                pendingPayments,
+                expectedPaymentsThisMonth
+        );
+    }
+
     public int getTotalActiveCustomers() {
         return totalActiveCustomers;
     }
@@ -31,11 +58,33 @@ public final class DashboardMetrics {
         return subscriptionsEndingToday;
     }
 
-    public double getPendingPayments() {
+    public Money getPendingPayments() {
         return pendingPayments;
     }
 
-    public double getExpectedPaymentsThisMonth() {
+    public Money getExpectedPaymentsThisMonth() {
         return expectedPaymentsThisMonth;
     }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (!(o instanceof DashboardMetrics)) return false;
+        DashboardMetrics that = (DashboardMetrics) o;
+        return totalActiveCustomers == that.totalActiveCustomers
+                && newCustomersInLast10Days == that.newCustomersInLast10Days
+                && subscriptionsEndingToday == that.subscriptionsEndingToday
+                && pendingPayments.equals(that.pendingPayments)
+                && expectedPaymentsThisMonth.equals(that.expectedPaymentsThisMonth);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = totalActiveCustomers;
+        result = 31 * result + newCustomersInLast10Days;
+        result = 31 * result + subscriptionsEndingToday;
+        result = 31 * result + pendingPayments.hashCode();
+        result = 31 * result + expectedPaymentsThisMonth.hashCode();
+        return result;
+    }
 }
@@ -1,65 +1,60 @@
 package com.sentri.access_control.services;
 
 import com.google.firebase.firestore.DocumentSnapshot;
-import com.sentri.access_control.utils.CurrencyUtils;
-import com.sentri.access_control.utils.DateUtils;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.models.CustomerRecord;
+import com.sentri.access_control.models.Money;
 
-import java.util.Calendar;
-import java.util.Date;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Locale;
-import java.util.TimeZone;
+import java.util.Map;
 
 public class DashboardMetricsCalculator {
 
     public DashboardMetrics calculate(List<DocumentSnapshot> customers) {
-        Calendar nowCal = Calendar.getInstance(TimeZone.getDefault(), Locale.getDefault());
-        Calendar startToday = resetToDayStart((Calendar) nowCal.clone());
-        Calendar endToday = (Calendar) startToday.clone();
-        endToday.set(Calendar.HOUR_OF_DAY, 23);
-        endToday.set(Calendar.MINUTE, 59);
-        endToday.set(Calendar.SECOND, 59);
-        endToday.set(Calendar.MILLISECOND, 999);
+        return calculateRecords(RecordDecoder.customers(customers));
+    }
 
-        Calendar startOfMonth = (Calendar) startToday.clone();
-        startOfMonth.set(Calendar.DAY_OF_MONTH, 1);
+    /**
+     * Same metrics over raw field maps, e.g. {@code DocumentSnapshot.getData()} or synthetic data.
+     */
+    public DashboardMetrics calculateFromData(List<? extends Map<String, Object>> customers) {
+        List<CustomerRecord> records = new ArrayList<>(customers.size());
+        for (Map<String, Object> data : customers) {
+            records.add(RecordDecoder.decodeCustomer(null, data));
+        }
+        return calculateRecords(records);
+    }
 
-        Calendar thirtyDaysAgo = (Calendar) startToday.clone();
-        thirtyDaysAgo.add(Calendar.DAY_OF_MONTH, -30);
+    public DashboardMetrics calculateRecords(List<CustomerRecord> customers) {
+        return calculateRecords(customers, System.currentTimeMillis());
+    }
 
-        Calendar tenDaysAgo = (Calendar) startToday.clone();
-        tenDaysAgo.add(Calendar.DAY_OF_MONTH, -10);
+    public DashboardMetrics calculateRecords(List<CustomerRecord> customers, long nowMs) {
+        DashboardWindow window = DashboardWindow.at(nowMs);
 
         int totalActiveCustomers = 0;
         int newCustomersIn10Days = 0;
         int subscriptionsEndingToday = 0;
-        double pendingPayments = 0.0;
-        double expectedPaymentsThisMonth = 0.0;
+        long pendingPaise = 0L;
+        long expectedPaise = 0L;
 
-        for (DocumentSnapshot customer : customers) {
+        for (CustomerRecord customer : customers) {
             totalActiveCustomers++;
 
-            Date createdAt = DateUtils.parseFlexibleDate(customer.get("created_at"));
-            if (createdAt != null && !createdAt.before(tenDaysAgo.getTime())) {
+            if (window.isNew(customer)) {
                 newCustomersIn10Days++;
             }
-
-            Date subscriptionEndDate = DateUtils.parseFlexibleDate(customer.get("customer_subscription_end_date"));
-            if (isDateInRange(subscriptionEndDate, startToday.getTime(), endToday.getTime())) {
+            if (window.endsToday(customer)) {
                 subscriptionsEndingToday++;
             }
 
-            Date lastPaymentDate = DateUtils.parseFlexibleDate(customer.get("customer_last_payment_date"));
-            double rate = CurrencyUtils.parseAmount(customer.get("customer_current_payment_rate"));
-            if (rate == 0.0) {
-                rate = CurrencyUtils.parseAmount(customer.get("current_payment_rate"));
-            }
-
-            if (lastPaymentDate == null || !lastPaymentDate.after(thirtyDaysAgo.getTime())) {
-                pendingPayments += rate;
+            long ratePaise = customer.getPaymentRatePaise();
+            if (window.isPending(customer)) {
+                pendingPaise += ratePaise;
             }
-            if (lastPaymentDate == null || lastPaymentDate.before(startOfMonth.getTime())) {
-                expectedPaymentsThisMonth += rate;
+            if (window.isExpectedThisMonth(customer)) {
+                expectedPaise += ratePaise;
             }
         }
 
@@ -67,23 +62,8 @@ public class DashboardMetricsCalculator {
                 totalActiveCustomers,
                 newCustomersIn10Days,
                 subscriptionsEndingToday,
-                pendingPayments,
-                expectedPaymentsThisMonth
+                Money.ofPaise(pendingPaise),
+                Money.ofPaise(expectedPaise)
         );
     }
-
-    private Calendar resetToDayStart(Calendar calendar) {
-        calendar.set(Calendar.HOUR_OF_DAY, 0);
-        calendar.set(Calendar.MINUTE, 0);
-        calendar.set(Calendar.SECOND, 0);
-        calendar.set(Calendar.MILLISECOND, 0);
-        return calendar;
-    }
-
-    private boolean isDateInRange(Date date, Date start, Date end) {
-        if (date == null) {
-            return false;
-        }
-        return !date.before(start) && !date.after(end);
-    }
 }
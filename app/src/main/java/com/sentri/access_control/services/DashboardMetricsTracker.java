@@ -0,0 +1,110 @@
+package com.sentri.access_control.services;
+
+import com.sentri.access_control.models.CustomerRecord;
+import com.sentri.access_control.models.Money;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Running dashboard counters for one business, kept up to date one customer at a time. Each
+ * change costs O(1); only a day rollover recounts, from the records already held in memory.
+ * Produces the same numbers as {@link DashboardMetricsCalculator} over the current customer set.
+ */
+public final class DashboardMetricsTracker {
+    private final Map<String, CustomerRecord> customers = new HashMap<>();
+    private DashboardWindow window;
+
+    private int newCustomersIn10Days;
+    private int subscriptionsEndingToday;
+    private long pendingPaise;
+    private long expectedPaise;
+
+    public DashboardMetricsTracker(long nowMs) {
+        window = DashboardWindow.at(nowMs);
+    }
+
+    /**
+     * Adds a customer, or replaces the previous version with the same ID.
+     */
+    public synchronized void upsert(CustomerRecord customer) {
+        CustomerRecord previous = customers.put(customer.getId(), customer);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+        apply(customer, 1);
+    }
+
+    public synchronized void remove(String customerId) {
+        CustomerRecord previous = customers.remove(customerId);
+        if (previous != null) {
+            apply(previous, -1);
+        }
+    }
+
+    public synchronized void clear() {
+        customers.clear();
+        resetCounters();
+    }
+
+    /**
+     * Moves the day cut-offs to {@code nowMs} and recounts if the day has changed.
+     *
+     * @return true if the counters were recounted
+     */
+    public synchronized boolean rollTo(long nowMs) {
+        if (window.contains(nowMs)) {
+            return false;
+        }
+        window = DashboardWindow.at(nowMs);
+        resetCounters();
+        for (CustomerRecord customer : customers.values()) {
+            apply(customer, 1);
+        }
+        return true;
+    }
+
+    /**
+     * Start of the next local day, when {@link #rollTo} next has work to do.
+     */
+    public synchronized long getNextRolloverMs() {
+        return window.getNextDayStartMs();
+    }
+
+    public synchronized int size() {
+        return customers.size();
+    }
+
+    public synchronized DashboardMetrics snapshot() {
+        return new DashboardMetrics(
+                customers.size(),
+                newCustomersIn10Days,
+                subscriptionsEndingToday,
+                Money.ofPaise(pendingPaise),
+                Money.ofPaise(expectedPaise)
+        );
+    }
+
+    private void apply(CustomerRecord customer, int sign) {
+        if (window.isNew(customer)) {
+            newCustomersIn10Days += sign;
+        }
+        if (window.endsToday(customer)) {
+            subscriptionsEndingToday += sign;
+        }
+        long ratePaise = customer.getPaymentRatePaise();
+        if (window.isPending(customer)) {
+            pendingPaise += sign * ratePaise;
+        }
+        if (window.isExpectedThisMonth(customer)) {
+            expectedPaise += sign * ratePaise;
+        }
+    }
+
+    private void resetCounters() {
+        newCustomersIn10Days = 0;
+        subscriptionsEndingToday = 0;
+        pendingPaise = 0L;
+        expectedPaise = 0L;
+    }
+}
@@ -0,0 +1,236 @@
+package com.sentri.access_control.services;
+
+import com.sentri.access_control.models.Money;
+import com.sentri.access_control.models.RevenueSeries;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The last dashboard shown for a business, kept so a cold start can render it before any network
+ * call returns. Each widget's part is optional; a {@code with...} call returns a copy with that
+ * part replaced.
+ */
+public final class DashboardSnapshot {
+    public static final int NO_CARD_COUNT = -1;
+
+    private static final int FORMAT_VERSION = 1;
+
+    private final String businessId;
+    private final long savedAtMs;
+    private final DashboardMetrics metrics;
+    private final RevenueSeries revenue;
+    private final List<DeviceSummary> devices;
+    private final int unassignedCards;
+
+    private DashboardSnapshot(String businessId,
+                              long savedAtMs,
+                              DashboardMetrics metrics,
+                              RevenueSeries revenue,
+                              List<DeviceSummary> devices,
+                              int unassignedCards) {
+        this.businessId = businessId;
+        this.savedAtMs = savedAtMs;
+        this.metrics = metrics;
+        this.revenue = revenue;
+        this.devices = devices != null ? Collections.unmodifiableList(new ArrayList<>(devices)) : null;
+        this.unassignedCards = unassignedCards;
+    }
+
+    public static DashboardSnapshot empty(String businessId) {
+        return new DashboardSnapshot(businessId, 0L, null, null, null, NO_CARD_COUNT);
+    }
+
+    public String getBusinessId() {
+        return businessId;
+    }
+
+    public long getSavedAtMs() {
+        return savedAtMs;
+    }
+
+    /**
+     * Null until the metrics have been loaded once.
+     */
+    public DashboardMetrics getMetrics() {
+        return metrics;
+    }
+
+    /**
+     * Null until the revenue has been loaded once.
+     */
+    public RevenueSeries getRevenue() {
+        return revenue;
+    }
+
+    /**
+     * Null until the devices have been loaded once.
+     */
+    public List<DeviceSummary> getDevices() {
+        return devices;
+    }
+
+    /**
+     * {@link #NO_CARD_COUNT} until the cards have been loaded once.
+     */
+    public int getUnassignedCards() {
+        return unassignedCards;
+    }
+
+    public DashboardSnapshot withMetrics(DashboardMetrics metrics, long nowMs) {
+        return new DashboardSnapshot(businessId, nowMs, metrics, revenue, devices, unassignedCards);
+    }
+
+    public DashboardSnapshot withRevenue(RevenueSeries revenue, long nowMs) {
+        return new DashboardSnapshot(businessId, nowMs, metrics, revenue, devices, unassignedCards);
+    }
+
+    public DashboardSnapshot withDevices(List<DeviceSummary> devices, long nowMs) {
+        return new DashboardSnapshot(businessId, nowMs, metrics, revenue, devices, unassignedCards);
+    }
+
+    public DashboardSnapshot withUnassignedCards(int unassignedCards, long nowMs) {
+        return new DashboardSnapshot(businessId, nowMs, metrics, revenue, devices, unassignedCards);
+    }
+
+    /**
+     * Writes the snapshot in a compact binary form, a few hundred bytes for a typical business.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeByte(FORMAT_VERSION);
+        out.writeUTF(businessId);
+        out.writeLong(savedAtMs);
+
+        out.writeBoolean(metrics != null);
+        if (metrics != null) {
+            out.writeInt(metrics.getTotalActiveCustomers());
+            out.writeInt(metrics.getNewCustomersInLast10Days());
+            out.writeInt(metrics.getSubscriptionsEndingToday());
+            out.writeLong(metrics.getPendingPayments().getPaise());
+            out.writeLong(metrics.getExpectedPaymentsThisMonth().getPaise());
+        }
+
+        out.writeBoolean(revenue != null);
+        if (revenue != null) {
+            out.writeInt(revenue.getFirstDay());
+            long[] daily = revenue.dailyPaise(revenue.getLastDay(), revenue.size());
+            out.writeInt(daily.length);
+            for (long value : daily) {
+                out.writeLong(value);
+            }
+        }
+
+        out.writeBoolean(devices != null);
+        if (devices != null) {
+            out.writeInt(devices.size());
+            for (DeviceSummary device : devices) {
+                out.writeUTF(device.getId());
+                out.writeUTF(device.getName());
+                out.writeBoolean(device.isOnline());
+            }
+        }
+
+        out.writeInt(unassignedCards);
+    }
+
+    /**
+     * Reads a snapshot written by {@link #writeTo}.
+     *
+     * @throws IOException if the data is truncated or from another format version
+     */
+    public static DashboardSnapshot readFrom(DataInput in) throws IOException {
+        int version = in.readByte();
+        if (version != FORMAT_VERSION) {
+            throw new IOException("Unsupported dashboard snapshot version " + version);
+        }
+        String businessId = in.readUTF();
+        long savedAtMs = in.readLong();
+
+        DashboardMetrics metrics = null;
+        if (in.readBoolean()) {
+            metrics = new DashboardMetrics(
+                    in.readInt(),
+                    in.readInt(),
+                    in.readInt(),
+                    Money.ofPaise(in.readLong()),
+                    Money.ofPaise(in.readLong())
+            );
+        }
+
+        RevenueSeries revenue = null;
+        if (in.readBoolean()) {
+            int firstDay = in.readInt();
+            long[] daily = new long[checkedLength(in.readInt())];
+            for (int i = 0; i < daily.length; i++) {
+                daily[i] = in.readLong();
+            }
+            revenue = RevenueSeries.ofDaily(firstDay, daily);
+        }
+
+        List<DeviceSummary> devices = null;
+        if (in.readBoolean()) {
+            int count = checkedLength(in.readInt());
+            devices = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                devices.add(new DeviceSummary(in.readUTF(), in.readUTF(), in.readBoolean()));
+            }
+        }
+
+        int unassignedCards = in.readInt();
+        return new DashboardSnapshot(businessId, savedAtMs, metrics, revenue, devices, unassignedCards);
+    }
+
+    private static int checkedLength(int length) throws IOException {
+        if (length < 0 || length > 10_000) {
+            throw new IOException("Corrupt dashboard snapshot length " + length);
+        }
+        return length;
+    }
+
+    /**
+     * One row of the dashboard's device mini-list.
+     */
+    public static final class DeviceSummary {
+        private final String id;
+        private final String name;
+        private final boolean online;
+
+        public DeviceSummary(String id, String name, boolean online) {
+            this.id = id;
+            this.name = name;
+            this.online = online;
+        }
+
+        public String getId() {
+            return id;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public boolean isOnline() {
+            return online;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof DeviceSummary)) return false;
+            DeviceSummary that = (DeviceSummary) o;
+            return online == that.online && id.equals(that.id) && name.equals(that.name);
+        }
+
+        @Override
+        public int hashCode() {
+            int result = id.hashCode();
+            result = 31 * result + name.hashCode();
+            result = 31 * result + (online ? 1 : 0);
+            return result;
+        }
+    }
+}
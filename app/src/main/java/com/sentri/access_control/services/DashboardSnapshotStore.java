@@ -0,0 +1,121 @@
+package com.sentri.access_control.services;
+
+import android.content.Context;
+import android.util.Log;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+/**
+ * Keeps the last {@link DashboardSnapshot} per business in memory and in the app's cache directory.
+ * Loads read a file of well under a kilobyte on the caller's thread so the first frame can show
+ * it; saves are written in order on a background thread, replacing the file atomically.
+ */
+public final class DashboardSnapshotStore {
+    private static final String TAG = "DashboardSnapshotStore";
+    private static final String DIRECTORY = "dashboard_snapshots";
+
+    private static DashboardSnapshotStore instance;
+
+    private final File directory;
+    private final Executor writer;
+    private final Map<String, DashboardSnapshot> memory = new HashMap<>();
+
+    DashboardSnapshotStore(File directory, Executor writer) {
+        this.directory = directory;
+        this.writer = writer;
+    }
+
+    public static synchronized DashboardSnapshotStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new DashboardSnapshotStore(
+                    new File(context.getApplicationContext().getCacheDir(), DIRECTORY),
+                    Executors.newSingleThreadExecutor()
+            );
+        }
+        return instance;
+    }
+
+    /**
+     * The last saved snapshot for the business, or null if there is none or it cannot be read.
+     */
+    public synchronized DashboardSnapshot load(String businessId) {
+        DashboardSnapshot cached = memory.get(businessId);
+        if (cached != null) {
+            return cached;
+        }
+        File file = fileFor(businessId);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            DashboardSnapshot snapshot = DashboardSnapshot.readFrom(in);
+            if (!businessId.equals(snapshot.getBusinessId())) {
+                return null;
+            }
+            memory.put(businessId, snapshot);
+            return snapshot;
+        } catch (IOException e) {
+            Log.w(TAG, "Discarding unreadable dashboard snapshot for " + businessId, e);
+            if (!file.delete()) {
+                Log.w(TAG, "Could not delete " + file);
+            }
+            return null;
+        }
+    }
+
+    public synchronized void save(DashboardSnapshot snapshot) {
+        memory.put(snapshot.getBusinessId(), snapshot);
+        writer.execute(() -> write(snapshot));
+    }
+
+    /**
+     * Forgets every snapshot, in memory and on disk; call on logout.
+     */
+    public synchronized void clear() {
+        memory.clear();
+        writer.execute(() -> {
+            File[] files = directory.listFiles();
+            if (files == null) {
+                return;
+            }
+            for (File file : files) {
+                if (!file.delete()) {
+                    Log.w(TAG, "Could not delete " + file);
+                }
+            }
+        });
+    }
+
+    private void write(DashboardSnapshot snapshot) {
+        if (!directory.exists() && !directory.mkdirs()) {
+            Log.w(TAG, "Cannot create " + directory);
+            return;
+        }
+        File target = fileFor(snapshot.getBusinessId());
+        File temp = new File(directory, target.getName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(temp)))) {
+            snapshot.writeTo(out);
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to save dashboard snapshot for " + snapshot.getBusinessId(), e);
+            return;
+        }
+        if (!temp.renameTo(target)) {
+            Log.w(TAG, "Failed to replace " + target);
+        }
+    }
+
+    private File fileFor(String businessId) {
+        return new File(directory, businessId.replaceAll("[^A-Za-z0-9_-]", "_") + ".bin");
+    }
+}
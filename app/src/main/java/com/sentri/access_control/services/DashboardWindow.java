@@ -0,0 +1,101 @@
+package com.sentri.access_control.services;
+
+import com.sentri.access_control.models.CustomerRecord;
+
+import java.util.Calendar;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * The day-aligned cut-offs behind every dashboard counter, fixed for one local calendar day.
+ * All of them move only at midnight, so a window stays valid until {@link #getNextDayStartMs()}.
+ */
+final class DashboardWindow {
+    final long startTodayMs;
+    final long endTodayMs;
+    final long startOfMonthMs;
+    final long thirtyDaysAgoMs;
+    final long tenDaysAgoMs;
+    private final long nextDayStartMs;
+
+    private DashboardWindow(long startTodayMs,
+                            long endTodayMs,
+                            long startOfMonthMs,
+                            long thirtyDaysAgoMs,
+                            long tenDaysAgoMs,
+                            long nextDayStartMs) {
+        this.startTodayMs = startTodayMs;
+        this.endTodayMs = endTodayMs;
+        this.startOfMonthMs = startOfMonthMs;
+        this.thirtyDaysAgoMs = thirtyDaysAgoMs;
+        this.tenDaysAgoMs = tenDaysAgoMs;
+        this.nextDayStartMs = nextDayStartMs;
+    }
+
+    static DashboardWindow at(long nowMs) {
+        Calendar nowCal = Calendar.getInstance(TimeZone.getDefault(), Locale.getDefault());
+        nowCal.setTimeInMillis(nowMs);
+        Calendar startToday = resetToDayStart((Calendar) nowCal.clone());
+        Calendar endToday = (Calendar) startToday.clone();
+        endToday.set(Calendar.HOUR_OF_DAY, 23);
+        endToday.set(Calendar.MINUTE, 59);
+        endToday.set(Calendar.SECOND, 59);
+        endToday.set(Calendar.MILLISECOND, 999);
+
+        Calendar startOfMonth = (Calendar) startToday.clone();
+        startOfMonth.set(Calendar.DAY_OF_MONTH, 1);
+
+        Calendar thirtyDaysAgo = (Calendar) startToday.clone();
+        thirtyDaysAgo.add(Calendar.DAY_OF_MONTH, -30);
+
+        Calendar tenDaysAgo = (Calendar) startToday.clone();
+        tenDaysAgo.add(Calendar.DAY_OF_MONTH, -10);
+
+        Calendar nextDay = (Calendar) startToday.clone();
+        nextDay.add(Calendar.DAY_OF_MONTH, 1);
+
+        return new DashboardWindow(
+                startToday.getTimeInMillis(),
+                endToday.getTimeInMillis(),
+                startOfMonth.getTimeInMillis(),
+                thirtyDaysAgo.getTimeInMillis(),
+                tenDaysAgo.getTimeInMillis(),
+                nextDay.getTimeInMillis()
+        );
+    }
+
+    long getNextDayStartMs() {
+        return nextDayStartMs;
+    }
+
+    boolean contains(long nowMs) {
+        return nowMs >= startTodayMs && nowMs < nextDayStartMs;
+    }
+
+    // Missing dates are Long.MIN_VALUE, so they count as "long ago" in every comparison below.
+
+    boolean isNew(CustomerRecord customer) {
+        return customer.getCreatedAtMs() >= tenDaysAgoMs;
+    }
+
+    boolean endsToday(CustomerRecord customer) {
+        long subscriptionEndMs = customer.getSubscriptionEndMs();
+        return subscriptionEndMs >= startTodayMs && subscriptionEndMs <= endTodayMs;
+    }
+
+    boolean isPending(CustomerRecord customer) {
+        return customer.getLastPaymentMs() <= thirtyDaysAgoMs;
+    }
+
+    boolean isExpectedThisMonth(CustomerRecord customer) {
+        return customer.getLastPaymentMs() < startOfMonthMs;
+    }
+
+    private static Calendar resetToDayStart(Calendar calendar) {
+        calendar.set(Calendar.HOUR_OF_DAY, 0);
+        calendar.set(Calendar.MINUTE, 0);
+        calendar.set(Calendar.SECOND, 0);
+        calendar.set(Calendar.MILLISECOND, 0);
+        return calendar;
+    }
+}
@@ -0,0 +1,203 @@
+package com.sentri.access_control.services;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.FirestoreBusinessRepository;
+import com.sentri.access_control.repositories.RepositoryMetrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Process-wide live dashboard metrics. An observed business gets one active-customer snapshot
+ * listener whose document changes are applied to a {@link DashboardMetricsTracker}. A main-thread
+ * timer rolls the day cut-offs forward at local midnight. Call {@link #stop} from the observer's
+ * {@code onStop} and {@link #observe} again from {@code onStart}; the counters are kept meanwhile
+ * and reconciled against the listener's first snapshot. A business whose observer is removed is
+ * dropped. Call from the main thread.
+ */
+public final class LiveDashboardMetrics {
+    // Fire just after midnight rather than on it, so the new window is unambiguous.
+    private static final long ROLLOVER_SLACK_MS = 1000L;
+
+    private static LiveDashboardMetrics instance;
+
+    private final BusinessRepository repository;
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Map<String, Feed> feeds = new HashMap<>();
+    private final Runnable rolloverTask = this::rollOver;
+    private boolean rolloverScheduled;
+
+    LiveDashboardMetrics(BusinessRepository repository) {
+        this.repository = repository;
+    }
+
+    public static synchronized LiveDashboardMetrics getInstance(FirebaseFirestore db) {
+        if (instance == null) {
+            BusinessRepository repository = RepositoryMetrics.instrument(
+                    BusinessRepository.class,
+                    new FirestoreBusinessRepository(db),
+                    "LiveDashboardMetrics"
+            );
+            instance = new LiveDashboardMetrics(repository);
+        }
+        return instance;
+    }
+
+    /**
+     * Sends the business's metrics to {@code onUpdate} now if they are loaded, and again after every
+     * change or day rollover until {@link #stop} or {@link #removeObserver}. Replaces any earlier
+     * observer and re-attaches a stopped listener.
+     */
+    public void observe(String businessId, Consumer<DashboardMetrics> onUpdate, Consumer<Exception> onError) {
+        Feed feed = feeds.get(businessId);
+        if (feed == null) {
+            feed = new Feed(businessId);
+            feeds.put(businessId, feed);
+        }
+        if (feed.registration == null) {
+            feed.attach();
+        }
+        feed.onUpdate = onUpdate;
+        feed.onError = onError;
+        if (feed.loaded) {
+            feed.tracker.rollTo(System.currentTimeMillis());
+            feed.publish();
+        }
+        scheduleRollover();
+    }
+
+    /**
+     * Detaches the business's listener if {@code onUpdate} is still its observer, keeping the
+     * counters for the next {@link #observe}.
+     */
+    public void stop(String businessId, Consumer<DashboardMetrics> onUpdate) {
+        Feed feed = feeds.get(businessId);
+        if (feed != null && feed.onUpdate == onUpdate) {
+            feed.detach();
+        }
+    }
+
+    /**
+     * Detaches the business's listener and drops its counters if {@code onUpdate} is still its
+     * observer.
+     */
+    public void removeObserver(String businessId, Consumer<DashboardMetrics> onUpdate) {
+        Feed feed = feeds.get(businessId);
+        if (feed != null && feed.onUpdate == onUpdate) {
+            feed.detach();
+            feeds.remove(businessId);
+        }
+    }
+
+    /**
+     * Detaches every listener and drops all counters; call on logout.
+     */
+    public void clear() {
+        for (Feed feed : feeds.values()) {
+            feed.detach();
+        }
+        feeds.clear();
+        handler.removeCallbacks(rolloverTask);
+        rolloverScheduled = false;
+    }
+
+    private void rollOver() {
+        rolloverScheduled = false;
+        long nowMs = System.currentTimeMillis();
+        for (Feed feed : feeds.values()) {
+            if (feed.tracker.rollTo(nowMs) && feed.loaded) {
+                feed.publish();
+            }
+        }
+        scheduleRollover();
+    }
+
+    private void scheduleRollover() {
+        if (rolloverScheduled || feeds.isEmpty()) {
+            return;
+        }
+        long nextMs = Long.MAX_VALUE;
+        for (Feed feed : feeds.values()) {
+            nextMs = Math.min(nextMs, feed.tracker.getNextRolloverMs());
+        }
+        // The uptime clock stops in deep sleep, so a late timer is caught up by observe() and onChange().
+        long delayMs = Math.max(0L, nextMs - System.currentTimeMillis()) + ROLLOVER_SLACK_MS;
+        handler.postDelayed(rolloverTask, delayMs);
+        rolloverScheduled = true;
+    }
+
+    private final class Feed {
+        final String businessId;
+        final DashboardMetricsTracker tracker = new DashboardMetricsTracker(System.currentTimeMillis());
+        ListenerRegistration registration;
+        boolean synced;
+        boolean loaded;
+        Consumer<DashboardMetrics> onUpdate;
+        Consumer<Exception> onError;
+
+        Feed(String businessId) {
+            this.businessId = businessId;
+        }
+
+        void attach() {
+            synced = false;
+            registration = repository.listenActiveCustomers(businessId, this::onChange, this::onFailure);
+        }
+
+        void detach() {
+            if (registration != null) {
+                registration.remove();
+                registration = null;
+            }
+        }
+
+        void onChange(QuerySnapshot snapshot) {
+            if (!synced) {
+                // Customers that left while stopped are missing from the first snapshot, not REMOVED in it.
+                tracker.clear();
+                for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                    tracker.upsert(RecordDecoder.customer(doc));
+                }
+                synced = true;
+            } else {
+                for (DocumentChange change : snapshot.getDocumentChanges()) {
+                    if (change.getType() == DocumentChange.Type.REMOVED) {
+                        tracker.remove(change.getDocument().getId());
+                    } else {
+                        tracker.upsert(RecordDecoder.customer(change.getDocument()));
+                    }
+                }
+            }
+            tracker.rollTo(System.currentTimeMillis());
+            loaded = true;
+            publish();
+        }
+
+        void onFailure(Exception exception) {
+            // Drop the feed so the next observe() re-attaches from scratch.
+            detach();
+            if (feeds.get(businessId) == this) {
+                feeds.remove(businessId);
+            }
+            if (onError != null) {
+                onError.accept(exception);
+            }
+        }
+
+        void publish() {
+            if (onUpdate != null) {
+                onUpdate.accept(tracker.snapshot());
+            }
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.sentri.access_control.services;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.models.ShiftRecord;
+import com.sentri.access_control.repositories.ShiftRepository;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Keeps a seat screen's {@link SeatOccupancyModel} in step with the shifts of its date window.
+ * A snapshot listener's document changes go into a {@link SeatShiftIndex}, and only the seats
+ * they touch are repainted. Attach in {@code onStart} and detach in {@code onStop}; a restart
+ * reconciles against the listener's first snapshot. Call from the main thread.
+ */
+public final class LiveSeatMap {
+
+    public interface Listener {
+        /**
+         * Called after each snapshot with the repainted seats.
+         */
+        void onSeatMapChanged(BitSet seats, boolean unallocatedChanged);
+    }
+
+    private final ShiftRepository repository;
+    private final String businessId;
+    private final long windowStartMs;
+    private final SeatOccupancyModel occupancy;
+    private final SeatShiftIndex index;
+    private final SeatShiftIndex.Painter painter;
+    private final Listener listener;
+    private final Consumer<Exception> onError;
+    private ListenerRegistration registration;
+    private boolean synced;
+    private boolean loaded;
+
+    public LiveSeatMap(ShiftRepository repository,
+                       String businessId,
+                       long windowStartMs,
+                       long windowEndMs,
+                       SeatOccupancyModel occupancy,
+                       SeatShiftIndex.Painter painter,
+                       Listener listener,
+                       Consumer<Exception> onError) {
+        this.repository = repository;
+        this.businessId = businessId;
+        this.windowStartMs = windowStartMs;
+        this.occupancy = occupancy;
+        this.index = new SeatShiftIndex(windowStartMs, windowEndMs);
+        this.painter = painter;
+        this.listener = listener;
+        this.onError = onError;
+    }
+
+    /**
+     * Attaches the listener unless it already is.
+     */
+    public void start() {
+        if (registration != null) {
+            return;
+        }
+        synced = false;
+        registration = repository.listenActiveShiftsInWindow(businessId, windowStartMs, this::onChange, this::onFailure);
+    }
+
+    /**
+     * Detaches the listener; the grid keeps its last state.
+     */
+    public void stop() {
+        if (registration != null) {
+            registration.remove();
+            registration = null;
+        }
+    }
+
+    /**
+     * True while the grid is in step with the listener: from the first snapshot after
+     * {@link #start()} until the listener fails or is restarted.
+     */
+    public boolean isLoaded() {
+        return synced;
+    }
+
+    public ShiftConflictEngine getConflicts() {
+        return index.getConflicts();
+    }
+
+    public List<ShiftRecord> getUnallocatedShifts() {
+        return index.getUnallocatedShifts();
+    }
+
+    private void onChange(QuerySnapshot snapshot) {
+        if (!synced) {
+            // Shifts removed while detached are missing from the first snapshot, not REMOVED in it.
+            List<String> ids = new ArrayList<>();
+            for (DocumentSnapshot doc : snapshot.getDocuments()) {
+                ids.add(doc.getId());
+                index.put(RecordDecoder.shift(doc));
+            }
+            index.retainOnly(ids);
+            synced = true;
+        } else {
+            for (DocumentChange change : snapshot.getDocumentChanges()) {
+                if (change.getType() == DocumentChange.Type.REMOVED) {
+                    index.remove(change.getDocument().getId());
+                } else {
+                    index.put(RecordDecoder.shift(change.getDocument()));
+                }
+            }
+        }
+        boolean firstLoad = !loaded;
+        loaded = true;
+        BitSet seats = index.repaintChanged(occupancy, painter);
+        listener.onSeatMapChanged(seats, index.takeUnallocatedChanged() || firstLoad);
+    }
+
+    private void onFailure(Exception exception) {
+        // Firestore drops a failed listener; the next start() re-attaches.
+        registration = null;
+        synced = false;
+        onError.accept(exception);
+    }
+}
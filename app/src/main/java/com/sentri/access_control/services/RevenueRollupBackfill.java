@@ -0,0 +1,104 @@
+package com.sentri.access_control.services;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.data.RevenueRollups;
+import com.sentri.access_control.models.DailyRevenue;
+import com.sentri.access_control.models.PaymentRecord;
+import com.sentri.access_control.repositories.PaymentRepository;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * Rebuilds a business's daily revenue rollups from its payment documents. Every day is overwritten
+ * with absolute totals and rollup days with no payments left are zeroed, so it is safe to re-run.
+ * Payments taken while it runs can be counted twice or missed; run it when the desk is idle.
+ */
+public class RevenueRollupBackfill {
+    static final int PAGE_SIZE = 500;
+    private static final int LAST_DAY = 99_991_231;
+
+    private final PaymentRepository paymentRepository;
+
+    public RevenueRollupBackfill(PaymentRepository paymentRepository) {
+        this.paymentRepository = paymentRepository;
+    }
+
+    /**
+     * @param onProgress receives the number of payments read so far, after each page
+     * @param onSuccess  receives the number of rollup days written
+     */
+    public void run(String businessId,
+                    Consumer<Integer> onProgress,
+                    Consumer<Integer> onSuccess,
+                    Consumer<Exception> onError) {
+        List<PaymentRecord> payments = new ArrayList<>();
+        readPage(businessId, null, payments, onProgress, () -> paymentRepository.fetchDailyRevenue(
+                businessId,
+                0,
+                LAST_DAY,
+                existing -> {
+                    List<DailyRevenue> totals = rebuild(payments, existing);
+                    paymentRepository.replaceDailyRevenue(
+                            businessId,
+                            totals,
+                            () -> onSuccess.accept(totals.size()),
+                            onError
+                    );
+                },
+                onError
+        ), onError);
+    }
+
+    private void readPage(String businessId,
+                          DocumentSnapshot lastDoc,
+                          List<PaymentRecord> payments,
+                          Consumer<Integer> onProgress,
+                          Runnable onDone,
+                          Consumer<Exception> onError) {
+        paymentRepository.fetchPaymentsPage(businessId, lastDoc, PAGE_SIZE, (QuerySnapshot page) -> {
+            List<DocumentSnapshot> docs = page.getDocuments();
+            payments.addAll(RecordDecoder.payments(docs));
+            if (onProgress != null) {
+                onProgress.accept(payments.size());
+            }
+            if (docs.size() < PAGE_SIZE) {
+                onDone.run();
+            } else {
+                readPage(businessId, docs.get(docs.size() - 1), payments, onProgress, onDone, onError);
+            }
+        }, onError);
+    }
+
+    /**
+     * Totals per day from the payments, plus a zeroed entry for every existing rollup day that no
+     * longer has payments. Payments without a created_at cannot be dated and are skipped.
+     */
+    static List<DailyRevenue> rebuild(List<PaymentRecord> payments, List<DailyRevenue> existing) {
+        List<DailyRevenue> contributions = new ArrayList<>(payments.size());
+        for (PaymentRecord payment : payments) {
+            if (payment.getCreatedAtMs() != RecordDecoder.NO_TIME) {
+                contributions.add(RevenueRollups.fromPayment(payment, RecordDecoder.NO_TIME));
+            }
+        }
+        List<DailyRevenue> totals = RevenueRollups.mergeByDay(contributions);
+
+        Set<Integer> days = new HashSet<>();
+        for (DailyRevenue day : totals) {
+            days.add(day.getDay());
+        }
+        List<DailyRevenue> stale = new ArrayList<>();
+        for (DailyRevenue day : existing) {
+            if (days.add(day.getDay())) {
+                stale.add(RevenueRollups.empty(day.getDay()));
+            }
+        }
+        totals.addAll(stale);
+        return RevenueRollups.mergeByDay(totals);
+    }
+}
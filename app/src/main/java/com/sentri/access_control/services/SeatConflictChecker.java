@@ -0,0 +1,61 @@
+package com.sentri.access_control.services;
+
+import java.util.function.IntConsumer;
+import java.util.function.IntPredicate;
+
+/**
+ * Pure time-range and hour-grid rules shared by the seat screens. Hour ranges may wrap past
+ * closing time (overnight shifts), in which case they continue from the opening hour.
+ */
+public final class SeatConflictChecker {
+
+    private SeatConflictChecker() {} // Prevent instantiation
+
+    /**
+     * Half-open range overlap: [startA, endA) and [startB, endB) share at least one instant.
+     */
+    public static boolean rangesOverlap(long startA, long endA, long startB, long endB) {
+        return endA > startB && startA < endB;
+    }
+
+    /**
+     * Returns true if [newStartMs, newEndMs) overlaps any of the given ranges.
+     */
+    public static boolean overlapsAny(long newStartMs, long newEndMs, long[] startsMs, long[] endsMs, int count) {
+        for (int i = 0; i < count; i++) {
+            if (rangesOverlap(startsMs[i], endsMs[i], newStartMs, newEndMs)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Visits the grid hours a shift occupies, from startHour up to (not including) endHour.
+     */
+    public static void forEachShiftHour(int startHour, int endHour, int openHour, int closeHour, IntConsumer action) {
+        if (startHour <= endHour) {
+            for (int h = startHour; h < endHour; h++) action.accept(h);
+        } else {
+            for (int h = startHour; h < closeHour; h++) action.accept(h);
+            for (int h = openHour; h < endHour; h++) action.accept(h);
+        }
+    }
+
+    /**
+     * Returns true if any hour from startHour through endHourInclusive is blocked.
+     */
+    public static boolean hasHourConflict(int startHour,
+                                          int endHourInclusive,
+                                          int openHour,
+                                          int closeHour,
+                                          IntPredicate blockedHour) {
+        if (startHour <= endHourInclusive) {
+            for (int h = startHour; h <= endHourInclusive; h++) if (blockedHour.test(h)) return true;
+        } else {
+            for (int h = startHour; h < closeHour; h++) if (blockedHour.test(h)) return true;
+            for (int h = openHour; h <= endHourInclusive; h++) if (blockedHour.test(h)) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,300 @@
+package com.sentri.access_control.services;
+
+import com.sentri.access_control.ui.SeatGridView;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Occupancy of a seat x hour grid for the seat screens. Each seat keeps one {@code long} per
+ * cell state with bit {@code h} standing for hour {@code h} of the day, so a cell lookup is a
+ * bit test and a range check or update is a single mask operation. Customer IDs are interned
+ * into an int table so each cell only stores an index. Hour ranges follow
+ * {@link SeatConflictChecker}: a start after the end wraps past closing time to the opening hour.
+ * Not thread-safe.
+ */
+public final class SeatOccupancyModel implements SeatGridView.Cells {
+    public static final int HOURS_PER_DAY = 24;
+    private static final int NO_CUSTOMER = -1;
+
+    private int seatCount;
+    private int openHour;
+    private int closeHour;
+    // Hours of the day shown by the grid.
+    private long gridMask;
+    private long[] occupied = new long[0];
+    private long[] customerShift = new long[0];
+    private long[] selected = new long[0];
+    private long[] labelled = new long[0];
+    // Customer table index per seat and hour of the day.
+    private int[] cellCustomer = new int[0];
+    private final List<String> customerIds = new ArrayList<>();
+    private final Map<String, Integer> customerIndex = new HashMap<>();
+
+    /**
+     * State of the whole grid, see {@link #snapshot()}.
+     */
+    public static final class Snapshot {
+        private final int seatCount;
+        private final long[] occupied;
+        private final long[] customerShift;
+        private final long[] selected;
+        private final long[] labelled;
+        private final int[] cellCustomer;
+
+        private Snapshot(SeatOccupancyModel model) {
+            seatCount = model.seatCount;
+            occupied = model.occupied.clone();
+            customerShift = model.customerShift.clone();
+            selected = model.selected.clone();
+            labelled = model.labelled.clone();
+            cellCustomer = model.cellCustomer.clone();
+        }
+    }
+
+    /**
+     * Resizes the grid to seats 1..{@code seatCount} by hours {@code openHour} up to
+     * {@code closeHour} and frees every cell.
+     */
+    public void reset(int seatCount, int openHour, int closeHour) {
+        this.seatCount = Math.max(0, seatCount);
+        this.openHour = openHour;
+        this.closeHour = closeHour;
+        gridMask = bits(openHour, closeHour);
+        occupied = new long[this.seatCount];
+        customerShift = new long[this.seatCount];
+        selected = new long[this.seatCount];
+        labelled = new long[this.seatCount];
+        cellCustomer = new int[this.seatCount * HOURS_PER_DAY];
+        Arrays.fill(cellCustomer, NO_CUSTOMER);
+        customerIds.clear();
+        customerIndex.clear();
+    }
+
+    @Override
+    public int getSeatCount() {
+        return seatCount;
+    }
+
+    @Override
+    public int getOpenHour() {
+        return openHour;
+    }
+
+    @Override
+    public int getCloseHour() {
+        return closeHour;
+    }
+
+    @Override
+    public int getCellState(int seat, int hour) {
+        long bit = cellBit(seat, hour);
+        if (bit == 0L) {
+            return SeatGridView.CELL_FREE;
+        }
+        int s = seat - 1;
+        if ((customerShift[s] & bit) != 0L) return SeatGridView.CELL_CUSTOMER_SHIFT;
+        if ((occupied[s] & bit) != 0L) return SeatGridView.CELL_OCCUPIED;
+        if ((selected[s] & bit) != 0L) return SeatGridView.CELL_SELECTED;
+        return SeatGridView.CELL_FREE;
+    }
+
+    @Override
+    public String getCellLabel(int seat, int hour) {
+        long bit = cellBit(seat, hour);
+        if (bit == 0L || (labelled[seat - 1] & bit) == 0L) {
+            return null;
+        }
+        return getCustomerId(seat, hour);
+    }
+
+    /**
+     * The customer occupying the cell, or null.
+     */
+    public String getCustomerId(int seat, int hour) {
+        if (cellBit(seat, hour) == 0L) {
+            return null;
+        }
+        int index = cellCustomer[(seat - 1) * HOURS_PER_DAY + hour];
+        return index != NO_CUSTOMER ? customerIds.get(index) : null;
+    }
+
+    /**
+     * Marks a shift's hours, {@code startHour} up to {@code endHour}, as taken by
+     * {@code customerId}, skipping cells of the current customer's shifts and selected cells.
+     *
+     * @param labelled whether the cells show the customer ID
+     */
+    public void occupy(int seat, int startHour, int endHour, String customerId, boolean labelled) {
+        if (!isSeat(seat)) {
+            return;
+        }
+        int s = seat - 1;
+        long mask = shiftMask(startHour, endHour) & ~(customerShift[s] | selected[s]);
+        if (mask == 0L) {
+            return;
+        }
+        occupied[s] |= mask;
+        if (labelled) {
+            this.labelled[s] |= mask;
+        } else {
+            this.labelled[s] &= ~mask;
+        }
+        setCustomer(s, mask, internCustomer(customerId));
+    }
+
+    /**
+     * Marks a shift's hours, {@code startHour} up to {@code endHour}, as one of the current
+     * customer's own shifts, replacing whatever the cells held.
+     */
+    public void markCustomerShift(int seat, int startHour, int endHour) {
+        if (!isSeat(seat)) {
+            return;
+        }
+        int s = seat - 1;
+        long mask = shiftMask(startHour, endHour);
+        customerShift[s] |= mask;
+        occupied[s] &= ~mask;
+        selected[s] &= ~mask;
+        labelled[s] &= ~mask;
+        setCustomer(s, mask, NO_CUSTOMER);
+    }
+
+    /**
+     * Selects the free hours from {@code startHour} through {@code endHourInclusive}.
+     */
+    public void select(int seat, int startHour, int endHourInclusive) {
+        if (!isSeat(seat)) {
+            return;
+        }
+        int s = seat - 1;
+        selected[s] |= inclusiveMask(startHour, endHourInclusive) & ~(occupied[s] | customerShift[s]);
+    }
+
+    /**
+     * True if another customer holds any hour from {@code startHour} through
+     * {@code endHourInclusive}.
+     */
+    public boolean isOccupied(int seat, int startHour, int endHourInclusive) {
+        return isSeat(seat) && (occupied[seat - 1] & inclusiveMask(startHour, endHourInclusive)) != 0L;
+    }
+
+    /**
+     * True if a shift's hours, {@code startHour} up to {@code endHour}, cover a selected cell.
+     */
+    public boolean overlapsSelection(int seat, int startHour, int endHour) {
+        return isSeat(seat) && (selected[seat - 1] & shiftMask(startHour, endHour)) != 0L;
+    }
+
+    /**
+     * Frees every cell of the seat except selected ones, so its shifts can be painted again.
+     */
+    public void clearSeat(int seat) {
+        if (!isSeat(seat)) {
+            return;
+        }
+        int s = seat - 1;
+        occupied[s] = 0L;
+        customerShift[s] = 0L;
+        labelled[s] = 0L;
+        Arrays.fill(cellCustomer, s * HOURS_PER_DAY, (s + 1) * HOURS_PER_DAY, NO_CUSTOMER);
+    }
+
+    public void clearSelection() {
+        Arrays.fill(selected, 0L);
+    }
+
+    public void clearSelection(int seat) {
+        if (isSeat(seat)) {
+            selected[seat - 1] = 0L;
+        }
+    }
+
+    /**
+     * Copies the grid's cell state; restoring it is as cheap as taking it.
+     */
+    public Snapshot snapshot() {
+        return new Snapshot(this);
+    }
+
+    /**
+     * Puts back a snapshot taken since the last {@link #reset}.
+     */
+    public void restore(Snapshot snapshot) {
+        if (snapshot.seatCount != seatCount) {
+            throw new IllegalArgumentException("Snapshot is of a " + snapshot.seatCount + "-seat grid, not " + seatCount);
+        }
+        occupied = snapshot.occupied.clone();
+        customerShift = snapshot.customerShift.clone();
+        selected = snapshot.selected.clone();
+        labelled = snapshot.labelled.clone();
+        cellCustomer = snapshot.cellCustomer.clone();
+    }
+
+    private void setCustomer(int s, long mask, int customer) {
+        int base = s * HOURS_PER_DAY;
+        for (long rest = mask; rest != 0L; rest &= rest - 1) {
+            cellCustomer[base + Long.numberOfTrailingZeros(rest)] = customer;
+        }
+    }
+
+    private int internCustomer(String customerId) {
+        if (customerId == null) {
+            return NO_CUSTOMER;
+        }
+        Integer index = customerIndex.get(customerId);
+        if (index == null) {
+            index = customerIds.size();
+            customerIds.add(customerId);
+            customerIndex.put(customerId, index);
+        }
+        return index;
+    }
+
+    private boolean isSeat(int seat) {
+        return seat >= 1 && seat <= seatCount;
+    }
+
+    private long cellBit(int seat, int hour) {
+        if (!isSeat(seat) || hour < 0 || hour >= HOURS_PER_DAY) {
+            return 0L;
+        }
+        return (1L << hour) & gridMask;
+    }
+
+    /**
+     * Hours {@code startHour} up to {@code endHour} within the grid, as forEachShiftHour visits them.
+     */
+    private long shiftMask(int startHour, int endHour) {
+        if (startHour <= endHour) {
+            return bits(startHour, endHour) & gridMask;
+        }
+        return (bits(startHour, closeHour) | bits(openHour, endHour)) & gridMask;
+    }
+
+    /**
+     * Hours {@code startHour} through {@code endHourInclusive} within the grid, as hasHourConflict
+     * checks them.
+     */
+    private long inclusiveMask(int startHour, int endHourInclusive) {
+        if (startHour <= endHourInclusive) {
+            return bits(startHour, endHourInclusive + 1) & gridMask;
+        }
+        return (bits(startHour, closeHour) | bits(openHour, endHourInclusive + 1)) & gridMask;
+    }
+
+    /**
+     * Bits {@code from} up to {@code to} of a day, clamped to 0..24.
+     */
+    private static long bits(int from, int to) {
+        int lo = Math.max(0, from);
+        int hi = Math.min(HOURS_PER_DAY, to);
+        if (lo >= hi) {
+            return 0L;
+        }
+        return (-1L >>> (64 - (hi - lo))) << lo;
+    }
+}
@@ -0,0 +1,177 @@
+package com.sentri.access_control.services;
+
+import com.sentri.access_control.models.ShiftRecord;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * The active shifts of a seat screen's date window, kept by ID and by seat so a changed shift
+ * only repaints the seats it left and joined. A {@link ShiftConflictEngine} over the same shifts
+ * is kept current alongside. Not thread-safe.
+ */
+public final class SeatShiftIndex {
+    private static final Comparator<ShiftRecord> BY_START = (a, b) -> {
+        int byStart = Long.compare(a.getStartMs(), b.getStartMs());
+        return byStart != 0 ? byStart : String.valueOf(a.getId()).compareTo(String.valueOf(b.getId()));
+    };
+
+    /**
+     * Paints one seated shift into the grid, given its local start and end hours.
+     */
+    public interface Painter {
+        void paint(SeatOccupancyModel occupancy, ShiftRecord shift, int startHour, int endHour);
+    }
+
+    private final long windowStartMs;
+    private final long windowEndMs;
+    private final Map<String, ShiftRecord> byId = new HashMap<>();
+    private final Map<Integer, Map<String, ShiftRecord>> bySeat = new HashMap<>();
+    private final ShiftConflictEngine conflicts = new ShiftConflictEngine();
+    private final BitSet changedSeats = new BitSet();
+    private boolean unallocatedChanged;
+
+    public SeatShiftIndex(long windowStartMs, long windowEndMs) {
+        this.windowStartMs = windowStartMs;
+        this.windowEndMs = windowEndMs;
+    }
+
+    /**
+     * Adds or replaces the shift. One that is inactive, has no times or misses the window is
+     * removed instead.
+     */
+    public void put(ShiftRecord shift) {
+        if (shift.getId() == null) {
+            return;
+        }
+        remove(shift.getId());
+        if (!shift.isActive() || !shift.hasTimes()
+                || !SeatConflictChecker.rangesOverlap(shift.getStartMs(), shift.getEndMs(), windowStartMs, windowEndMs)) {
+            return;
+        }
+        byId.put(shift.getId(), shift);
+        conflicts.add(shift);
+        int seat = shift.getSeatNumber();
+        if (seat > 0) {
+            Map<String, ShiftRecord> onSeat = bySeat.get(seat);
+            if (onSeat == null) {
+                onSeat = new HashMap<>();
+                bySeat.put(seat, onSeat);
+            }
+            onSeat.put(shift.getId(), shift);
+            changedSeats.set(seat);
+        } else if (shift.isUnallocated()) {
+            unallocatedChanged = true;
+        }
+    }
+
+    public void remove(String shiftId) {
+        ShiftRecord old = byId.remove(shiftId);
+        if (old == null) {
+            return;
+        }
+        conflicts.remove(shiftId);
+        int seat = old.getSeatNumber();
+        if (seat > 0) {
+            Map<String, ShiftRecord> onSeat = bySeat.get(seat);
+            if (onSeat != null) {
+                onSeat.remove(shiftId);
+                if (onSeat.isEmpty()) {
+                    bySeat.remove(seat);
+                }
+            }
+            changedSeats.set(seat);
+        } else if (old.isUnallocated()) {
+            unallocatedChanged = true;
+        }
+    }
+
+    /**
+     * Removes every shift whose ID is not in {@code shiftIds}, e.g. ones that went away while a
+     * listener was detached.
+     */
+    public void retainOnly(Collection<String> shiftIds) {
+        Set<String> keep = new HashSet<>(shiftIds);
+        for (String id : new ArrayList<>(byId.keySet())) {
+            if (!keep.contains(id)) {
+                remove(id);
+            }
+        }
+    }
+
+    public int size() {
+        return byId.size();
+    }
+
+    public ShiftConflictEngine getConflicts() {
+        return conflicts;
+    }
+
+    /**
+     * Unallocated shifts in start order.
+     */
+    public List<ShiftRecord> getUnallocatedShifts() {
+        List<ShiftRecord> unallocated = new ArrayList<>();
+        for (ShiftRecord shift : byId.values()) {
+            if (shift.getSeatNumber() <= 0 && shift.isUnallocated()) {
+                unallocated.add(shift);
+            }
+        }
+        unallocated.sort(BY_START);
+        return unallocated;
+    }
+
+    /**
+     * True once after the unallocated shifts change.
+     */
+    public boolean takeUnallocatedChanged() {
+        boolean changed = unallocatedChanged;
+        unallocatedChanged = false;
+        return changed;
+    }
+
+    /**
+     * Marks every seat with shifts for the next {@link #repaintChanged}, e.g. after the grid was
+     * reset.
+     */
+    public void markAllSeatsChanged() {
+        for (int seat : bySeat.keySet()) {
+            changedSeats.set(seat);
+        }
+    }
+
+    /**
+     * Clears each seat changed since the last call and paints its shifts again in start order.
+     * Selected cells are left to the painter. Returns the repainted seats.
+     */
+    public BitSet repaintChanged(SeatOccupancyModel occupancy, Painter painter) {
+        BitSet repainted = (BitSet) changedSeats.clone();
+        changedSeats.clear();
+        Calendar cal = Calendar.getInstance();
+        for (int seat = repainted.nextSetBit(0); seat >= 0; seat = repainted.nextSetBit(seat + 1)) {
+            occupancy.clearSeat(seat);
+            Map<String, ShiftRecord> onSeat = bySeat.get(seat);
+            if (onSeat == null) {
+                continue;
+            }
+            List<ShiftRecord> shifts = new ArrayList<>(onSeat.values());
+            shifts.sort(BY_START);
+            for (ShiftRecord shift : shifts) {
+                cal.setTimeInMillis(shift.getStartMs());
+                int startHour = cal.get(Calendar.HOUR_OF_DAY);
+                cal.setTimeInMillis(shift.getEndMs());
+                int endHour = cal.get(Calendar.HOUR_OF_DAY);
+                painter.paint(occupancy, shift, startHour, endHour);
+            }
+        }
+        return repainted;
+    }
+}
@@ -0,0 +1,345 @@
+package com.sentri.access_control.services;
+
+import com.sentri.access_control.models.ShiftRecord;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Answers "does [start, end) overlap a shift on this seat, or one of this customer's shifts?"
+ * from interval trees kept per seat and per customer. A query costs O(log n + k) for k matches,
+ * and shifts can be added, replaced and removed one at a time as they change. Times are epoch
+ * millis; an end at or before its start is an overnight shift and ends on a following day.
+ * Unallocated shifts are only indexed per customer. Not thread-safe.
+ */
+public final class ShiftConflictEngine {
+    static final long DAY_MS = 24L * 60L * 60L * 1000L;
+
+    private final Map<Integer, IntervalTree> bySeat = new HashMap<>();
+    private final Map<String, IntervalTree> byCustomer = new HashMap<>();
+    private final Map<String, Node> byShiftId = new HashMap<>();
+    private long nextSeq;
+
+    public static ShiftConflictEngine of(Collection<ShiftRecord> shifts) {
+        ShiftConflictEngine engine = new ShiftConflictEngine();
+        for (ShiftRecord shift : shifts) {
+            engine.add(shift);
+        }
+        return engine;
+    }
+
+    /**
+     * Indexes the shift, replacing any earlier version with the same ID. Shifts without both
+     * times are ignored; callers filter out inactive shifts if they should not count.
+     */
+    public void add(ShiftRecord shift) {
+        if (shift.getId() != null) {
+            remove(shift.getId());
+        }
+        if (!shift.hasTimes()) {
+            return;
+        }
+        long start = shift.getStartMs();
+        Node node = new Node(shift, start, normalizedEnd(start, shift.getEndMs()), nextSeq++);
+        if (shift.getSeatNumber() > 0) {
+            treeFor(bySeat, shift.getSeatNumber()).insert(node.copy());
+        }
+        if (shift.getCustomerId() != null) {
+            treeFor(byCustomer, shift.getCustomerId()).insert(node.copy());
+        }
+        if (shift.getId() != null) {
+            byShiftId.put(shift.getId(), node);
+        }
+    }
+
+    /**
+     * Drops the shift with this ID; returns false if it was not indexed.
+     */
+    public boolean remove(String shiftId) {
+        Node node = byShiftId.remove(shiftId);
+        if (node == null) {
+            return false;
+        }
+        ShiftRecord shift = node.shift;
+        if (shift.getSeatNumber() > 0) {
+            removeFrom(bySeat, shift.getSeatNumber(), node);
+        }
+        if (shift.getCustomerId() != null) {
+            removeFrom(byCustomer, shift.getCustomerId(), node);
+        }
+        return true;
+    }
+
+    public int size() {
+        return byShiftId.size();
+    }
+
+    public boolean seatOverlaps(int seat, long startMs, long endMs) {
+        IntervalTree tree = bySeat.get(seat);
+        return tree != null && tree.overlapsAny(startMs, normalizedEnd(startMs, endMs));
+    }
+
+    /**
+     * Shifts on the seat overlapping [startMs, endMs), in start order.
+     */
+    public List<ShiftRecord> findSeatOverlaps(int seat, long startMs, long endMs) {
+        return find(bySeat.get(seat), startMs, endMs);
+    }
+
+    public boolean customerOverlaps(String customerId, long startMs, long endMs) {
+        IntervalTree tree = byCustomer.get(customerId);
+        return tree != null && tree.overlapsAny(startMs, normalizedEnd(startMs, endMs));
+    }
+
+    /**
+     * The customer's shifts overlapping [startMs, endMs), in start order.
+     */
+    public List<ShiftRecord> findCustomerOverlaps(String customerId, long startMs, long endMs) {
+        return find(byCustomer.get(customerId), startMs, endMs);
+    }
+
+    /**
+     * True if any two of the customer's shifts overlap, found in one in-order pass.
+     */
+    public boolean hasOverlappingShifts(String customerId) {
+        IntervalTree tree = byCustomer.get(customerId);
+        return tree != null && tree.hasInternalOverlap();
+    }
+
+    /**
+     * True if any two of the shifts overlap, whichever customer they are filed under. Shifts
+     * without both times are skipped. One sort and one pass, without building the trees.
+     */
+    public static boolean anyOverlap(Collection<ShiftRecord> shifts) {
+        List<ShiftRecord> timed = new ArrayList<>(shifts.size());
+        for (ShiftRecord shift : shifts) {
+            if (shift.hasTimes()) {
+                timed.add(shift);
+            }
+        }
+        Collections.sort(timed, (a, b) -> Long.compare(a.getStartMs(), b.getStartMs()));
+        long latestEnd = Long.MIN_VALUE;
+        for (ShiftRecord shift : timed) {
+            if (shift.getStartMs() < latestEnd) {
+                return true;
+            }
+            latestEnd = Math.max(latestEnd, normalizedEnd(shift.getStartMs(), shift.getEndMs()));
+        }
+        return false;
+    }
+
+    /**
+     * The end of [startMs, endMs), moved on by whole days when it is not after the start.
+     */
+    static long normalizedEnd(long startMs, long endMs) {
+        if (endMs > startMs) {
+            return endMs;
+        }
+        return endMs + ((startMs - endMs) / DAY_MS + 1) * DAY_MS;
+    }
+
+    private static List<ShiftRecord> find(IntervalTree tree, long startMs, long endMs) {
+        List<ShiftRecord> found = new ArrayList<>();
+        if (tree != null) {
+            tree.collect(tree.root, startMs, normalizedEnd(startMs, endMs), found);
+        }
+        return found;
+    }
+
+    private static <K> IntervalTree treeFor(Map<K, IntervalTree> trees, K key) {
+        IntervalTree tree = trees.get(key);
+        if (tree == null) {
+            tree = new IntervalTree();
+            trees.put(key, tree);
+        }
+        return tree;
+    }
+
+    private static <K> void removeFrom(Map<K, IntervalTree> trees, K key, Node node) {
+        IntervalTree tree = trees.get(key);
+        if (tree == null) {
+            return;
+        }
+        tree.remove(node);
+        if (tree.root == null) {
+            trees.remove(key);
+        }
+    }
+
+    private static final class Node {
+        final ShiftRecord shift;
+        final long start;
+        final long end;
+        // Orders shifts with equal starts and seeds the heap priority.
+        final long seq;
+        final int priority;
+        long maxEnd;
+        Node left;
+        Node right;
+
+        Node(ShiftRecord shift, long start, long end, long seq) {
+            this.shift = shift;
+            this.start = start;
+            this.end = end;
+            this.seq = seq;
+            this.priority = mix(seq);
+            this.maxEnd = end;
+        }
+
+        Node copy() {
+            return new Node(shift, start, end, seq);
+        }
+
+        boolean before(Node other) {
+            return start < other.start || (start == other.start && seq < other.seq);
+        }
+
+        boolean sameKey(Node other) {
+            return start == other.start && seq == other.seq;
+        }
+
+        private static int mix(long seq) {
+            long z = seq + 0x9E3779B97F4A7C15L;
+            z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+            z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+            return (int) (z ^ (z >>> 31));
+        }
+    }
+
+    /**
+     * Treap ordered by start, each node also holding the latest end in its subtree, so a query
+     * skips every subtree that ends before it begins.
+     */
+    private static final class IntervalTree {
+        Node root;
+
+        void insert(Node node) {
+            root = insert(root, node);
+        }
+
+        void remove(Node key) {
+            root = remove(root, key);
+        }
+
+        boolean overlapsAny(long start, long end) {
+            Node node = root;
+            while (node != null && node.maxEnd > start) {
+                if (node.start < end && node.end > start) {
+                    return true;
+                }
+                // Anything overlapping in the right subtree starts before end, so if the left
+                // subtree reaches past start it holds a match whenever the right one would.
+                if (node.left != null && node.left.maxEnd > start) {
+                    node = node.left;
+                } else if (node.start < end) {
+                    node = node.right;
+                } else {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        void collect(Node node, long start, long end, List<ShiftRecord> out) {
+            if (node == null || node.maxEnd <= start) {
+                return;
+            }
+            collect(node.left, start, end, out);
+            if (node.start < end) {
+                if (node.end > start) {
+                    out.add(node.shift);
+                }
+                collect(node.right, start, end, out);
+            }
+        }
+
+        boolean hasInternalOverlap() {
+            long[] latestEnd = {Long.MIN_VALUE};
+            return sweep(root, latestEnd);
+        }
+
+        private static boolean sweep(Node node, long[] latestEnd) {
+            if (node == null) {
+                return false;
+            }
+            if (sweep(node.left, latestEnd)) {
+                return true;
+            }
+            if (node.start < latestEnd[0]) {
+                return true;
+            }
+            latestEnd[0] = Math.max(latestEnd[0], node.end);
+            return sweep(node.right, latestEnd);
+        }
+
+        private static Node insert(Node tree, Node node) {
+            if (tree == null) {
+                return node;
+            }
+            if (node.before(tree)) {
+                tree.left = insert(tree.left, node);
+                if (tree.left.priority > tree.priority) {
+                    tree = rotateRight(tree);
+                }
+            } else {
+                tree.right = insert(tree.right, node);
+                if (tree.right.priority > tree.priority) {
+                    tree = rotateLeft(tree);
+                }
+            }
+            return update(tree);
+        }
+
+        private static Node remove(Node tree, Node key) {
+            if (tree == null) {
+                return null;
+            }
+            if (tree.sameKey(key)) {
+                return merge(tree.left, tree.right);
+            }
+            if (key.before(tree)) {
+                tree.left = remove(tree.left, key);
+            } else {
+                tree.right = remove(tree.right, key);
+            }
+            return update(tree);
+        }
+
+        private static Node merge(Node left, Node right) {
+            if (left == null) return right;
+            if (right == null) return left;
+            if (left.priority > right.priority) {
+                left.right = merge(left.right, right);
+                return update(left);
+            }
+            right.left = merge(left, right.left);
+            return update(right);
+        }
+
+        private static Node rotateRight(Node node) {
+            Node top = node.left;
+            node.left = top.right;
+            top.right = update(node);
+            return top;
+        }
+
+        private static Node rotateLeft(Node node) {
+            Node top = node.right;
+            node.right = top.left;
+            top.left = update(node);
+            return top;
+        }
+
+        private static Node update(Node node) {
+            long maxEnd = node.end;
+            if (node.left != null) maxEnd = Math.max(maxEnd, node.left.maxEnd);
+            if (node.right != null) maxEnd = Math.max(maxEnd, node.right.maxEnd);
+            node.maxEnd = maxEnd;
+            return node;
+        }
+    }
+}
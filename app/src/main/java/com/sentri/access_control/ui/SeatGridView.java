@@ -0,0 +1,528 @@
+package com.sentri.access_control.ui;
+
+import android.content.Context;
+import android.content.res.TypedArray;
+import android.graphics.Canvas;
+import android.graphics.Color;
+import android.graphics.Paint;
+import android.graphics.Rect;
+import android.graphics.Typeface;
+import android.graphics.drawable.Drawable;
+import android.os.Bundle;
+import android.text.TextPaint;
+import android.text.TextUtils;
+import android.util.AttributeSet;
+import android.util.TypedValue;
+import android.view.GestureDetector;
+import android.view.KeyEvent;
+import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
+import android.view.View;
+import android.view.accessibility.AccessibilityEvent;
+import android.widget.OverScroller;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.core.content.ContextCompat;
+import androidx.core.view.ViewCompat;
+import androidx.core.view.accessibility.AccessibilityNodeInfoCompat;
+import androidx.customview.widget.ExploreByTouchHelper;
+
+import com.sentri.access_control.R;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Seat x hour grid drawn straight onto a canvas: an hour header along the top and a seat column
+ * down the left stay pinned while the cells scroll under them. Only the cells on screen are
+ * drawn, taps are resolved to a seat and hour by position, and pinch or the zoom buttons only
+ * change the cell size, so a large hall never inflates a view per cell. Accessibility services
+ * see the cells on screen as virtual views that describe and click like the drawn ones.
+ */
+public class SeatGridView extends View {
+    public static final int CELL_FREE = 0;
+    public static final int CELL_OCCUPIED = 1;
+    public static final int CELL_CUSTOMER_SHIFT = 2;
+    public static final int CELL_SELECTED = 3;
+
+    public static final float MIN_COL_DP = 36f;
+    public static final float MAX_COL_DP = 220f;
+    public static final float DEFAULT_COL_DP = 80f;
+    public static final float COL_STEP_DP = 12f;
+
+    private static final float SEAT_COLUMN_DP = 72f;
+    private static final float HEADER_TEXT_SP = 11f;
+    private static final float CELL_TEXT_SP = 12f;
+
+    /**
+     * What the grid shows: seats 1..{@link #getSeatCount()} by hours {@link #getOpenHour()} up
+     * to, not including, {@link #getCloseHour()}.
+     */
+    public interface Cells {
+        int getSeatCount();
+
+        int getOpenHour();
+
+        int getCloseHour();
+
+        /** One of the {@code CELL_} constants. */
+        int getCellState(int seat, int hour);
+
+        /** Text drawn in the cell, or null. */
+        String getCellLabel(int seat, int hour);
+    }
+
+    public interface OnCellClickListener {
+        void onCellClick(int seat, int hour);
+    }
+
+    private final Drawable[] cellBackgrounds;
+    private final Drawable borderBackground;
+    private final TextPaint headerPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint seatPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final TextPaint labelPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+    private final GestureDetector gestures;
+    private final ScaleGestureDetector scaleGestures;
+    private final OverScroller scroller;
+    private final CellAccessibility accessibility;
+
+    private Cells cells;
+    private OnCellClickListener clickListener;
+    private String[] hourLabels = new String[0];
+    private int seatCount;
+    private int openHour;
+    private int hourCount;
+
+    private float colDp = DEFAULT_COL_DP;
+    // Pixel sizes derived from colDp by applyZoom().
+    private float colWidth;
+    private float rowHeight;
+    private float headerHeight;
+    private float seatColumnWidth;
+    private float cellPadding;
+
+    // Scroll position of the cell area under the pinned header and seat column.
+    private float offsetX;
+    private float offsetY;
+
+    public SeatGridView(Context context) {
+        this(context, null);
+    }
+
+    public SeatGridView(Context context, AttributeSet attrs) {
+        this(context, attrs, 0);
+    }
+
+    public SeatGridView(Context context, AttributeSet attrs, int defStyleAttr) {
+        super(context, attrs, defStyleAttr);
+        borderBackground = ContextCompat.getDrawable(context, R.drawable.cell_border);
+        cellBackgrounds = new Drawable[] {
+                borderBackground,
+                ContextCompat.getDrawable(context, R.drawable.cell_occupied),
+                ContextCompat.getDrawable(context, R.drawable.cell_customer_shift),
+                ContextCompat.getDrawable(context, R.drawable.cell_selected)
+        };
+
+        TypedArray a = context.obtainStyledAttributes(new int[] {android.R.attr.textColorPrimary});
+        int textColor = a.getColor(0, Color.BLACK);
+        a.recycle();
+        headerPaint.setColor(textColor);
+        headerPaint.setTypeface(Typeface.DEFAULT_BOLD);
+        headerPaint.setTextAlign(Paint.Align.CENTER);
+        seatPaint.setColor(textColor);
+        seatPaint.setTextAlign(Paint.Align.CENTER);
+        labelPaint.setColor(Color.WHITE);
+        labelPaint.setUnderlineText(true);
+        labelPaint.setTextAlign(Paint.Align.CENTER);
+
+        scroller = new OverScroller(context);
+        gestures = new GestureDetector(context, new GestureDetector.SimpleOnGestureListener() {
+            @Override
+            public boolean onDown(MotionEvent e) {
+                scroller.forceFinished(true);
+                return true;
+            }
+
+            @Override
+            public boolean onScroll(MotionEvent e1, MotionEvent e2, float distanceX, float distanceY) {
+                scrollCellsTo(offsetX + distanceX, offsetY + distanceY);
+                return true;
+            }
+
+            @Override
+            public boolean onFling(MotionEvent e1, MotionEvent e2, float velocityX, float velocityY) {
+                scroller.fling((int) offsetX, (int) offsetY, (int) -velocityX, (int) -velocityY,
+                        0, (int) maxOffsetX(), 0, (int) maxOffsetY());
+                postInvalidateOnAnimation();
+                return true;
+            }
+
+            @Override
+            public boolean onSingleTapUp(MotionEvent e) {
+                performClick();
+                dispatchCellClick(e.getX(), e.getY());
+                return true;
+            }
+        });
+        scaleGestures = new ScaleGestureDetector(context, new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+            @Override
+            public boolean onScale(ScaleGestureDetector detector) {
+                zoomTo(colDp * detector.getScaleFactor(), detector.getFocusX(), detector.getFocusY());
+                return true;
+            }
+        });
+        applyZoom();
+
+        accessibility = new CellAccessibility();
+        ViewCompat.setAccessibilityDelegate(this, accessibility);
+    }
+
+    public void setCells(Cells cells) {
+        this.cells = cells;
+        notifyCellsChanged();
+    }
+
+    /**
+     * Call after the seat count or opening hours change; plain cell changes only need
+     * {@link #invalidate()}.
+     */
+    public void notifyCellsChanged() {
+        seatCount = cells != null ? Math.max(0, cells.getSeatCount()) : 0;
+        openHour = cells != null ? cells.getOpenHour() : 0;
+        hourCount = cells != null ? Math.max(0, cells.getCloseHour() - openHour) : 0;
+        hourLabels = new String[hourCount];
+        for (int i = 0; i < hourCount; i++) {
+            hourLabels[i] = fmtHour(openHour + i) + "-" + fmtHour(openHour + i + 1);
+        }
+        scrollCellsTo(offsetX, offsetY);
+        invalidate();
+    }
+
+    /**
+     * Redraws after the seat's cells changed; does nothing while its row is scrolled out of view.
+     */
+    public void invalidateSeat(int seat) {
+        float top = headerHeight + (seat - 1) * rowHeight - offsetY;
+        if (seat < 1 || seat > seatCount || top >= getHeight() || top + rowHeight <= headerHeight) {
+            return;
+        }
+        invalidate();
+        accessibility.invalidateRoot();
+    }
+
+    public void setOnCellClickListener(OnCellClickListener listener) {
+        this.clickListener = listener;
+    }
+
+    public void zoomIn() {
+        zoomTo(colDp + COL_STEP_DP, seatColumnWidth, headerHeight);
+    }
+
+    public void zoomOut() {
+        zoomTo(colDp - COL_STEP_DP, seatColumnWidth, headerHeight);
+    }
+
+    public float getColumnWidthDp() {
+        return colDp;
+    }
+
+    /**
+     * Resizes the cells, keeping the grid point under ({@code focusX}, {@code focusY}) in place.
+     */
+    private void zoomTo(float newColDp, float focusX, float focusY) {
+        float clamped = Math.max(MIN_COL_DP, Math.min(MAX_COL_DP, newColDp));
+        if (clamped == colDp) {
+            return;
+        }
+        float col = (Math.max(focusX, seatColumnWidth) - seatColumnWidth + offsetX) / colWidth;
+        float row = (Math.max(focusY, headerHeight) - headerHeight + offsetY) / rowHeight;
+        colDp = clamped;
+        applyZoom();
+        scrollCellsTo(col * colWidth - (Math.max(focusX, seatColumnWidth) - seatColumnWidth),
+                row * rowHeight - (Math.max(focusY, headerHeight) - headerHeight));
+        invalidate();
+    }
+
+    private void applyZoom() {
+        // Same scaling the old per-cell TextViews used, so zoom levels look as before.
+        float delta = (colDp - 96f) / 24f;
+        headerPaint.setTextSize(sp(Math.max(10f, HEADER_TEXT_SP + delta * 2f)));
+        float cellSp = Math.max(10f, CELL_TEXT_SP + delta * 2f);
+        seatPaint.setTextSize(sp(cellSp));
+        labelPaint.setTextSize(sp(Math.max(9f, cellSp - 1f)));
+
+        colWidth = dp(colDp);
+        cellPadding = dp(Math.max(2f, 8f + (colDp - 96f) / 12f));
+        rowHeight = lineHeight(seatPaint) + 2 * cellPadding;
+        headerHeight = lineHeight(headerPaint) + 2 * cellPadding;
+        seatColumnWidth = dp(SEAT_COLUMN_DP);
+    }
+
+    private void scrollCellsTo(float x, float y) {
+        float newX = Math.max(0f, Math.min(maxOffsetX(), x));
+        float newY = Math.max(0f, Math.min(maxOffsetY(), y));
+        if (newX != offsetX || newY != offsetY) {
+            // A different set of cells is on screen.
+            accessibility.invalidateRoot();
+        }
+        offsetX = newX;
+        offsetY = newY;
+        invalidate();
+    }
+
+    private float maxOffsetX() {
+        return Math.max(0f, hourCount * colWidth - (getWidth() - seatColumnWidth));
+    }
+
+    private float maxOffsetY() {
+        return Math.max(0f, seatCount * rowHeight - (getHeight() - headerHeight));
+    }
+
+    private void dispatchCellClick(float x, float y) {
+        int cell = cellAt(x, y);
+        if (clickListener != null && cell != ExploreByTouchHelper.INVALID_ID) {
+            clickListener.onCellClick(cell / hourCount + 1, openHour + cell % hourCount);
+        }
+    }
+
+    /**
+     * The cell under ({@code x}, {@code y}) as row * hourCount + column, or
+     * {@link ExploreByTouchHelper#INVALID_ID} outside the cells.
+     */
+    private int cellAt(float x, float y) {
+        if (x < seatColumnWidth || y < headerHeight) {
+            return ExploreByTouchHelper.INVALID_ID;
+        }
+        int col = (int) ((x - seatColumnWidth + offsetX) / colWidth);
+        int row = (int) ((y - headerHeight + offsetY) / rowHeight);
+        if (col >= hourCount || row >= seatCount) {
+            return ExploreByTouchHelper.INVALID_ID;
+        }
+        return row * hourCount + col;
+    }
+
+    @Override
+    protected boolean dispatchHoverEvent(MotionEvent event) {
+        return accessibility.dispatchHoverEvent(event) || super.dispatchHoverEvent(event);
+    }
+
+    @Override
+    public boolean dispatchKeyEvent(KeyEvent event) {
+        return accessibility.dispatchKeyEvent(event) || super.dispatchKeyEvent(event);
+    }
+
+    @Override
+    protected void onFocusChanged(boolean gainFocus, int direction, @Nullable Rect previouslyFocusedRect) {
+        super.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+        accessibility.onFocusChanged(gainFocus, direction, previouslyFocusedRect);
+    }
+
+    @Override
+    public boolean onTouchEvent(MotionEvent event) {
+        scaleGestures.onTouchEvent(event);
+        if (!scaleGestures.isInProgress()) {
+            gestures.onTouchEvent(event);
+        }
+        return true;
+    }
+
+    @Override
+    public boolean performClick() {
+        return super.performClick();
+    }
+
+    @Override
+    public void computeScroll() {
+        if (scroller.computeScrollOffset()) {
+            scrollCellsTo(scroller.getCurrX(), scroller.getCurrY());
+            postInvalidateOnAnimation();
+        }
+    }
+
+    @Override
+    protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+        super.onSizeChanged(w, h, oldw, oldh);
+        scrollCellsTo(offsetX, offsetY);
+    }
+
+    @Override
+    protected void onDraw(@NonNull Canvas canvas) {
+        super.onDraw(canvas);
+        int width = getWidth();
+        int height = getHeight();
+        int firstCol = (int) (offsetX / colWidth);
+        int lastCol = Math.min(hourCount - 1, (int) ((offsetX + width - seatColumnWidth) / colWidth));
+        int firstRow = (int) (offsetY / rowHeight);
+        int lastRow = Math.min(seatCount - 1, (int) ((offsetY + height - headerHeight) / rowHeight));
+
+        // Cells
+        canvas.save();
+        canvas.clipRect(seatColumnWidth, headerHeight, width, height);
+        float labelWidth = colWidth - cellPadding;
+        float labelBaseline = cellPadding - labelPaint.ascent();
+        for (int row = firstRow; row <= lastRow; row++) {
+            int seat = row + 1;
+            float top = headerHeight + row * rowHeight - offsetY;
+            for (int col = firstCol; col <= lastCol; col++) {
+                int hour = openHour + col;
+                float left = seatColumnWidth + col * colWidth - offsetX;
+                int state = cells.getCellState(seat, hour);
+                drawBox(canvas, cellBackgrounds[state >= 0 && state < cellBackgrounds.length ? state : CELL_FREE],
+                        left, top, colWidth, rowHeight);
+                String label = cells.getCellLabel(seat, hour);
+                if (label != null && !label.isEmpty()) {
+                    CharSequence fitted = TextUtils.ellipsize(label, labelPaint, labelWidth, TextUtils.TruncateAt.END);
+                    canvas.drawText(fitted, 0, fitted.length(), left + colWidth / 2f, top + labelBaseline, labelPaint);
+                }
+            }
+        }
+        canvas.restore();
+
+        // Hour header
+        canvas.save();
+        canvas.clipRect(seatColumnWidth, 0, width, headerHeight);
+        float headerBaseline = centeredBaseline(headerPaint, 0, headerHeight);
+        for (int col = firstCol; col <= lastCol; col++) {
+            float left = seatColumnWidth + col * colWidth - offsetX;
+            drawBox(canvas, borderBackground, left, 0, colWidth, headerHeight);
+            canvas.drawText(hourLabels[col], left + colWidth / 2f, headerBaseline, headerPaint);
+        }
+        canvas.restore();
+
+        // Seat column
+        canvas.save();
+        canvas.clipRect(0, headerHeight, seatColumnWidth, height);
+        for (int row = firstRow; row <= lastRow; row++) {
+            float top = headerHeight + row * rowHeight - offsetY;
+            drawBox(canvas, borderBackground, 0, top, seatColumnWidth, rowHeight);
+            canvas.drawText(String.valueOf(row + 1), seatColumnWidth / 2f,
+                    centeredBaseline(seatPaint, top, rowHeight), seatPaint);
+        }
+        canvas.restore();
+
+        // Corner
+        drawBox(canvas, borderBackground, 0, 0, seatColumnWidth, headerHeight);
+        float lineHeight = lineHeight(seatPaint);
+        float cornerTop = (headerHeight - 2 * lineHeight) / 2f;
+        canvas.drawText("Seat", seatColumnWidth / 2f, cornerTop - seatPaint.ascent(), seatPaint);
+        canvas.drawText("Time", seatColumnWidth / 2f, cornerTop + lineHeight - seatPaint.ascent(), seatPaint);
+    }
+
+    private static void drawBox(Canvas canvas, Drawable background, float left, float top, float width, float height) {
+        background.setBounds(Math.round(left), Math.round(top), Math.round(left + width), Math.round(top + height));
+        background.draw(canvas);
+    }
+
+    private static float centeredBaseline(Paint paint, float top, float height) {
+        return top + (height - paint.descent() - paint.ascent()) / 2f;
+    }
+
+    private static float lineHeight(Paint paint) {
+        return paint.descent() - paint.ascent();
+    }
+
+    private float dp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_DIP, value, getResources().getDisplayMetrics());
+    }
+
+    private float sp(float value) {
+        return TypedValue.applyDimension(TypedValue.COMPLEX_UNIT_SP, value, getResources().getDisplayMetrics());
+    }
+
+    /**
+     * Exposes each cell on screen as a virtual view, so TalkBack can read its seat, hours and state
+     * and click it like a tap would.
+     */
+    private final class CellAccessibility extends ExploreByTouchHelper {
+        private final Rect bounds = new Rect();
+
+        CellAccessibility() {
+            super(SeatGridView.this);
+        }
+
+        @Override
+        protected int getVirtualViewAt(float x, float y) {
+            return cellAt(x, y);
+        }
+
+        @Override
+        protected void getVisibleVirtualViews(List<Integer> virtualViewIds) {
+            if (seatCount == 0 || hourCount == 0) {
+                return;
+            }
+            int firstCol = (int) (offsetX / colWidth);
+            int lastCol = Math.min(hourCount - 1, (int) ((offsetX + getWidth() - seatColumnWidth) / colWidth));
+            int firstRow = (int) (offsetY / rowHeight);
+            int lastRow = Math.min(seatCount - 1, (int) ((offsetY + getHeight() - headerHeight) / rowHeight));
+            for (int row = firstRow; row <= lastRow; row++) {
+                for (int col = firstCol; col <= lastCol; col++) {
+                    virtualViewIds.add(row * hourCount + col);
+                }
+            }
+        }
+
+        @Override
+        protected void onPopulateNodeForVirtualView(int virtualViewId, @NonNull AccessibilityNodeInfoCompat node) {
+            if (!isCell(virtualViewId)) {
+                // The grid shrank since the ID was handed out; the node still needs non-empty bounds.
+                node.setContentDescription("");
+                bounds.set(0, 0, 1, 1);
+                node.setBoundsInParent(bounds);
+                return;
+            }
+            int row = virtualViewId / hourCount;
+            int col = virtualViewId % hourCount;
+            int seat = row + 1;
+            int hour = openHour + col;
+            node.setContentDescription("Seat " + seat + ", " + hourLabels[col] + ", " + describe(seat, hour));
+            node.addAction(AccessibilityNodeInfoCompat.ACTION_CLICK);
+            node.setClickable(true);
+
+            int left = Math.round(seatColumnWidth + col * colWidth - offsetX);
+            int top = Math.round(headerHeight + row * rowHeight - offsetY);
+            bounds.set(left, top, Math.round(left + colWidth), Math.round(top + rowHeight));
+            // Keep the part under the pinned header and seat column out; a cell scrolled fully
+            // away keeps its own bounds, which must not be empty.
+            Rect visible = new Rect(Math.round(seatColumnWidth), Math.round(headerHeight), getWidth(), getHeight());
+            if (visible.intersect(bounds)) {
+                bounds.set(visible);
+            }
+            node.setBoundsInParent(bounds);
+        }
+
+        @Override
+        protected boolean onPerformActionForVirtualView(int virtualViewId, int action, @Nullable Bundle arguments) {
+            if (action != AccessibilityNodeInfoCompat.ACTION_CLICK || clickListener == null || !isCell(virtualViewId)) {
+                return false;
+            }
+            clickListener.onCellClick(virtualViewId / hourCount + 1, openHour + virtualViewId % hourCount);
+            invalidateVirtualView(virtualViewId);
+            sendEventForVirtualView(virtualViewId, AccessibilityEvent.TYPE_VIEW_CLICKED);
+            return true;
+        }
+
+        private boolean isCell(int virtualViewId) {
+            return cells != null && virtualViewId >= 0 && virtualViewId < seatCount * hourCount;
+        }
+
+        private String describe(int seat, int hour) {
+            switch (cells.getCellState(seat, hour)) {
+                case CELL_OCCUPIED:
+                    String label = cells.getCellLabel(seat, hour);
+                    return label != null && !label.isEmpty() ? "booked by " + label : "booked";
+                case CELL_CUSTOMER_SHIFT:
+                    return "this customer's shift";
+                case CELL_SELECTED:
+                    return "selected";
+                default:
+                    return "free";
+            }
+        }
+    }
+
+    private static String fmtHour(int h) {
+        int hh = ((h % 24) + 24) % 24;
+        return String.format(Locale.getDefault(), "%02d:00", hh);
+    }
+}
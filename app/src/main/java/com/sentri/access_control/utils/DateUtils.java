@@ -5,12 +5,8 @@ import android.util.Log;
 
 import com.google.firebase.Timestamp;
 
-import java.text.ParseException;
-import java.text.SimpleDateFormat;
 import java.util.Date;
-import java.util.Locale;
 import java.util.Map;
-import java.util.TimeZone;
 
 /**
  * Centralized date parsing and formatting utility.
@@ -60,41 +56,12 @@ public final class DateUtils {
             String s = raw.toString().trim();
             if (s.isEmpty()) return null;
 
-            // Common date patterns
-            String[] patterns = new String[] {
-                    "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
-                    "yyyy-MM-dd'T'HH:mm:ss'Z'",
-                    "yyyy-MM-dd'T'HH:mm:ssXXX",
-                    "yyyy-MM-dd HH:mm:ss",
-                    "yyyy-MM-dd",
-                    "d MMM, yyyy",
-                    "dd MMM, yyyy",
-                    "d MMM yyyy",
-                    "dd/MM/yyyy",
-                    "MM/dd/yyyy",
-                    "MMM d, yyyy",
-                    "d-MMM-yyyy"
-            };
-            
-            for (String p : patterns) {
-                try {
-                    SimpleDateFormat sdf = new SimpleDateFormat(p, Locale.getDefault());
-                    if (p.contains("'Z'") || p.contains("XXX")) {
-                        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
-                    }
-                    return sdf.parse(s);
-                } catch (ParseException ignored) {}
+            long millis = FlexibleDateParser.parse(s);
+            if (millis == FlexibleDateParser.INVALID) {
+                Log.w(TAG, "parseFlexibleDate could not parse raw=" + raw);
+                return null;
             }
-
-            // Try as millis
-            try {
-                long millis = Long.parseLong(s);
-                return new Date(millis);
-            } catch (NumberFormatException ignored) {}
-
-            // Last resort
-            long ms = Date.parse(s);
-            return new Date(ms);
+            return new Date(millis);
         } catch (Exception e) {
             Log.w(TAG, "parseFlexibleDate error for raw=" + raw + " : " + e.getMessage());
             return null;
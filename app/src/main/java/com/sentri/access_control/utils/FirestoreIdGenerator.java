@@ -9,6 +9,11 @@ import java.util.Calendar;
  * Generates sequential Firestore IDs in the format: PREFIX_ENTITYTYPE_YEAR_N
  */
 public final class FirestoreIdGenerator {
+    public static final String ENTITY_PAY = "PAY";
+    public static final String ENTITY_SHIFT = "SHIFT";
+    public static final String ENTITY_LEAVES = "LEAVES";
+    public static final String ENTITY_COMMENT = "COM";
+    public static final String ENTITY_CUSTOMER = "CUSTOMER";
 
     private FirestoreIdGenerator() {} // Prevent instantiation
 
@@ -23,23 +28,8 @@ public final class FirestoreIdGenerator {
      */
     public static String generateNextId(String businessPrefix, String entityType, 
                                         String idFieldName, QuerySnapshot existingDocs) {
-        int year = Calendar.getInstance().get(Calendar.YEAR);
-        String prefix = businessPrefix + "_" + entityType + "_" + year + "_";
-        
-        int maxNum = 0;
-        if (existingDocs != null) {
-            for (QueryDocumentSnapshot doc : existingDocs) {
-                String id = doc.getString(idFieldName);
-                if (id != null && id.startsWith(prefix)) {
-                    try {
-                        int num = Integer.parseInt(id.substring(prefix.length()));
-                        if (num > maxNum) maxNum = num;
-                    } catch (NumberFormatException ignored) {}
-                }
-            }
-        }
-        
-        return prefix + (maxNum + 1);
+        String prefix = buildIdPrefix(businessPrefix, entityType, getCurrentYear());
+        return prefix + (findMaxSuffix(prefix, idFieldName, existingDocs) + 1);
     }
 
     /**
@@ -51,23 +41,65 @@ public final class FirestoreIdGenerator {
      * @return The next customer ID
      */
     public static String generateNextCustomerId(String businessPrefix, QuerySnapshot existingDocs) {
-        int year = Calendar.getInstance().get(Calendar.YEAR);
-        String prefix = businessPrefix + "_" + year + "_";
-        
-        int maxNum = 0;
-        if (existingDocs != null) {
-            for (QueryDocumentSnapshot doc : existingDocs) {
-                String id = doc.getString("customer_id");
-                if (id != null && id.startsWith(prefix)) {
-                    try {
-                        int num = Integer.parseInt(id.substring(prefix.length()));
-                        if (num > maxNum) maxNum = num;
-                    } catch (NumberFormatException ignored) {}
-                }
-            }
+        String prefix = buildIdPrefix(businessPrefix, ENTITY_CUSTOMER, getCurrentYear());
+        return prefix + (findMaxSuffix(prefix, "customer_id", existingDocs) + 1);
+    }
+
+    /**
+     * Scans documents for the highest numeric suffix of IDs starting with the given prefix.
+     *
+     * @return The max suffix found, or 0 when no matching ID exists
+     */
+    public static long findMaxSuffix(String idPrefix, String idFieldName, QuerySnapshot existingDocs) {
+        long maxNum = 0;
+        if (existingDocs == null) {
+            return maxNum;
+        }
+        for (QueryDocumentSnapshot doc : existingDocs) {
+            maxNum = Math.max(maxNum, parseSuffix(idPrefix, doc.getString(idFieldName)));
         }
-        
-        return prefix + (maxNum + 1);
+        return maxNum;
+    }
+
+    /**
+     * Same as {@link #findMaxSuffix(String, String, QuerySnapshot)} over plain ID strings.
+     */
+    public static long findMaxSuffix(String idPrefix, Iterable<String> ids) {
+        long maxNum = 0;
+        for (String id : ids) {
+            maxNum = Math.max(maxNum, parseSuffix(idPrefix, id));
+        }
+        return maxNum;
+    }
+
+    private static long parseSuffix(String idPrefix, String id) {
+        if (id == null || !id.startsWith(idPrefix)) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(id.substring(idPrefix.length()));
+        } catch (NumberFormatException ignored) {
+            return 0;
+        }
+    }
+
+    /**
+     * Builds the ID prefix for an entity and year.
+     * Format: PREFIX_ENTITYTYPE_YEAR_, or PREFIX_YEAR_ for customers.
+     */
+    public static String buildIdPrefix(String businessPrefix, String entityType, int year) {
+        if (ENTITY_CUSTOMER.equals(entityType)) {
+            return businessPrefix + "_" + year + "_";
+        }
+        return businessPrefix + "_" + entityType + "_" + year + "_";
+    }
+
+    /**
+     * Builds the counter document ID for an entity and year.
+     * Format: ENTITYTYPE_YEAR (e.g., "PAY_2026")
+     */
+    public static String buildCounterKey(String entityType, int year) {
+        return entityType + "_" + year;
     }
 
     /**
@@ -82,6 +114,6 @@ public final class FirestoreIdGenerator {
      * Format: PREFIX_ENTITYTYPE_YEAR_
      */
     public static String buildPrefix(String businessPrefix, String entityType) {
-        return businessPrefix + "_" + entityType + "_" + getCurrentYear() + "_";
+        return buildIdPrefix(businessPrefix, entityType, getCurrentYear());
     }
 }
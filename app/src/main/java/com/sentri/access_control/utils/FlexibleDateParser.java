@@ -0,0 +1,403 @@
+package com.sentri.access_control.utils;
+
+import java.text.DateFormatSymbols;
+import java.text.ParsePosition;
+import java.text.SimpleDateFormat;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * String half of {@link DateUtils#parseFlexibleDate}. Results match trying every pattern in order,
+ * but the input shape is classified first so the common ISO and numeric forms are parsed by hand
+ * and the month-name forms go straight to the one formatter that can match them. Formatters are
+ * cached per thread and recent strings are memoized.
+ *
+ * <p>java.time would be the natural fit, but it needs API 26 (or desugaring) and minSdk is 24.
+ */
+final class FlexibleDateParser {
+    /** Returned when the string cannot be parsed (so Long.MIN_VALUE itself reads as unparseable). */
+    static final long INVALID = Long.MIN_VALUE;
+
+    // Same order as the original pattern list; the first pattern that parses a prefix wins.
+    private static final String[] PATTERNS = {
+            "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+            "yyyy-MM-dd'T'HH:mm:ss'Z'",
+            "yyyy-MM-dd'T'HH:mm:ssXXX",
+            "yyyy-MM-dd HH:mm:ss",
+            "yyyy-MM-dd",
+            "d MMM, yyyy",
+            "dd MMM, yyyy",
+            "d MMM yyyy",
+            "dd/MM/yyyy",
+            "MM/dd/yyyy",
+            "MMM d, yyyy",
+            "d-MMM-yyyy"
+    };
+    private static final int DAY_MONTH_COMMA_YEAR = 5;
+    private static final int DAY_MONTH_YEAR = 7;
+    private static final int MONTH_DAY_COMMA_YEAR = 10;
+    private static final int DAY_DASH_MONTH_DASH_YEAR = 11;
+
+    private static final int MEMO_SIZE = 4096;
+    private static final TimeZone UTC = TimeZone.getTimeZone("UTC");
+
+    private static final ThreadLocal<Formatters> FORMATTERS = new ThreadLocal<>();
+    private static final Map<String, Long> MEMO = new LinkedHashMap<String, Long>(256, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+            return size() > MEMO_SIZE;
+        }
+    };
+    private static TimeZone memoZone;
+    private static Locale memoLocale;
+
+    private FlexibleDateParser() {} // Prevent instantiation
+
+    /**
+     * Parses a trimmed, non-empty string to epoch millis, or {@link #INVALID}. Failures are
+     * memoized too, so a malformed value repeated across documents is only tried once.
+     */
+    static long parse(String s) {
+        TimeZone zone = TimeZone.getDefault();
+        Locale locale = Locale.getDefault();
+        synchronized (MEMO) {
+            // Local-time results depend on the default zone and locale.
+            if (!zone.equals(memoZone) || !locale.equals(memoLocale)) {
+                MEMO.clear();
+                memoZone = zone;
+                memoLocale = locale;
+            }
+            Long cached = MEMO.get(s);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        long millis = parseUncached(s, formatters(zone, locale));
+        synchronized (MEMO) {
+            MEMO.put(s, millis);
+        }
+        return millis;
+    }
+
+    static void clearMemo() {
+        synchronized (MEMO) {
+            MEMO.clear();
+        }
+    }
+
+    private static long parseUncached(String s, Formatters formatters) {
+        long millis = parseNumericShape(s, formatters);
+        if (millis == INVALID) {
+            millis = parseMonthNameShape(s, formatters);
+        }
+        if (millis != INVALID) {
+            return millis;
+        }
+
+        char first = s.charAt(0);
+        if (Character.isLetter(first)) {
+            // Every pattern before "MMM d, yyyy" needs a leading digit.
+            millis = tryPattern(s, formatters, MONTH_DAY_COMMA_YEAR);
+            return millis != INVALID ? millis : parseSequentially(s, formatters, MONTH_DAY_COMMA_YEAR + 1);
+        }
+
+        int digits = countDigits(s, 0);
+        if (digits > 0 && digits < s.length() && isMonthNameAt(s, digits + 1)) {
+            char separator = s.charAt(digits);
+            if (separator == ' ') {
+                millis = tryPattern(s, formatters, DAY_MONTH_COMMA_YEAR);
+                if (millis == INVALID) {
+                    millis = tryPattern(s, formatters, DAY_MONTH_YEAR);
+                }
+                if (millis != INVALID) {
+                    return millis;
+                }
+            } else if (separator == '-') {
+                millis = tryPattern(s, formatters, DAY_DASH_MONTH_DASH_YEAR);
+                if (millis != INVALID) {
+                    return millis;
+                }
+            }
+        }
+
+        return parseSequentially(s, formatters, 0);
+    }
+
+    /**
+     * Hand-parses the fixed-width numeric shapes. Lenient Calendar arithmetic reproduces the
+     * rollover SimpleDateFormat applies to out-of-range fields.
+     */
+    private static long parseNumericShape(String s, Formatters formatters) {
+        int length = s.length();
+
+        if (isAllDigits(s)) {
+            // No pattern accepts a bare number, so the original fell through to Long.parseLong.
+            return length <= 18 ? Long.parseLong(s) : INVALID;
+        }
+
+        if (length >= 10 && isIsoDate(s)) {
+            int year = number(s, 0, 4);
+            int month = number(s, 5, 2);
+            int day = number(s, 8, 2);
+            if (length == 10) {
+                return fieldsToMillis(formatters.local, year, month, day, 0, 0, 0, 0, 0);
+            }
+            if (length >= 19 && isTime(s, 11)) {
+                int hour = number(s, 11, 2);
+                int minute = number(s, 14, 2);
+                int second = number(s, 17, 2);
+                char separator = s.charAt(10);
+                if (separator == ' ' && length == 19) {
+                    return fieldsToMillis(formatters.local, year, month, day, hour, minute, second, 0, 0);
+                }
+                if (separator == 'T') {
+                    if (length == 20 && s.charAt(19) == 'Z') {
+                        return fieldsToMillis(formatters.utc, year, month, day, hour, minute, second, 0, 0);
+                    }
+                    if (length == 24 && s.charAt(19) == '.' && s.charAt(23) == 'Z' && countDigits(s, 20) == 3) {
+                        int millis = number(s, 20, 3);
+                        return fieldsToMillis(formatters.utc, year, month, day, hour, minute, second, millis, 0);
+                    }
+                    if (length == 25 && (s.charAt(19) == '+' || s.charAt(19) == '-')
+                            && countDigits(s, 20) == 2 && s.charAt(22) == ':' && countDigits(s, 23) == 2) {
+                        int offsetHours = number(s, 20, 2);
+                        int offsetMinutes = number(s, 23, 2);
+                        if (offsetHours <= 23 && offsetMinutes <= 59) {
+                            int offsetMs = (offsetHours * 60 + offsetMinutes) * 60_000;
+                            if (s.charAt(19) == '-') {
+                                offsetMs = -offsetMs;
+                            }
+                            return fieldsToMillis(formatters.utc, year, month, day, hour, minute, second, 0, offsetMs);
+                        }
+                    }
+                }
+            }
+            return INVALID;
+        }
+
+        // d/M/yyyy: every earlier pattern fails on the '/', and dd/MM/yyyy is lenient, so it always wins.
+        int dayDigits = countDigits(s, 0);
+        if (dayDigits >= 1 && dayDigits <= 2 && dayDigits < length && s.charAt(dayDigits) == '/') {
+            int monthStart = dayDigits + 1;
+            int monthDigits = countDigits(s, monthStart);
+            int yearStart = monthStart + monthDigits + 1;
+            if (monthDigits >= 1 && monthDigits <= 2 && yearStart - 1 < length && s.charAt(yearStart - 1) == '/'
+                    && length - yearStart == 4 && countDigits(s, yearStart) == 4) {
+                return fieldsToMillis(
+                        formatters.local,
+                        number(s, yearStart, 4),
+                        number(s, monthStart, monthDigits),
+                        number(s, 0, dayDigits),
+                        0, 0, 0, 0, 0
+                );
+            }
+        }
+        return INVALID;
+    }
+
+    /**
+     * Hand-parses "d MMM, yyyy", "d MMM yyyy", "MMM d, yyyy" and "d-MMM-yyyy" when the month is
+     * exactly one of the locale's month names; anything else is left to the formatters.
+     */
+    private static long parseMonthNameShape(String s, Formatters formatters) {
+        int length = s.length();
+        if (length < 10 || countDigits(s, length - 4) != 4 || Character.isDigit(s.charAt(length - 5))) {
+            return INVALID;
+        }
+        int year = number(s, length - 4, 4);
+
+        int dayDigits = countDigits(s, 0);
+        if (dayDigits == 0) {
+            // MMM d, yyyy
+            int monthEnd = countLetters(s, 0);
+            int month = formatters.monthIndex(s, 0, monthEnd);
+            if (month < 0 || s.charAt(monthEnd) != ' ') {
+                return INVALID;
+            }
+            int digits = countDigits(s, monthEnd + 1);
+            int comma = monthEnd + 1 + digits;
+            if (digits < 1 || digits > 2 || comma != length - 6 || s.charAt(comma) != ',' || s.charAt(comma + 1) != ' ') {
+                return INVALID;
+            }
+            return fieldsToMillis(formatters.local, year, month + 1, number(s, monthEnd + 1, digits), 0, 0, 0, 0, 0);
+        }
+
+        if (dayDigits > 2) {
+            return INVALID;
+        }
+        char separator = s.charAt(dayDigits);
+        int monthStart = dayDigits + 1;
+        int monthEnd = monthStart + countLetters(s, monthStart);
+        int month = formatters.monthIndex(s, monthStart, monthEnd);
+        if (month < 0) {
+            return INVALID;
+        }
+        int day = number(s, 0, dayDigits);
+        boolean matches;
+        if (separator == ' ') {
+            // d MMM, yyyy is tried before d MMM yyyy, but they cannot both match.
+            matches = (monthEnd == length - 6 && s.charAt(monthEnd) == ',' && s.charAt(monthEnd + 1) == ' ')
+                    || (monthEnd == length - 5 && s.charAt(monthEnd) == ' ');
+        } else {
+            matches = separator == '-' && monthEnd == length - 5 && s.charAt(monthEnd) == '-';
+        }
+        return matches ? fieldsToMillis(formatters.local, year, month + 1, day, 0, 0, 0, 0, 0) : INVALID;
+    }
+
+    private static long parseSequentially(String s, Formatters formatters, int fromPattern) {
+        for (int i = fromPattern; i < PATTERNS.length; i++) {
+            long millis = tryPattern(s, formatters, i);
+            if (millis != INVALID) {
+                return millis;
+            }
+        }
+
+        try {
+            return Long.parseLong(s);
+        } catch (NumberFormatException ignored) {
+        }
+
+        // Last resort, as before.
+        try {
+            @SuppressWarnings("deprecation")
+            long ms = Date.parse(s);
+            return ms;
+        } catch (IllegalArgumentException ignored) {
+            return INVALID;
+        }
+    }
+
+    private static long tryPattern(String s, Formatters formatters, int index) {
+        Date date = formatters.patterns[index].parse(s, new ParsePosition(0));
+        return date != null ? date.getTime() : INVALID;
+    }
+
+    private static long fieldsToMillis(Calendar calendar,
+                                       int year,
+                                       int month,
+                                       int day,
+                                       int hour,
+                                       int minute,
+                                       int second,
+                                       int millis,
+                                       int offsetMs) {
+        calendar.clear();
+        calendar.set(year, month - 1, day, hour, minute, second);
+        calendar.set(Calendar.MILLISECOND, millis);
+        return calendar.getTimeInMillis() - offsetMs;
+    }
+
+    private static Formatters formatters(TimeZone zone, Locale locale) {
+        Formatters formatters = FORMATTERS.get();
+        if (formatters == null || !formatters.zone.equals(zone) || !formatters.locale.equals(locale)) {
+            formatters = new Formatters(zone, locale);
+            FORMATTERS.set(formatters);
+        }
+        return formatters;
+    }
+
+    private static boolean isIsoDate(String s) {
+        return countDigits(s, 0) == 4 && s.charAt(4) == '-'
+                && countDigits(s, 5) == 2 && s.charAt(7) == '-'
+                && countDigits(s, 8) == 2;
+    }
+
+    private static boolean isTime(String s, int start) {
+        return countDigits(s, start) == 2 && s.charAt(start + 2) == ':'
+                && countDigits(s, start + 3) == 2 && s.charAt(start + 5) == ':'
+                && countDigits(s, start + 6) == 2;
+    }
+
+    private static boolean isAllDigits(String s) {
+        int start = s.charAt(0) == '-' && s.length() > 1 ? 1 : 0;
+        return countDigits(s, start) == s.length() - start;
+    }
+
+    private static int countLetters(String s, int start) {
+        int i = start;
+        while (i < s.length() && Character.isLetter(s.charAt(i))) {
+            i++;
+        }
+        return i - start;
+    }
+
+    private static boolean isMonthNameAt(String s, int index) {
+        return index < s.length() && Character.isLetter(s.charAt(index));
+    }
+
+    private static int countDigits(String s, int start) {
+        int i = start;
+        while (i < s.length() && s.charAt(i) >= '0' && s.charAt(i) <= '9') {
+            i++;
+        }
+        return i - start;
+    }
+
+    private static int number(String s, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            value = value * 10 + (s.charAt(i) - '0');
+        }
+        return value;
+    }
+
+    /**
+     * One thread's formatters and calendars, built for a specific default zone and locale.
+     */
+    private static final class Formatters {
+        final TimeZone zone;
+        final Locale locale;
+        final SimpleDateFormat[] patterns = new SimpleDateFormat[PATTERNS.length];
+        final Calendar local;
+        final Calendar utc;
+        final String[] longMonths;
+        final String[] shortMonths;
+
+        Formatters(TimeZone zone, Locale locale) {
+            this.zone = zone;
+            this.locale = locale;
+            for (int i = 0; i < PATTERNS.length; i++) {
+                SimpleDateFormat format = new SimpleDateFormat(PATTERNS[i], locale);
+                if (PATTERNS[i].contains("'Z'") || PATTERNS[i].contains("XXX")) {
+                    format.setTimeZone(UTC);
+                }
+                patterns[i] = format;
+            }
+            // Mirrors the calendar SimpleDateFormat builds internally, lenient by default.
+            local = Calendar.getInstance(zone, locale);
+            utc = Calendar.getInstance(UTC, locale);
+            DateFormatSymbols symbols = DateFormatSymbols.getInstance(locale);
+            longMonths = symbols.getMonths();
+            shortMonths = symbols.getShortMonths();
+        }
+
+        /**
+         * Month (0-11) whose full or short name equals s[start, end) ignoring case, or -1.
+         */
+        int monthIndex(String s, int start, int end) {
+            int length = end - start;
+            if (length == 0) {
+                return -1;
+            }
+            for (int month = 0; month < 12; month++) {
+                if (matches(longMonths, month, s, start, length) || matches(shortMonths, month, s, start, length)) {
+                    return month;
+                }
+            }
+            return -1;
+        }
+
+        private static boolean matches(String[] names, int month, String s, int start, int length) {
+            if (month >= names.length) {
+                return false;
+            }
+            String name = names[month];
+            return name.length() == length && s.regionMatches(true, start, name, 0, length);
+        }
+    }
+}
@@ -1,13 +1,162 @@
 package com.sentri.access_control;
 
 import static org.junit.Assert.*;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.models.BusinessConfig;
+import com.sentri.access_control.models.CustomerRecord;
+import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.InMemoryBusinessRepository;
+import com.sentri.access_control.repositories.InMemoryDocumentStore;
+import com.sentri.access_control.repositories.InMemoryIdCounterRepository;
+import com.sentri.access_control.repositories.SyntheticDataset;
+import com.sentri.access_control.services.DashboardMetricsCalculator;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
 public class BusinessRepositoryTest {
+    private InMemoryDocumentStore store;
+    private BusinessRepository repo;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryDocumentStore();
+        repo = new InMemoryBusinessRepository(store);
+    }
+
     @Test
     public void testBusinessRepositoryInstantiation() {
-        BusinessRepository repo = new BusinessRepository();
         assertNotNull("BusinessRepository should be instantiated", repo);
     }
-    // Add more tests for repository methods as needed.
+
+    @Test
+    public void fetchBusinessConfigParsesStoredFields() {
+        Map<String, Object> business = new HashMap<>();
+        business.put(FirestorePaths.FIELD_BUSINESS_PREFIX, "ACME");
+        business.put("business_open_time", 6);
+        business.put("business_close_time", "22");
+        business.put("business_max_seats", 40L);
+        repo.createBusiness("business_id_2025_1", business, null, null);
+
+        AtomicReference<BusinessConfig> config = new AtomicReference<>();
+        repo.fetchBusinessConfig("business_id_2025_1", config::set, error -> fail(error.getMessage()));
+
+        assertEquals(6, config.get().getOpenHour());
+        assertEquals(22, config.get().getCloseHour());
+        assertEquals(40, config.get().getMaxSeats());
+        assertEquals("ACME", config.get().getBusinessPrefix());
+        assertFalse(config.get().hasRevenueRollupsFrom(20250101));
+
+        business.put(FirestorePaths.FIELD_REVENUE_ROLLUPS_FROM, 20250301L);
+        repo.createBusiness("business_id_2025_1", business, null, null);
+        repo.fetchBusinessConfig("business_id_2025_1", config::set, error -> fail(error.getMessage()));
+        assertFalse(config.get().hasRevenueRollupsFrom(20250228));
+        assertTrue(config.get().hasRevenueRollupsFrom(20250301));
+    }
+
+    @Test
+    public void fetchBusinessConfigFailsForUnknownBusiness() {
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        repo.fetchBusinessConfig("missing", config -> fail("Unexpected config"), failure::set);
+        assertNotNull(failure.get());
+    }
+
+    @Test
+    public void countsActiveCustomersAndThoseCreatedSince() {
+        long sinceMs = 1_700_000_000_000L;
+        store.put("business_id_2025_1", FirestorePaths.SUB_CUSTOMERS, "C1", customer(true, new Timestamp(new Date(sinceMs))));
+        store.put("business_id_2025_1", FirestorePaths.SUB_CUSTOMERS, "C2", customer(true, new Timestamp(new Date(sinceMs - 1))));
+        store.put("business_id_2025_1", FirestorePaths.SUB_CUSTOMERS, "C3", customer(false, new Timestamp(new Date(sinceMs))));
+        store.put("business_id_2025_1", FirestorePaths.SUB_CUSTOMERS, "C4", customer(true, "2099-01-01"));
+
+        AtomicReference<Long> active = new AtomicReference<>();
+        AtomicReference<Long> recent = new AtomicReference<>();
+        repo.countActiveCustomers("business_id_2025_1", active::set, error -> fail(error.getMessage()));
+        repo.countActiveCustomersCreatedSince("business_id_2025_1", sinceMs, recent::set, error -> fail(error.getMessage()));
+
+        assertEquals(Long.valueOf(3L), active.get());
+        // Only Timestamp values take part in a server-side range filter, as in RecordDecoder.
+        assertEquals(Long.valueOf(1L), recent.get());
+    }
+
+    @Test
+    public void fetchNextBusinessIdContinuesFromHighestSuffix() {
+        repo.createBusiness("business_id_2025_3", new HashMap<>(), null, null);
+        repo.createBusiness("business_id_2025_12", new HashMap<>(), null, null);
+        repo.createBusiness("business_id_2024_40", new HashMap<>(), null, null);
+
+        AtomicReference<String> nextId = new AtomicReference<>();
+        repo.fetchNextBusinessId(2025, nextId::set, error -> fail(error.getMessage()));
+        assertEquals("business_id_2025_13", nextId.get());
+    }
+
+    @Test
+    public void servesSyntheticActiveCustomersAsSnapshots() {
+        SyntheticDataset dataset = SyntheticDataset.generate(200, 0, 11L);
+        dataset.loadInto(store, "business_id_2025_1");
+        List<CustomerRecord> expected = new ArrayList<>();
+        for (Map<String, Object> customer : dataset.customers) {
+            if (Boolean.TRUE.equals(customer.get("customer_status"))) {
+                expected.add(RecordDecoder.decodeCustomer(null, customer));
+            }
+        }
+
+        AtomicReference<List<DocumentSnapshot>> fetched = new AtomicReference<>();
+        repo.fetchActiveCustomers("business_id_2025_1", fetched::set, error -> fail(error.getMessage()));
+        List<CustomerRecord> records = RecordDecoder.customers(fetched.get());
+        assertEquals(expected.size(), records.size());
+        assertEquals(expected.get(0).getId(), records.get(0).getId());
+
+        DashboardMetricsCalculator calculator = new DashboardMetricsCalculator();
+        assertEquals(calculator.calculateRecords(expected, dataset.nowMs), calculator.calculateRecords(records, dataset.nowMs));
+
+        AtomicReference<QuerySnapshot> first = new AtomicReference<>();
+        repo.listenActiveCustomers("business_id_2025_1", first::set, error -> fail(error.getMessage())).remove();
+        assertEquals(expected.size(), first.get().getDocumentChanges().size());
+    }
+
+    @Test
+    public void idCounterSeedsFromExistingIdsAndReleasesTail() {
+        SyntheticDataset.generate(120, 0, 7L).loadInto(store, "business_id_2025_1");
+        InMemoryIdCounterRepository counters = new InMemoryIdCounterRepository(store);
+        String prefix = FirestoreIdGenerator.buildIdPrefix("BENCH", FirestoreIdGenerator.ENTITY_CUSTOMER,
+                FirestoreIdGenerator.getCurrentYear());
+
+        AtomicReference<String> first = new AtomicReference<>();
+        counters.allocateNextId("business_id_2025_1", "BENCH", FirestoreIdGenerator.ENTITY_CUSTOMER,
+                first::set, error -> fail(error.getMessage()));
+        assertEquals(prefix + "121", first.get());
+
+        AtomicReference<Boolean> released = new AtomicReference<>();
+        counters.reserveIdBlock("business_id_2025_1", "BENCH", FirestoreIdGenerator.ENTITY_CUSTOMER, 5, lease -> {
+            assertEquals(prefix + "122", lease.next());
+            counters.releaseUnusedIds(lease, released::set, error -> fail(error.getMessage()));
+        }, error -> fail(error.getMessage()));
+        assertTrue(released.get());
+
+        AtomicReference<String> afterRelease = new AtomicReference<>();
+        counters.allocateNextId("business_id_2025_1", "BENCH", FirestoreIdGenerator.ENTITY_CUSTOMER,
+                afterRelease::set, error -> fail(error.getMessage()));
+        assertEquals(prefix + "123", afterRelease.get());
+    }
+
+    private static Map<String, Object> customer(boolean active, Object createdAt) {
+        Map<String, Object> customer = new HashMap<>();
+        customer.put("customer_status", active);
+        customer.put(FirestorePaths.FIELD_CREATED_AT, createdAt);
+        return customer;
+    }
 }
@@ -0,0 +1,45 @@
+package com.sentri.access_control.adapters;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class StableIdsTest {
+
+    @Test
+    public void keyKeepsItsIdAcrossLists() {
+        StableIds stableIds = new StableIds();
+        long[] first = stableIds.assign(Arrays.asList("a", "b", "c"));
+        long[] second = stableIds.assign(Arrays.asList("c", "d", "a"));
+
+        assertEquals(first[2], second[0]);
+        assertEquals(first[0], second[2]);
+        assertNotEquals(first[1], second[1]);
+        assertNotEquals(first[2], second[1]);
+    }
+
+    @Test
+    public void repeatedKeysGetDistinctIds() {
+        StableIds stableIds = new StableIds();
+        long[] ids = stableIds.assign(Arrays.asList("same", "same", "other", "same"));
+
+        assertEquals(4, Arrays.stream(ids).distinct().count());
+        long[] again = stableIds.assign(Arrays.asList("same", "same"));
+        assertEquals(ids[0], again[0]);
+        assertEquals(ids[1], again[1]);
+    }
+
+    @Test
+    public void forgetsKeysNoLongerListedWithoutReusingTheirIds() {
+        StableIds stableIds = new StableIds();
+        long[] first = stableIds.assign(Arrays.asList("a", "b"));
+        stableIds.assign(Arrays.asList("b"));
+        long[] third = stableIds.assign(Arrays.asList("b", "a", "c"));
+
+        assertEquals(first[1], third[0]);
+        // "a" dropped out, so it comes back under a new ID rather than its old one.
+        assertEquals(4, Arrays.stream(new long[]{first[0], first[1], third[1], third[2]}).distinct().count());
+    }
+}
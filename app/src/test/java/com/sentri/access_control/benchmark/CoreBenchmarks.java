@@ -0,0 +1,610 @@
+package com.sentri.access_control.benchmark;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assume.assumeTrue;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.data.RevenueRollups;
+import com.sentri.access_control.models.Customer;
+import com.sentri.access_control.models.CustomerRecord;
+import com.sentri.access_control.models.DailyRevenue;
+import com.sentri.access_control.models.Money;
+import com.sentri.access_control.models.PaymentRecord;
+import com.sentri.access_control.models.RevenueSeries;
+import com.sentri.access_control.repositories.CustomerRepository;
+import com.sentri.access_control.repositories.InMemoryBusinessRepository;
+import com.sentri.access_control.repositories.InMemoryCustomerRepository;
+import com.sentri.access_control.repositories.InMemoryDocumentStore;
+import com.sentri.access_control.repositories.InMemoryIdCounterRepository;
+import com.sentri.access_control.repositories.InMemoryPaymentRepository;
+import com.sentri.access_control.repositories.InMemoryShiftRepository;
+import com.sentri.access_control.repositories.PaymentRepository;
+import com.sentri.access_control.repositories.ShiftRepository;
+import com.sentri.access_control.repositories.SyntheticDataset;
+import com.sentri.access_control.services.CustomerSearchIndex;
+import com.sentri.access_control.services.DashboardMetrics;
+import com.sentri.access_control.services.DashboardMetricsCalculator;
+import com.sentri.access_control.services.DashboardMetricsTracker;
+import com.sentri.access_control.services.SeatConflictChecker;
+import com.sentri.access_control.utils.DateUtils;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+import com.sentri.access_control.utils.OriginalAmountParser;
+import com.sentri.access_control.utils.OriginalDateParser;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Hot-path benchmarks over a 50k customer / 500k shift synthetic business; the repository
+ * benchmarks write it through the in-memory repositories and read it back as snapshots. Skipped
+ * unless the build is run with {@code -Pbenchmarks=true}, e.g.
+ * {@code ./gradlew :app:testDebugUnitTest --tests '*CoreBenchmarks' -Pbenchmarks=true}.
+ */
+public class CoreBenchmarks {
+    private static final String BUSINESS_ID = "business_id_bench_1";
+    private static final int SAMPLE_SIZE = 10_000;
+
+    private static final Consumer<Exception> FAIL = error -> {
+        throw new AssertionError(error);
+    };
+
+    private static SyntheticDataset dataset;
+    private static MicroBenchmark runner;
+    private static MicroBenchmark slowRunner;
+    private static InMemoryDocumentStore repositoryStore;
+
+    @BeforeClass
+    public static void setUp() {
+        assumeTrue(MicroBenchmark.enabled());
+        dataset = SyntheticDataset.generate(SyntheticDataset.DEFAULT_CUSTOMERS, SyntheticDataset.DEFAULT_SHIFTS, 42L);
+        runner = new MicroBenchmark(5, 15);
+        // For rounds that load the whole dataset or build thousands of snapshots.
+        slowRunner = new MicroBenchmark(1, 5);
+    }
+
+    @Test
+    public void dashboardMetrics() {
+        DashboardMetricsCalculator calculator = new DashboardMetricsCalculator();
+        List<Map<String, Object>> customers = dataset.customers;
+        runner.run("dashboard.calculateFromData", customers.size(), () -> {
+            DashboardMetrics metrics = calculator.calculateFromData(customers);
+            return metrics.getTotalActiveCustomers() + metrics.getPendingPayments().getPaise();
+        });
+    }
+
+    @Test
+    public void dashboardDeltas() {
+        DashboardMetricsCalculator calculator = new DashboardMetricsCalculator();
+        List<CustomerRecord> records = new ArrayList<>(dataset.customers.size());
+        for (int i = 0; i < dataset.customers.size(); i++) {
+            records.add(RecordDecoder.decodeCustomer("C" + i, dataset.customers.get(i)));
+        }
+        DashboardMetricsTracker tracker = new DashboardMetricsTracker(dataset.nowMs);
+        for (CustomerRecord record : records) {
+            tracker.upsert(record);
+        }
+
+        // A burst of 100 edits, applied as deltas versus recounting every customer.
+        int changes = 100;
+        MicroBenchmark.Result recount = runner.run("dashboard.recount", 1, () -> {
+            DashboardMetrics metrics = calculator.calculateRecords(records, dataset.nowMs);
+            return metrics.getTotalActiveCustomers();
+        });
+        int bursts = 50;
+        AtomicLong cursor = new AtomicLong();
+        MicroBenchmark.Result deltas = runner.run("dashboard.applyDeltas", bursts, () -> {
+            long total = 0L;
+            for (int burst = 0; burst < bursts; burst++) {
+                for (int i = 0; i < changes; i++) {
+                    int index = (int) (cursor.getAndIncrement() % records.size());
+                    tracker.upsert(records.get(index));
+                }
+                total += tracker.snapshot().getTotalActiveCustomers();
+            }
+            return total;
+        });
+        assertEquals(
+                calculator.calculateRecords(records, dataset.nowMs).getPendingPayments(),
+                tracker.snapshot().getPendingPayments()
+        );
+        MicroBenchmark.compare(recount, deltas, 5.0);
+    }
+
+    @Test
+    public void dateParsing() {
+        List<Object> raw = sampleField("created_at", "customer_last_payment_date");
+        runner.run("DateUtils.parseFlexibleDate", raw.size(), () -> {
+            long checksum = 0L;
+            for (Object value : raw) {
+                Date date = DateUtils.parseFlexibleDate(value);
+                checksum += date != null ? date.getTime() : 0L;
+            }
+            return checksum;
+        });
+    }
+
+    @Test
+    public void dateStringParsingSpeedup() {
+        // Distinct strings in every supported shape; far more than the memo holds.
+        SimpleDateFormat[] shapes = {
+                new SimpleDateFormat("yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", Locale.US),
+                new SimpleDateFormat("yyyy-MM-dd HH:mm:ss", Locale.US),
+                new SimpleDateFormat("yyyy-MM-dd", Locale.US),
+                new SimpleDateFormat("dd MMM, yyyy", Locale.US),
+                new SimpleDateFormat("dd/MM/yyyy", Locale.US),
+                new SimpleDateFormat("MMM d, yyyy", Locale.US)
+        };
+        List<String> inputs = new ArrayList<>(SAMPLE_SIZE);
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            long millis = dataset.nowMs - i * 3_637_000L;
+            inputs.add(shapes[i % shapes.length].format(new Date(millis)));
+        }
+
+        MicroBenchmark.Result original = runner.run("OriginalDateParser.parse", inputs.size(), () -> {
+            long checksum = 0L;
+            for (String input : inputs) {
+                Date date = OriginalDateParser.parse(input);
+                checksum += date != null ? date.getTime() : 0L;
+            }
+            return checksum;
+        });
+        MicroBenchmark.Result sniffing = runner.run("DateUtils.parseFlexibleDate.strings", inputs.size(), () -> {
+            long checksum = 0L;
+            for (String input : inputs) {
+                Date date = DateUtils.parseFlexibleDate(input);
+                checksum += date != null ? date.getTime() : 0L;
+            }
+            return checksum;
+        });
+        MicroBenchmark.compare(original, sniffing, 10.0);
+    }
+
+    @Test
+    public void amountParsing() {
+        List<Object> raw = sampleField("customer_current_payment_rate", "current_payment_rate");
+        MicroBenchmark.Result original = runner.run("OriginalAmountParser.parse", raw.size(), () -> {
+            double total = 0d;
+            for (Object value : raw) {
+                total += OriginalAmountParser.parse(value);
+            }
+            return (long) total;
+        });
+        MicroBenchmark.Result money = runner.run("Money.parsePaise", raw.size(), () -> {
+            long totalPaise = 0L;
+            for (Object value : raw) {
+                totalPaise += Money.parsePaise(value);
+            }
+            return totalPaise;
+        });
+        MicroBenchmark.compare(original, money, 0.8);
+    }
+
+    @Test
+    public void amountStringParsing() {
+        // Only formatted strings, where the original pays for the regex on every value.
+        String[] shapes = {"₹ %,d", "%d.50", "₹%,d.75", "%,d", "Rs. %,d"};
+        List<String> inputs = new ArrayList<>(SAMPLE_SIZE);
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            inputs.add(String.format(Locale.US, shapes[i % shapes.length], 500 + i * 37));
+        }
+        for (String input : inputs) {
+            assertEquals(input, Math.round(OriginalAmountParser.parse(input) * 100), Money.parsePaise(input));
+        }
+
+        MicroBenchmark.Result original = runner.run("OriginalAmountParser.parse.strings", inputs.size(), () -> {
+            double total = 0d;
+            for (String input : inputs) {
+                total += OriginalAmountParser.parse(input);
+            }
+            return (long) total;
+        });
+        MicroBenchmark.Result money = runner.run("Money.parsePaise.strings", inputs.size(), () -> {
+            long totalPaise = 0L;
+            for (String input : inputs) {
+                totalPaise += Money.parsePaise(input);
+            }
+            return totalPaise;
+        });
+        MicroBenchmark.compare(original, money, 5.0);
+    }
+
+    @Test
+    public void amountFormatting() {
+        long[] paise = new long[SAMPLE_SIZE];
+        for (int i = 0; i < paise.length; i++) {
+            paise[i] = (dataset.nowMs + i * 7_919L) % 10_000_000_00L;
+        }
+        runner.run("OriginalAmountParser.formatRupees", paise.length, () -> {
+            long length = 0L;
+            for (long value : paise) {
+                length += OriginalAmountParser.formatRupees(value / 100.0).length();
+            }
+            return length;
+        });
+        runner.run("Money.formatRupees", paise.length, () -> {
+            long length = 0L;
+            for (long value : paise) {
+                length += Money.formatRupees(value).length();
+            }
+            return length;
+        });
+        StringBuilder reused = new StringBuilder(32);
+        runner.run("Money.appendRupees", paise.length, () -> {
+            long length = 0L;
+            for (long value : paise) {
+                reused.setLength(0);
+                length += Money.appendRupees(reused, value).length();
+            }
+            return length;
+        });
+    }
+
+    @Test
+    public void revenueWindows() {
+        int lastDay = RevenueRollups.dayOf(dataset.nowMs);
+        int firstDay = RevenueSeries.addDays(lastDay, -59);
+        List<DailyRevenue> rollups = new ArrayList<>();
+        for (int i = 0; i < 60; i++) {
+            rollups.add(new DailyRevenue(RevenueSeries.addDays(firstDay, i), 100_000L + i, 0L, 1, 0,
+                    Collections.<String, Long>emptyMap()));
+        }
+        int[] durations = {7, 15, 30};
+        // The chart before the series: a Calendar walk and day map per window, then a pass over the rollups.
+        MicroBenchmark.Result walk = runner.run("revenue.calendarWalk", durations.length, () -> {
+            long total = 0L;
+            for (int days : durations) {
+                total += sumByCalendarWalk(rollups, dataset.nowMs, -(days - 1), days);
+                total += sumByCalendarWalk(rollups, dataset.nowMs, -(2 * days - 1), days);
+            }
+            return total;
+        });
+        RevenueSeries series = RevenueSeries.of(rollups, firstDay, lastDay);
+        MicroBenchmark.Result prefix = runner.run("revenue.prefixSums", durations.length, () -> {
+            long total = 0L;
+            for (int days : durations) {
+                total += series.windowPaise(lastDay, days);
+                total += series.windowPaise(RevenueSeries.addDays(lastDay, -days), days);
+            }
+            return total;
+        });
+        assertEquals(sumByCalendarWalk(rollups, dataset.nowMs, -59, 60), series.windowPaise(lastDay, 60));
+        MicroBenchmark.compare(walk, prefix, 2.0);
+    }
+
+    @Test
+    public void idSuffixScan() {
+        List<String> ids = new ArrayList<>(dataset.customers.size());
+        for (Map<String, Object> customer : dataset.customers) {
+            ids.add((String) customer.get("customer_id"));
+        }
+        String idPrefix = FirestoreIdGenerator.buildIdPrefix(
+                dataset.businessPrefix,
+                FirestoreIdGenerator.ENTITY_CUSTOMER,
+                FirestoreIdGenerator.getCurrentYear()
+        );
+        assertEquals(ids.size(), FirestoreIdGenerator.findMaxSuffix(idPrefix, ids));
+        runner.run("FirestoreIdGenerator.findMaxSuffix", ids.size(),
+                () -> FirestoreIdGenerator.findMaxSuffix(idPrefix, ids));
+    }
+
+    @Test
+    public void idCounterAllocation() {
+        InMemoryDocumentStore store = new InMemoryDocumentStore();
+        dataset.loadInto(store, BUSINESS_ID);
+        InMemoryIdCounterRepository counters = new InMemoryIdCounterRepository(store);
+        AtomicLong allocated = new AtomicLong();
+        runner.run("IdCounterRepository.allocateNextId", SAMPLE_SIZE, () -> {
+            for (int i = 0; i < SAMPLE_SIZE; i++) {
+                counters.allocateNextId(BUSINESS_ID, dataset.businessPrefix, FirestoreIdGenerator.ENTITY_SHIFT,
+                        id -> allocated.incrementAndGet(), error -> {
+                            throw new AssertionError(error);
+                        });
+            }
+            return allocated.get();
+        });
+    }
+
+    @Test
+    public void seatRangeConflicts() {
+        int seats = dataset.seatCount;
+        int[] counts = new int[seats];
+        for (int seat : dataset.shiftSeat) {
+            counts[seat]++;
+        }
+        long[][] starts = new long[seats][];
+        long[][] ends = new long[seats][];
+        for (int seat = 0; seat < seats; seat++) {
+            starts[seat] = new long[counts[seat]];
+            ends[seat] = new long[counts[seat]];
+        }
+        int[] fill = new int[seats];
+        for (int i = 0; i < dataset.shiftCount(); i++) {
+            int seat = dataset.shiftSeat[i];
+            starts[seat][fill[seat]] = dataset.shiftStartMs[i];
+            ends[seat][fill[seat]] = dataset.shiftEndMs[i];
+            fill[seat]++;
+        }
+
+        long day = 24L * 60L * 60L * 1000L;
+        runner.run("SeatConflictChecker.overlapsAny", SAMPLE_SIZE, () -> {
+            long conflicts = 0L;
+            for (int i = 0; i < SAMPLE_SIZE; i++) {
+                int seat = i % seats;
+                long start = dataset.nowMs + (i % 30) * day;
+                if (SeatConflictChecker.overlapsAny(start, start + day, starts[seat], ends[seat], counts[seat])) {
+                    conflicts++;
+                }
+            }
+            return conflicts;
+        });
+    }
+
+    @Test
+    public void seatHourGrid() {
+        boolean[] blocked = new boolean[24];
+        Arrays.fill(blocked, 18, 22, true);
+        runner.run("SeatConflictChecker.hourGrid", dataset.shiftCount(), () -> {
+            long marked = 0L;
+            for (int i = 0; i < dataset.shiftCount(); i++) {
+                int startHour = 6 + (int) (dataset.shiftStartMs[i] / 3_600_000L % 16);
+                int endHour = 6 + (int) (dataset.shiftEndMs[i] / 3_600_000L % 16);
+                if (!SeatConflictChecker.hasHourConflict(startHour, endHour, 6, 22, h -> blocked[h])) {
+                    marked += endHour - startHour;
+                }
+            }
+            return marked;
+        });
+    }
+
+    @Test
+    public void customerSearch() {
+        List<Customer> customers = new ArrayList<>(dataset.customers.size());
+        for (Map<String, Object> data : dataset.customers) {
+            customers.add(new Customer(
+                    (String) data.get("customer_name"),
+                    (String) data.get("customer_id"),
+                    "",
+                    Boolean.TRUE.equals(data.get("customer_status")),
+                    "",
+                    ""
+            ));
+        }
+        // What the adapter did per keystroke: lower-case every name and ID and scan with contains.
+        String[] keystrokes = {"4", "49", "499", "4999", "49999"};
+        MicroBenchmark.Result scan = runner.run("customerSearch.linearScan", keystrokes.length, () -> {
+            long matches = 0L;
+            for (String query : keystrokes) {
+                for (Customer customer : customers) {
+                    if (customer.getCustomerName().toLowerCase().contains(query)
+                            || customer.getCustomerId().toLowerCase().contains(query)) {
+                        matches++;
+                    }
+                }
+            }
+            return matches;
+        });
+        MicroBenchmark.Result build = runner.run("customerSearch.buildIndex", 1, () ->
+                CustomerSearchIndex.build(customers).size());
+        CustomerSearchIndex index = CustomerSearchIndex.build(customers);
+        MicroBenchmark.Result indexed = runner.run("customerSearch.index", keystrokes.length, () -> {
+            long matches = 0L;
+            for (String query : keystrokes) {
+                matches += index.search(query).size();
+            }
+            return matches;
+        });
+        assertEquals("Customer 49999", index.search("customer 49999").get(0).getCustomerName());
+        System.out.println(String.format(Locale.US, "[benchmark] customerSearch index build: %.1f ms", build.meanNs / 1e6));
+        MicroBenchmark.compare(scan, indexed, 1.0);
+    }
+
+    @Test
+    public void repositoryLoad() {
+        slowRunner.run("repositories.loadDataset", dataset.customers.size() + dataset.shiftCount(), () -> {
+            InMemoryDocumentStore store = loadThroughRepositories();
+            return store.size(BUSINESS_ID, FirestorePaths.SUB_SHIFTS);
+        });
+    }
+
+    @Test
+    public void shiftRepositoryReads() {
+        ShiftRepository shifts = new InMemoryShiftRepository(repositoryStore(), new InMemoryIdCounterRepository(repositoryStore()));
+        int customers = 10;
+        AtomicLong cursor = new AtomicLong();
+        runner.run("ShiftRepository.fetchCustomerShifts", customers, () -> {
+            AtomicLong decoded = new AtomicLong();
+            for (int i = 0; i < customers; i++) {
+                int index = (int) (cursor.getAndIncrement() * 4_999 % dataset.customers.size());
+                String customerId = (String) dataset.customers.get(index).get("customer_id");
+                shifts.fetchCustomerShifts(BUSINESS_ID, customerId,
+                        docs -> decoded.addAndGet(RecordDecoder.shifts(docs).size()), FAIL);
+            }
+            return decoded.get();
+        });
+
+        long expected = 0L;
+        for (long endMs : dataset.shiftEndMs) {
+            if (endMs > dataset.nowMs) {
+                expected++;
+            }
+        }
+        AtomicLong active = new AtomicLong();
+        slowRunner.run("ShiftRepository.listenActiveShiftsInWindow", 1, () -> {
+            shifts.listenActiveShiftsInWindow(BUSINESS_ID, dataset.nowMs, snapshot ->
+                    active.set(RecordDecoder.shifts(snapshot.getDocuments()).size()), FAIL).remove();
+            return active.get();
+        });
+        assertEquals(expected, active.get());
+    }
+
+    @Test
+    public void shiftRepositoryWrites() {
+        ShiftRepository shifts = new InMemoryShiftRepository(repositoryStore(), new InMemoryIdCounterRepository(repositoryStore()));
+        // Re-applying current end times leaves the shared store as loaded.
+        int batch = 500;
+        List<Map<String, Timestamp>> batches = new ArrayList<>();
+        Map<String, Timestamp> current = new HashMap<>();
+        for (int i = 0; i < dataset.shiftCount() && batches.size() < 20; i++) {
+            if (dataset.shiftEndMs[i] > dataset.nowMs) {
+                current.put(dataset.shiftId(i), new Timestamp(new Date(dataset.shiftEndMs[i])));
+                if (current.size() == batch) {
+                    batches.add(current);
+                    current = new HashMap<>();
+                }
+            }
+        }
+        AtomicLong committed = new AtomicLong();
+        runner.run("ShiftRepository.extendShifts", batches.size() * batch, () -> {
+            for (Map<String, Timestamp> endTimes : batches) {
+                shifts.extendShifts(BUSINESS_ID, endTimes, "500", committed::incrementAndGet, FAIL);
+            }
+            return committed.get();
+        });
+    }
+
+    @Test
+    public void customerRepositoryPaging() {
+        CustomerRepository customers = new InMemoryCustomerRepository(repositoryStore(), new InMemoryIdCounterRepository(repositoryStore()));
+        int pages = 10;
+        int pageSize = 50;
+        runner.run("CustomerRepository.fetchCustomerPage", pages, () -> {
+            AtomicReference<DocumentSnapshot> last = new AtomicReference<>();
+            Set<String> seen = new HashSet<>();
+            for (int page = 0; page < pages; page++) {
+                customers.fetchCustomerPage(BUSINESS_ID, true, CustomerRepository.ORDER_BY_NAME, last.get(), pageSize,
+                        snapshot -> {
+                            for (CustomerRecord record : RecordDecoder.customers(snapshot.getDocuments())) {
+                                seen.add(record.getId());
+                            }
+                            last.set(snapshot.getDocuments().get(snapshot.size() - 1));
+                        }, FAIL);
+            }
+            assertEquals(pages * pageSize, seen.size());
+            return seen.size();
+        });
+    }
+
+    @Test
+    public void paymentRepositoryRevenue() {
+        // One payment per sampled customer over the last 60 days, written through createPayment.
+        List<Map<String, Object>> payments = new ArrayList<>(SAMPLE_SIZE);
+        long day = 24L * 60L * 60L * 1000L;
+        for (int i = 0; i < SAMPLE_SIZE; i++) {
+            Map<String, Object> payment = new HashMap<>();
+            payment.put("payment_customer_id", dataset.customers.get(i % dataset.customers.size()).get("customer_id"));
+            payment.put("payment_amount", String.valueOf(500 + i % 30 * 50));
+            payment.put("payment_type", i % 20 == 0 ? "debit" : "credit");
+            payment.put("payment_method", i % 3 == 0 ? "Cash" : "UPI");
+            payment.put(FirestorePaths.FIELD_CREATED_AT, new Timestamp(new Date(dataset.nowMs - (i % 60) * day - i)));
+            payments.add(payment);
+        }
+        AtomicReference<PaymentRepository> repository = new AtomicReference<>();
+        slowRunner.run("PaymentRepository.createPayment", payments.size(), () -> {
+            InMemoryDocumentStore store = new InMemoryDocumentStore();
+            store.putBusiness(BUSINESS_ID, dataset.businessDocument());
+            PaymentRepository created = new InMemoryPaymentRepository(store, new InMemoryIdCounterRepository(store));
+            for (int i = 0; i < payments.size(); i++) {
+                created.createPayment(BUSINESS_ID, "PAY_" + i, payments.get(i), null, FAIL);
+            }
+            repository.set(created);
+            return store.size(BUSINESS_ID, FirestorePaths.SUB_REVENUE_DAILY);
+        });
+
+        int toDay = RevenueRollups.dayOf(dataset.nowMs);
+        int fromDay = RevenueSeries.addDays(toDay, -60);
+        AtomicReference<List<DailyRevenue>> fromPayments = new AtomicReference<>();
+        MicroBenchmark.Result scan = slowRunner.run("revenue.fromPayments", 1, () -> {
+            repository.get().fetchBusinessPayments(BUSINESS_ID, null, null, snapshot -> {
+                List<DailyRevenue> days = new ArrayList<>();
+                for (PaymentRecord payment : RecordDecoder.payments(snapshot.getDocuments())) {
+                    days.add(RevenueRollups.fromPayment(payment, dataset.nowMs));
+                }
+                fromPayments.set(RevenueRollups.mergeByDay(days));
+            }, FAIL);
+            return fromPayments.get().size();
+        });
+        AtomicReference<List<DailyRevenue>> fromRollups = new AtomicReference<>();
+        MicroBenchmark.Result rollups = runner.run("revenue.fromRollups", 1, () -> {
+            repository.get().fetchDailyRevenue(BUSINESS_ID, fromDay, toDay, fromRollups::set, FAIL);
+            return fromRollups.get().size();
+        });
+        assertEquals(fromPayments.get(), fromRollups.get());
+        MicroBenchmark.compare(scan, rollups, 5.0);
+    }
+
+    /**
+     * The dataset written through the repositories, loaded once and shared by the repository
+     * benchmarks.
+     */
+    private static InMemoryDocumentStore repositoryStore() {
+        if (repositoryStore == null) {
+            repositoryStore = loadThroughRepositories();
+        }
+        return repositoryStore;
+    }
+
+    private static InMemoryDocumentStore loadThroughRepositories() {
+        InMemoryDocumentStore store = new InMemoryDocumentStore();
+        InMemoryIdCounterRepository counters = new InMemoryIdCounterRepository(store);
+        new InMemoryBusinessRepository(store).createBusiness(BUSINESS_ID, dataset.businessDocument(), null, FAIL);
+        CustomerRepository customers = new InMemoryCustomerRepository(store, counters);
+        for (Map<String, Object> customer : dataset.customers) {
+            customers.saveCustomer(BUSINESS_ID, (String) customer.get("customer_id"), customer, null, FAIL);
+        }
+        ShiftRepository shifts = new InMemoryShiftRepository(store, counters);
+        for (int i = 0; i < dataset.shiftCount(); i++) {
+            shifts.createShift(BUSINESS_ID, dataset.shiftId(i), dataset.shiftDocument(i), null, FAIL);
+        }
+        return store;
+    }
+
+    private static long sumByCalendarWalk(List<DailyRevenue> rollups, long nowMs, int firstDayOffset, int count) {
+        Calendar day = Calendar.getInstance();
+        day.setTimeInMillis(nowMs);
+        day.set(Calendar.HOUR_OF_DAY, 0);
+        day.set(Calendar.MINUTE, 0);
+        day.set(Calendar.SECOND, 0);
+        day.set(Calendar.MILLISECOND, 0);
+        day.add(Calendar.DAY_OF_MONTH, firstDayOffset);
+        Map<Integer, Integer> indexByDay = new HashMap<>();
+        for (int i = 0; i < count; i++) {
+            indexByDay.put(RevenueRollups.dayOf(day.getTimeInMillis()), i);
+            day.add(Calendar.DAY_OF_MONTH, 1);
+        }
+        long total = 0L;
+        for (DailyRevenue revenue : rollups) {
+            if (indexByDay.containsKey(revenue.getDay())) {
+                total += revenue.getNetPaise();
+            }
+        }
+        return total;
+    }
+
+    private static List<Object> sampleField(String primary, String secondary) {
+        List<Object> values = new ArrayList<>();
+        for (Map<String, Object> customer : dataset.customers) {
+            Object value = customer.get(primary);
+            values.add(value != null ? value : customer.get(secondary));
+        }
+        return values;
+    }
+}
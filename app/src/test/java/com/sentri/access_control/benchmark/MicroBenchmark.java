@@ -0,0 +1,182 @@
+package com.sentri.access_control.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongSupplier;
+
+/**
+ * Minimal JMH-style runner for JVM unit tests: warmup rounds, measured rounds, a sink so the JIT
+ * cannot drop the work, and an optional baseline file that turns regressions into test failures.
+ *
+ * <p>Results are appended as TSV to {@code build/benchmarks/results.tsv}. A baseline is a previous
+ * results file passed with {@code -PbenchmarksBaseline=path}; a benchmark fails when its mean
+ * exceeds the baseline by more than {@link #REGRESSION_TOLERANCE}.
+ *
+ * <p>Speedups between two implementations are printed by {@link #compare}; wall-clock ratios on a
+ * shared machine swing too much to assert more than that the new code is not clearly slower.
+ */
+public final class MicroBenchmark {
+    public static final double REGRESSION_TOLERANCE = 1.25;
+
+    private static final File OUTPUT = new File("build/benchmarks/results.tsv");
+    private static volatile long sink;
+
+    private final int warmupRounds;
+    private final int measuredRounds;
+    private final Map<String, Double> baseline;
+
+    public MicroBenchmark(int warmupRounds, int measuredRounds) {
+        this.warmupRounds = warmupRounds;
+        this.measuredRounds = measuredRounds;
+        this.baseline = loadBaseline(System.getProperty("sentri.benchmarks.baseline", ""));
+    }
+
+    public static boolean enabled() {
+        return Boolean.parseBoolean(System.getProperty("sentri.benchmarks", "false"));
+    }
+
+    /**
+     * Runs {@code body} and reports nanoseconds per operation, where one round performs
+     * {@code opsPerRound} operations. The body returns any value derived from its work.
+     */
+    public Result run(String name, int opsPerRound, LongSupplier body) {
+        for (int i = 0; i < warmupRounds; i++) {
+            sink += body.getAsLong();
+        }
+
+        double[] nsPerOp = new double[measuredRounds];
+        for (int i = 0; i < measuredRounds; i++) {
+            long start = System.nanoTime();
+            sink += body.getAsLong();
+            nsPerOp[i] = (System.nanoTime() - start) / (double) opsPerRound;
+        }
+
+        Result result = Result.of(name, nsPerOp);
+        report(result);
+        Double baselineNs = baseline.get(name);
+        if (baselineNs != null && result.meanNs > baselineNs * REGRESSION_TOLERANCE) {
+            throw new AssertionError(String.format(
+                    Locale.US,
+                    "%s regressed: %.1f ns/op vs baseline %.1f ns/op",
+                    name,
+                    result.meanNs,
+                    baselineNs
+            ));
+        }
+        return result;
+    }
+
+    /**
+     * Prints how many times faster {@code candidate} ran than {@code reference}, by best round, and
+     * fails only when the ratio drops below {@code floor}. Keep the floor far under the expected
+     * speedup so a noisy machine cannot trip it.
+     */
+    public static double compare(Result reference, Result candidate, double floor) {
+        double ratio = reference.minNs / Math.max(candidate.minNs, 1e-3);
+        System.out.println(String.format(Locale.US, "[benchmark] %s vs %s: %.1fx", candidate.name, reference.name, ratio));
+        if (ratio < floor) {
+            throw new AssertionError(String.format(
+                    Locale.US,
+                    "%s should not be slower than %.1fx %s, got %.1fx",
+                    candidate.name,
+                    floor,
+                    reference.name,
+                    ratio
+            ));
+        }
+        return ratio;
+    }
+
+    private static void report(Result result) {
+        String line = String.format(
+                Locale.US,
+                "%s\t%.1f\t%.1f\t%.1f\t%d",
+                result.name,
+                result.meanNs,
+                result.stdevNs,
+                result.minNs,
+                result.rounds
+        );
+        System.out.println("[benchmark] " + line.replace('\t', ' '));
+
+        File parent = OUTPUT.getParentFile();
+        if (parent != null && !parent.exists() && !parent.mkdirs()) {
+            return;
+        }
+        try (Writer writer = new OutputStreamWriter(new FileOutputStream(OUTPUT, true), StandardCharsets.UTF_8)) {
+            writer.write(line);
+            writer.write('\n');
+        } catch (IOException ignored) {
+            // Console output is enough when the build directory is not writable.
+        }
+    }
+
+    private static Map<String, Double> loadBaseline(String path) {
+        Map<String, Double> values = new HashMap<>();
+        if (path == null || path.isEmpty()) {
+            return values;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(path), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] columns = line.split("\t");
+                if (columns.length >= 2) {
+                    try {
+                        // Later rows win, so appending runs to one file keeps the newest baseline.
+                        values.put(columns[0], Double.parseDouble(columns[1]));
+                    } catch (NumberFormatException ignored) {
+                    }
+                }
+            }
+        } catch (IOException exception) {
+            throw new IllegalStateException("Cannot read benchmark baseline " + path, exception);
+        }
+        return values;
+    }
+
+    /**
+     * Summary of one benchmark, in nanoseconds per operation.
+     */
+    public static final class Result {
+        public final String name;
+        public final double meanNs;
+        public final double stdevNs;
+        public final double minNs;
+        public final int rounds;
+
+        private Result(String name, double meanNs, double stdevNs, double minNs, int rounds) {
+            this.name = name;
+            this.meanNs = meanNs;
+            this.stdevNs = stdevNs;
+            this.minNs = minNs;
+            this.rounds = rounds;
+        }
+
+        static Result of(String name, double[] samples) {
+            double sum = 0d;
+            double min = Double.MAX_VALUE;
+            for (double sample : samples) {
+                sum += sample;
+                min = Math.min(min, sample);
+            }
+            double mean = samples.length > 0 ? sum / samples.length : 0d;
+            double squares = 0d;
+            for (double sample : samples) {
+                squares += (sample - mean) * (sample - mean);
+            }
+            double stdev = samples.length > 1 ? Math.sqrt(squares / (samples.length - 1)) : 0d;
+            return new Result(name, mean, stdev, samples.length > 0 ? min : 0d, samples.length);
+        }
+    }
+}
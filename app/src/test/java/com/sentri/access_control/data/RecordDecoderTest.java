@@ -0,0 +1,121 @@
+package com.sentri.access_control.data;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.models.CustomerRecord;
+import com.sentri.access_control.models.PaymentRecord;
+import com.sentri.access_control.models.ShiftRecord;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+public class RecordDecoderTest {
+
+    @Test
+    public void customerUsesLatestSubscriptionEndAndFallbackRate() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("customer_id", "ACME_2025_7");
+        data.put("customer_status", true);
+        data.put("customer_last_payment_date", "");
+        data.put("customer_current_payment_rate", "");
+        data.put("current_payment_rate", "₹ 1,250.50");
+        data.put("customer_subscription_end_date", Arrays.asList(
+                new Timestamp(new Date(1_000L)),
+                new Timestamp(new Date(5_000L)),
+                new Timestamp(new Date(3_000L))
+        ));
+
+        CustomerRecord record = RecordDecoder.decodeCustomer(null, data);
+
+        assertEquals("ACME_2025_7", record.getId());
+        assertTrue(record.isActive());
+        assertEquals(5_000L, record.getSubscriptionEndMs());
+        assertEquals(RecordDecoder.NO_TIME, record.getLastPaymentMs());
+        assertEquals(RecordDecoder.NO_TIME, record.getCreatedAtMs());
+        assertEquals(125_050L, record.getPaymentRatePaise());
+
+        // A string created_at never matches the server's range count, so it is not a date here either.
+        data.put("created_at", "2099-01-01");
+        assertEquals(RecordDecoder.NO_TIME, RecordDecoder.decodeCustomer(null, data).getCreatedAtMs());
+        data.put("created_at", new Timestamp(new Date(7_000L)));
+        assertEquals(7_000L, RecordDecoder.decodeCustomer(null, data).getCreatedAtMs());
+    }
+
+    @Test
+    public void shiftParsesSeatNumberAndUnallocated() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("shift_seat", " 12 ");
+        data.put("shift_status", true);
+        data.put("shift_start_time", new Timestamp(new Date(10_000L)));
+        data.put("shift_end_time", new Timestamp(new Date(20_000L)));
+
+        ShiftRecord seated = RecordDecoder.decodeShift("S1", data);
+        assertEquals(12, seated.getSeatNumber());
+        assertTrue(seated.hasTimes());
+        assertFalse(seated.isUnallocated());
+
+        data.put("shift_seat", "Unallocated");
+        data.remove("shift_end_time");
+        ShiftRecord unallocated = RecordDecoder.decodeShift("S2", data);
+        assertEquals(0, unallocated.getSeatNumber());
+        assertTrue(unallocated.isUnallocated());
+        assertFalse(unallocated.hasTimes());
+    }
+
+    @Test
+    public void pendingUpdateTimestampIsANewVersion() {
+        Timestamp created = new Timestamp(new Date(1_000L));
+        Map<String, Object> saved = new HashMap<>();
+        saved.put("customer_name", "Before");
+        saved.put("created_at", created);
+        assertEquals("Before", RecordDecoder.customer(snapshot("c1", saved, null)).getName());
+
+        // A local edit stamps updated_at with serverTimestamp(), which reads as null until confirmed.
+        Map<String, Object> edited = new HashMap<>(saved);
+        edited.put("customer_name", "After");
+        edited.put("updated_at", null);
+        assertEquals("After", RecordDecoder.customer(snapshot("c1", edited, new Timestamp(new Date(2_000L)))).getName());
+    }
+
+    @Test
+    public void paymentSignsDebits() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("payment_amount", 499.99);
+        data.put("payment_type", "Debit");
+
+        PaymentRecord record = RecordDecoder.decodePayment("P1", data);
+
+        assertEquals(49_999L, record.getAmountPaise());
+        assertEquals(-49_999L, record.getSignedAmountPaise());
+    }
+
+    /**
+     * A customer document at {@code customers/id}; {@code updatedEstimate} is what a pending
+     * updated_at reads as with {@link DocumentSnapshot.ServerTimestampBehavior#ESTIMATE}.
+     */
+    private static DocumentSnapshot snapshot(String id, Map<String, Object> data, Timestamp updatedEstimate) {
+        DocumentReference reference = mock(DocumentReference.class);
+        when(reference.getPath()).thenReturn("businesses/biz/customers/" + id);
+        DocumentSnapshot doc = mock(DocumentSnapshot.class);
+        when(doc.getId()).thenReturn(id);
+        when(doc.getReference()).thenReturn(reference);
+        when(doc.getData()).thenReturn(new HashMap<>(data));
+        when(doc.get(anyString())).thenAnswer(invocation -> data.get(invocation.<String>getArgument(0)));
+        when(doc.get(anyString(), eq(DocumentSnapshot.ServerTimestampBehavior.ESTIMATE))).thenAnswer(invocation -> {
+            String field = invocation.getArgument(0);
+            return "updated_at".equals(field) && updatedEstimate != null ? updatedEstimate : data.get(field);
+        });
+        return doc;
+    }
+}
@@ -0,0 +1,93 @@
+package com.sentri.access_control.data;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.models.DailyRevenue;
+import com.sentri.access_control.models.PaymentRecord;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+public class RevenueRollupsTest {
+
+    @Test
+    public void paymentSplitsMethodsAndNegatesDebits() {
+        long noon = RevenueRollups.dayStartMs(20250314) + 12 * 3_600_000L;
+        PaymentRecord credit = new PaymentRecord("P1", "C1", noon, 15_000L, 0L, "Credit", "Cash:100.00, UPI:50", "staff");
+        PaymentRecord debit = new PaymentRecord("P2", "C1", noon, 2_000L, 0L, "Debit", "", "staff");
+
+        DailyRevenue creditDay = RevenueRollups.fromPayment(credit, 0L);
+        DailyRevenue debitDay = RevenueRollups.fromPayment(debit, 0L);
+
+        assertEquals(20250314, creditDay.getDay());
+        assertEquals(15_000L, creditDay.getCreditPaise());
+        assertEquals(1, creditDay.getCreditCount());
+        assertEquals(Long.valueOf(10_000L), creditDay.getMethodPaise().get("Cash"));
+        assertEquals(Long.valueOf(5_000L), creditDay.getMethodPaise().get("UPI"));
+
+        assertEquals(2_000L, debitDay.getDebitPaise());
+        assertEquals(1, debitDay.getDebitCount());
+        assertEquals(Long.valueOf(-2_000L), debitDay.getMethodPaise().get("Unknown"));
+
+        DailyRevenue day = RevenueRollups.mergeByDay(Arrays.asList(creditDay, debitDay)).get(0);
+        assertEquals(13_000L, day.getNetPaise());
+    }
+
+    @Test
+    public void totalsRoundTripThroughDecode() {
+        Map<String, Long> methods = new HashMap<>();
+        methods.put("Cash", 4_000L);
+        methods.put("UPI", -500L);
+        DailyRevenue day = new DailyRevenue(20250101, 4_000L, 500L, 3, 1, methods);
+
+        assertEquals(day, RevenueRollups.decode(RevenueRollups.totals(day)));
+
+        Map<String, Object> bare = new HashMap<>();
+        bare.put(RevenueRollups.FIELD_DAY, 20250101L);
+        assertEquals(RevenueRollups.empty(20250101), RevenueRollups.decode(bare));
+    }
+
+    @Test
+    public void mergeByDaySumsShardsInDayOrder() {
+        Map<String, Long> cash = new HashMap<>();
+        cash.put("Cash", 100L);
+        List<DailyRevenue> merged = RevenueRollups.mergeByDay(Arrays.asList(
+                new DailyRevenue(20250102, 100L, 0L, 1, 0, cash),
+                new DailyRevenue(20250101, 100L, 0L, 1, 0, cash),
+                new DailyRevenue(20250102, 100L, 0L, 1, 0, cash)
+        ));
+
+        assertEquals(2, merged.size());
+        assertEquals(20250101, merged.get(0).getDay());
+        assertEquals(200L, merged.get(1).getCreditPaise());
+        assertEquals(2, merged.get(1).getCreditCount());
+        assertEquals(Long.valueOf(200L), merged.get(1).getMethodPaise().get("Cash"));
+    }
+
+    @Test
+    public void dayKeysFollowLocalCalendarAcrossDst() {
+        TimeZone original = TimeZone.getDefault();
+        TimeZone.setDefault(TimeZone.getTimeZone("Europe/London"));
+        try {
+            // 30 March 2025 is 23 hours long in London.
+            long start = RevenueRollups.dayStartMs(20250330);
+            long next = RevenueRollups.dayStartMs(20250331);
+            assertEquals(23 * 3_600_000L, next - start);
+            assertEquals(20250330, RevenueRollups.dayOf(start));
+            assertEquals(20250330, RevenueRollups.dayOf(next - 1));
+            assertEquals(20250331, RevenueRollups.dayOf(next));
+
+            Calendar calendar = Calendar.getInstance();
+            calendar.setTimeInMillis(next);
+            assertEquals(0, calendar.get(Calendar.HOUR_OF_DAY));
+        } finally {
+            TimeZone.setDefault(original);
+        }
+    }
+}
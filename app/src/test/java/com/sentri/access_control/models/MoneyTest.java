@@ -0,0 +1,105 @@
+package com.sentri.access_control.models;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.utils.OriginalAmountParser;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+
+public class MoneyTest {
+    private static final List<Object> CORPUS = Arrays.asList(
+            null, "", "   ", "₹", "-", ".", "-.", "abc",
+            "0", "00", "1200", "1,200", "₹ 1,200", "₹1,200.50", "Rs. 1200", "INR 1 200",
+            "1200.5", "1200.50", "1200.", ".75", "-.75", "-250", "₹ -250.25", " 12 ",
+            "1-2", "--5", "5-", "1.2.3", "1,00,000", "99999999", "0.01", "0.1",
+            0, 1200, 1200L, -75, 1200.5, 1200.50d, 0.1f, 19.99,
+            Collections.singletonMap("value", "₹ 300"),
+            Collections.singletonMap("value", 450),
+            Collections.singletonMap("value", 12.34),
+            Collections.singletonMap("other", 5),
+            Collections.emptyMap(),
+            Boolean.TRUE
+    );
+
+    private final Locale originalLocale = Locale.getDefault();
+
+    @After
+    public void restoreLocale() {
+        Locale.setDefault(originalLocale);
+    }
+
+    @Test
+    public void parseMatchesOriginalParserToThePaisa() {
+        for (Object raw : CORPUS) {
+            assertEquals(
+                    String.valueOf(raw),
+                    Math.round(OriginalAmountParser.parse(raw) * 100.0),
+                    Money.parsePaise(raw)
+            );
+        }
+    }
+
+    @Test
+    public void parseRoundsSubPaiseHalfAwayFromZero() {
+        assertEquals(1001L, Money.parsePaise("10.005"));
+        assertEquals(1000L, Money.parsePaise("10.0049"));
+        assertEquals(-1001L, Money.parsePaise("-10.005"));
+        assertEquals(Long.MAX_VALUE, Money.parsePaise("123456789012345678901234"));
+    }
+
+    @Test
+    public void sumsDoNotDrift() {
+        Money total = Money.ZERO;
+        double drifting = 0.0;
+        for (int i = 0; i < 1000; i++) {
+            total = total.plus(Money.parse("0.10"));
+            drifting += OriginalAmountParser.parse("0.10");
+        }
+        assertEquals(Money.ofRupees(100), total);
+        assertNotEquals(100.0, drifting, 0.0);
+    }
+
+    @Test
+    public void formatRupeesMatchesDecimalFormat() {
+        long[] paise = {0L, 49L, 50L, -50L, -51L, 99_999L, 123_456_789L, -123_456_789L, 1_000_000_000_00L};
+        for (Locale locale : new Locale[]{Locale.US, new Locale("en", "IN"), Locale.GERMANY}) {
+            Locale.setDefault(locale);
+            for (long value : paise) {
+                assertEquals(
+                        locale + " " + value,
+                        formatWithDecimalFormat(value / 100.0),
+                        Money.formatRupees(value)
+                );
+            }
+        }
+    }
+
+    @Test
+    public void formatDecimalMatchesStringFormat() {
+        long[] paise = {0L, 5L, 50L, 105L, -5L, -105L, 120_050L, Long.MAX_VALUE / 2};
+        for (long value : paise) {
+            assertEquals(
+                    String.format(Locale.US, "%.2f", BigDecimal.valueOf(value, 2)),
+                    Money.formatDecimal(value)
+            );
+        }
+        StringBuilder reused = new StringBuilder("Rs ");
+        assertSame(reused, Money.appendDecimal(reused, 120_050L));
+        assertEquals("Rs 1200.50", reused.toString());
+    }
+
+    private static String formatWithDecimalFormat(double rupees) {
+        // A fresh instance so the current default locale is picked up.
+        long rounded = Math.round(rupees);
+        if (rounded == 0) return "₹ 0";
+        return "₹ " + new DecimalFormat("#,##0").format(rounded);
+    }
+}
@@ -0,0 +1,70 @@
+package com.sentri.access_control.models;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.TimeZone;
+
+public class RevenueSeriesTest {
+
+    @Test
+    public void dayArithmeticMatchesGregorianCalendar() {
+        Calendar calendar = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+        calendar.clear();
+        calendar.set(1999, Calendar.JANUARY, 1);
+        int day = 19990101;
+        for (int i = 0; i < 20_000; i++) {
+            int expected = calendar.get(Calendar.YEAR) * 10_000
+                    + (calendar.get(Calendar.MONTH) + 1) * 100
+                    + calendar.get(Calendar.DAY_OF_MONTH);
+            assertEquals(expected, day);
+            assertEquals(calendar.getTimeInMillis() / 86_400_000L, RevenueSeries.epochDay(day));
+            calendar.add(Calendar.DAY_OF_MONTH, 1);
+            day = RevenueSeries.addDays(day, 1);
+        }
+        assertEquals(20240229, RevenueSeries.addDays(20240301, -1));
+        assertEquals(20250101, RevenueSeries.addDays(20241231, 1));
+    }
+
+    @Test
+    public void windowsMatchBruteForceSums() {
+        int firstDay = 20250201;
+        int count = 60;
+        Random random = new Random(7L);
+        long[] expected = new long[count];
+        List<DailyRevenue> rollups = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            int index = random.nextInt(count + 10) - 5;
+            long credit = random.nextInt(100_000);
+            long debit = random.nextInt(10) == 0 ? random.nextInt(50_000) : 0L;
+            rollups.add(new DailyRevenue(RevenueSeries.addDays(firstDay, index), credit, debit, 1, 0,
+                    Collections.<String, Long>emptyMap()));
+            if (index >= 0 && index < count) {
+                expected[index] += credit - debit;
+            }
+        }
+        int lastDay = RevenueSeries.addDays(firstDay, count - 1);
+        RevenueSeries series = RevenueSeries.of(rollups, firstDay, lastDay);
+
+        assertEquals(count, series.size());
+        assertArrayEquals(expected, series.dailyPaise(lastDay, count));
+        for (int end = -3; end < count + 3; end++) {
+            for (int days = 0; days <= 40; days++) {
+                long sum = 0L;
+                for (int i = end - days + 1; i <= end; i++) {
+                    sum += i >= 0 && i < count ? expected[i] : 0L;
+                }
+                int endDay = RevenueSeries.addDays(firstDay, end);
+                assertEquals(sum, series.windowPaise(endDay, days));
+                assertEquals(sum, series.totalPaise(RevenueSeries.addDays(endDay, 1 - days), endDay));
+            }
+        }
+        assertEquals(0L, RevenueSeries.EMPTY.windowPaise(lastDay, 30));
+    }
+}
@@ -0,0 +1,157 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.models.BusinessConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * BusinessRepository over an {@link InMemoryDocumentStore}. Config is parsed with the same rules as
+ * {@link BusinessConfigCache}; snapshot-typed reads are served as {@link InMemorySnapshots}.
+ */
+public class InMemoryBusinessRepository implements BusinessRepository {
+    private static final String[] SUB_COLLECTIONS = {
+            FirestorePaths.SUB_COMMENTS,
+            FirestorePaths.SUB_CUSTOMERS,
+            FirestorePaths.SUB_LEAVES,
+            FirestorePaths.SUB_SHIFTS,
+            FirestorePaths.SUB_PAYMENTS,
+            FirestorePaths.SUB_CARDS
+    };
+
+    private final InMemoryDocumentStore store;
+
+    public InMemoryBusinessRepository(InMemoryDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void fetchBusinessPrefix(String businessId, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        fetchBusinessConfig(businessId, config -> onSuccess.accept(config.getBusinessPrefix()), onError);
+    }
+
+    @Override
+    public void fetchBusinessConfig(String businessId, Consumer<BusinessConfig> onSuccess, Consumer<Exception> onError) {
+        Map<String, Object> data = store.getBusiness(businessId);
+        if (data == null) {
+            onError.accept(new IllegalStateException("Business not found: " + businessId));
+            return;
+        }
+        onSuccess.accept(BusinessConfigCache.parseBusinessConfig(data));
+    }
+
+    @Override
+    public void fetchActiveCustomers(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(new ArrayList<>(activeCustomers(businessId)));
+    }
+
+    /**
+     * The store is the whole "cache" here.
+     */
+    @Override
+    public void fetchCachedActiveCustomers(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(new ArrayList<>(activeCustomers(businessId)));
+    }
+
+    /**
+     * Delivers the current active customers as one all-ADDED snapshot. The store has no change
+     * feed, so later writes are not delivered.
+     */
+    @Override
+    public ListenerRegistration listenActiveCustomers(String businessId, Consumer<QuerySnapshot> onChange, Consumer<Exception> onError) {
+        onChange.accept(InMemorySnapshots.query(activeCustomers(businessId)));
+        return () -> {
+        };
+    }
+
+    private List<QueryDocumentSnapshot> activeCustomers(String businessId) {
+        String path = InMemorySnapshots.path(businessId, FirestorePaths.SUB_CUSTOMERS);
+        List<QueryDocumentSnapshot> docs = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Object>> entry
+                : store.documentsById(businessId, FirestorePaths.SUB_CUSTOMERS).entrySet()) {
+            if (Boolean.TRUE.equals(entry.getValue().get("customer_status"))) {
+                docs.add(InMemorySnapshots.document(path, entry.getKey(), entry.getValue()));
+            }
+        }
+        return docs;
+    }
+
+    @Override
+    public void countActiveCustomers(String businessId, Consumer<Long> onSuccess, Consumer<Exception> onError) {
+        countActive(businessId, Long.MIN_VALUE, onSuccess);
+    }
+
+    /**
+     * Like the Firestore range filter and {@code RecordDecoder}, only Timestamp-typed created_at
+     * values can match.
+     */
+    @Override
+    public void countActiveCustomersCreatedSince(String businessId,
+                                                 long sinceMs,
+                                                 Consumer<Long> onSuccess,
+                                                 Consumer<Exception> onError) {
+        countActive(businessId, sinceMs, onSuccess);
+    }
+
+    private void countActive(String businessId, long sinceMs, Consumer<Long> onSuccess) {
+        long count = 0L;
+        for (Map<String, Object> customer : store.documents(businessId, FirestorePaths.SUB_CUSTOMERS)) {
+            if (!Boolean.TRUE.equals(customer.get("customer_status"))) {
+                continue;
+            }
+            if (sinceMs != Long.MIN_VALUE) {
+                Object createdAt = customer.get(FirestorePaths.FIELD_CREATED_AT);
+                if (!(createdAt instanceof Timestamp) || ((Timestamp) createdAt).toDate().getTime() < sinceMs) {
+                    continue;
+                }
+            }
+            count++;
+        }
+        onSuccess.accept(count);
+    }
+
+    @Override
+    public void fetchNextBusinessId(int year, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        String prefix = "business_id_" + year + "_";
+        int maxId = 0;
+        for (String docId : store.businessIds()) {
+            if (!docId.startsWith(prefix)) {
+                continue;
+            }
+            try {
+                maxId = Math.max(maxId, Integer.parseInt(docId.substring(prefix.length())));
+            } catch (NumberFormatException ignored) {
+            }
+        }
+        onSuccess.accept(prefix + (maxId + 1));
+    }
+
+    @Override
+    public void createBusiness(String businessId, Map<String, Object> businessData, Runnable onSuccess, Consumer<Exception> onError) {
+        store.putBusiness(businessId, businessData);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    @Override
+    public void initializeBusinessCollections(String businessId, Runnable onSuccess, Consumer<Exception> onError) {
+        Map<String, Object> placeholder = new HashMap<>();
+        placeholder.put("initialized", true);
+        for (String subCollection : SUB_COLLECTIONS) {
+            store.put(businessId, subCollection, "_init", placeholder);
+        }
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * BusinessUserRepository over an {@link InMemoryDocumentStore}, listing users by email like the
+ * Firestore query; updating a missing user fails like a Firestore update.
+ */
+public class InMemoryBusinessUserRepository implements BusinessUserRepository {
+    private final InMemoryDocumentStore store;
+
+    public InMemoryBusinessUserRepository(InMemoryDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void fetchBusinessUsers(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(new ArrayList<>(InMemoryQuery.of(store, businessId, FirestorePaths.SUB_BUSINESS_USERS)
+                .orderBy("user_email", false)
+                .documents()));
+    }
+
+    @Override
+    public void fetchBusinessUser(String businessId, String userId, Consumer<DocumentSnapshot> onSuccess, Consumer<Exception> onError) {
+        String path = InMemorySnapshots.path(businessId, FirestorePaths.SUB_BUSINESS_USERS);
+        Map<String, Object> data = store.get(businessId, FirestorePaths.SUB_BUSINESS_USERS, userId);
+        onSuccess.accept(data != null
+                ? InMemorySnapshots.document(path, userId, data)
+                : InMemorySnapshots.missing(path, userId));
+    }
+
+    @Override
+    public void saveBusinessUser(String businessId,
+                                 String userId,
+                                 Map<String, Object> data,
+                                 Runnable onSuccess,
+                                 Consumer<Exception> onError) {
+        store.put(businessId, FirestorePaths.SUB_BUSINESS_USERS, userId, data);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    @Override
+    public void updateBusinessUser(String businessId,
+                                   String userId,
+                                   Map<String, Object> updates,
+                                   Runnable onSuccess,
+                                   Consumer<Exception> onError) {
+        if (store.get(businessId, FirestorePaths.SUB_BUSINESS_USERS, userId) == null) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException("Business user not found: " + userId));
+            }
+            return;
+        }
+        store.update(businessId, FirestorePaths.SUB_BUSINESS_USERS, userId, updates);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+}
@@ -0,0 +1,220 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CardRepository over an {@link InMemoryDocumentStore}. Card and customer updates are applied
+ * together or not at all, like the Firestore batches, and fail when either document is missing.
+ */
+public class InMemoryCardRepository implements CardRepository {
+    private final InMemoryDocumentStore store;
+
+    public InMemoryCardRepository(InMemoryDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void fetchBusinessCards(String businessId,
+                                   boolean onlyUnassigned,
+                                   Consumer<List<DocumentSnapshot>> onSuccess,
+                                   Consumer<Exception> onError) {
+        List<DocumentSnapshot> cards = new ArrayList<>();
+        for (DocumentSnapshot card : cards(businessId).documents()) {
+            Object assignedTo = card.get("card_assigned_to");
+            boolean isUnassigned = assignedTo == null
+                    || (assignedTo instanceof String && ((String) assignedTo).trim().isEmpty());
+            if (!onlyUnassigned || isUnassigned) {
+                cards.add(card);
+            }
+        }
+        onSuccess.accept(cards);
+    }
+
+    @Override
+    public void fetchAllCards(Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        List<DocumentSnapshot> cards = new ArrayList<>();
+        for (String businessId : store.businessIdsWith(FirestorePaths.SUB_CARDS)) {
+            cards.addAll(cards(businessId).documents());
+        }
+        onSuccess.accept(cards);
+    }
+
+    @Override
+    public void assignCardToCustomer(String businessId,
+                                     String customerId,
+                                     String cardDocId,
+                                     String cardId,
+                                     Runnable onSuccess,
+                                     Consumer<Exception> onError) {
+        if (!validateCardAssignmentInput(businessId, customerId, cardDocId, cardId, onError)) {
+            return;
+        }
+        Map<String, Map<String, Object>> cardUpdates = new HashMap<>();
+        cardUpdates.put(cardDocId, cardFields(customerId, "customer", true));
+        commit(businessId, cardUpdates, customerId, cardId, onSuccess, onError);
+    }
+
+    @Override
+    public void replaceCardForCustomer(String businessId,
+                                       String customerId,
+                                       String newCardDocId,
+                                       String newCardId,
+                                       Runnable onSuccess,
+                                       Consumer<Exception> onError) {
+        if (!validateCardAssignmentInput(businessId, customerId, newCardDocId, newCardId, onError)) {
+            return;
+        }
+        Map<String, Object> customer = store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId);
+        String oldCardDocId = findCardDocumentId(businessId, customer != null ? customer.get("customer_current_card_id") : null);
+
+        Map<String, Map<String, Object>> cardUpdates = new HashMap<>();
+        cardUpdates.put(newCardDocId, cardFields(customerId, "customer", true));
+        if (oldCardDocId != null && !oldCardDocId.equals(newCardDocId)) {
+            cardUpdates.put(oldCardDocId, cardFields("", "", false));
+        }
+        commit(businessId, cardUpdates, customerId, newCardId, onSuccess, onError);
+    }
+
+    @Override
+    public void returnCardFromCustomer(String businessId,
+                                       String customerId,
+                                       Runnable onSuccess,
+                                       Consumer<Exception> onError) {
+        if (isEmpty(businessId) || isEmpty(customerId)) {
+            if (onError != null) {
+                onError.accept(new IllegalArgumentException("Missing business/customer details"));
+            }
+            return;
+        }
+        Map<String, Object> customer = store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId);
+        Object currentCardId = customer != null ? customer.get("customer_current_card_id") : null;
+        if (!(currentCardId instanceof String) || isEmpty((String) currentCardId)) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException("No card assigned to this customer"));
+            }
+            return;
+        }
+
+        Map<String, Map<String, Object>> cardUpdates = new HashMap<>();
+        String currentCardDocId = findCardDocumentId(businessId, currentCardId);
+        if (currentCardDocId != null) {
+            cardUpdates.put(currentCardDocId, cardFields("", "", false));
+        }
+        commit(businessId, cardUpdates, customerId, "", onSuccess, onError);
+    }
+
+    @Override
+    public void unassignCard(String businessId,
+                             String customerId,
+                             String cardDocId,
+                             Runnable onSuccess,
+                             Consumer<Exception> onError) {
+        if (isEmpty(businessId) || isEmpty(cardDocId)) {
+            if (onError != null) {
+                onError.accept(new IllegalArgumentException("Missing business/card details"));
+            }
+            return;
+        }
+        Map<String, Map<String, Object>> cardUpdates = new HashMap<>();
+        cardUpdates.put(cardDocId, cardFields("", "", false));
+        commit(businessId, cardUpdates, isEmpty(customerId) ? null : customerId, "", onSuccess, onError);
+    }
+
+    private boolean validateCardAssignmentInput(String businessId,
+                                                String customerId,
+                                                String cardDocId,
+                                                String cardId,
+                                                Consumer<Exception> onError) {
+        if (!isEmpty(businessId) && !isEmpty(customerId) && !isEmpty(cardDocId) && !isEmpty(cardId)) {
+            return true;
+        }
+        if (onError != null) {
+            onError.accept(new IllegalArgumentException("Missing business/customer/card details"));
+        }
+        return false;
+    }
+
+    private String findCardDocumentId(String businessId, Object cardId) {
+        if (!(cardId instanceof String) || isEmpty((String) cardId)) {
+            return null;
+        }
+        synchronized (store) {
+            for (Map.Entry<String, Map<String, Object>> entry
+                    : store.documentsById(businessId, FirestorePaths.SUB_CARDS).entrySet()) {
+                if (cardId.equals(entry.getValue().get("card_id"))) {
+                    return entry.getKey();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Applies the card updates and, when {@code customerId} is set, points the customer at
+     * {@code customerCardId}.
+     */
+    private void commit(String businessId,
+                        Map<String, Map<String, Object>> cardUpdates,
+                        String customerId,
+                        String customerCardId,
+                        Runnable onSuccess,
+                        Consumer<Exception> onError) {
+        String missing = null;
+        synchronized (store) {
+            for (String cardDocId : cardUpdates.keySet()) {
+                if (store.get(businessId, FirestorePaths.SUB_CARDS, cardDocId) == null) {
+                    missing = "Card not found: " + cardDocId;
+                }
+            }
+            if (customerId != null && store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId) == null) {
+                missing = "Customer not found: " + customerId;
+            }
+            if (missing == null) {
+                for (Map.Entry<String, Map<String, Object>> entry : cardUpdates.entrySet()) {
+                    store.update(businessId, FirestorePaths.SUB_CARDS, entry.getKey(), entry.getValue());
+                }
+                if (customerId != null) {
+                    Map<String, Object> customerUpdates = new HashMap<>();
+                    customerUpdates.put("customer_current_card_id", customerCardId);
+                    customerUpdates.put(FirestorePaths.FIELD_UPDATED_AT, Timestamp.now());
+                    store.update(businessId, FirestorePaths.SUB_CUSTOMERS, customerId, customerUpdates);
+                }
+            }
+        }
+        if (missing != null) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException(missing));
+            }
+            return;
+        }
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    private InMemoryQuery cards(String businessId) {
+        return InMemoryQuery.of(store, businessId, FirestorePaths.SUB_CARDS);
+    }
+
+    private static Map<String, Object> cardFields(String assignedTo, String assignedType, boolean status) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("card_assigned_to", assignedTo);
+        fields.put("card_assigned_type", assignedType);
+        fields.put("card_status", status);
+        fields.put(FirestorePaths.FIELD_UPDATED_AT, Timestamp.now());
+        return fields;
+    }
+
+    // TextUtils is a stub in JVM tests.
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+}
@@ -0,0 +1,83 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CommentRepository over an {@link InMemoryDocumentStore}. Comments are built with
+ * {@link FirestoreCommentRepository#buildCommentData}, with the write time in place of the server
+ * timestamp so the created_at ordering has a value to sort on.
+ */
+public class InMemoryCommentRepository implements CommentRepository {
+    private final InMemoryDocumentStore store;
+    private final IdCounterRepository idCounterRepository;
+
+    public InMemoryCommentRepository(InMemoryDocumentStore store, IdCounterRepository idCounterRepository) {
+        this.store = store;
+        this.idCounterRepository = idCounterRepository;
+    }
+
+    @Override
+    public void addComment(String businessId,
+                           String customerId,
+                           String businessPrefix,
+                           String entityType,
+                           String text,
+                           String createdBy,
+                           Runnable onSuccess,
+                           Consumer<Exception> onError) {
+        idCounterRepository.allocateNextId(
+                businessId,
+                businessPrefix,
+                FirestoreIdGenerator.ENTITY_COMMENT,
+                commentId -> {
+                    Map<String, Object> comment = FirestoreCommentRepository.buildCommentData(
+                            commentId, businessId, customerId, entityType, text, createdBy);
+                    comment.put(FirestorePaths.FIELD_CREATED_AT, Timestamp.now());
+                    store.put(businessId, FirestorePaths.SUB_COMMENTS, commentId, comment);
+                    if (onSuccess != null) {
+                        onSuccess.run();
+                    }
+                },
+                e -> {
+                    if (onError != null) {
+                        onError.accept(e);
+                    }
+                }
+        );
+    }
+
+    @Override
+    public void fetchRecentComments(String businessId, int limit, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(baseCommentQuery(businessId, limit).get());
+    }
+
+    @Override
+    public void fetchCommentsByCustomer(String businessId,
+                                        String customerId,
+                                        int limit,
+                                        Consumer<QuerySnapshot> onSuccess,
+                                        Consumer<Exception> onError) {
+        onSuccess.accept(baseCommentQuery(businessId, limit).whereEqualTo("comment_customer_id", customerId).get());
+    }
+
+    @Override
+    public void fetchCommentsByCreator(String businessId,
+                                       String createdBy,
+                                       int limit,
+                                       Consumer<QuerySnapshot> onSuccess,
+                                       Consumer<Exception> onError) {
+        onSuccess.accept(baseCommentQuery(businessId, limit).whereEqualTo("created_by", createdBy).get());
+    }
+
+    private InMemoryQuery baseCommentQuery(String businessId, int limit) {
+        return InMemoryQuery.of(store, businessId, FirestorePaths.SUB_COMMENTS)
+                .orderBy(FirestorePaths.FIELD_CREATED_AT, true)
+                .limit(limit);
+    }
+}
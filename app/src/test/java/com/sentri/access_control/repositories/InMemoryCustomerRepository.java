@@ -0,0 +1,271 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * CustomerRepository over an {@link InMemoryDocumentStore}, with the Firestore implementation's
+ * field updates; array unions and removals apply to the stored lists, and server timestamps are
+ * the write time. Updates to a missing customer fail like a Firestore update would.
+ */
+public class InMemoryCustomerRepository implements CustomerRepository {
+    private final InMemoryDocumentStore store;
+    private final IdCounterRepository idCounterRepository;
+
+    public InMemoryCustomerRepository(InMemoryDocumentStore store, IdCounterRepository idCounterRepository) {
+        this.store = store;
+        this.idCounterRepository = idCounterRepository;
+    }
+
+    @Override
+    public void fetchCustomers(String businessId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(InMemoryQuery.of(store, businessId, FirestorePaths.SUB_CUSTOMERS).get());
+    }
+
+    @Override
+    public void fetchCustomerPage(String businessId,
+                                  Boolean status,
+                                  String orderField,
+                                  DocumentSnapshot startAfter,
+                                  int limit,
+                                  Consumer<QuerySnapshot> onSuccess,
+                                  Consumer<Exception> onError) {
+        InMemoryQuery query = InMemoryQuery.of(store, businessId, FirestorePaths.SUB_CUSTOMERS);
+        if (status != null) {
+            query.whereEqualTo("customer_status", status);
+        }
+        onSuccess.accept(query.orderBy(orderField, false).startAfter(startAfter).limit(limit).get());
+    }
+
+    @Override
+    public void fetchCustomer(String businessId, String customerId, Consumer<DocumentSnapshot> onSuccess, Consumer<Exception> onError) {
+        String path = InMemorySnapshots.path(businessId, FirestorePaths.SUB_CUSTOMERS);
+        Map<String, Object> data = store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId);
+        onSuccess.accept(data != null
+                ? InMemorySnapshots.document(path, customerId, data)
+                : InMemorySnapshots.missing(path, customerId));
+    }
+
+    @Override
+    public void fetchNextCustomerId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        idCounterRepository.allocateNextId(businessId, businessPrefix, FirestoreIdGenerator.ENTITY_CUSTOMER, onSuccess, onError);
+    }
+
+    @Override
+    public void saveCustomer(String businessId, String customerId, Map<String, Object> customerData, Runnable onSuccess, Consumer<Exception> onError) {
+        store.put(businessId, FirestorePaths.SUB_CUSTOMERS, customerId, customerData);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    @Override
+    public void deactivateCustomer(String businessId, String customerId, Runnable onSuccess, Consumer<Exception> onError) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("customer_status", false);
+        updates.put("customer_current_payment_rate", "");
+        updates.put("customer_current_shift_id", Collections.emptyList());
+        updates.put("customer_current_seat", Collections.emptyList());
+        updates.put("customer_subscription_start_date", Collections.emptyList());
+        updates.put("customer_subscription_end_date", Collections.emptyList());
+        update(businessId, customerId, updates, onSuccess, onError);
+    }
+
+    @Override
+    public void removeCustomerShiftAssignment(String businessId,
+                                              String customerId,
+                                              String shiftId,
+                                              String seat,
+                                              Timestamp shiftStart,
+                                              Timestamp shiftEnd,
+                                              Runnable onSuccess,
+                                              Consumer<Exception> onError) {
+        if (shiftId == null || shiftId.trim().isEmpty()) {
+            if (onSuccess != null) {
+                onSuccess.run();
+            }
+            return;
+        }
+
+        Map<String, Object> updates = new HashMap<>();
+        synchronized (store) {
+            Map<String, Object> customer = store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId);
+            if (customer != null) {
+                updates.put("customer_current_shift_id",
+                        InMemoryDocumentStore.arrayRemove(customer.get("customer_current_shift_id"), shiftId));
+                if (seat != null && !seat.trim().isEmpty()) {
+                    updates.put("customer_current_seat",
+                            InMemoryDocumentStore.arrayRemove(customer.get("customer_current_seat"), seat));
+                }
+                if (shiftStart != null) {
+                    updates.put("customer_subscription_start_date",
+                            InMemoryDocumentStore.arrayRemove(customer.get("customer_subscription_start_date"), shiftStart));
+                }
+                if (shiftEnd != null) {
+                    updates.put("customer_subscription_end_date",
+                            InMemoryDocumentStore.arrayRemove(customer.get("customer_subscription_end_date"), shiftEnd));
+                }
+            }
+        }
+        update(businessId, customerId, updates, onSuccess, onError);
+    }
+
+    @Override
+    public void updateCustomerAfterPayment(String businessId,
+                                           String customerId,
+                                           String paymentRate,
+                                           String lastPaymentDate,
+                                           Runnable onSuccess,
+                                           Consumer<Exception> onError) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("customer_current_payment_rate", paymentRate);
+        updates.put("customer_last_payment_date", lastPaymentDate);
+        updates.put("customer_status", true);
+        update(businessId, customerId, updates, onSuccess, onError);
+    }
+
+    @Override
+    public void appendShiftAssignment(String businessId,
+                                      String customerId,
+                                      String shiftId,
+                                      String seat,
+                                      Timestamp shiftStart,
+                                      Timestamp shiftEnd,
+                                      String paymentRate,
+                                      String lastPaymentDate,
+                                      Runnable onSuccess,
+                                      Consumer<Exception> onError) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("customer_status", true);
+        updates.put("customer_current_payment_rate", paymentRate);
+        updates.put("customer_last_payment_date", lastPaymentDate);
+        synchronized (store) {
+            Map<String, Object> customer = store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId);
+            if (customer != null) {
+                updates.put("customer_current_shift_id",
+                        InMemoryDocumentStore.arrayUnion(customer.get("customer_current_shift_id"), shiftId));
+                updates.put("customer_current_seat",
+                        InMemoryDocumentStore.arrayUnion(customer.get("customer_current_seat"), seat));
+                updates.put("customer_subscription_start_date",
+                        InMemoryDocumentStore.arrayUnion(customer.get("customer_subscription_start_date"), shiftStart));
+                updates.put("customer_subscription_end_date",
+                        InMemoryDocumentStore.arrayUnion(customer.get("customer_subscription_end_date"), shiftEnd));
+            }
+        }
+        update(businessId, customerId, updates, onSuccess, onError);
+    }
+
+    @Override
+    public void updateRenewedSubscription(String businessId,
+                                          String customerId,
+                                          List<Timestamp> newSubscriptionEndDates,
+                                          String paymentRate,
+                                          Runnable onSuccess,
+                                          Consumer<Exception> onError) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("customer_subscription_end_date", newSubscriptionEndDates);
+        updates.put("customer_current_payment_rate", paymentRate);
+        updates.put("customer_status", true);
+        update(businessId, customerId, updates, onSuccess, onError);
+    }
+
+    @Override
+    public void replaceCurrentShiftAssignments(String businessId,
+                                               String customerId,
+                                               List<String> shiftIds,
+                                               List<String> seats,
+                                               List<Timestamp> shiftStarts,
+                                               List<Timestamp> shiftEnds,
+                                               String paymentRate,
+                                               String lastPaymentDate,
+                                               Runnable onSuccess,
+                                               Consumer<Exception> onError) {
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("customer_status", true);
+        updates.put("customer_current_payment_rate", paymentRate);
+        updates.put("customer_last_payment_date", lastPaymentDate);
+        updates.put("customer_current_shift_id", shiftIds != null ? shiftIds : Collections.emptyList());
+        updates.put("customer_current_seat", seats != null ? seats : Collections.emptyList());
+        updates.put("customer_subscription_start_date", shiftStarts != null ? shiftStarts : Collections.emptyList());
+        updates.put("customer_subscription_end_date", shiftEnds != null ? shiftEnds : Collections.emptyList());
+        update(businessId, customerId, updates, onSuccess, onError);
+    }
+
+    @Override
+    public void updateCustomerProfile(String businessId,
+                                      String customerId,
+                                      Map<String, Object> updates,
+                                      Runnable onSuccess,
+                                      Consumer<Exception> onError) {
+        if (updates == null || updates.isEmpty()) {
+            if (onSuccess != null) {
+                onSuccess.run();
+            }
+            return;
+        }
+        update(businessId, customerId, new HashMap<>(updates), onSuccess, onError);
+    }
+
+    /**
+     * Like a batched write, nothing is applied when any customer is missing.
+     */
+    @Override
+    public void updateCustomers(String businessId,
+                                Map<String, Map<String, Object>> updatesById,
+                                Runnable onSuccess,
+                                Consumer<Exception> onError) {
+        String missingId = null;
+        synchronized (store) {
+            for (String customerId : updatesById.keySet()) {
+                if (store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId) == null) {
+                    missingId = customerId;
+                    break;
+                }
+            }
+            if (missingId == null) {
+                Timestamp now = Timestamp.now();
+                for (Map.Entry<String, Map<String, Object>> entry : updatesById.entrySet()) {
+                    Map<String, Object> updates = new HashMap<>(entry.getValue());
+                    updates.put(FirestorePaths.FIELD_UPDATED_AT, now);
+                    store.update(businessId, FirestorePaths.SUB_CUSTOMERS, entry.getKey(), updates);
+                }
+            }
+        }
+        if (missingId != null) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException("Customer not found: " + missingId));
+            }
+            return;
+        }
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    private void update(String businessId,
+                        String customerId,
+                        Map<String, Object> updates,
+                        Runnable onSuccess,
+                        Consumer<Exception> onError) {
+        if (store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId) == null) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException("Customer not found: " + customerId));
+            }
+            return;
+        }
+        updates.put(FirestorePaths.FIELD_UPDATED_AT, Timestamp.now());
+        store.update(businessId, FirestorePaths.SUB_CUSTOMERS, customerId, updates);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+}
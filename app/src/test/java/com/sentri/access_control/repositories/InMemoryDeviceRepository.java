@@ -0,0 +1,53 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * DeviceRepository over an {@link InMemoryDocumentStore}; updating a missing device fails like a
+ * Firestore update.
+ */
+public class InMemoryDeviceRepository implements DeviceRepository {
+    private final InMemoryDocumentStore store;
+
+    public InMemoryDeviceRepository(InMemoryDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void fetchDevices(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(new ArrayList<>(InMemoryQuery.of(store, businessId, FirestorePaths.SUB_BUSINESS_DEVICES).documents()));
+    }
+
+    @Override
+    public void fetchDevice(String businessId, String deviceId, Consumer<DocumentSnapshot> onSuccess, Consumer<Exception> onError) {
+        String path = InMemorySnapshots.path(businessId, FirestorePaths.SUB_BUSINESS_DEVICES);
+        Map<String, Object> data = store.get(businessId, FirestorePaths.SUB_BUSINESS_DEVICES, deviceId);
+        onSuccess.accept(data != null
+                ? InMemorySnapshots.document(path, deviceId, data)
+                : InMemorySnapshots.missing(path, deviceId));
+    }
+
+    @Override
+    public void updateDevice(String businessId,
+                             String deviceId,
+                             Map<String, Object> updates,
+                             Runnable onSuccess,
+                             Consumer<Exception> onError) {
+        if (store.get(businessId, FirestorePaths.SUB_BUSINESS_DEVICES, deviceId) == null) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException("Device not found: " + deviceId));
+            }
+            return;
+        }
+        store.update(businessId, FirestorePaths.SUB_BUSINESS_DEVICES, deviceId, updates);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+}
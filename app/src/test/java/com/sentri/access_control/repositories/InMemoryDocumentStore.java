@@ -0,0 +1,137 @@
+package com.sentri.access_control.repositories;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Firestore-shaped in-memory storage: businesses, their sub-collections and top-level users as raw
+ * field maps.
+ * Firestore snapshot types cannot be constructed off-device, so benchmarks work on these maps
+ * directly and in-memory repositories wrap them with {@link InMemorySnapshots} where an interface
+ * returns snapshots.
+ */
+public final class InMemoryDocumentStore {
+    private final Map<String, Map<String, Object>> businesses = new LinkedHashMap<>();
+    private final Map<String, Map<String, Map<String, Object>>> collections = new HashMap<>();
+    private final Map<String, Map<String, Object>> users = new LinkedHashMap<>();
+
+    public synchronized void putBusiness(String businessId, Map<String, Object> data) {
+        businesses.put(businessId, new HashMap<>(data));
+    }
+
+    public synchronized Map<String, Object> getBusiness(String businessId) {
+        return businesses.get(businessId);
+    }
+
+    public synchronized List<String> businessIds() {
+        return new ArrayList<>(businesses.keySet());
+    }
+
+    public synchronized void putUser(String email, Map<String, Object> data) {
+        users.put(email, new HashMap<>(data));
+    }
+
+    public synchronized Map<String, Object> getUser(String email) {
+        return users.get(email);
+    }
+
+    public synchronized void updateUser(String email, Map<String, Object> updates) {
+        Map<String, Object> existing = users.get(email);
+        if (existing == null) {
+            throw new IllegalStateException("No user " + email);
+        }
+        existing.putAll(updates);
+    }
+
+    public synchronized void put(String businessId, String collection, String documentId, Map<String, Object> data) {
+        collection(businessId, collection).put(documentId, new HashMap<>(data));
+    }
+
+    public synchronized Map<String, Object> get(String businessId, String collection, String documentId) {
+        return collection(businessId, collection).get(documentId);
+    }
+
+    public synchronized void update(String businessId, String collection, String documentId, Map<String, Object> updates) {
+        Map<String, Object> existing = get(businessId, collection, documentId);
+        if (existing == null) {
+            throw new IllegalStateException("No document " + collection + "/" + documentId);
+        }
+        existing.putAll(updates);
+    }
+
+    /**
+     * Live view of one sub-collection, in insertion order.
+     */
+    public synchronized Collection<Map<String, Object>> documents(String businessId, String collection) {
+        return collection(businessId, collection).values();
+    }
+
+    /**
+     * Live view of one sub-collection keyed by document ID, in insertion order.
+     */
+    public synchronized Map<String, Map<String, Object>> documentsById(String businessId, String collection) {
+        return collection(businessId, collection);
+    }
+
+    /**
+     * Businesses holding at least one document in {@code collection}, like the parents a
+     * collection-group query spans.
+     */
+    public synchronized List<String> businessIdsWith(String collection) {
+        String suffix = "/" + collection;
+        List<String> ids = new ArrayList<>();
+        for (Map.Entry<String, Map<String, Map<String, Object>>> entry : collections.entrySet()) {
+            if (entry.getKey().endsWith(suffix) && !entry.getValue().isEmpty()) {
+                ids.add(entry.getKey().substring(0, entry.getKey().length() - suffix.length()));
+            }
+        }
+        return ids;
+    }
+
+    public synchronized int size(String businessId, String collection) {
+        return collection(businessId, collection).size();
+    }
+
+    public synchronized void clear() {
+        businesses.clear();
+        collections.clear();
+        users.clear();
+    }
+
+    /**
+     * {@code FieldValue.arrayUnion} applied to a stored value: a non-list value is replaced.
+     */
+    static List<Object> arrayUnion(Object current, Object... elements) {
+        List<Object> values = current instanceof List ? new ArrayList<>((List<?>) current) : new ArrayList<>();
+        for (Object element : elements) {
+            if (!values.contains(element)) {
+                values.add(element);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * {@code FieldValue.arrayRemove} applied to a stored value, dropping every equal element.
+     */
+    static List<Object> arrayRemove(Object current, Object... elements) {
+        List<Object> values = current instanceof List ? new ArrayList<>((List<?>) current) : new ArrayList<>();
+        values.removeAll(Arrays.asList(elements));
+        return values;
+    }
+
+    private Map<String, Map<String, Object>> collection(String businessId, String collection) {
+        String key = businessId + "/" + collection;
+        Map<String, Map<String, Object>> documents = collections.get(key);
+        if (documents == null) {
+            documents = new LinkedHashMap<>();
+            collections.put(key, documents);
+        }
+        return documents;
+    }
+}
@@ -0,0 +1,56 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+
+import java.util.function.Consumer;
+
+/**
+ * HistoryRepository over an {@link InMemoryDocumentStore}, paging newest first with the same
+ * filters and cursors as the Firestore queries.
+ */
+public class InMemoryHistoryRepository implements HistoryRepository {
+    private final InMemoryDocumentStore store;
+
+    public InMemoryHistoryRepository(InMemoryDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void fetchPagedRecords(String businessId,
+                                  String collection,
+                                  String filterField,
+                                  String filterValue,
+                                  String orderField,
+                                  DocumentSnapshot lastDoc,
+                                  int pageSize,
+                                  Consumer<QuerySnapshot> onSuccess,
+                                  Consumer<Exception> onError) {
+        onSuccess.accept(InMemoryQuery.of(store, businessId, collection)
+                .whereEqualTo(filterField, filterValue)
+                .orderBy(orderField, true)
+                .startAfter(lastDoc)
+                .limit(pageSize)
+                .get());
+    }
+
+    @Override
+    public void fetchPagedComments(String businessId,
+                                   String customerId,
+                                   String entityType,
+                                   DocumentSnapshot lastDoc,
+                                   int pageSize,
+                                   Consumer<QuerySnapshot> onSuccess,
+                                   Consumer<Exception> onError) {
+        InMemoryQuery query = InMemoryQuery.of(store, businessId, FirestorePaths.SUB_COMMENTS)
+                .whereEqualTo("comment_customer_id", customerId);
+        if (entityType != null) {
+            query.whereEqualTo("comment_entity_type", entityType);
+        }
+        onSuccess.accept(query.orderBy(FirestorePaths.FIELD_CREATED_AT, true)
+                .startAfter(lastDoc)
+                .limit(pageSize)
+                .get());
+    }
+}
@@ -0,0 +1,132 @@
+package com.sentri.access_control.repositories;
+
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * IdCounterRepository with the same counter semantics as the Firestore implementation: counters are
+ * seeded lazily from the highest existing ID suffix in the store, then advanced atomically.
+ */
+public class InMemoryIdCounterRepository implements IdCounterRepository {
+    private static final Map<String, String[]> SOURCES = new LinkedHashMap<>();
+
+    static {
+        SOURCES.put(FirestoreIdGenerator.ENTITY_PAY, new String[]{FirestorePaths.SUB_PAYMENTS, "payment_id"});
+        SOURCES.put(FirestoreIdGenerator.ENTITY_SHIFT, new String[]{FirestorePaths.SUB_SHIFTS, "shift_id"});
+        SOURCES.put(FirestoreIdGenerator.ENTITY_LEAVES, new String[]{FirestorePaths.SUB_LEAVES, "leaves_id"});
+        SOURCES.put(FirestoreIdGenerator.ENTITY_COMMENT, new String[]{FirestorePaths.SUB_COMMENTS, "comment_id"});
+        SOURCES.put(FirestoreIdGenerator.ENTITY_CUSTOMER, new String[]{FirestorePaths.SUB_CUSTOMERS, "customer_id"});
+    }
+
+    private final InMemoryDocumentStore store;
+    private final Map<String, Long> counters = new HashMap<>();
+
+    public InMemoryIdCounterRepository(InMemoryDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void allocateNextId(String businessId,
+                               String businessPrefix,
+                               String entityType,
+                               Consumer<String> onSuccess,
+                               Consumer<Exception> onError) {
+        reserveIdBlock(businessId, businessPrefix, entityType, 1, lease -> onSuccess.accept(lease.next()), onError);
+    }
+
+    @Override
+    public void reserveIdBlock(String businessId,
+                               String businessPrefix,
+                               String entityType,
+                               int count,
+                               Consumer<IdLease> onSuccess,
+                               Consumer<Exception> onError) {
+        String[] source = SOURCES.get(entityType);
+        if (source == null) {
+            onError.accept(new IllegalArgumentException("Unknown entity type: " + entityType));
+            return;
+        }
+        if (count <= 0) {
+            onError.accept(new IllegalArgumentException("ID block size must be positive"));
+            return;
+        }
+
+        int year = FirestoreIdGenerator.getCurrentYear();
+        String idPrefix = FirestoreIdGenerator.buildIdPrefix(businessPrefix, entityType, year);
+        String counterKey = FirestoreIdGenerator.buildCounterKey(entityType, year);
+        long last;
+        synchronized (counters) {
+            String key = businessId + "/" + counterKey;
+            Long current = counters.get(key);
+            if (current == null) {
+                current = scanMaxSuffix(businessId, source, idPrefix);
+            }
+            last = current + count;
+            counters.put(key, last);
+        }
+        onSuccess.accept(new IdLease(businessId, counterKey, idPrefix, last - count + 1, last));
+    }
+
+    @Override
+    public void releaseUnusedIds(IdLease lease, Consumer<Boolean> onSuccess, Consumer<Exception> onError) {
+        if (lease == null || !lease.hasNext()) {
+            onSuccess.accept(false);
+            return;
+        }
+        long firstUnused = lease.getNextValue();
+        long lastValue = lease.getLastValue();
+        lease.exhaust();
+
+        boolean released;
+        synchronized (counters) {
+            String key = lease.getBusinessId() + "/" + lease.getCounterKey();
+            Long current = counters.get(key);
+            released = current != null && current == lastValue;
+            if (released) {
+                counters.put(key, firstUnused - 1);
+            }
+        }
+        onSuccess.accept(released);
+    }
+
+    @Override
+    public void backfillCounters(String businessId,
+                                 String businessPrefix,
+                                 Consumer<Map<String, Long>> onSuccess,
+                                 Consumer<Exception> onError) {
+        int year = FirestoreIdGenerator.getCurrentYear();
+        Map<String, Long> seeded = new LinkedHashMap<>();
+        synchronized (counters) {
+            for (Map.Entry<String, String[]> entry : SOURCES.entrySet()) {
+                String idPrefix = FirestoreIdGenerator.buildIdPrefix(businessPrefix, entry.getKey(), year);
+                String counterKey = FirestoreIdGenerator.buildCounterKey(entry.getKey(), year);
+                String key = businessId + "/" + counterKey;
+                Long current = counters.get(key);
+                if (current == null) {
+                    current = scanMaxSuffix(businessId, entry.getValue(), idPrefix);
+                    counters.put(key, current);
+                }
+                seeded.put(counterKey, current);
+            }
+        }
+        onSuccess.accept(seeded);
+    }
+
+    private long scanMaxSuffix(String businessId, String[] source, String idPrefix) {
+        List<String> ids = new ArrayList<>();
+        for (Map<String, Object> document : store.documents(businessId, source[0])) {
+            Object id = document.get(source[1]);
+            if (id instanceof String) {
+                ids.add((String) id);
+            }
+        }
+        return FirestoreIdGenerator.findMaxSuffix(idPrefix, ids);
+    }
+}
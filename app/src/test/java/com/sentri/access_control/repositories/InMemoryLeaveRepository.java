@@ -0,0 +1,95 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * LeaveRepository over an {@link InMemoryDocumentStore}, applying leave extensions the same way as
+ * the Firestore implementation.
+ */
+public class InMemoryLeaveRepository implements LeaveRepository {
+    private final InMemoryDocumentStore store;
+    private final IdCounterRepository idCounterRepository;
+
+    public InMemoryLeaveRepository(InMemoryDocumentStore store, IdCounterRepository idCounterRepository) {
+        this.store = store;
+        this.idCounterRepository = idCounterRepository;
+    }
+
+    @Override
+    public void fetchNextLeaveId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        idCounterRepository.allocateNextId(businessId, businessPrefix, FirestoreIdGenerator.ENTITY_LEAVES, onSuccess, onError);
+    }
+
+    @Override
+    public void createLeave(String businessId, String leaveId, Map<String, Object> leaveData, Runnable onSuccess, Consumer<Exception> onError) {
+        store.put(businessId, FirestorePaths.SUB_LEAVES, leaveId, leaveData);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    @Override
+    public void applyLeaveAdjustments(String businessId,
+                                      String customerId,
+                                      int leaveDays,
+                                      Runnable onSuccess,
+                                      Consumer<Exception> onError) {
+        if (leaveDays > 0) {
+            Map<String, Object> customer = store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId);
+            if (customer == null) {
+                if (onError != null) {
+                    onError.accept(new IllegalStateException("Customer not found: " + customerId));
+                }
+                return;
+            }
+
+            synchronized (store) {
+                for (Map<String, Object> shift : store.documents(businessId, FirestorePaths.SUB_SHIFTS)) {
+                    Object end = shift.get("shift_end_time");
+                    if (customerId.equals(shift.get("shift_customer_id")) && end instanceof Timestamp) {
+                        shift.put("shift_end_time", addDays((Timestamp) end, leaveDays));
+                    }
+                }
+            }
+
+            Map<String, Object> customerUpdates = new HashMap<>();
+            customerUpdates.put("customer_subscription_end_date",
+                    extendTimestampList(customer.get("customer_subscription_end_date"), leaveDays));
+            customerUpdates.put(FirestorePaths.FIELD_UPDATED_AT, Timestamp.now());
+            store.update(businessId, FirestorePaths.SUB_CUSTOMERS, customerId, customerUpdates);
+        }
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    private static List<Timestamp> extendTimestampList(Object raw, int leaveDays) {
+        if (!(raw instanceof List)) {
+            return Collections.emptyList();
+        }
+        List<Timestamp> extended = new ArrayList<>();
+        for (Object item : (List<?>) raw) {
+            if (item instanceof Timestamp) {
+                extended.add(addDays((Timestamp) item, leaveDays));
+            }
+        }
+        return extended;
+    }
+
+    private static Timestamp addDays(Timestamp timestamp, int days) {
+        Calendar calendar = Calendar.getInstance();
+        calendar.setTime(timestamp.toDate());
+        calendar.add(Calendar.DATE, days);
+        return new Timestamp(calendar.getTime());
+    }
+}
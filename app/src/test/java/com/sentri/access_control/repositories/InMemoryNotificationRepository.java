@@ -0,0 +1,97 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.models.NotificationItem;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Consumer;
+
+/**
+ * NotificationRepository over any {@link CommentRepository}, usually an
+ * {@link InMemoryCommentRepository}. Comments map to the same text as in
+ * {@link FirestoreNotificationRepository}; dates are formatted with {@link SimpleDateFormat}
+ * because {@code android.text.format.DateFormat} is a stub in JVM tests.
+ */
+public class InMemoryNotificationRepository implements NotificationRepository {
+    private final CommentRepository commentRepository;
+
+    public InMemoryNotificationRepository(CommentRepository commentRepository) {
+        this.commentRepository = commentRepository;
+    }
+
+    @Override
+    public void fetchBusinessNotifications(String businessId, int limit, Consumer<List<NotificationItem>> onSuccess, Consumer<Exception> onError) {
+        commentRepository.fetchRecentComments(
+                businessId,
+                limit,
+                snapshot -> onSuccess.accept(mapToNotifications(snapshot.getDocuments())),
+                onError
+        );
+    }
+
+    @Override
+    public void fetchCustomerNotifications(String businessId,
+                                           String customerId,
+                                           int limit,
+                                           Consumer<List<NotificationItem>> onSuccess,
+                                           Consumer<Exception> onError) {
+        commentRepository.fetchCommentsByCustomer(
+                businessId,
+                customerId,
+                limit,
+                snapshot -> onSuccess.accept(mapToNotifications(snapshot.getDocuments())),
+                onError
+        );
+    }
+
+    @Override
+    public void fetchUserNotifications(String businessId,
+                                       String userEmail,
+                                       int limit,
+                                       Consumer<List<NotificationItem>> onSuccess,
+                                       Consumer<Exception> onError) {
+        commentRepository.fetchCommentsByCreator(
+                businessId,
+                userEmail,
+                limit,
+                snapshot -> onSuccess.accept(mapToNotifications(snapshot.getDocuments())),
+                onError
+        );
+    }
+
+    private List<NotificationItem> mapToNotifications(List<DocumentSnapshot> docs) {
+        SimpleDateFormat format = new SimpleDateFormat("d MMM, yyyy hh:mm a", Locale.getDefault());
+        List<NotificationItem> items = new ArrayList<>();
+        for (DocumentSnapshot doc : docs) {
+            String entityType = normalize(doc.getString("comment_entity_type"));
+            String message = normalize(doc.getString("comment_text"));
+            String creator = normalize(doc.getString("created_by"));
+            String customer = normalize(doc.getString("comment_customer_id"));
+            Object createdAt = doc.get("created_at");
+            String date = createdAt instanceof Timestamp ? format.format(((Timestamp) createdAt).toDate()) : "-";
+
+            StringBuilder textBuilder = new StringBuilder();
+            if (!entityType.isEmpty()) {
+                textBuilder.append("[").append(entityType.toUpperCase(Locale.US)).append("] ");
+            }
+            textBuilder.append(message.isEmpty() ? "Notification" : message);
+            if (!customer.isEmpty() || !creator.isEmpty()) {
+                textBuilder.append(" (").append(customer);
+                if (!customer.isEmpty() && !creator.isEmpty()) {
+                    textBuilder.append(" - ");
+                }
+                textBuilder.append(creator).append(")");
+            }
+            items.add(new NotificationItem(textBuilder.toString(), date));
+        }
+        return items;
+    }
+
+    private String normalize(String value) {
+        return value != null ? value.trim() : "";
+    }
+}
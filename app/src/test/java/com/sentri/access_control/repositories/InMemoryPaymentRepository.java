@@ -0,0 +1,155 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.data.RevenueRollups;
+import com.sentri.access_control.models.DailyRevenue;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * PaymentRepository over an {@link InMemoryDocumentStore}. Each payment adds its rollup to the
+ * day's shard-0 document as the Firestore batch does, so revenue reads see the same totals.
+ */
+public class InMemoryPaymentRepository implements PaymentRepository {
+    private final InMemoryDocumentStore store;
+    private final IdCounterRepository idCounterRepository;
+
+    public InMemoryPaymentRepository(InMemoryDocumentStore store, IdCounterRepository idCounterRepository) {
+        this.store = store;
+        this.idCounterRepository = idCounterRepository;
+    }
+
+    @Override
+    public void fetchBusinessPrefix(String businessId, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        Map<String, Object> data = store.getBusiness(businessId);
+        if (data == null) {
+            onError.accept(new IllegalStateException("Business not found: " + businessId));
+            return;
+        }
+        onSuccess.accept(BusinessConfigCache.parseBusinessConfig(data).getBusinessPrefix());
+    }
+
+    @Override
+    public void fetchNextPaymentId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        idCounterRepository.allocateNextId(businessId, businessPrefix, FirestoreIdGenerator.ENTITY_PAY, onSuccess, onError);
+    }
+
+    @Override
+    public void createPayment(String businessId, String paymentId, Map<String, Object> paymentData, Runnable onSuccess, Consumer<Exception> onError) {
+        DailyRevenue delta = RevenueRollups.fromPayment(RecordDecoder.decodePayment(null, paymentData), System.currentTimeMillis());
+        String rollupId = delta.getDay() + "_0";
+        synchronized (store) {
+            store.put(businessId, FirestorePaths.SUB_PAYMENTS, paymentId, paymentData);
+            Map<String, Object> current = store.get(businessId, FirestorePaths.SUB_REVENUE_DAILY, rollupId);
+            DailyRevenue total = current != null ? RevenueRollups.decode(current).plus(delta) : delta;
+            store.put(businessId, FirestorePaths.SUB_REVENUE_DAILY, rollupId, rollupData(total));
+        }
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    @Override
+    public void fetchCustomerPayments(String businessId, String customerId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(payments(businessId)
+                .whereEqualTo("payment_customer_id", customerId)
+                .orderBy(FirestorePaths.FIELD_CREATED_AT, true)
+                .get());
+    }
+
+    @Override
+    public void fetchBusinessPayments(String businessId,
+                                      Timestamp startInclusive,
+                                      Timestamp endInclusive,
+                                      Consumer<QuerySnapshot> onSuccess,
+                                      Consumer<Exception> onError) {
+        InMemoryQuery query = payments(businessId);
+        if (startInclusive != null && endInclusive != null) {
+            query.whereGreaterThanOrEqualTo(FirestorePaths.FIELD_CREATED_AT, startInclusive)
+                    .whereLessThanOrEqualTo(FirestorePaths.FIELD_CREATED_AT, endInclusive);
+        }
+        onSuccess.accept(query.orderBy(FirestorePaths.FIELD_CREATED_AT, true).get());
+    }
+
+    @Override
+    public void fetchDailyRevenue(String businessId,
+                                  int fromDay,
+                                  int toDay,
+                                  Consumer<List<DailyRevenue>> onSuccess,
+                                  Consumer<Exception> onError) {
+        List<QueryDocumentSnapshot> docs = InMemoryQuery.of(store, businessId, FirestorePaths.SUB_REVENUE_DAILY)
+                .whereGreaterThanOrEqualTo(RevenueRollups.FIELD_DAY, fromDay)
+                .whereLessThanOrEqualTo(RevenueRollups.FIELD_DAY, toDay)
+                .documents();
+        List<DailyRevenue> shards = new ArrayList<>(docs.size());
+        for (DocumentSnapshot doc : docs) {
+            shards.add(RevenueRollups.decode(doc.getData()));
+        }
+        onSuccess.accept(RevenueRollups.mergeByDay(shards));
+    }
+
+    @Override
+    public void fetchPaymentsPage(String businessId,
+                                  DocumentSnapshot lastDoc,
+                                  int pageSize,
+                                  Consumer<QuerySnapshot> onSuccess,
+                                  Consumer<Exception> onError) {
+        onSuccess.accept(payments(businessId)
+                .orderBy(FirestorePaths.FIELD_CREATED_AT, false)
+                .startAfter(lastDoc)
+                .limit(pageSize)
+                .get());
+    }
+
+    @Override
+    public void replaceDailyRevenue(String businessId, List<DailyRevenue> totals, Runnable onSuccess, Consumer<Exception> onError) {
+        Map<String, Object> business = store.getBusiness(businessId);
+        if (business == null) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException("Business not found: " + businessId));
+            }
+            return;
+        }
+        synchronized (store) {
+            for (DailyRevenue day : totals) {
+                store.put(businessId, FirestorePaths.SUB_REVENUE_DAILY, day.getDay() + "_0", rollupData(day));
+                for (int shard = 1; shard < RevenueRollups.SHARD_COUNT; shard++) {
+                    store.put(businessId, FirestorePaths.SUB_REVENUE_DAILY, day.getDay() + "_" + shard,
+                            rollupData(RevenueRollups.empty(day.getDay())));
+                }
+            }
+            Map<String, Object> updated = new HashMap<>(business);
+            updated.put(FirestorePaths.FIELD_REVENUE_ROLLUPS_FROM, 0);
+            store.putBusiness(businessId, updated);
+        }
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    private InMemoryQuery payments(String businessId) {
+        return InMemoryQuery.of(store, businessId, FirestorePaths.SUB_PAYMENTS);
+    }
+
+    private static Map<String, Object> rollupData(DailyRevenue totals) {
+        Map<String, Object> data = new HashMap<>();
+        data.put(RevenueRollups.FIELD_DAY, totals.getDay());
+        data.put(RevenueRollups.FIELD_CREDIT_PAISE, totals.getCreditPaise());
+        data.put(RevenueRollups.FIELD_DEBIT_PAISE, totals.getDebitPaise());
+        data.put(RevenueRollups.FIELD_CREDIT_COUNT, totals.getCreditCount());
+        data.put(RevenueRollups.FIELD_DEBIT_COUNT, totals.getDebitCount());
+        data.put(RevenueRollups.FIELD_METHOD_PAISE, new HashMap<>(totals.getMethodPaise()));
+        data.put(FirestorePaths.FIELD_UPDATED_AT, Timestamp.now());
+        return data;
+    }
+}
@@ -0,0 +1,193 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.IntPredicate;
+import java.util.function.Predicate;
+
+/**
+ * A Firestore query over one {@link InMemoryDocumentStore} sub-collection: equality and range
+ * filters, one order field with the document ID as tie-breaker, a startAfter cursor and a limit.
+ * Values compare in Firestore's cross-type order (null, booleans, numbers, timestamps, strings);
+ * ordering on a field leaves out documents without it, and range filters only match values of the
+ * same type. Unordered queries keep insertion order. Only the documents that survive the limit are
+ * turned into snapshots.
+ */
+final class InMemoryQuery {
+    private final InMemoryDocumentStore store;
+    private final String businessId;
+    private final String collection;
+    private final List<Predicate<Map<String, Object>>> filters = new ArrayList<>();
+    private String orderField;
+    private boolean descending;
+    private DocumentSnapshot startAfter;
+    private int limit;
+
+    private InMemoryQuery(InMemoryDocumentStore store, String businessId, String collection) {
+        this.store = store;
+        this.businessId = businessId;
+        this.collection = collection;
+    }
+
+    static InMemoryQuery of(InMemoryDocumentStore store, String businessId, String collection) {
+        return new InMemoryQuery(store, businessId, collection);
+    }
+
+    InMemoryQuery whereEqualTo(String field, Object value) {
+        filters.add(doc -> doc.containsKey(field) && valuesEqual(doc.get(field), value));
+        return this;
+    }
+
+    InMemoryQuery whereGreaterThan(String field, Object value) {
+        return range(field, value, c -> c > 0);
+    }
+
+    InMemoryQuery whereGreaterThanOrEqualTo(String field, Object value) {
+        return range(field, value, c -> c >= 0);
+    }
+
+    InMemoryQuery whereLessThanOrEqualTo(String field, Object value) {
+        return range(field, value, c -> c <= 0);
+    }
+
+    InMemoryQuery orderBy(String field, boolean descending) {
+        this.orderField = field;
+        this.descending = descending;
+        return this;
+    }
+
+    InMemoryQuery startAfter(DocumentSnapshot cursor) {
+        this.startAfter = cursor;
+        return this;
+    }
+
+    /**
+     * Caps the result; zero or less means no limit.
+     */
+    InMemoryQuery limit(int limit) {
+        this.limit = limit;
+        return this;
+    }
+
+    QuerySnapshot get() {
+        return InMemorySnapshots.query(documents());
+    }
+
+    List<QueryDocumentSnapshot> documents() {
+        String path = InMemorySnapshots.path(businessId, collection);
+        List<QueryDocumentSnapshot> docs = new ArrayList<>();
+        synchronized (store) {
+            List<Map.Entry<String, Map<String, Object>>> matches = new ArrayList<>();
+            for (Map.Entry<String, Map<String, Object>> entry : store.documentsById(businessId, collection).entrySet()) {
+                if (matches(entry.getKey(), entry.getValue())) {
+                    matches.add(entry);
+                }
+            }
+            if (orderField != null) {
+                matches.sort((a, b) -> compareOrdered(a.getValue().get(orderField), a.getKey(),
+                        b.getValue().get(orderField), b.getKey()));
+            }
+            for (Map.Entry<String, Map<String, Object>> entry : matches) {
+                if (limit > 0 && docs.size() == limit) {
+                    break;
+                }
+                docs.add(InMemorySnapshots.document(path, entry.getKey(), entry.getValue()));
+            }
+        }
+        return docs;
+    }
+
+    private boolean matches(String id, Map<String, Object> doc) {
+        for (Predicate<Map<String, Object>> filter : filters) {
+            if (!filter.test(doc)) {
+                return false;
+            }
+        }
+        if (orderField == null) {
+            return true;
+        }
+        if (!doc.containsKey(orderField)) {
+            return false;
+        }
+        // The cursor is compared on the same (order field, document ID) key the results sort by.
+        return startAfter == null
+                || compareOrdered(doc.get(orderField), id, startAfter.get(orderField), startAfter.getId()) > 0;
+    }
+
+    private InMemoryQuery range(String field, Object value, IntPredicate accept) {
+        filters.add(doc -> {
+            Object current = doc.get(field);
+            return current != null && rank(current) == rank(value) && accept.test(compareValues(current, value));
+        });
+        return this;
+    }
+
+    /**
+     * Orders by value, then by document ID, both in the query's direction.
+     */
+    private int compareOrdered(Object valueA, String idA, Object valueB, String idB) {
+        int c = compareValues(valueA, valueB);
+        if (c == 0) {
+            c = idA.compareTo(idB);
+        }
+        return descending ? -c : c;
+    }
+
+    static boolean valuesEqual(Object a, Object b) {
+        if (a instanceof Number && b instanceof Number) {
+            return ((Number) a).doubleValue() == ((Number) b).doubleValue();
+        }
+        return Objects.equals(a, b);
+    }
+
+    static int compareValues(Object a, Object b) {
+        int byType = Integer.compare(rank(a), rank(b));
+        if (byType != 0) {
+            return byType;
+        }
+        if (a instanceof Boolean) {
+            return Boolean.compare((Boolean) a, (Boolean) b);
+        }
+        if (a instanceof Number) {
+            return Double.compare(((Number) a).doubleValue(), ((Number) b).doubleValue());
+        }
+        if (a instanceof Timestamp && b instanceof Timestamp) {
+            return ((Timestamp) a).compareTo((Timestamp) b);
+        }
+        if (a instanceof Timestamp || a instanceof Date) {
+            return Long.compare(millisOf(a), millisOf(b));
+        }
+        if (a instanceof String) {
+            return ((String) a).compareTo((String) b);
+        }
+        return 0;
+    }
+
+    private static int rank(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof Boolean) {
+            return 1;
+        }
+        if (value instanceof Number) {
+            return 2;
+        }
+        if (value instanceof Timestamp || value instanceof Date) {
+            return 3;
+        }
+        return value instanceof String ? 4 : 5;
+    }
+
+    private static long millisOf(Object value) {
+        return value instanceof Timestamp ? ((Timestamp) value).toDate().getTime() : ((Date) value).getTime();
+    }
+}
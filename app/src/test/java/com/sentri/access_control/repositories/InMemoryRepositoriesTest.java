@@ -0,0 +1,211 @@
+package com.sentri.access_control.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.data.RevenueRollups;
+import com.sentri.access_control.models.DailyRevenue;
+import com.sentri.access_control.models.NotificationItem;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class InMemoryRepositoriesTest {
+    private static final String BUSINESS_ID = "business_id_2026_1";
+    private static final Consumer<Exception> FAIL = error -> fail(error.getMessage());
+
+    private InMemoryDocumentStore store;
+    private InMemoryIdCounterRepository counters;
+
+    @Before
+    public void setUp() {
+        store = new InMemoryDocumentStore();
+        counters = new InMemoryIdCounterRepository(store);
+        store.putBusiness(BUSINESS_ID, Collections.singletonMap(FirestorePaths.FIELD_BUSINESS_PREFIX, "ACME"));
+    }
+
+    private static Map<String, Object> customer(String name, boolean active) {
+        Map<String, Object> data = new HashMap<>();
+        if (name != null) {
+            data.put("customer_name", name);
+        }
+        data.put("customer_status", active);
+        return data;
+    }
+
+    private static List<String> ids(QuerySnapshot snapshot) {
+        List<String> ids = new ArrayList<>();
+        for (DocumentSnapshot doc : snapshot.getDocuments()) {
+            ids.add(doc.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void customerPagesFollowTheCursorInFirestoreOrder() {
+        CustomerRepository customers = new InMemoryCustomerRepository(store, counters);
+        customers.saveCustomer(BUSINESS_ID, "c4", customer("Asha", true), null, FAIL);
+        customers.saveCustomer(BUSINESS_ID, "c2", customer("Asha", true), null, FAIL);
+        customers.saveCustomer(BUSINESS_ID, "c1", customer("Bala", false), null, FAIL);
+        customers.saveCustomer(BUSINESS_ID, "c3", customer("Chitra", true), null, FAIL);
+        customers.saveCustomer(BUSINESS_ID, "c5", customer(null, true), null, FAIL);
+
+        AtomicReference<QuerySnapshot> page = new AtomicReference<>();
+        customers.fetchCustomerPage(BUSINESS_ID, true, CustomerRepository.ORDER_BY_NAME, null, 2, page::set, FAIL);
+        assertEquals(Arrays.asList("c2", "c4"), ids(page.get()));
+
+        // Name ties break on document ID, and customers without a name never match the ordering.
+        DocumentSnapshot cursor = page.get().getDocuments().get(1);
+        customers.fetchCustomerPage(BUSINESS_ID, true, CustomerRepository.ORDER_BY_NAME, cursor, 2, page::set, FAIL);
+        assertEquals(Collections.singletonList("c3"), ids(page.get()));
+    }
+
+    @Test
+    public void shiftAssignmentsUnionAndRemoveLikeArrayFieldValues() {
+        CustomerRepository customers = new InMemoryCustomerRepository(store, counters);
+        customers.saveCustomer(BUSINESS_ID, "c1", customer("Asha", false), null, FAIL);
+        Timestamp start = new Timestamp(new Date(1_000_000L));
+        Timestamp end = new Timestamp(new Date(2_000_000L));
+
+        customers.appendShiftAssignment(BUSINESS_ID, "c1", "s1", "4", start, end, "500", "today", null, FAIL);
+        customers.appendShiftAssignment(BUSINESS_ID, "c1", "s1", "4", start, end, "500", "today", null, FAIL);
+        assertEquals(Collections.singletonList("s1"), store.get(BUSINESS_ID, FirestorePaths.SUB_CUSTOMERS, "c1").get("customer_current_shift_id"));
+        assertEquals(true, store.get(BUSINESS_ID, FirestorePaths.SUB_CUSTOMERS, "c1").get("customer_status"));
+
+        customers.removeCustomerShiftAssignment(BUSINESS_ID, "c1", "s1", "4", start, end, null, FAIL);
+        Map<String, Object> stored = store.get(BUSINESS_ID, FirestorePaths.SUB_CUSTOMERS, "c1");
+        assertEquals(Collections.emptyList(), stored.get("customer_current_shift_id"));
+        assertEquals(Collections.emptyList(), stored.get("customer_subscription_end_date"));
+        assertTrue(stored.get(FirestorePaths.FIELD_UPDATED_AT) instanceof Timestamp);
+
+        AtomicReference<Exception> error = new AtomicReference<>();
+        customers.deactivateCustomer(BUSINESS_ID, "missing", () -> fail("updated a missing customer"), error::set);
+        assertTrue(error.get() instanceof IllegalStateException);
+    }
+
+    @Test
+    public void shiftBatchNamingAMissingShiftAppliesNothing() {
+        ShiftRepository shifts = new InMemoryShiftRepository(store, counters);
+        long now = System.currentTimeMillis();
+        Map<String, Object> shift = new HashMap<>();
+        shift.put("shift_status", true);
+        shift.put("shift_end_time", new Timestamp(new Date(now + 60_000L)));
+        shifts.createShift(BUSINESS_ID, "s1", shift, null, FAIL);
+
+        AtomicReference<Exception> error = new AtomicReference<>();
+        shifts.markShiftsInactive(BUSINESS_ID, Arrays.asList("s1", "s2"), () -> fail("applied a failed batch"), error::set);
+        assertTrue(error.get() instanceof IllegalStateException);
+
+        AtomicReference<QuerySnapshot> window = new AtomicReference<>();
+        shifts.listenActiveShiftsInWindow(BUSINESS_ID, now, window::set, FAIL);
+        assertEquals(Collections.singletonList("s1"), ids(window.get()));
+        shifts.listenActiveShiftsInWindow(BUSINESS_ID, now + 120_000L, window::set, FAIL);
+        assertTrue(window.get().isEmpty());
+    }
+
+    @Test
+    public void paymentsRollUpIntoDailyRevenue() {
+        PaymentRepository payments = new InMemoryPaymentRepository(store, counters);
+        long createdMs = System.currentTimeMillis() - 86_400_000L;
+        int day = RevenueRollups.dayOf(createdMs);
+        payments.createPayment(BUSINESS_ID, "p1", payment("c1", "1,200", "credit", "UPI", createdMs), null, FAIL);
+        payments.createPayment(BUSINESS_ID, "p2", payment("c2", "300", "credit", "Cash", createdMs + 1_000L), null, FAIL);
+        payments.createPayment(BUSINESS_ID, "p3", payment("c1", "200", "debit", "Cash", createdMs + 2_000L), null, FAIL);
+
+        AtomicReference<List<DailyRevenue>> revenue = new AtomicReference<>();
+        payments.fetchDailyRevenue(BUSINESS_ID, day, day, revenue::set, FAIL);
+        assertEquals(1, revenue.get().size());
+        assertEquals(150_000L, revenue.get().get(0).getCreditPaise());
+        assertEquals(20_000L, revenue.get().get(0).getDebitPaise());
+        assertEquals(Long.valueOf(10_000L), revenue.get().get(0).getMethodPaise().get("Cash"));
+
+        AtomicReference<QuerySnapshot> history = new AtomicReference<>();
+        payments.fetchCustomerPayments(BUSINESS_ID, "c1", history::set, FAIL);
+        assertEquals(Arrays.asList("p3", "p1"), ids(history.get()));
+    }
+
+    private static Map<String, Object> payment(String customerId, String amount, String type, String method, long createdMs) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("payment_customer_id", customerId);
+        data.put("payment_amount", amount);
+        data.put("payment_type", type);
+        data.put("payment_method", method);
+        data.put(FirestorePaths.FIELD_CREATED_AT, new Timestamp(new Date(createdMs)));
+        return data;
+    }
+
+    @Test
+    public void replacingACardFreesTheOldOne() {
+        CardRepository cards = new InMemoryCardRepository(store);
+        new InMemoryCustomerRepository(store, counters).saveCustomer(BUSINESS_ID, "c1", customer("Asha", true), null, FAIL);
+        store.put(BUSINESS_ID, FirestorePaths.SUB_CARDS, "card_doc_1", Collections.singletonMap("card_id", "A"));
+        store.put(BUSINESS_ID, FirestorePaths.SUB_CARDS, "card_doc_2", Collections.singletonMap("card_id", "B"));
+
+        cards.assignCardToCustomer(BUSINESS_ID, "c1", "card_doc_1", "A", null, FAIL);
+        cards.replaceCardForCustomer(BUSINESS_ID, "c1", "card_doc_2", "B", null, FAIL);
+        assertEquals("", store.get(BUSINESS_ID, FirestorePaths.SUB_CARDS, "card_doc_1").get("card_assigned_to"));
+        assertEquals("c1", store.get(BUSINESS_ID, FirestorePaths.SUB_CARDS, "card_doc_2").get("card_assigned_to"));
+        assertEquals("B", store.get(BUSINESS_ID, FirestorePaths.SUB_CUSTOMERS, "c1").get("customer_current_card_id"));
+
+        cards.returnCardFromCustomer(BUSINESS_ID, "c1", null, FAIL);
+        AtomicReference<List<DocumentSnapshot>> unassigned = new AtomicReference<>();
+        cards.fetchBusinessCards(BUSINESS_ID, true, unassigned::set, FAIL);
+        assertEquals(2, unassigned.get().size());
+
+        AtomicReference<Exception> error = new AtomicReference<>();
+        cards.returnCardFromCustomer(BUSINESS_ID, "c1", () -> fail("returned a card twice"), error::set);
+        assertEquals("No card assigned to this customer", error.get().getMessage());
+    }
+
+    @Test
+    public void commentsFeedCustomerNotificationsNewestFirst() {
+        CommentRepository comments = new InMemoryCommentRepository(store, counters);
+        comments.addComment(BUSINESS_ID, "c1", "ACME", "note", "Paid late", "desk@acme.in", null, FAIL);
+        comments.addComment(BUSINESS_ID, "c2", "ACME", "note", "Other customer", "desk@acme.in", null, FAIL);
+        store.documentsById(BUSINESS_ID, FirestorePaths.SUB_COMMENTS).values().iterator().next()
+                .put(FirestorePaths.FIELD_CREATED_AT, new Timestamp(new Date(1_000L)));
+        comments.addComment(BUSINESS_ID, "c1", "ACME", "", "", "", null, FAIL);
+
+        AtomicReference<List<NotificationItem>> items = new AtomicReference<>();
+        new InMemoryNotificationRepository(comments).fetchCustomerNotifications(BUSINESS_ID, "c1", 10, items::set, FAIL);
+
+        assertEquals(2, items.get().size());
+        assertEquals("Notification (c1)", items.get().get(0).getMessage());
+        assertEquals("[NOTE] Paid late (c1 - desk@acme.in)", items.get().get(1).getMessage());
+    }
+
+    @Test
+    public void userAccessGrantsAccumulateOnTheUserDocument() {
+        UserRepository users = new InMemoryUserRepository(store);
+        AtomicReference<DocumentSnapshot> doc = new AtomicReference<>();
+        users.fetchUserDocument("owner@acme.in", doc::set, FAIL);
+        assertFalse(doc.get().exists());
+        assertNull(doc.get().getData());
+
+        users.createUserDocument("owner@acme.in", Collections.singletonMap("user_name", "Owner"), null, FAIL);
+        users.appendBusinessAccess("owner@acme.in", BUSINESS_ID, "Acme", "admin", "today", true, null, FAIL);
+        users.appendBusinessAccess("owner@acme.in", "business_id_2026_2", "Acme 2", "admin", "today", true, null, FAIL);
+
+        users.fetchUserDocument("owner@acme.in", doc::set, FAIL);
+        assertEquals(Arrays.asList(BUSINESS_ID, "business_id_2026_2"), doc.get().get("user_business_access_id"));
+        assertEquals(Collections.singletonList("admin"), doc.get().get("user_business_access_levels"));
+        assertEquals("Owner", doc.get().getString("user_name"));
+    }
+}
@@ -0,0 +1,212 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.utils.FirestoreIdGenerator;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * ShiftRepository over an {@link InMemoryDocumentStore}, with the Firestore implementation's
+ * queries and batched updates: a batch naming a missing shift applies nothing. Like that
+ * implementation, an empty batch completes neither callback.
+ */
+public class InMemoryShiftRepository implements ShiftRepository {
+    private final InMemoryDocumentStore store;
+    private final IdCounterRepository idCounterRepository;
+
+    public InMemoryShiftRepository(InMemoryDocumentStore store, IdCounterRepository idCounterRepository) {
+        this.store = store;
+        this.idCounterRepository = idCounterRepository;
+    }
+
+    @Override
+    public void fetchAllShifts(String businessId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(shifts(businessId).get());
+    }
+
+    @Override
+    public void fetchActiveShifts(String businessId, Consumer<QuerySnapshot> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(shifts(businessId).whereEqualTo("shift_status", true).get());
+    }
+
+    /**
+     * Delivers the matching shifts as one all-ADDED snapshot. The store has no change feed, so
+     * later writes are not delivered.
+     */
+    @Override
+    public ListenerRegistration listenActiveShiftsInWindow(String businessId,
+                                                           long windowStartMs,
+                                                           Consumer<QuerySnapshot> onChange,
+                                                           Consumer<Exception> onError) {
+        InMemoryQuery query = shifts(businessId).whereEqualTo("shift_status", true);
+        if (windowStartMs > 0) {
+            query.whereGreaterThan("shift_end_time", new Timestamp(new Date(windowStartMs)));
+        }
+        onChange.accept(query.get());
+        return () -> {
+        };
+    }
+
+    @Override
+    public void fetchCustomerShiftIds(String businessId, String customerId, Consumer<List<String>> onSuccess, Consumer<Exception> onError) {
+        Map<String, Object> customer = store.get(businessId, FirestorePaths.SUB_CUSTOMERS, customerId);
+        Object raw = customer != null ? customer.get("customer_current_shift_id") : null;
+        if (!(raw instanceof List<?>)) {
+            onSuccess.accept(Collections.emptyList());
+            return;
+        }
+        List<String> values = new ArrayList<>();
+        for (Object item : (List<?>) raw) {
+            if (item != null) {
+                values.add(String.valueOf(item));
+            }
+        }
+        onSuccess.accept(values);
+    }
+
+    @Override
+    public void fetchCustomerShifts(String businessId, String customerId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(new ArrayList<>(shifts(businessId)
+                .whereEqualTo("shift_customer_id", customerId)
+                .orderBy("shift_start_time", true)
+                .documents()));
+    }
+
+    /**
+     * Shifts that exist, in the order asked for; unknown IDs are skipped as the whereIn query
+     * would.
+     */
+    @Override
+    public void fetchShiftsByIds(String businessId, List<String> shiftIds, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        if (shiftIds == null || shiftIds.isEmpty()) {
+            onSuccess.accept(Collections.emptyList());
+            return;
+        }
+        String path = InMemorySnapshots.path(businessId, FirestorePaths.SUB_SHIFTS);
+        List<DocumentSnapshot> docs = new ArrayList<>();
+        for (String shiftId : shiftIds) {
+            Map<String, Object> data = store.get(businessId, FirestorePaths.SUB_SHIFTS, shiftId);
+            if (data != null) {
+                docs.add(InMemorySnapshots.document(path, shiftId, data));
+            }
+        }
+        onSuccess.accept(docs);
+    }
+
+    @Override
+    public void fetchActiveUnallocatedShifts(String businessId, Consumer<List<DocumentSnapshot>> onSuccess, Consumer<Exception> onError) {
+        onSuccess.accept(new ArrayList<>(shifts(businessId)
+                .whereEqualTo("shift_seat", "unallocated")
+                .whereEqualTo("shift_status", true)
+                .documents()));
+    }
+
+    @Override
+    public void fetchNextShiftId(String businessId, String businessPrefix, Consumer<String> onSuccess, Consumer<Exception> onError) {
+        idCounterRepository.allocateNextId(businessId, businessPrefix, FirestoreIdGenerator.ENTITY_SHIFT, onSuccess, onError);
+    }
+
+    @Override
+    public void createShift(String businessId, String shiftId, Map<String, Object> shiftData, Runnable onSuccess, Consumer<Exception> onError) {
+        store.put(businessId, FirestorePaths.SUB_SHIFTS, shiftId, shiftData);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    @Override
+    public void extendShifts(String businessId,
+                             Map<String, Timestamp> newShiftEndTimes,
+                             String paymentRate,
+                             Runnable onSuccess,
+                             Consumer<Exception> onError) {
+        if (newShiftEndTimes == null || newShiftEndTimes.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.now();
+        Map<String, Map<String, Object>> updatesById = new HashMap<>();
+        for (Map.Entry<String, Timestamp> entry : newShiftEndTimes.entrySet()) {
+            String shiftId = entry.getKey();
+            if (shiftId == null || shiftId.trim().isEmpty() || entry.getValue() == null) {
+                continue;
+            }
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("shift_end_time", entry.getValue());
+            updates.put("shift_payment_rate", paymentRate);
+            updates.put("shift_status", true);
+            updates.put(FirestorePaths.FIELD_UPDATED_AT, now);
+            updatesById.put(shiftId, updates);
+        }
+        commit(businessId, updatesById, onSuccess, onError);
+    }
+
+    @Override
+    public void markShiftInactive(String businessId, String shiftId, Runnable onSuccess, Consumer<Exception> onError) {
+        if (shiftId == null || shiftId.trim().isEmpty()) {
+            return;
+        }
+        markShiftsInactive(businessId, Collections.singletonList(shiftId), onSuccess, onError);
+    }
+
+    @Override
+    public void markShiftsInactive(String businessId, List<String> shiftIds, Runnable onSuccess, Consumer<Exception> onError) {
+        if (shiftIds == null || shiftIds.isEmpty()) {
+            return;
+        }
+        Timestamp now = Timestamp.now();
+        Map<String, Map<String, Object>> updatesById = new HashMap<>();
+        for (String shiftId : shiftIds) {
+            if (shiftId == null || shiftId.trim().isEmpty()) {
+                continue;
+            }
+            Map<String, Object> updates = new HashMap<>();
+            updates.put("shift_status", false);
+            updates.put(FirestorePaths.FIELD_UPDATED_AT, now);
+            updatesById.put(shiftId, updates);
+        }
+        commit(businessId, updatesById, onSuccess, onError);
+    }
+
+    private InMemoryQuery shifts(String businessId) {
+        return InMemoryQuery.of(store, businessId, FirestorePaths.SUB_SHIFTS);
+    }
+
+    private void commit(String businessId,
+                        Map<String, Map<String, Object>> updatesById,
+                        Runnable onSuccess,
+                        Consumer<Exception> onError) {
+        String missingId = null;
+        synchronized (store) {
+            for (String shiftId : updatesById.keySet()) {
+                if (store.get(businessId, FirestorePaths.SUB_SHIFTS, shiftId) == null) {
+                    missingId = shiftId;
+                    break;
+                }
+            }
+            if (missingId == null) {
+                for (Map.Entry<String, Map<String, Object>> entry : updatesById.entrySet()) {
+                    store.update(businessId, FirestorePaths.SUB_SHIFTS, entry.getKey(), entry.getValue());
+                }
+            }
+        }
+        if (missingId != null) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException("Shift not found: " + missingId));
+            }
+            return;
+        }
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.sentri.access_control.repositories;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mockito.Mockito.withSettings;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+
+import org.mockito.Answers;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Firestore snapshots over {@link InMemoryDocumentStore} maps. The SDK's snapshot types have no
+ * public constructors, so these are Mockito stubs answering the reads the decoders make: ID, path,
+ * data and single fields. Each snapshot holds a copy of the fields taken when it was built.
+ *
+ * <p>Per-document stubs are stub-only mocks answered by one {@link Answer} rather than a
+ * {@code when(...)} per method, so a query can return tens of thousands of them in a benchmark.
+ */
+final class InMemorySnapshots {
+
+    private InMemorySnapshots() {} // Prevent instantiation
+
+    static String path(String businessId, String collection) {
+        return FirestorePaths.COLLECTION_BUSINESSES + "/" + businessId + "/" + collection;
+    }
+
+    static QueryDocumentSnapshot document(String path, String id, Map<String, Object> data) {
+        Map<String, Object> fields = new HashMap<>(data);
+        DocumentReference reference = reference(path, id);
+        return stub(QueryDocumentSnapshot.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "exists":
+                    return true;
+                case "getId":
+                    return id;
+                case "getReference":
+                    return reference;
+                case "getData":
+                    return new HashMap<>(fields);
+                case "get":
+                    return fields.get(invocation.getArgument(0));
+                case "getString": {
+                    Object value = fields.get(invocation.getArgument(0));
+                    return value instanceof String ? value : null;
+                }
+                case "getBoolean": {
+                    Object value = fields.get(invocation.getArgument(0));
+                    return value instanceof Boolean ? value : null;
+                }
+                default:
+                    return Answers.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    /**
+     * A point read of a document that does not exist: {@code exists()} is false and every field
+     * reads as null.
+     */
+    static DocumentSnapshot missing(String path, String id) {
+        DocumentReference reference = reference(path, id);
+        return stub(DocumentSnapshot.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getId":
+                    return id;
+                case "getReference":
+                    return reference;
+                case "exists":
+                    return false;
+                default:
+                    // Mockito's defaults would answer getData() with an empty map.
+                    return invocation.getMethod().getReturnType().isPrimitive()
+                            ? Answers.RETURNS_DEFAULTS.answer(invocation)
+                            : null;
+            }
+        });
+    }
+
+    /**
+     * A query result in which every document is ADDED, like a listener's first snapshot.
+     */
+    static QuerySnapshot query(List<QueryDocumentSnapshot> docs) {
+        List<DocumentSnapshot> documents = Collections.unmodifiableList(new ArrayList<>(docs));
+        List<DocumentChange> changes = new ArrayList<>(docs.size());
+        for (int i = 0; i < docs.size(); i++) {
+            QueryDocumentSnapshot doc = docs.get(i);
+            int newIndex = i;
+            changes.add(stub(DocumentChange.class, invocation -> {
+                switch (invocation.getMethod().getName()) {
+                    case "getType":
+                        return DocumentChange.Type.ADDED;
+                    case "getDocument":
+                        return doc;
+                    case "getOldIndex":
+                        return -1;
+                    case "getNewIndex":
+                        return newIndex;
+                    default:
+                        return Answers.RETURNS_DEFAULTS.answer(invocation);
+                }
+            }));
+        }
+
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(documents);
+        when(snapshot.getDocumentChanges()).thenReturn(changes);
+        when(snapshot.size()).thenReturn(docs.size());
+        when(snapshot.isEmpty()).thenReturn(docs.isEmpty());
+        when(snapshot.iterator()).thenAnswer(invocation -> new ArrayList<>(docs).iterator());
+        return snapshot;
+    }
+
+    private static DocumentReference reference(String path, String id) {
+        String fullPath = path + "/" + id;
+        return stub(DocumentReference.class, invocation -> {
+            switch (invocation.getMethod().getName()) {
+                case "getId":
+                    return id;
+                case "getPath":
+                    return fullPath;
+                default:
+                    return Answers.RETURNS_DEFAULTS.answer(invocation);
+            }
+        });
+    }
+
+    private static <T> T stub(Class<T> type, Answer<?> answer) {
+        return mock(type, withSettings().stubOnly().defaultAnswer(answer));
+    }
+}
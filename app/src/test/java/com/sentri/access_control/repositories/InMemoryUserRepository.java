@@ -0,0 +1,110 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * UserRepository over the top-level users of an {@link InMemoryDocumentStore}. Access grants are
+ * array unions on the stored lists; updates to a missing user fail like a Firestore update.
+ */
+public class InMemoryUserRepository implements UserRepository {
+    private final InMemoryDocumentStore store;
+
+    public InMemoryUserRepository(InMemoryDocumentStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void fetchUserDocument(String email, Consumer<DocumentSnapshot> onSuccess, Consumer<Exception> onError) {
+        Map<String, Object> data = store.getUser(email);
+        onSuccess.accept(data != null
+                ? InMemorySnapshots.document(FirestorePaths.COLLECTION_USERS, email, data)
+                : InMemorySnapshots.missing(FirestorePaths.COLLECTION_USERS, email));
+    }
+
+    @Override
+    public void updateLastLogin(String email, Runnable onSuccess, Consumer<Exception> onError) {
+        Timestamp now = Timestamp.now();
+        Map<String, Object> updates = new HashMap<>();
+        updates.put("last_login", now);
+        updates.put(FirestorePaths.FIELD_UPDATED_AT, now);
+        update(email, updates, onSuccess, onError);
+    }
+
+    @Override
+    public void createUserDocument(String email,
+                                   Map<String, Object> data,
+                                   Runnable onSuccess,
+                                   Consumer<Exception> onError) {
+        store.putUser(email, data);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    @Override
+    public void mergeUserDocument(String email,
+                                  Map<String, Object> data,
+                                  Runnable onSuccess,
+                                  Consumer<Exception> onError) {
+        synchronized (store) {
+            Map<String, Object> merged = new HashMap<>();
+            Map<String, Object> current = store.getUser(email);
+            if (current != null) {
+                merged.putAll(current);
+            }
+            merged.putAll(data);
+            store.putUser(email, merged);
+        }
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+
+    @Override
+    public void appendBusinessAccess(String email,
+                                     String businessId,
+                                     String businessName,
+                                     String accessLevel,
+                                     String grantedAt,
+                                     boolean activeStatus,
+                                     Runnable onSuccess,
+                                     Consumer<Exception> onError) {
+        Map<String, Object> updates = new HashMap<>();
+        synchronized (store) {
+            Map<String, Object> user = store.getUser(email);
+            if (user != null) {
+                updates.put("user_business_access_id",
+                        InMemoryDocumentStore.arrayUnion(user.get("user_business_access_id"), businessId));
+                updates.put("user_business_access_levels",
+                        InMemoryDocumentStore.arrayUnion(user.get("user_business_access_levels"), accessLevel));
+                updates.put("user_business_access_name",
+                        InMemoryDocumentStore.arrayUnion(user.get("user_business_access_name"), businessName));
+                updates.put("user_business_granted",
+                        InMemoryDocumentStore.arrayUnion(user.get("user_business_granted"), grantedAt));
+                updates.put("user_business_status",
+                        InMemoryDocumentStore.arrayUnion(user.get("user_business_status"), activeStatus));
+            }
+        }
+        updates.put(FirestorePaths.FIELD_UPDATED_AT, Timestamp.now());
+        update(email, updates, onSuccess, onError);
+    }
+
+    private void update(String email, Map<String, Object> updates, Runnable onSuccess, Consumer<Exception> onError) {
+        if (store.getUser(email) == null) {
+            if (onError != null) {
+                onError.accept(new IllegalStateException("User not found: " + email));
+            }
+            return;
+        }
+        store.updateUser(email, updates);
+        if (onSuccess != null) {
+            onSuccess.run();
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package com.sentri.access_control.repositories;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class RepositoryMetricsTest {
+    private static final String LISTEN = "BusinessRepository.listenActiveCustomers";
+
+    private final RepositoryMetrics metrics = new RepositoryMetrics();
+    private final List<Consumer<QuerySnapshot>> listeners = new ArrayList<>();
+    private final List<Consumer<Exception>> errorHandlers = new ArrayList<>();
+    private BusinessRepository repository;
+
+    private static QueryDocumentSnapshot customer(String id) {
+        return InMemorySnapshots.document("businesses/biz/customers", id, Collections.singletonMap("customer_id", id));
+    }
+
+    /**
+     * A later listener snapshot: every document listed, only {@code changed} reported as changes.
+     */
+    private static QuerySnapshot update(List<QueryDocumentSnapshot> docs, QueryDocumentSnapshot... changed) {
+        QuerySnapshot snapshot = InMemorySnapshots.query(docs);
+        List<DocumentChange> changes = new ArrayList<>();
+        for (QueryDocumentSnapshot doc : changed) {
+            DocumentChange change = mock(DocumentChange.class);
+            when(change.getType()).thenReturn(DocumentChange.Type.MODIFIED);
+            when(change.getDocument()).thenReturn(doc);
+            changes.add(change);
+        }
+        when(snapshot.getDocumentChanges()).thenReturn(changes);
+        return snapshot;
+    }
+
+    private RepositoryMetrics.Summary row(String method) {
+        for (RepositoryMetrics.Summary summary : metrics.snapshot()) {
+            if (summary.method.equals(method)) {
+                return summary;
+            }
+        }
+        throw new AssertionError("No row for " + method + " in " + metrics.formatReport());
+    }
+
+    @Before
+    public void setUp() {
+        BusinessRepository delegate = mock(BusinessRepository.class);
+        when(delegate.listenActiveCustomers(eq("biz"), any(), any())).thenAnswer(invocation -> {
+            listeners.add(invocation.getArgument(1));
+            errorHandlers.add(invocation.getArgument(2));
+            return mock(ListenerRegistration.class);
+        });
+        metrics.setEnabled(true);
+        repository = metrics.wrap(BusinessRepository.class, delegate, "Home");
+    }
+
+    @Test
+    public void listenerRecordsEverySnapshotByChangedDocuments() {
+        List<QueryDocumentSnapshot> docs = Arrays.asList(customer("a"), customer("b"), customer("c"));
+        repository.listenActiveCustomers("biz", snapshot -> { }, e -> { });
+
+        listeners.get(0).accept(InMemorySnapshots.query(docs));
+        listeners.get(0).accept(update(docs, docs.get(1)));
+        listeners.get(0).accept(update(docs, docs.get(0), docs.get(2)));
+
+        RepositoryMetrics.Summary initial = row(LISTEN);
+        assertEquals(1, initial.calls);
+        assertEquals(3, initial.documents);
+        RepositoryMetrics.Summary changes = row(LISTEN + InstrumentedRepositoryHandler.CHANGE_SUFFIX);
+        assertEquals(2, changes.calls);
+        assertEquals(3, changes.documents);
+    }
+
+    @Test
+    public void listenerErrorAfterSnapshotsIsStillRecorded() {
+        repository.listenActiveCustomers("biz", snapshot -> { }, e -> { });
+        listeners.get(0).accept(InMemorySnapshots.query(Collections.singletonList(customer("a"))));
+        errorHandlers.get(0).accept(new IllegalStateException("permission denied"));
+
+        RepositoryMetrics.Summary initial = row(LISTEN);
+        assertEquals(2, initial.calls);
+        assertEquals(1, initial.errors);
+    }
+
+    @Test
+    public void pointReadsStillRecordOnce() {
+        BusinessRepository delegate = mock(BusinessRepository.class);
+        List<Consumer<String>> callbacks = new ArrayList<>();
+        doAnswer(invocation -> {
+            callbacks.add(invocation.getArgument(1));
+            return null;
+        }).when(delegate).fetchBusinessPrefix(eq("biz"), any(), any());
+        BusinessRepository wrapped = metrics.wrap(BusinessRepository.class, delegate, "Home");
+
+        wrapped.fetchBusinessPrefix("biz", prefix -> { }, e -> { });
+        callbacks.get(0).accept("SEN");
+        callbacks.get(0).accept("SEN");
+
+        assertEquals(1, row("BusinessRepository.fetchBusinessPrefix").calls);
+    }
+}
@@ -0,0 +1,184 @@
+package com.sentri.access_control.repositories;
+
+import com.google.firebase.Timestamp;
+import com.sentri.access_control.data.FirestorePaths;
+
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deterministic synthetic business data shaped like production documents, including the mixed
+ * date and amount encodings the parsers have to cope with. Shifts are kept as parallel arrays so
+ * half a million of them fit comfortably in a unit-test heap.
+ */
+public final class SyntheticDataset {
+    public static final int DEFAULT_CUSTOMERS = 50_000;
+    public static final int DEFAULT_SHIFTS = 500_000;
+
+    private static final long DAY_MS = TimeUnit.DAYS.toMillis(1);
+    private static final long HOUR_MS = TimeUnit.HOURS.toMillis(1);
+
+    public final String businessPrefix;
+    public final long nowMs;
+    public final List<Map<String, Object>> customers;
+    public final int seatCount;
+    public final int[] shiftSeat;
+    public final int[] shiftCustomer;
+    public final long[] shiftStartMs;
+    public final long[] shiftEndMs;
+
+    private final int year;
+
+    private SyntheticDataset(String businessPrefix,
+                             long nowMs,
+                             List<Map<String, Object>> customers,
+                             int seatCount,
+                             int[] shiftSeat,
+                             int[] shiftCustomer,
+                             long[] shiftStartMs,
+                             long[] shiftEndMs) {
+        this.businessPrefix = businessPrefix;
+        this.nowMs = nowMs;
+        this.customers = customers;
+        this.seatCount = seatCount;
+        this.shiftSeat = shiftSeat;
+        this.shiftCustomer = shiftCustomer;
+        this.shiftStartMs = shiftStartMs;
+        this.shiftEndMs = shiftEndMs;
+        this.year = Integer.parseInt(new SimpleDateFormat("yyyy", Locale.US).format(new Date(nowMs)));
+    }
+
+    public static SyntheticDataset generate(int customerCount, int shiftCount, long seed) {
+        Random random = new Random(seed);
+        String businessPrefix = "BENCH";
+        long nowMs = System.currentTimeMillis();
+        int year = Integer.parseInt(new SimpleDateFormat("yyyy", Locale.US).format(new Date(nowMs)));
+        SimpleDateFormat isoDay = new SimpleDateFormat("yyyy-MM-dd", Locale.US);
+        SimpleDateFormat displayDay = new SimpleDateFormat("dd MMM, yyyy", Locale.US);
+
+        List<Map<String, Object>> customers = new ArrayList<>(customerCount);
+        for (int i = 0; i < customerCount; i++) {
+            long createdMs = nowMs - random.nextInt(365) * DAY_MS - random.nextInt(24) * HOUR_MS;
+            long lastPaymentMs = nowMs - random.nextInt(60) * DAY_MS;
+            long subscriptionEndMs = nowMs + (random.nextInt(60) - 10) * DAY_MS;
+            long rate = 500 + random.nextInt(30) * 50;
+
+            Map<String, Object> customer = new HashMap<>();
+            customer.put("customer_id", businessPrefix + "_" + year + "_" + (i + 1));
+            customer.put("customer_name", "Customer " + (i + 1));
+            customer.put("customer_status", random.nextInt(10) != 0);
+            customer.put("created_at", encodeDate(random.nextInt(4), createdMs, isoDay, displayDay));
+            customer.put("customer_last_payment_date", encodeDate(random.nextInt(4), lastPaymentMs, isoDay, displayDay));
+            customer.put("customer_subscription_end_date", new Timestamp(new Date(subscriptionEndMs)));
+            switch (random.nextInt(4)) {
+                case 0:
+                    customer.put("customer_current_payment_rate", rate);
+                    break;
+                case 1:
+                    customer.put("customer_current_payment_rate", (double) rate);
+                    break;
+                case 2:
+                    customer.put("customer_current_payment_rate", String.format(Locale.US, "%,d", rate));
+                    break;
+                default:
+                    customer.put("current_payment_rate", "₹ " + rate);
+                    break;
+            }
+            customers.add(customer);
+        }
+
+        int seatCount = Math.max(1, customerCount / 50);
+        int[] shiftSeat = new int[shiftCount];
+        int[] shiftCustomer = new int[shiftCount];
+        long[] shiftStartMs = new long[shiftCount];
+        long[] shiftEndMs = new long[shiftCount];
+        for (int i = 0; i < shiftCount; i++) {
+            long startMs = nowMs - random.nextInt(365) * DAY_MS + random.nextInt(24) * HOUR_MS;
+            shiftSeat[i] = random.nextInt(seatCount);
+            shiftCustomer[i] = customerCount > 0 ? random.nextInt(customerCount) : -1;
+            shiftStartMs[i] = startMs;
+            shiftEndMs[i] = startMs + (1 + random.nextInt(30)) * DAY_MS;
+        }
+
+        return new SyntheticDataset(
+                businessPrefix,
+                nowMs,
+                Collections.unmodifiableList(customers),
+                seatCount,
+                shiftSeat,
+                shiftCustomer,
+                shiftStartMs,
+                shiftEndMs
+        );
+    }
+
+    public int shiftCount() {
+        return shiftSeat.length;
+    }
+
+    public String shiftId(int index) {
+        return businessPrefix + "_SHIFT_" + year + "_" + (index + 1);
+    }
+
+    /**
+     * Shift {@code index} as a Firestore-shaped document.
+     */
+    public Map<String, Object> shiftDocument(int index) {
+        Map<String, Object> shift = new HashMap<>();
+        shift.put("shift_id", shiftId(index));
+        shift.put("shift_seat", String.valueOf(shiftSeat[index] + 1));
+        shift.put("shift_customer_id", customers.isEmpty() ? null : customers.get(shiftCustomer[index]).get("customer_id"));
+        shift.put("shift_start_time", new Timestamp(new Date(shiftStartMs[index])));
+        shift.put("shift_end_time", new Timestamp(new Date(shiftEndMs[index])));
+        shift.put("shift_status", shiftEndMs[index] > nowMs);
+        return shift;
+    }
+
+    /**
+     * Business fields for {@link #loadInto}: prefix, opening hours and one seat per 50 customers.
+     */
+    public Map<String, Object> businessDocument() {
+        Map<String, Object> business = new HashMap<>();
+        business.put(FirestorePaths.FIELD_BUSINESS_PREFIX, businessPrefix);
+        business.put("business_open_time", 6);
+        business.put("business_close_time", 22);
+        business.put("business_max_seats", seatCount);
+        return business;
+    }
+
+    /**
+     * Writes the business, its customers and its shifts into the store as Firestore-shaped maps.
+     */
+    public void loadInto(InMemoryDocumentStore store, String businessId) {
+        store.putBusiness(businessId, businessDocument());
+
+        for (Map<String, Object> customer : customers) {
+            store.put(businessId, FirestorePaths.SUB_CUSTOMERS, (String) customer.get("customer_id"), customer);
+        }
+
+        for (int i = 0; i < shiftCount(); i++) {
+            store.put(businessId, FirestorePaths.SUB_SHIFTS, shiftId(i), shiftDocument(i));
+        }
+    }
+
+    private static Object encodeDate(int encoding, long millis, SimpleDateFormat isoDay, SimpleDateFormat displayDay) {
+        switch (encoding) {
+            case 0:
+                return new Timestamp(new Date(millis));
+            case 1:
+                return millis;
+            case 2:
+                return isoDay.format(new Date(millis));
+            default:
+                return displayDay.format(new Date(millis));
+        }
+    }
+}
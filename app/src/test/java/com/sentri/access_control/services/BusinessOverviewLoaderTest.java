@@ -0,0 +1,134 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.models.Money;
+import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.InMemoryBusinessRepository;
+import com.sentri.access_control.repositories.InMemoryDocumentStore;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+public class BusinessOverviewLoaderTest {
+
+    /**
+     * Holds every load until the test answers it.
+     */
+    private static final class ManualSource implements BusinessOverviewLoader.MetricsSource {
+        final Map<String, Consumer<DashboardMetrics>> successes = new LinkedHashMap<>();
+        final Map<String, Consumer<Exception>> errors = new LinkedHashMap<>();
+
+        @Override
+        public void load(String businessId, Consumer<DashboardMetrics> onSuccess, Consumer<Exception> onError) {
+            successes.put(businessId, onSuccess);
+            errors.put(businessId, onError);
+        }
+    }
+
+    private static final class RecordingListener implements BusinessOverviewLoader.Listener {
+        final List<String> events = new ArrayList<>();
+        DashboardMetrics combined;
+
+        @Override
+        public void onBusinessLoaded(String businessId, DashboardMetrics metrics) {
+            events.add("loaded " + businessId);
+        }
+
+        @Override
+        public void onBusinessFailed(String businessId, Exception error) {
+            events.add("failed " + businessId);
+        }
+
+        @Override
+        public void onCombined(DashboardMetrics combined, int finished, int total) {
+            this.combined = combined;
+            events.add(finished + "/" + total);
+        }
+    }
+
+    @Test
+    public void slowBusinessHoldsOnlyItsOwnSlot() {
+        ManualSource source = new ManualSource();
+        RecordingListener listener = new RecordingListener();
+        BusinessOverviewLoader.Session session = new BusinessOverviewLoader(source, 2)
+                .start(Arrays.asList("A", "B", "C", "D", "B"), listener);
+
+        assertEquals(Arrays.asList("A", "B"), new ArrayList<>(source.successes.keySet()));
+        assertEquals(2, session.getInFlight());
+
+        // A stays slow while the others finish around it.
+        source.successes.get("B").accept(metrics(10, 1_000L));
+        source.errors.get("C").accept(new IllegalStateException("offline"));
+        source.successes.get("D").accept(metrics(5, 500L));
+        assertFalse(session.isFinished());
+        assertEquals(1, session.getInFlight());
+
+        source.successes.get("A").accept(metrics(1, 100L));
+
+        assertTrue(session.isFinished());
+        assertEquals(Arrays.asList(
+                "loaded B", "1/4", "failed C", "2/4", "loaded D", "3/4", "loaded A", "4/4"
+        ), listener.events);
+        assertEquals(16, listener.combined.getTotalActiveCustomers());
+        assertEquals(Money.ofPaise(1_600L), listener.combined.getPendingPayments());
+    }
+
+    @Test
+    public void cancelDropsLateResultsAndStartsNothingNew() {
+        ManualSource source = new ManualSource();
+        RecordingListener listener = new RecordingListener();
+        BusinessOverviewLoader.Session session = new BusinessOverviewLoader(source, 1)
+                .start(Arrays.asList("A", "B"), listener);
+
+        session.cancel();
+        source.successes.get("A").accept(metrics(1, 100L));
+
+        assertTrue(listener.events.isEmpty());
+        assertFalse(source.successes.containsKey("B"));
+        assertEquals(0, session.getInFlight());
+    }
+
+    @Test
+    public void aggregatesSourceCountsOnTheServerWithoutReadingWarmBranches() {
+        InMemoryDocumentStore store = new InMemoryDocumentStore();
+        for (int i = 0; i < 5; i++) {
+            Map<String, Object> customer = new HashMap<>();
+            customer.put("customer_status", i != 0);
+            customer.put("customer_current_payment_rate", "500");
+            store.put(i < 3 ? "A" : "B", FirestorePaths.SUB_CUSTOMERS, "c" + i, customer);
+        }
+        AtomicInteger fullReads = new AtomicInteger();
+        BusinessRepository repository = new InMemoryBusinessRepository(store) {
+            @Override
+            public void fetchActiveCustomers(String businessId,
+                                             Consumer<List<DocumentSnapshot>> onSuccess,
+                                             Consumer<Exception> onError) {
+                fullReads.incrementAndGet();
+                super.fetchActiveCustomers(businessId, onSuccess, onError);
+            }
+        };
+        RecordingListener listener = new RecordingListener();
+
+        new BusinessOverviewLoader(BusinessOverviewLoader.fromAggregates(new DashboardAggregates(repository)), 2)
+                .start(Arrays.asList("A", "B"), listener);
+
+        assertEquals(Arrays.asList("loaded A", "1/2", "loaded B", "2/2"), listener.events);
+        assertEquals(4, listener.combined.getTotalActiveCustomers());
+        assertEquals(0, fullReads.get());
+    }
+
+    private static DashboardMetrics metrics(int active, long pendingPaise) {
+        return new DashboardMetrics(active, 0, 0, Money.ofPaise(pendingPaise), Money.ZERO);
+    }
+}
@@ -0,0 +1,34 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+
+public class CustomerFieldBackfillTest {
+
+    @Test
+    public void fixesMissingNamesAndNonBooleanStatuses() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("customer_status", " TRUE ");
+        Map<String, Object> fix = CustomerFieldBackfill.fixFor(data);
+        assertEquals("", fix.get("customer_name"));
+        assertEquals(Boolean.TRUE, fix.get("customer_status"));
+
+        data.put("customer_name", 42L);
+        data.put("customer_status", 1L);
+        fix = CustomerFieldBackfill.fixFor(data);
+        assertEquals("42", fix.get("customer_name"));
+        assertEquals(Boolean.FALSE, fix.get("customer_status"));
+    }
+
+    @Test
+    public void leavesWellFormedCustomersAlone() {
+        Map<String, Object> data = new HashMap<>();
+        data.put("customer_name", "Asha");
+        data.put("customer_status", false);
+        assertTrue(CustomerFieldBackfill.fixFor(data).isEmpty());
+    }
+}
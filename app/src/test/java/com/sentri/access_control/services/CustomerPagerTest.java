@@ -0,0 +1,202 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.models.Customer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class CustomerPagerTest {
+
+    /**
+     * Serves customers c0..c(n-1), every third one inactive, with the index as the cursor; each
+     * request waits until the test answers it.
+     */
+    private static final class FakeSource implements CustomerPager.PageSource<Integer> {
+        final List<Customer> customers = new ArrayList<>();
+        final List<String> requests = new ArrayList<>();
+        final List<Runnable> pending = new ArrayList<>();
+
+        FakeSource(int count) {
+            for (int i = 0; i < count; i++) {
+                customers.add(new Customer("c" + i, "C" + i, "", i % 3 != 0, "", ""));
+            }
+        }
+
+        @Override
+        public void load(CustomerPager.Filter filter,
+                         Integer cursor,
+                         int limit,
+                         Consumer<CustomerPager.Page<Integer>> onSuccess,
+                         Consumer<Exception> onError) {
+            requests.add(filter + "@" + cursor);
+            pending.add(() -> {
+                List<Customer> page = new ArrayList<>();
+                int index = cursor == null ? 0 : cursor + 1;
+                int last = -1;
+                for (; index < customers.size() && page.size() < limit; index++) {
+                    Customer customer = customers.get(index);
+                    boolean matches = filter == CustomerPager.Filter.ALL
+                            || customer.isCustomerStatus() == (filter == CustomerPager.Filter.ACTIVE);
+                    if (matches) {
+                        page.add(customer);
+                        last = index;
+                    }
+                }
+                onSuccess.accept(new CustomerPager.Page<>(page, last < 0 ? null : last));
+            });
+        }
+
+        void answerAll() {
+            while (!pending.isEmpty()) {
+                pending.remove(0).run();
+            }
+        }
+    }
+
+    private static final class RecordingListener implements CustomerPager.Listener {
+        CustomerPager.Filter filter;
+        List<Customer> customers = new ArrayList<>();
+        boolean complete;
+
+        @Override
+        public void onCustomers(CustomerPager.Filter filter, List<Customer> customers, boolean complete) {
+            this.filter = filter;
+            this.customers = customers;
+            this.complete = complete;
+        }
+
+        @Override
+        public void onError(CustomerPager.Filter filter, Exception error) {
+            fail(error.getMessage());
+        }
+    }
+
+    @Test
+    public void loadsNextPageOnlyWhenScrolledNearTheEnd() {
+        FakeSource source = new FakeSource(120);
+        RecordingListener listener = new RecordingListener();
+        CustomerPager<Integer> pager = new CustomerPager<>(source, 50, listener);
+
+        pager.show(CustomerPager.Filter.ALL);
+        source.answerAll();
+        assertEquals(50, listener.customers.size());
+        assertFalse(listener.complete);
+
+        pager.onScrolled(10, 50);
+        assertTrue(source.pending.isEmpty());
+
+        pager.onScrolled(30, 50);
+        pager.onScrolled(31, 50);
+        assertEquals(1, source.pending.size());
+        source.answerAll();
+        assertEquals(100, listener.customers.size());
+        assertEquals("c99", listener.customers.get(99).getCustomerName());
+
+        pager.onScrolled(99, 100);
+        source.answerAll();
+        assertEquals(120, listener.customers.size());
+        assertTrue(listener.complete);
+
+        pager.onScrolled(119, 120);
+        assertEquals(3, source.requests.size());
+    }
+
+    @Test
+    public void switchingBackToAFilterReusesItsPages() {
+        FakeSource source = new FakeSource(30);
+        RecordingListener listener = new RecordingListener();
+        CustomerPager<Integer> pager = new CustomerPager<>(source, 50, listener);
+
+        pager.show(CustomerPager.Filter.ACTIVE);
+        source.answerAll();
+        assertEquals(20, listener.customers.size());
+
+        pager.show(CustomerPager.Filter.INACTIVE);
+        source.answerAll();
+        assertEquals(10, listener.customers.size());
+
+        pager.show(CustomerPager.Filter.ACTIVE);
+        assertEquals(CustomerPager.Filter.ACTIVE, listener.filter);
+        assertEquals(20, listener.customers.size());
+        assertEquals(2, source.requests.size());
+    }
+
+    @Test
+    public void derivesStatusFiltersFromACompleteUnfilteredList() {
+        FakeSource source = new FakeSource(30);
+        RecordingListener listener = new RecordingListener();
+        CustomerPager<Integer> pager = new CustomerPager<>(source, 50, listener);
+
+        pager.show(CustomerPager.Filter.ALL);
+        source.answerAll();
+        pager.show(CustomerPager.Filter.INACTIVE);
+
+        assertEquals(10, listener.customers.size());
+        assertTrue(listener.complete);
+        for (Customer customer : listener.customers) {
+            assertFalse(customer.isCustomerStatus());
+        }
+        assertEquals(1, source.requests.size());
+    }
+
+    @Test
+    public void dropsPagesThatArriveAfterSwitchingFilter() {
+        FakeSource source = new FakeSource(120);
+        RecordingListener listener = new RecordingListener();
+        CustomerPager<Integer> pager = new CustomerPager<>(source, 50, listener);
+
+        pager.show(CustomerPager.Filter.ALL);
+        pager.show(CustomerPager.Filter.ACTIVE);
+        source.answerAll();
+
+        assertEquals(CustomerPager.Filter.ACTIVE, listener.filter);
+        assertEquals(50, listener.customers.size());
+        for (Customer customer : listener.customers) {
+            assertTrue(customer.isCustomerStatus());
+        }
+
+        // The unfiltered first page was still cached when it arrived.
+        pager.show(CustomerPager.Filter.ALL);
+        assertEquals(50, listener.customers.size());
+        assertEquals(2, source.requests.size());
+    }
+
+    @Test
+    public void loadRemainingFetchesUntilComplete() {
+        FakeSource source = new FakeSource(120);
+        RecordingListener listener = new RecordingListener();
+        CustomerPager<Integer> pager = new CustomerPager<>(source, 50, listener);
+
+        pager.show(CustomerPager.Filter.ALL);
+        pager.loadRemaining();
+        source.answerAll();
+
+        assertEquals(120, listener.customers.size());
+        assertTrue(listener.complete);
+    }
+
+    @Test
+    public void loadUpToStopsAtTheCapAndLeavesTheRestToScrolling() {
+        FakeSource source = new FakeSource(5_000);
+        RecordingListener listener = new RecordingListener();
+        CustomerPager<Integer> pager = new CustomerPager<>(source, 50, listener);
+
+        pager.show(CustomerPager.Filter.ALL);
+        pager.loadUpTo(CustomerPager.SEARCH_LOAD_LIMIT);
+        source.answerAll();
+
+        // 50 + 500 + 500: bulk pages stop once the cap is reached.
+        assertEquals(1_050, listener.customers.size());
+        assertFalse(listener.complete);
+        assertEquals(3, source.requests.size());
+
+        pager.onScrolled(listener.customers.size() - 1, listener.customers.size());
+        source.answerAll();
+        assertEquals(1_100, listener.customers.size());
+    }
+}
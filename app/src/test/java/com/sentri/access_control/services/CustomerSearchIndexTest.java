@@ -0,0 +1,82 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.models.Customer;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+public class CustomerSearchIndexTest {
+
+    private static Customer customer(String name, String id, String card, String whatsapp) {
+        return new Customer(name, id, card, true, "", "", whatsapp);
+    }
+
+    private static final List<Customer> CUSTOMERS = Arrays.asList(
+            customer("Ravi Kumar", "SEN_2025_12", "CARD-0042", "+91 98765 43210"),
+            customer("Kumari Devi", "SEN_2025_7", "", "9123456789"),
+            customer("Anil Ravindran", "SEN_2024_120", "CARD-0007", ""),
+            customer("ravi", "SEN_2025_3", "", null)
+    );
+
+    private static List<String> names(List<Customer> customers) {
+        List<String> names = new ArrayList<>();
+        for (Customer customer : customers) {
+            names.add(customer.getCustomerName());
+        }
+        return names;
+    }
+
+    @Test
+    public void ranksExactThenFieldPrefixThenWordPrefix() {
+        CustomerSearchIndex index = CustomerSearchIndex.build(CUSTOMERS);
+
+        assertEquals(Arrays.asList("ravi", "Ravi Kumar", "Anil Ravindran"), names(index.search("RAVI")));
+        assertEquals(Arrays.asList("Kumari Devi", "Ravi Kumar"), names(index.search("kum")));
+    }
+
+    @Test
+    public void everyTermMustMatch() {
+        CustomerSearchIndex index = CustomerSearchIndex.build(CUSTOMERS);
+
+        assertEquals(Arrays.asList("Ravi Kumar"), names(index.search("  ravi   kum ")));
+        assertTrue(index.search("ravi devi").isEmpty());
+    }
+
+    @Test
+    public void matchesInsideIdsCardsAndNumbers() {
+        CustomerSearchIndex index = CustomerSearchIndex.build(CUSTOMERS);
+
+        assertEquals(Arrays.asList("Anil Ravindran"), names(index.search("4_12")));
+        assertEquals(Arrays.asList("Ravi Kumar"), names(index.search("0042")));
+        assertEquals(Arrays.asList("Ravi Kumar"), names(index.search("43210")));
+        assertEquals(Arrays.asList("Kumari Devi"), names(index.search("912345")));
+        assertEquals(Arrays.asList("Ravi Kumar", "Anil Ravindran"), names(index.search("card")));
+    }
+
+    @Test
+    public void matchesInsideNamesLikeTheOldFilter() {
+        CustomerSearchIndex index = CustomerSearchIndex.build(Arrays.asList(
+                customer("Ravi Kumar", "SEN_2025_12", "", ""),
+                customer("Anil Ravindran", "SEN_2024_120", "", ""),
+                customer("Zoë Müller", "SEN_2025_4", "", "")));
+
+        assertEquals(Arrays.asList("Anil Ravindran"), names(index.search("vindr")));
+        assertEquals(Arrays.asList("Ravi Kumar"), names(index.search("umar")));
+        // Shorter than a trigram, and outside its alphabet: every customer is checked.
+        assertEquals(Arrays.asList("Ravi Kumar", "Anil Ravindran"), names(index.search("av")));
+        assertEquals(Arrays.asList("Zoë Müller"), names(index.search("üll")));
+    }
+
+    @Test
+    public void blankQueryReturnsEveryoneInOrder() {
+        CustomerSearchIndex index = CustomerSearchIndex.build(CUSTOMERS);
+
+        assertEquals(CUSTOMERS, index.search("   "));
+        assertTrue(CustomerSearchIndex.EMPTY.search("ravi").isEmpty());
+    }
+}
@@ -0,0 +1,60 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.models.Customer;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+public class CustomerSearchTest {
+    private final LinkedBlockingQueue<String> delivered = new LinkedBlockingQueue<>();
+    private final CustomerSearch search = new CustomerSearch(
+            Executors.newSingleThreadScheduledExecutor(),
+            Runnable::run,
+            50L,
+            (query, results) -> delivered.add(query + "=" + results.size())
+    );
+
+    @After
+    public void tearDown() {
+        search.shutdown();
+    }
+
+    private static List<Customer> customers(String... names) {
+        List<Customer> customers = new ArrayList<>();
+        for (String name : names) {
+            customers.add(new Customer(name, name.toUpperCase(), "", true, "", ""));
+        }
+        return customers;
+    }
+
+    @Test
+    public void onlyTheLastOfQuicklyTypedQueriesIsDelivered() throws InterruptedException {
+        search.setCustomers(customers("ravi", "rahul", "anil"));
+        search.setQuery("r");
+        search.setQuery("ra");
+        search.setQuery("rav");
+
+        assertEquals("rav=1", delivered.poll(2, TimeUnit.SECONDS));
+        assertNull(delivered.poll(200, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void newCustomerListReRunsTheCurrentQuery() throws InterruptedException {
+        search.setCustomers(customers("ravi", "anil"));
+        search.setQuery("ra");
+        assertEquals("ra=1", delivered.poll(2, TimeUnit.SECONDS));
+
+        search.setCustomers(customers("ravi", "rahul", "anil"));
+        assertEquals("ra=2", delivered.poll(2, TimeUnit.SECONDS));
+        assertEquals(Arrays.asList(), new ArrayList<>(delivered));
+    }
+}
@@ -0,0 +1,80 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.sentri.access_control.data.FirestorePaths;
+import com.sentri.access_control.models.Money;
+import com.sentri.access_control.repositories.BusinessRepository;
+import com.sentri.access_control.repositories.InMemoryBusinessRepository;
+import com.sentri.access_control.repositories.InMemoryDocumentStore;
+
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+public class DashboardAggregatesTest {
+
+    @Test
+    public void countsComeFromTheServerAndMoneyFromACompleteCache() {
+        DashboardMetrics fromCache = new DashboardMetrics(3, 9, 1, Money.ofPaise(500), Money.ofPaise(900));
+        DashboardMetrics previous = new DashboardMetrics(2, 0, 0, Money.ofPaise(1), Money.ofPaise(2));
+
+        DashboardMetrics merged = DashboardAggregates.merge(new CustomerCounts(3L, 1L), fromCache, previous);
+
+        assertEquals(new DashboardMetrics(3, 1, 1, Money.ofPaise(500), Money.ofPaise(900)), merged);
+    }
+
+    @Test
+    public void keepsPreviousMoneyWhenTheCacheIsShort() {
+        DashboardMetrics fromCache = new DashboardMetrics(1, 0, 0, Money.ofPaise(100), Money.ZERO);
+        DashboardMetrics previous = new DashboardMetrics(4, 2, 2, Money.ofPaise(700), Money.ofPaise(1_200));
+
+        assertEquals(new DashboardMetrics(5, 2, 2, Money.ofPaise(700), Money.ofPaise(1_200)),
+                DashboardAggregates.merge(new CustomerCounts(5L, 2L), fromCache, previous));
+        // With nothing saved the partial figures would understate the money; the caller reads the server.
+        assertNull(DashboardAggregates.merge(new CustomerCounts(5L, 2L), fromCache, null));
+    }
+
+    @Test
+    public void coldCacheWithoutSnapshotReadsTheMoneyFromTheServer() {
+        InMemoryDocumentStore store = new InMemoryDocumentStore();
+        long nowMs = System.currentTimeMillis();
+        for (int i = 0; i < 4; i++) {
+            Map<String, Object> customer = new HashMap<>();
+            customer.put("customer_status", true);
+            customer.put("customer_current_payment_rate", "1,000");
+            customer.put("customer_last_payment_date", new Timestamp(new Date(nowMs - 60L * 24L * 60L * 60L * 1000L)));
+            customer.put("created_at", new Timestamp(new Date(nowMs - i * 5L * 24L * 60L * 60L * 1000L)));
+            store.put("biz", FirestorePaths.SUB_CUSTOMERS, "c" + i, customer);
+        }
+        BusinessRepository warm = new InMemoryBusinessRepository(store);
+        BusinessRepository cold = new InMemoryBusinessRepository(store) {
+            @Override
+            public void fetchCachedActiveCustomers(String businessId,
+                                                   Consumer<List<DocumentSnapshot>> onSuccess,
+                                                   Consumer<Exception> onError) {
+                onSuccess.accept(Collections.emptyList());
+            }
+        };
+
+        DashboardMetrics expected = fetch(warm, nowMs);
+        assertEquals(4, expected.getTotalActiveCustomers());
+        assertEquals(Money.ofRupees(4_000), expected.getPendingPayments());
+        assertEquals(expected, fetch(cold, nowMs));
+    }
+
+    private static DashboardMetrics fetch(BusinessRepository repository, long nowMs) {
+        AtomicReference<DashboardMetrics> result = new AtomicReference<>();
+        new DashboardAggregates(repository).fetchDashboardMetrics(
+                "biz", nowMs, null, result::set, e -> fail(e.getMessage()));
+        return result.get();
+    }
+}
@@ -0,0 +1,92 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.models.CustomerRecord;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+public class DashboardMetricsTrackerTest {
+    private static final long DAY_MS = 24L * 60L * 60L * 1000L;
+    private static final long NOW_MS = 1_760_000_000_000L;
+
+    private final DashboardMetricsCalculator calculator = new DashboardMetricsCalculator();
+
+    @Test
+    public void randomDeltasMatchFullRecount() {
+        Random random = new Random(7L);
+        DashboardMetricsTracker tracker = new DashboardMetricsTracker(NOW_MS);
+        Map<String, CustomerRecord> current = new LinkedHashMap<>();
+
+        for (int step = 0; step < 5_000; step++) {
+            String id = "C" + random.nextInt(300);
+            if (random.nextInt(4) == 0) {
+                tracker.remove(id);
+                current.remove(id);
+            } else {
+                CustomerRecord customer = randomCustomer(id, random);
+                tracker.upsert(customer);
+                current.put(id, customer);
+            }
+            if (step % 250 == 0) {
+                assertSameMetrics(calculator.calculateRecords(new ArrayList<>(current.values()), NOW_MS), tracker.snapshot());
+            }
+        }
+        assertSameMetrics(calculator.calculateRecords(new ArrayList<>(current.values()), NOW_MS), tracker.snapshot());
+    }
+
+    @Test
+    public void rollOverRecountsOnlyWhenTheDayChanges() {
+        Random random = new Random(11L);
+        DashboardMetricsTracker tracker = new DashboardMetricsTracker(NOW_MS);
+        List<CustomerRecord> customers = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            CustomerRecord customer = randomCustomer("C" + i, random);
+            customers.add(customer);
+            tracker.upsert(customer);
+        }
+
+        long nextDayMs = tracker.getNextRolloverMs();
+        assertTrue(nextDayMs > NOW_MS);
+        assertFalse(tracker.rollTo(nextDayMs - 1L));
+
+        for (int day = 0; day < 45; day++) {
+            long nowMs = nextDayMs + day * DAY_MS + 1L;
+            assertTrue(tracker.rollTo(nowMs));
+            assertSameMetrics(calculator.calculateRecords(customers, nowMs), tracker.snapshot());
+        }
+    }
+
+    private static CustomerRecord randomCustomer(String id, Random random) {
+        return new CustomerRecord(
+                id,
+                id,
+                true,
+                randomTime(random),
+                randomTime(random),
+                randomTime(random),
+                (500 + random.nextInt(30) * 50) * 100L
+        );
+    }
+
+    private static long randomTime(Random random) {
+        if (random.nextInt(10) == 0) {
+            return Long.MIN_VALUE;
+        }
+        return NOW_MS + (random.nextInt(120) - 80) * DAY_MS + random.nextInt((int) DAY_MS);
+    }
+
+    private static void assertSameMetrics(DashboardMetrics expected, DashboardMetrics actual) {
+        assertEquals(expected.getTotalActiveCustomers(), actual.getTotalActiveCustomers());
+        assertEquals(expected.getNewCustomersInLast10Days(), actual.getNewCustomersInLast10Days());
+        assertEquals(expected.getSubscriptionsEndingToday(), actual.getSubscriptionsEndingToday());
+        assertEquals(expected.getPendingPayments(), actual.getPendingPayments());
+        assertEquals(expected.getExpectedPaymentsThisMonth(), actual.getExpectedPaymentsThisMonth());
+    }
+}
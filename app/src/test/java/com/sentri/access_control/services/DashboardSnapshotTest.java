@@ -0,0 +1,117 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.models.Money;
+import com.sentri.access_control.models.RevenueSeries;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+public class DashboardSnapshotTest {
+
+    private static DashboardSnapshot fullSnapshot() {
+        return DashboardSnapshot.empty("biz1")
+                .withMetrics(new DashboardMetrics(12, 3, 1, Money.ofPaise(50_000), Money.ofPaise(120_000)), 1L)
+                .withRevenue(RevenueSeries.ofDaily(20240228, new long[]{100, 0, -25}), 2L)
+                .withDevices(Arrays.asList(
+                        new DashboardSnapshot.DeviceSummary("d1", "Front door", true),
+                        new DashboardSnapshot.DeviceSummary("d2", "Back door", false)
+                ), 3L)
+                .withUnassignedCards(4, 1_700_000_000_000L);
+    }
+
+    private static byte[] bytesOf(DashboardSnapshot snapshot) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        snapshot.writeTo(new DataOutputStream(bytes));
+        return bytes.toByteArray();
+    }
+
+    private static DashboardSnapshot read(byte[] bytes) throws IOException {
+        return DashboardSnapshot.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    public void roundTripsEveryPart() throws IOException {
+        DashboardSnapshot original = fullSnapshot();
+        byte[] bytes = bytesOf(original);
+        DashboardSnapshot copy = read(bytes);
+
+        assertTrue(bytes.length < 1024);
+        assertEquals("biz1", copy.getBusinessId());
+        assertEquals(1_700_000_000_000L, copy.getSavedAtMs());
+        assertEquals(original.getMetrics(), copy.getMetrics());
+        assertEquals(original.getRevenue(), copy.getRevenue());
+        assertEquals(20240301, copy.getRevenue().getLastDay());
+        assertEquals(75L, copy.getRevenue().totalPaise(20240228, 20240301));
+        assertEquals(original.getDevices(), copy.getDevices());
+        assertEquals(4, copy.getUnassignedCards());
+    }
+
+    @Test
+    public void roundTripsPartsNotYetLoaded() throws IOException {
+        DashboardSnapshot copy = read(bytesOf(DashboardSnapshot.empty("biz1")));
+
+        assertNull(copy.getMetrics());
+        assertNull(copy.getRevenue());
+        assertNull(copy.getDevices());
+        assertEquals(DashboardSnapshot.NO_CARD_COUNT, copy.getUnassignedCards());
+    }
+
+    @Test
+    public void rejectsAnotherFormatVersionAndTruncatedData() throws IOException {
+        byte[] bytes = bytesOf(fullSnapshot());
+        byte[] otherVersion = bytes.clone();
+        otherVersion[0] = 99;
+        try {
+            read(otherVersion);
+            fail("Read a snapshot of another format version");
+        } catch (IOException expected) {
+            // Discarded by the store.
+        }
+        try {
+            read(Arrays.copyOf(bytes, bytes.length / 2));
+            fail("Read a truncated snapshot");
+        } catch (IOException expected) {
+            // Discarded by the store.
+        }
+    }
+
+    @Test
+    public void storeReloadsSavedSnapshotFromDisk() throws IOException {
+        File directory = Files.createTempDirectory("snapshots").toFile();
+        new DashboardSnapshotStore(directory, Runnable::run).save(fullSnapshot());
+
+        DashboardSnapshot loaded = new DashboardSnapshotStore(directory, Runnable::run).load("biz1");
+
+        assertNotNull(loaded);
+        assertEquals(fullSnapshot().getMetrics(), loaded.getMetrics());
+        assertNull(new DashboardSnapshotStore(directory, Runnable::run).load("biz2"));
+    }
+
+    @Test
+    public void storeDiscardsCorruptFileAndClearsOnLogout() throws IOException {
+        File directory = Files.createTempDirectory("snapshots").toFile();
+        DashboardSnapshotStore store = new DashboardSnapshotStore(directory, Runnable::run);
+        store.save(fullSnapshot());
+        try (FileOutputStream out = new FileOutputStream(new File(directory, "biz2.bin"))) {
+            out.write(new byte[]{1, 2, 3});
+        }
+
+        assertNull(new DashboardSnapshotStore(directory, Runnable::run).load("biz2"));
+        assertFalse(new File(directory, "biz2.bin").exists());
+
+        store.clear();
+        assertNull(store.load("biz1"));
+        assertNull(new DashboardSnapshotStore(directory, Runnable::run).load("biz1"));
+    }
+}
@@ -0,0 +1,164 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.sentri.access_control.repositories.ShiftRepository;
+import com.sentri.access_control.ui.SeatGridView;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+public class LiveSeatMapTest {
+    private static final long DAY = 24L * 60L * 60L * 1000L;
+    private static final long MONDAY = midnight(2026, Calendar.MARCH, 2);
+
+    private final List<Consumer<QuerySnapshot>> listeners = new ArrayList<>();
+    private final List<Consumer<Exception>> errorHandlers = new ArrayList<>();
+    private final List<ListenerRegistration> registrations = new ArrayList<>();
+    private final List<BitSet> repainted = new ArrayList<>();
+    private final SeatOccupancyModel occupancy = new SeatOccupancyModel();
+    private LiveSeatMap map;
+
+    private static long midnight(int year, int month, int day) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, month, day);
+        return cal.getTimeInMillis();
+    }
+
+    private static Timestamp at(int hour) {
+        return new Timestamp(new Date(MONDAY + hour * 60L * 60L * 1000L));
+    }
+
+    private static QueryDocumentSnapshot shift(String id, String seat, int startHour, int endHour) {
+        Map<String, Object> fields = new HashMap<>();
+        fields.put("shift_customer_id", "SEN_" + id);
+        fields.put("shift_seat", seat);
+        fields.put("shift_start_time", at(startHour));
+        fields.put("shift_end_time", at(endHour));
+        fields.put("shift_status", true);
+        QueryDocumentSnapshot doc = mock(QueryDocumentSnapshot.class);
+        when(doc.getId()).thenReturn(id);
+        when(doc.getData()).thenAnswer(invocation -> new HashMap<>(fields));
+        when(doc.get(anyString())).thenAnswer(invocation -> fields.get(invocation.<String>getArgument(0)));
+        return doc;
+    }
+
+    private static DocumentChange change(DocumentChange.Type type, QueryDocumentSnapshot doc) {
+        DocumentChange change = mock(DocumentChange.class);
+        when(change.getType()).thenReturn(type);
+        when(change.getDocument()).thenReturn(doc);
+        return change;
+    }
+
+    private static QuerySnapshot snapshot(List<QueryDocumentSnapshot> docs, DocumentChange... changes) {
+        QuerySnapshot snapshot = mock(QuerySnapshot.class);
+        when(snapshot.getDocuments()).thenReturn(new ArrayList<DocumentSnapshot>(docs));
+        when(snapshot.getDocumentChanges()).thenReturn(Arrays.asList(changes));
+        return snapshot;
+    }
+
+    private static BitSet seats(int... seats) {
+        BitSet set = new BitSet();
+        for (int seat : seats) {
+            set.set(seat);
+        }
+        return set;
+    }
+
+    private void deliver(QuerySnapshot snapshot) {
+        listeners.get(listeners.size() - 1).accept(snapshot);
+    }
+
+    @Before
+    public void setUp() {
+        ShiftRepository repository = mock(ShiftRepository.class);
+        when(repository.listenActiveShiftsInWindow(eq("biz"), eq(MONDAY), any(), any())).thenAnswer(invocation -> {
+            listeners.add(invocation.getArgument(2));
+            errorHandlers.add(invocation.getArgument(3));
+            ListenerRegistration registration = mock(ListenerRegistration.class);
+            registrations.add(registration);
+            return registration;
+        });
+        occupancy.reset(4, 6, 22);
+        map = new LiveSeatMap(repository, "biz", MONDAY, MONDAY + DAY, occupancy,
+                (model, shift, startHour, endHour) ->
+                        model.occupy(shift.getSeatNumber(), startHour, endHour, shift.getCustomerId(), true),
+                (changed, unallocatedChanged) -> repainted.add(changed),
+                e -> { });
+    }
+
+    @Test
+    public void appliesOnlyTheChangedDocumentsOnceSynced() {
+        map.start();
+        QueryDocumentSnapshot a = shift("a", "1", 9, 12);
+        QueryDocumentSnapshot b = shift("b", "2", 10, 11);
+        deliver(snapshot(Arrays.asList(a, b)));
+        assertTrue(map.isLoaded());
+        assertEquals(seats(1, 2), repainted.get(0));
+
+        // Later snapshots list every document, but only the changes are read.
+        QueryDocumentSnapshot moved = shift("a", "3", 14, 15);
+        deliver(snapshot(Arrays.asList(moved, b), change(DocumentChange.Type.MODIFIED, moved)));
+        assertEquals(seats(1, 3), repainted.get(1));
+        assertEquals(SeatGridView.CELL_FREE, occupancy.getCellState(1, 9));
+        assertEquals(SeatGridView.CELL_OCCUPIED, occupancy.getCellState(3, 14));
+    }
+
+    @Test
+    public void restartDropsShiftsRemovedWhileDetached() {
+        map.start();
+        deliver(snapshot(Arrays.asList(shift("a", "1", 9, 12), shift("b", "2", 10, 11))));
+        map.stop();
+        verify(registrations.get(0)).remove();
+
+        // "b" was cancelled while stopped, so the new listener's first snapshot just lacks it.
+        map.start();
+        assertFalse(map.isLoaded());
+        deliver(snapshot(Arrays.asList(shift("a", "1", 9, 12))));
+
+        assertTrue(map.isLoaded());
+        assertEquals(2, listeners.size());
+        // The resync re-puts every listed shift, so their seats repaint along with the freed one.
+        assertEquals(seats(1, 2), repainted.get(1));
+        assertEquals(SeatGridView.CELL_FREE, occupancy.getCellState(2, 10));
+        assertEquals(SeatGridView.CELL_OCCUPIED, occupancy.getCellState(1, 10));
+        assertFalse(map.getConflicts().seatOverlaps(2, at(10).toDate().getTime(), at(11).toDate().getTime()));
+    }
+
+    @Test
+    public void failureUnloadsUntilTheNextStart() {
+        map.start();
+        deliver(snapshot(Arrays.asList(shift("a", "1", 9, 12))));
+        errorHandlers.get(0).accept(new IllegalStateException("index missing"));
+        assertFalse(map.isLoaded());
+
+        // The failed listener is gone, so start() attaches a new one.
+        map.start();
+        assertEquals(2, listeners.size());
+        deliver(snapshot(Arrays.asList(shift("a", "1", 9, 12))));
+        assertTrue(map.isLoaded());
+    }
+}
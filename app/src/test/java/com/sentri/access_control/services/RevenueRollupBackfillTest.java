@@ -0,0 +1,41 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.data.RevenueRollups;
+import com.sentri.access_control.models.DailyRevenue;
+import com.sentri.access_control.models.PaymentRecord;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class RevenueRollupBackfillTest {
+
+    @Test
+    public void rebuildZeroesStaleDaysAndSkipsUndatedPayments() {
+        long march14 = RevenueRollups.dayStartMs(20250314) + 3_600_000L;
+        List<PaymentRecord> payments = Arrays.asList(
+                new PaymentRecord("P1", "C1", march14, 1_000L, 0L, "Credit", "Cash", "staff"),
+                new PaymentRecord("P2", "C2", march14, 500L, 0L, "Credit", "UPI", "staff"),
+                new PaymentRecord("P3", "C3", RecordDecoder.NO_TIME, 9_999L, 0L, "Credit", "Cash", "staff")
+        );
+        List<DailyRevenue> existing = Arrays.asList(
+                new DailyRevenue(20250314, 700L, 0L, 1, 0, Collections.singletonMap("Cash", 700L)),
+                new DailyRevenue(20250301, 300L, 0L, 1, 0, Collections.singletonMap("Cash", 300L))
+        );
+
+        List<DailyRevenue> rebuilt = RevenueRollupBackfill.rebuild(payments, existing);
+
+        assertEquals(2, rebuilt.size());
+        assertEquals(RevenueRollups.empty(20250301), rebuilt.get(0));
+        DailyRevenue day = rebuilt.get(1);
+        assertEquals(20250314, day.getDay());
+        assertEquals(1_500L, day.getCreditPaise());
+        assertEquals(2, day.getCreditCount());
+        assertEquals(Long.valueOf(1_000L), day.getMethodPaise().get("Cash"));
+    }
+}
@@ -0,0 +1,111 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.ui.SeatGridView;
+
+import org.junit.Test;
+
+public class SeatOccupancyModelTest {
+
+    private static SeatOccupancyModel grid() {
+        SeatOccupancyModel model = new SeatOccupancyModel();
+        model.reset(3, 6, 22);
+        return model;
+    }
+
+    @Test
+    public void occupiesShiftHoursWithCustomerAndLabel() {
+        SeatOccupancyModel model = grid();
+        model.occupy(2, 9, 12, "SEN_1", true);
+        model.occupy(2, 14, 16, "SEN_2", false);
+
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(2, 8));
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(2, 9));
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(2, 11));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(2, 12));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(1, 10));
+        assertEquals("SEN_1", model.getCellLabel(2, 10));
+        assertEquals("SEN_2", model.getCustomerId(2, 15));
+        assertNull(model.getCellLabel(2, 15));
+        assertNull(model.getCustomerId(2, 13));
+    }
+
+    @Test
+    public void overnightShiftWrapsToOpeningHourAndStaysInsideGrid() {
+        SeatOccupancyModel model = grid();
+        model.occupy(1, 20, 8, "SEN_9", true);
+
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(1, 21));
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(1, 6));
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(1, 7));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(1, 8));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(1, 22));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(1, 2));
+        assertNull(model.getCustomerId(1, 2));
+    }
+
+    @Test
+    public void rangeConflictsMatchHourByHourCheck() {
+        SeatOccupancyModel model = grid();
+        model.occupy(3, 10, 11, "SEN_1", true);
+        model.occupy(3, 21, 7, "SEN_2", true);
+        model.markCustomerShift(3, 15, 17);
+
+        for (int start = 6; start < 22; start++) {
+            for (int end = 6; end < 22; end++) {
+                boolean expected = SeatConflictChecker.hasHourConflict(start, end, 6, 22,
+                        h -> model.getCellState(3, h) == SeatGridView.CELL_OCCUPIED);
+                assertEquals(start + ".." + end, expected, model.isOccupied(3, start, end));
+            }
+        }
+    }
+
+    @Test
+    public void selectionSkipsTakenCellsAndCustomerShiftWins() {
+        SeatOccupancyModel model = grid();
+        model.occupy(1, 10, 11, "SEN_1", true);
+        model.markCustomerShift(1, 12, 13);
+        model.select(1, 9, 13);
+
+        assertEquals(SeatGridView.CELL_SELECTED, model.getCellState(1, 9));
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(1, 10));
+        assertEquals(SeatGridView.CELL_SELECTED, model.getCellState(1, 11));
+        assertEquals(SeatGridView.CELL_CUSTOMER_SHIFT, model.getCellState(1, 12));
+
+        // Another customer's shift does not paint over the selection.
+        model.occupy(1, 11, 12, "SEN_2", true);
+        assertEquals(SeatGridView.CELL_SELECTED, model.getCellState(1, 11));
+
+        model.markCustomerShift(1, 10, 12);
+        assertEquals(SeatGridView.CELL_CUSTOMER_SHIFT, model.getCellState(1, 10));
+        assertNull(model.getCustomerId(1, 10));
+
+        model.clearSelection(1);
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(1, 9));
+    }
+
+    @Test
+    public void restoreReturnsToSnapshot() {
+        SeatOccupancyModel model = grid();
+        model.occupy(2, 9, 10, "SEN_1", true);
+        model.select(2, 11, 11);
+        SeatOccupancyModel.Snapshot snapshot = model.snapshot();
+
+        model.occupy(2, 12, 14, "SEN_2", true);
+        model.clearSelection();
+        model.restore(snapshot);
+
+        assertEquals(SeatGridView.CELL_SELECTED, model.getCellState(2, 11));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(2, 12));
+        assertEquals("SEN_1", model.getCellLabel(2, 9));
+
+        model.reset(5, 6, 22);
+        try {
+            model.restore(snapshot);
+            fail("Restored a snapshot of a different grid");
+        } catch (IllegalArgumentException expected) {
+            // Snapshots only fit the grid they were taken from.
+        }
+    }
+}
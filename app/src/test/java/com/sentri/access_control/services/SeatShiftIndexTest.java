@@ -0,0 +1,127 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.models.ShiftRecord;
+import com.sentri.access_control.ui.SeatGridView;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Calendar;
+
+public class SeatShiftIndexTest {
+    private static final long DAY = 24L * 60L * 60L * 1000L;
+    private static final long MONDAY = midnight(2026, Calendar.MARCH, 2);
+
+    private static final SeatShiftIndex.Painter LABELLED = (occupancy, shift, startHour, endHour) ->
+            occupancy.occupy(shift.getSeatNumber(), startHour, endHour, shift.getCustomerId(), true);
+
+    private static long midnight(int year, int month, int day) {
+        Calendar cal = Calendar.getInstance();
+        cal.clear();
+        cal.set(year, month, day);
+        return cal.getTimeInMillis();
+    }
+
+    private static long at(long day, int hour) {
+        Calendar cal = Calendar.getInstance();
+        cal.setTimeInMillis(day);
+        cal.set(Calendar.HOUR_OF_DAY, hour);
+        return cal.getTimeInMillis();
+    }
+
+    private static ShiftRecord shift(String id, String customer, String seat, int startHour, int endHour, boolean active) {
+        int seatNumber = seat.matches("\\d+") ? Integer.parseInt(seat) : 0;
+        return new ShiftRecord(id, customer, seat, seatNumber, at(MONDAY, startHour), at(MONDAY, endHour), active, 0L);
+    }
+
+    private static SeatOccupancyModel grid() {
+        SeatOccupancyModel model = new SeatOccupancyModel();
+        model.reset(4, 6, 22);
+        return model;
+    }
+
+    private static BitSet seats(int... seats) {
+        BitSet set = new BitSet();
+        for (int seat : seats) {
+            set.set(seat);
+        }
+        return set;
+    }
+
+    @Test
+    public void repaintsOnlyTheSeatsAShiftLeftAndJoined() {
+        SeatOccupancyModel model = grid();
+        SeatShiftIndex index = new SeatShiftIndex(MONDAY, MONDAY + DAY);
+        index.put(shift("a", "SEN_1", "1", 9, 12, true));
+        index.put(shift("b", "SEN_2", "2", 10, 11, true));
+        assertEquals(seats(1, 2), index.repaintChanged(model, LABELLED));
+        assertEquals("SEN_1", model.getCellLabel(1, 9));
+
+        // Moving "a" to seat 3 leaves seat 2 alone.
+        index.put(shift("a", "SEN_1", "3", 14, 15, true));
+        assertEquals(seats(1, 3), index.repaintChanged(model, LABELLED));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(1, 9));
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(3, 14));
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(2, 10));
+
+        index.remove("b");
+        assertEquals(seats(2), index.repaintChanged(model, LABELLED));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(2, 10));
+        assertTrue(index.repaintChanged(model, LABELLED).isEmpty());
+    }
+
+    @Test
+    public void dropsInactiveAndOutOfWindowShifts() {
+        SeatOccupancyModel model = grid();
+        SeatShiftIndex index = new SeatShiftIndex(MONDAY, MONDAY + DAY);
+        index.put(shift("a", "SEN_1", "1", 9, 12, true));
+        index.repaintChanged(model, LABELLED);
+
+        index.put(shift("a", "SEN_1", "1", 9, 12, false));
+        index.put(new ShiftRecord("late", "SEN_2", "2", 2, MONDAY + 2 * DAY, MONDAY + 3 * DAY, true, 0L));
+        assertEquals(0, index.size());
+        assertEquals(seats(1), index.repaintChanged(model, LABELLED));
+        assertEquals(SeatGridView.CELL_FREE, model.getCellState(1, 10));
+        assertFalse(index.getConflicts().seatOverlaps(1, at(MONDAY, 9), at(MONDAY, 12)));
+    }
+
+    @Test
+    public void tracksUnallocatedShiftsAndConflicts() {
+        SeatShiftIndex index = new SeatShiftIndex(MONDAY, MONDAY + DAY);
+        index.put(shift("u2", "SEN_2", "unallocated", 15, 16, true));
+        index.put(shift("u1", "SEN_1", "unallocated", 8, 9, true));
+        index.put(shift("s", "SEN_1", "4", 10, 12, true));
+        assertTrue(index.takeUnallocatedChanged());
+        assertFalse(index.takeUnallocatedChanged());
+
+        assertEquals(Arrays.asList("u1", "u2"), Arrays.asList(
+                index.getUnallocatedShifts().get(0).getId(), index.getUnallocatedShifts().get(1).getId()));
+        assertTrue(index.getConflicts().customerOverlaps("SEN_1", at(MONDAY, 11), at(MONDAY, 13)));
+
+        index.retainOnly(Arrays.asList("s"));
+        assertTrue(index.takeUnallocatedChanged());
+        assertTrue(index.getUnallocatedShifts().isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    public void keepsSelectionForThePainter() {
+        SeatOccupancyModel model = grid();
+        model.select(1, 10, 11);
+        SeatShiftIndex index = new SeatShiftIndex(MONDAY, MONDAY + DAY);
+        index.put(shift("a", "SEN_1", "1", 11, 13, true));
+        boolean[] overlapped = {false};
+        index.repaintChanged(model, (occupancy, shift, startHour, endHour) -> {
+            overlapped[0] = occupancy.overlapsSelection(shift.getSeatNumber(), startHour, endHour);
+            LABELLED.paint(occupancy, shift, startHour, endHour);
+        });
+
+        assertTrue(overlapped[0]);
+        assertEquals(SeatGridView.CELL_SELECTED, model.getCellState(1, 10));
+        assertEquals(SeatGridView.CELL_SELECTED, model.getCellState(1, 11));
+        assertEquals(SeatGridView.CELL_OCCUPIED, model.getCellState(1, 12));
+    }
+}
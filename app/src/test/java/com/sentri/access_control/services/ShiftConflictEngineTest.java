@@ -0,0 +1,153 @@
+package com.sentri.access_control.services;
+
+import static org.junit.Assert.*;
+
+import com.sentri.access_control.data.RecordDecoder;
+import com.sentri.access_control.models.ShiftRecord;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class ShiftConflictEngineTest {
+    private static final long HOUR = 60L * 60L * 1000L;
+    private static final long DAY = 24L * HOUR;
+
+    private static ShiftRecord shift(String id, String customer, int seat, long start, long end) {
+        return new ShiftRecord(id, customer, seat > 0 ? String.valueOf(seat) : "unallocated", seat,
+                start, end, true, 0L);
+    }
+
+    private static Set<String> ids(List<ShiftRecord> shifts) {
+        Set<String> ids = new HashSet<>();
+        for (ShiftRecord shift : shifts) {
+            ids.add(shift.getId());
+        }
+        return ids;
+    }
+
+    @Test
+    public void findsOverlapsBySeatAndCustomer() {
+        ShiftConflictEngine engine = ShiftConflictEngine.of(Arrays.asList(
+                shift("a", "c1", 1, 9 * HOUR, 12 * HOUR),
+                shift("b", "c2", 1, 12 * HOUR, 14 * HOUR),
+                shift("c", "c1", 0, 15 * HOUR, 17 * HOUR),
+                shift("d", "c3", 2, 8 * HOUR, 20 * HOUR)
+        ));
+
+        assertTrue(engine.seatOverlaps(1, 11 * HOUR, 13 * HOUR));
+        assertEquals(new HashSet<>(Arrays.asList("a", "b")), ids(engine.findSeatOverlaps(1, 11 * HOUR, 13 * HOUR)));
+        // Touching ends do not overlap.
+        assertFalse(engine.seatOverlaps(1, 14 * HOUR, 15 * HOUR));
+        assertFalse(engine.seatOverlaps(3, 0, DAY));
+
+        // The unallocated shift only counts for its customer.
+        assertTrue(engine.customerOverlaps("c1", 16 * HOUR, 18 * HOUR));
+        assertEquals(Collections.singleton("c"), ids(engine.findCustomerOverlaps("c1", 16 * HOUR, 18 * HOUR)));
+        assertFalse(engine.customerOverlaps("c2", 16 * HOUR, 18 * HOUR));
+        assertFalse(engine.hasOverlappingShifts("c1"));
+    }
+
+    @Test
+    public void anyOverlapIgnoresWhoTheShiftsAreFiledUnder() {
+        assertTrue(ShiftConflictEngine.anyOverlap(Arrays.asList(
+                shift("a", "c1", 1, 9 * HOUR, 12 * HOUR),
+                shift("b", null, 2, 11 * HOUR, 13 * HOUR))));
+        assertFalse(ShiftConflictEngine.anyOverlap(Arrays.asList(
+                shift("a", "c1", 1, 9 * HOUR, 12 * HOUR),
+                shift("b", "c2", 2, 12 * HOUR, 13 * HOUR),
+                new ShiftRecord("c", "c1", "3", 3, RecordDecoder.NO_TIME, RecordDecoder.NO_TIME, true, 0L))));
+        // The overnight shift runs into the next morning's.
+        assertTrue(ShiftConflictEngine.anyOverlap(Arrays.asList(
+                shift("night", "c1", 4, 22 * HOUR, 6 * HOUR),
+                shift("morning", "c1", 4, DAY + 5 * HOUR, DAY + 9 * HOUR))));
+    }
+
+    @Test
+    public void overnightEndsOnFollowingDay() {
+        ShiftConflictEngine engine = new ShiftConflictEngine();
+        // 22:00 to 06:00 stored with the same date.
+        engine.add(shift("night", "c1", 4, 22 * HOUR, 6 * HOUR));
+
+        assertTrue(engine.seatOverlaps(4, DAY + 5 * HOUR, DAY + 7 * HOUR));
+        assertFalse(engine.seatOverlaps(4, DAY + 6 * HOUR, DAY + 9 * HOUR));
+        // An overnight query wraps the same way.
+        assertTrue(engine.seatOverlaps(4, 23 * HOUR, 1 * HOUR));
+        assertEquals(DAY + 6 * HOUR, ShiftConflictEngine.normalizedEnd(22 * HOUR, 6 * HOUR));
+    }
+
+    @Test
+    public void updatesIncrementally() {
+        ShiftConflictEngine engine = new ShiftConflictEngine();
+        engine.add(shift("a", "c1", 1, 9 * HOUR, 12 * HOUR));
+        engine.add(shift("b", "c1", 2, 11 * HOUR, 13 * HOUR));
+        assertTrue(engine.hasOverlappingShifts("c1"));
+
+        // Moving a shift replaces it everywhere.
+        engine.add(shift("b", "c1", 3, 13 * HOUR, 14 * HOUR));
+        assertFalse(engine.hasOverlappingShifts("c1"));
+        assertFalse(engine.seatOverlaps(2, 0, DAY));
+        assertTrue(engine.seatOverlaps(3, 13 * HOUR, 14 * HOUR));
+        assertEquals(2, engine.size());
+
+        assertTrue(engine.remove("a"));
+        assertFalse(engine.remove("a"));
+        assertFalse(engine.seatOverlaps(1, 0, DAY));
+        assertEquals(1, engine.size());
+    }
+
+    @Test
+    public void matchesBruteForceUnderRandomChanges() {
+        Random random = new Random(7);
+        ShiftConflictEngine engine = new ShiftConflictEngine();
+        List<ShiftRecord> live = new ArrayList<>();
+        for (int step = 0; step < 3000; step++) {
+            if (!live.isEmpty() && random.nextInt(4) == 0) {
+                ShiftRecord gone = live.remove(random.nextInt(live.size()));
+                assertTrue(engine.remove(gone.getId()));
+            } else {
+                long start = random.nextInt(500) * HOUR;
+                ShiftRecord added = shift("s" + step, "c" + random.nextInt(5), 1 + random.nextInt(3),
+                        start, start + (1 + random.nextInt(48)) * HOUR);
+                engine.add(added);
+                live.add(added);
+            }
+
+            long qs = random.nextInt(520) * HOUR;
+            long qe = qs + (1 + random.nextInt(24)) * HOUR;
+            int seat = 1 + random.nextInt(3);
+            String customer = "c" + random.nextInt(5);
+            Set<String> seatExpected = new HashSet<>();
+            Set<String> customerExpected = new HashSet<>();
+            List<ShiftRecord> customerShifts = new ArrayList<>();
+            for (ShiftRecord s : live) {
+                boolean overlaps = s.getStartMs() < qe && s.getEndMs() > qs;
+                if (s.getSeatNumber() == seat && overlaps) seatExpected.add(s.getId());
+                if (s.getCustomerId().equals(customer)) {
+                    customerShifts.add(s);
+                    if (overlaps) customerExpected.add(s.getId());
+                }
+            }
+            boolean selfOverlap = false;
+            for (int i = 0; i < customerShifts.size() && !selfOverlap; i++) {
+                for (int j = i + 1; j < customerShifts.size() && !selfOverlap; j++) {
+                    ShiftRecord a = customerShifts.get(i);
+                    ShiftRecord b = customerShifts.get(j);
+                    selfOverlap = a.getStartMs() < b.getEndMs() && b.getStartMs() < a.getEndMs();
+                }
+            }
+
+            assertEquals(seatExpected, ids(engine.findSeatOverlaps(seat, qs, qe)));
+            assertEquals(!seatExpected.isEmpty(), engine.seatOverlaps(seat, qs, qe));
+            assertEquals(customerExpected, ids(engine.findCustomerOverlaps(customer, qs, qe)));
+            assertEquals(!customerExpected.isEmpty(), engine.customerOverlaps(customer, qs, qe));
+            assertEquals(selfOverlap, engine.hasOverlappingShifts(customer));
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.sentri.access_control.utils;
+
+import static org.junit.Assert.*;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Locale;
+import java.util.TimeZone;
+
+public class DateUtilsTest {
+    private static final String[] ZONES = {"Asia/Kolkata", "America/New_York", "UTC", "Pacific/Apia"};
+    private static final Locale[] LOCALES = {Locale.US, new Locale("en", "IN"), Locale.UK, Locale.FRANCE};
+
+    private TimeZone originalZone;
+    private Locale originalLocale;
+
+    @Before
+    public void saveDefaults() {
+        originalZone = TimeZone.getDefault();
+        originalLocale = Locale.getDefault();
+    }
+
+    @After
+    public void restoreDefaults() {
+        TimeZone.setDefault(originalZone);
+        Locale.setDefault(originalLocale);
+        FlexibleDateParser.clearMemo();
+    }
+
+    @Test
+    public void matchesOriginalParserOnGoldenCorpus() throws IOException {
+        List<String> corpus = loadCorpus();
+        assertFalse(corpus.isEmpty());
+
+        for (String zone : ZONES) {
+            for (Locale locale : LOCALES) {
+                TimeZone.setDefault(TimeZone.getTimeZone(zone));
+                Locale.setDefault(locale);
+                // Twice: once parsed, once from the memo.
+                for (int pass = 0; pass < 2; pass++) {
+                    for (String input : corpus) {
+                        assertEquals(
+                                "\"" + input + "\" in " + zone + "/" + locale,
+                                OriginalDateParser.parse(input),
+                                DateUtils.parseFlexibleDate(input)
+                        );
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    public void memoFollowsDefaultZone() {
+        TimeZone.setDefault(TimeZone.getTimeZone("UTC"));
+        Date utc = DateUtils.parseFlexibleDate("2024-01-15");
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+        Date kolkata = DateUtils.parseFlexibleDate("2024-01-15");
+
+        assertEquals(5L * 60 + 30, (utc.getTime() - kolkata.getTime()) / 60_000L);
+    }
+
+    @Test
+    public void returnedDatesAreIndependent() {
+        Date first = DateUtils.parseFlexibleDate("15 Jan, 2024");
+        first.setTime(0L);
+        assertNotEquals(0L, DateUtils.parseFlexibleDate("15 Jan, 2024").getTime());
+    }
+
+    static List<String> loadCorpus() throws IOException {
+        List<String> inputs = new ArrayList<>();
+        InputStream stream = DateUtilsTest.class.getClassLoader().getResourceAsStream("date_corpus.txt");
+        assertNotNull("date_corpus.txt missing from test resources", stream);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(stream, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.trim().isEmpty() && !line.startsWith("#")) {
+                    inputs.add(line);
+                }
+            }
+        }
+        return inputs;
+    }
+}
@@ -0,0 +1,46 @@
+package com.sentri.access_control.utils;
+
+import java.text.DecimalFormat;
+import java.util.Map;
+
+/**
+ * {@link CurrencyUtils} before {@code Money}: regex clean-up plus {@code Double.parseDouble}, and a
+ * shared DecimalFormat. Kept as the reference for MoneyTest and the benchmark.
+ */
+public final class OriginalAmountParser {
+    private static final DecimalFormat RUPEE_FORMAT = new DecimalFormat("#,##0");
+
+    private OriginalAmountParser() {} // Prevent instantiation
+
+    public static double parse(Object raw) {
+        try {
+            if (raw == null) return 0.0;
+            if (raw instanceof Number) return ((Number) raw).doubleValue();
+            if (raw instanceof String) {
+                String s = ((String) raw).trim();
+                s = s.replaceAll("[^0-9.\\-]", "");
+                if (s.isEmpty()) return 0.0;
+                return Double.parseDouble(s);
+            }
+            if (raw instanceof Map) {
+                Map<?, ?> m = (Map<?, ?>) raw;
+                Object v = m.get("value");
+                if (v instanceof Number) return ((Number) v).doubleValue();
+                if (v instanceof String) {
+                    String s = ((String) v).replaceAll("[^0-9.\\-]", "");
+                    if (s.isEmpty()) return 0.0;
+                    return Double.parseDouble(s);
+                }
+            }
+        } catch (Exception ignored) {
+            // The original logged and fell through to zero.
+        }
+        return 0.0;
+    }
+
+    public static String formatRupees(double value) {
+        long rounded = Math.round(value);
+        if (rounded == 0) return "₹ 0";
+        return "₹ " + RUPEE_FORMAT.format(rounded);
+    }
+}
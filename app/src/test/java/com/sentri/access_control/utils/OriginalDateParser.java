@@ -0,0 +1,59 @@
+package com.sentri.access_control.utils;
+
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+
+/**
+ * The string branch of {@link DateUtils#parseFlexibleDate} before shape sniffing: a new formatter
+ * per pattern, tried in order. Kept as the reference for the golden corpus and the benchmark.
+ */
+public final class OriginalDateParser {
+
+    private OriginalDateParser() {} // Prevent instantiation
+
+    @SuppressWarnings("deprecation")
+    public static Date parse(String raw) {
+        try {
+            String s = raw.trim();
+            if (s.isEmpty()) return null;
+
+            String[] patterns = new String[] {
+                    "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'",
+                    "yyyy-MM-dd'T'HH:mm:ss'Z'",
+                    "yyyy-MM-dd'T'HH:mm:ssXXX",
+                    "yyyy-MM-dd HH:mm:ss",
+                    "yyyy-MM-dd",
+                    "d MMM, yyyy",
+                    "dd MMM, yyyy",
+                    "d MMM yyyy",
+                    "dd/MM/yyyy",
+                    "MM/dd/yyyy",
+                    "MMM d, yyyy",
+                    "d-MMM-yyyy"
+            };
+
+            for (String p : patterns) {
+                try {
+                    SimpleDateFormat sdf = new SimpleDateFormat(p, Locale.getDefault());
+                    if (p.contains("'Z'") || p.contains("XXX")) {
+                        sdf.setTimeZone(TimeZone.getTimeZone("UTC"));
+                    }
+                    return sdf.parse(s);
+                } catch (ParseException ignored) {}
+            }
+
+            try {
+                long millis = Long.parseLong(s);
+                return new Date(millis);
+            } catch (NumberFormatException ignored) {}
+
+            long ms = Date.parse(s);
+            return new Date(ms);
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}